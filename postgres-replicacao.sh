@@ -0,0 +1,10 @@
+#!/bin/bash
+# Usuário e regra de acesso da replicação para o serviço db-replica (docker-compose).
+# Executado pelo entrypoint do postgres apenas na inicialização de um volume vazio.
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+    CREATE ROLE replicador WITH REPLICATION LOGIN PASSWORD 'replicador';
+EOSQL
+
+echo "host replication replicador all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,139 @@
+package br.com.vendas.passagem.omnibus.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.vendas.passagem.omnibus.config.audit.AuditArgumentCapture;
+import br.com.vendas.passagem.omnibus.config.audit.JsonAuditPayloadEncoder;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
+import br.com.vendas.passagem.omnibus.dto.request.EmpresaRequestDTO;
+import br.com.vendas.passagem.omnibus.dto.request.UsuarioRequestDTO;
+import br.com.vendas.passagem.omnibus.service.DocumentoService;
+import br.com.vendas.passagem.omnibus.service.EmpresaService;
+import br.com.vendas.passagem.omnibus.service.UsuarioService;
+
+/**
+ * Custo da auditoria de argumentos por chamada.
+ *
+ * Os benchmarks "legado" reproduzem o antigo details com todos os argumentos em JSON;
+ * "captura" é o que o {@code AuditAspect} faz hoje na thread da requisição e
+ * "codificacao" é o trabalho adiado para o escritor de auditoria.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Object[] argsLeitura;
+    private Object[] argsUsuario;
+    private Object[] argsEmpresa;
+    private Object[] argsUpload;
+    private AuditArgumentCapture capture;
+    private JsonAuditPayloadEncoder encoder;
+    private Method metodoLeitura;
+    private Method metodoUsuario;
+    private Method metodoEmpresa;
+    private Method metodoUpload;
+    private Map<String, Object> capturadosUsuario;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        argsLeitura = new Object[] {42L};
+        argsUsuario = new Object[] {1L, new UsuarioRequestDTO("João Silva", "joao@example.com", "senha123", "12345678909")};
+        argsEmpresa = new Object[] {new EmpresaRequestDTO("12345678000195", "Empresa XYZ Ltda", "Empresa XYZ Sociedade Limitada", 1L)};
+        Usuario usuarioLogado = new Usuario();
+        usuarioLogado.setId(1L);
+        argsUpload = new Object[] {usuarioLogado, 1L, TipoDocumento.RG,
+            new MockMultipartFile("arquivo", "documento.pdf", "application/pdf", new byte[1024 * 1024])};
+
+        capture = new AuditArgumentCapture();
+        encoder = new JsonAuditPayloadEncoder(objectMapper);
+        try {
+            metodoLeitura = UsuarioService.class.getMethod("obterDTOporId", Long.class);
+            metodoUsuario = UsuarioService.class.getMethod("atualizarUser", Long.class, UsuarioRequestDTO.class);
+            metodoEmpresa = EmpresaService.class.getMethod("criar", EmpresaRequestDTO.class);
+            metodoUpload = DocumentoService.class.getMethod("uploadDocumento", Usuario.class, Long.class, TipoDocumento.class,
+                MultipartFile.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        capturadosUsuario = capture.capturar(metodoUsuario, argsUsuario);
+    }
+
+    @Benchmark
+    public String legadoLeituraPorId() {
+        return details("obterDTOporId", argsLeitura);
+    }
+
+    @Benchmark
+    public String legadoAtualizarUsuario() {
+        return details("atualizarUser", argsUsuario);
+    }
+
+    @Benchmark
+    public String legadoCriarEmpresa() {
+        return details("criar", argsEmpresa);
+    }
+
+    @Benchmark
+    public String legadoUploadDocumento() {
+        return details("uploadDocumento", argsUpload);
+    }
+
+    @Benchmark
+    public Map<String, Object> capturaLeituraPorId() {
+        return capture.capturar(metodoLeitura, argsLeitura);
+    }
+
+    @Benchmark
+    public Map<String, Object> capturaAtualizarUsuario() {
+        return capture.capturar(metodoUsuario, argsUsuario);
+    }
+
+    @Benchmark
+    public Map<String, Object> capturaCriarEmpresa() {
+        return capture.capturar(metodoEmpresa, argsEmpresa);
+    }
+
+    @Benchmark
+    public Map<String, Object> capturaUploadDocumento() {
+        return capture.capturar(metodoUpload, argsUpload);
+    }
+
+    @Benchmark
+    public String codificacaoAtualizarUsuario() {
+        return encoder.encode(capturadosUsuario);
+    }
+
+    private String details(String methodName, Object[] args) {
+        try {
+            return "Method: " + methodName + " | Args: " + objectMapper.writeValueAsString(args);
+        } catch (Exception e) {
+            return "Method: " + methodName + " | Args: " + Arrays.toString(args);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.vendas.passagem.omnibus.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
+import br.com.vendas.passagem.omnibus.config.security.TokenKeyRing;
+import br.com.vendas.passagem.omnibus.domain.Empresa;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+
+/**
+ * Objetos de apoio dos benchmarks, montados sem contexto Spring.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "JavaJWTSecretKey";
+
+    private BenchmarkFixtures() {
+    }
+
+    static TokenAuthenticationCache tokenAuthenticationCache(boolean enabled) {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache();
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maxSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+
+    static TokenKeyRing tokenKeyRing(TokenAuthenticationCache cache) {
+        TokenKeyRing keyRing = new TokenKeyRing(cache);
+        ReflectionTestUtils.setField(keyRing, "secret", SECRET);
+        ReflectionTestUtils.setField(keyRing, "defaultKid", "v1");
+        ReflectionTestUtils.setField(keyRing, "keysFile", "");
+        keyRing.reload();
+        return keyRing;
+    }
+
+    static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNome("João Silva");
+        usuario.setEmail("joao@example.com");
+        usuario.setSenha("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z0mS9Q8p7v2yE0l9d8gO3b1K");
+        usuario.setCpf("12345678909");
+        usuario.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        Set<TipoPerfil> perfis = new HashSet<>();
+        perfis.add(TipoPerfil.PASSAGEIRO);
+        perfis.add(TipoPerfil.EMPRESA);
+        usuario.setPerfis(perfis);
+        return usuario;
+    }
+
+    static Empresa empresa(Usuario dono) {
+        Empresa empresa = new Empresa();
+        empresa.setId(1L);
+        empresa.setCnpj("12345678000195");
+        empresa.setNomeFantasia("Empresa XYZ Ltda");
+        empresa.setRazaoSocial("Empresa XYZ Sociedade Limitada");
+        empresa.setUsuarioDono(dono);
+        return empresa;
+    }
+}
@@ -0,0 +1,185 @@
+package br.com.vendas.passagem.omnibus.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Gravação de um lote de entidades pelo Hibernate com IDs IDENTITY e com sequência pooled-lo.
+ *
+ * Com IDENTITY o Hibernate executa cada INSERT na hora para obter o ID e o batch JDBC fica
+ * desligado; com a sequência pooled-lo (allocationSize = 50) um nextval atende 50 entidades e
+ * os INSERTs saem em lotes de hibernate.jdbc.batch_size, reescritos pelo driver em INSERTs
+ * multi-valor. É o padrão do gravador de reservas (saveAll de até 100 passagens).
+ *
+ * Sobe um PostgreSQL via Testcontainers: requer Docker.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"identity", "pooled-lo"})
+    public String geracao;
+
+    @Param({"100", "1000"})
+    public int entidades;
+
+    private PostgreSQLContainer<?> postgres;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        postgres = new PostgreSQLContainer<>("postgres:15");
+        postgres.start();
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.JAKARTA_JDBC_URL, postgres.getJdbcUrl() + "&reWriteBatchedInserts=true")
+            .applySetting(AvailableSettings.JAKARTA_JDBC_USER, postgres.getUsername())
+            .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, postgres.getPassword())
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+            .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE)
+            .applySetting(AvailableSettings.ORDER_INSERTS, true)
+            .applySetting(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+            .build();
+        sessionFactory = new MetadataSources(registry)
+            .addAnnotatedClass(ViagemIdentity.class)
+            .addAnnotatedClass(ViagemSequencia.class)
+            .buildMetadata()
+            .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        postgres.stop();
+    }
+
+    @TearDown(Level.Iteration)
+    public void limpar() {
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery(
+            "TRUNCATE bench_viagens_identity, bench_viagens_sequencia").executeUpdate());
+    }
+
+    /**
+     * Persiste {@code entidades} viagens numa transação, como o saveAll do gravador de reservas.
+     */
+    @Benchmark
+    public int gravarLote() {
+        boolean identity = "identity".equals(geracao);
+        LocalDateTime partida = LocalDateTime.now().plusDays(30);
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < entidades; i++) {
+                session.persist(identity
+                    ? new ViagemIdentity("São Paulo", "Rio de Janeiro", partida.plusMinutes(i), new BigDecimal("120.50"), 42)
+                    : new ViagemSequencia("São Paulo", "Rio de Janeiro", partida.plusMinutes(i), new BigDecimal("120.50"), 42));
+            }
+        });
+        return entidades;
+    }
+
+    @Entity
+    @Table(name = "bench_viagens_identity")
+    public static class ViagemIdentity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(nullable = false)
+        private String origem;
+
+        @Column(nullable = false)
+        private String destino;
+
+        @Column(name = "data_partida", nullable = false)
+        private LocalDateTime dataPartida;
+
+        @Column(nullable = false, precision = 10, scale = 2)
+        private BigDecimal preco;
+
+        @Column(name = "vagas_totais", nullable = false)
+        private int vagasTotais;
+
+        protected ViagemIdentity() {
+        }
+
+        ViagemIdentity(String origem, String destino, LocalDateTime dataPartida, BigDecimal preco, int vagasTotais) {
+            this.origem = origem;
+            this.destino = destino;
+            this.dataPartida = dataPartida;
+            this.preco = preco;
+            this.vagasTotais = vagasTotais;
+        }
+    }
+
+    @Entity
+    @Table(name = "bench_viagens_sequencia")
+    public static class ViagemSequencia {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_viagens_sequencia_id_seq")
+        @SequenceGenerator(name = "bench_viagens_sequencia_id_seq", sequenceName = "bench_viagens_sequencia_id_seq",
+            allocationSize = BATCH_SIZE)
+        private Long id;
+
+        @Column(nullable = false)
+        private String origem;
+
+        @Column(nullable = false)
+        private String destino;
+
+        @Column(name = "data_partida", nullable = false)
+        private LocalDateTime dataPartida;
+
+        @Column(nullable = false, precision = 10, scale = 2)
+        private BigDecimal preco;
+
+        @Column(name = "vagas_totais", nullable = false)
+        private int vagasTotais;
+
+        protected ViagemSequencia() {
+        }
+
+        ViagemSequencia(String origem, String destino, LocalDateTime dataPartida, BigDecimal preco, int vagasTotais) {
+            this.origem = origem;
+            this.destino = destino;
+            this.dataPartida = dataPartida;
+            this.preco = preco;
+            this.vagasTotais = vagasTotais;
+        }
+    }
+}
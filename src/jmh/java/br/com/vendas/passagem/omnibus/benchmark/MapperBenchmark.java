@@ -0,0 +1,72 @@
+package br.com.vendas.passagem.omnibus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.vendas.passagem.omnibus.domain.Empresa;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.dto.mapper.EmpresaMapper;
+import br.com.vendas.passagem.omnibus.dto.mapper.UsuarioMapper;
+import br.com.vendas.passagem.omnibus.dto.request.EmpresaRequestDTO;
+import br.com.vendas.passagem.omnibus.dto.request.UsuarioRequestDTO;
+import br.com.vendas.passagem.omnibus.dto.response.EmpresaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.UsuarioResponseDTO;
+
+/**
+ * Conversões entidade/DTO feitas pelos mappers em cada resposta da API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private UsuarioMapper usuarioMapper;
+    private EmpresaMapper empresaMapper;
+    private Usuario usuario;
+    private Empresa empresa;
+    private UsuarioRequestDTO usuarioRequest;
+    private EmpresaRequestDTO empresaRequest;
+
+    @Setup
+    public void setup() {
+        usuarioMapper = new UsuarioMapper();
+        empresaMapper = new EmpresaMapper();
+        usuario = BenchmarkFixtures.usuario();
+        empresa = BenchmarkFixtures.empresa(usuario);
+        usuarioRequest = new UsuarioRequestDTO("João Silva", "joao@example.com", "senha123", "12345678909");
+        empresaRequest = new EmpresaRequestDTO("12345678000195", "Empresa XYZ Ltda", "Empresa XYZ Sociedade Limitada", 1L);
+    }
+
+    @Benchmark
+    public UsuarioResponseDTO usuarioParaDTO() {
+        return usuarioMapper.toDTO(usuario);
+    }
+
+    @Benchmark
+    public Usuario usuarioParaEntidade() {
+        return usuarioMapper.toEntity(usuarioRequest);
+    }
+
+    @Benchmark
+    public EmpresaResponseDTO empresaParaDTO() {
+        return empresaMapper.toResponse(empresa);
+    }
+
+    @Benchmark
+    public Empresa empresaParaEntidade() {
+        return empresaMapper.toEntity(empresaRequest, usuario);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.vendas.passagem.omnibus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import br.com.vendas.passagem.omnibus.config.security.SecurityConfigurations;
+
+/**
+ * Custo de CPU do hash de senha usado no login e no cadastro.
+ * O cenário "configurado" usa o encoder real de {@link SecurityConfigurations};
+ * os demais variam o custo do BCrypt para comparação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String SENHA = "senha123";
+
+    @Param({"configurado", "10", "12"})
+    public String custo;
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        passwordEncoder = "configurado".equals(custo)
+            ? new SecurityConfigurations(null).passwordEncoder(10)
+            : new BCryptPasswordEncoder(Integer.parseInt(custo));
+        hash = passwordEncoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(SENHA, hash);
+    }
+}
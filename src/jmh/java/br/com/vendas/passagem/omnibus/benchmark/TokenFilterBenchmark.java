@@ -0,0 +1,80 @@
+package br.com.vendas.passagem.omnibus.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
+import br.com.vendas.passagem.omnibus.config.security.TokenFilter;
+import br.com.vendas.passagem.omnibus.config.security.TokenService;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Custo do {@link TokenFilter} por requisição autenticada, com e sem o cache de tokens.
+ * O repositório é simulado, então o resultado sem cache não inclui a ida ao banco.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheHabilitado;
+
+    private TokenFilter tokenFilter;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        TokenAuthenticationCache cache = BenchmarkFixtures.tokenAuthenticationCache(cacheHabilitado);
+        TokenService tokenService = new TokenService(BenchmarkFixtures.tokenKeyRing(cache), new SimpleMeterRegistry());
+
+        Usuario usuario = BenchmarkFixtures.usuario();
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        when(usuarioRepository.findComPerfisById(usuario.getId())).thenReturn(Optional.of(usuario));
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        tokenFilter = new TokenFilter(tokenService, usuarioRepository, cache,
+            beanFactory.getBeanProvider(Tracer.class), beanFactory.getBeanProvider(MeterRegistry.class));
+        authorization = "Bearer " + tokenService.gerarToken(usuario, TipoPerfil.PASSAGEIRO);
+    }
+
+    @Benchmark
+    public Object filtrarRequisicaoAutenticada() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/usuario/me");
+        request.addHeader("Authorization", authorization);
+        try {
+            tokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
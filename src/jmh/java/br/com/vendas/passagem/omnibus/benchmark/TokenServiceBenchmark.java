@@ -0,0 +1,81 @@
+package br.com.vendas.passagem.omnibus.benchmark;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import br.com.vendas.passagem.omnibus.config.security.TokenService;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Assinatura e validação de tokens por login e por requisição autenticada.
+ *
+ * Os métodos "PorChamada" reproduzem a implementação anterior (algoritmo e
+ * verificador criados a cada chamada) como linha de base para comparação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenService(BenchmarkFixtures.tokenKeyRing(BenchmarkFixtures.tokenAuthenticationCache(true)), new SimpleMeterRegistry());
+        usuario = BenchmarkFixtures.usuario();
+        token = tokenService.gerarToken(usuario, TipoPerfil.PASSAGEIRO);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return tokenService.gerarToken(usuario, TipoPerfil.PASSAGEIRO);
+    }
+
+    @Benchmark
+    public DecodedJWT verificarToken() {
+        return tokenService.verify(token);
+    }
+
+    @Benchmark
+    public String gerarTokenAlgoritmoPorChamada() {
+        Algorithm algorithm = Algorithm.HMAC256(BenchmarkFixtures.SECRET);
+        return JWT.create()
+            .withIssuer("omnibus-api")
+            .withSubject(String.valueOf(usuario.getId()))
+            .withClaim("email", usuario.getEmail())
+            .withClaim("perfil", TipoPerfil.PASSAGEIRO.name())
+            .withExpiresAt(Instant.now().plusSeconds(4 * 3600))
+            .sign(algorithm);
+    }
+
+    @Benchmark
+    public DecodedJWT verificarTokenVerificadorPorChamada() {
+        Algorithm algorithm = Algorithm.HMAC256(BenchmarkFixtures.SECRET);
+        return JWT.require(algorithm)
+            .withIssuer("omnibus-api")
+            .build()
+            .verify(token);
+    }
+}
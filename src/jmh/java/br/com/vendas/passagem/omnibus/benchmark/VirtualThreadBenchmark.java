@@ -0,0 +1,137 @@
+package br.com.vendas.passagem.omnibus.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import br.com.vendas.passagem.omnibus.OmnibusApiApplication;
+import br.com.vendas.passagem.omnibus.service.ViagemService;
+import br.com.vendas.passagem.omnibus.service.viagem.ViagemBuscaCache;
+
+/**
+ * Busca de viagens ({@link ViagemService#buscar}, o caminho do GET /viagem/busca) sob um lote
+ * de requisições simultâneas, no pool padrão do Tomcat (200 threads) e em threads virtuais.
+ *
+ * Sobe a aplicação sem servidor web contra um PostgreSQL via Testcontainers (requer Docker).
+ * Com {@code consulta=banco} o cache de busca fica desligado e cada requisição abre uma transação
+ * somente leitura e consulta o repositório: o limite de concorrência passa a ser o pool do
+ * Hikari (20 conexões), não o número de threads. Com {@code consulta=cache} as requisições
+ * passam pelo cache de busca, cuja carga roda fora do lock do Caffeine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final int REQUISICOES = 2000;
+    private static final int THREADS_TOMCAT = 200;
+    private static final int VIAGENS = 60;
+    private static final LocalDate DATA = LocalDate.now().plusDays(30);
+
+    @Param({"plataforma", "virtual"})
+    public String executor;
+
+    @Param({"banco", "cache"})
+    public String consulta;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext contexto;
+    private ViagemService viagemService;
+    private ExecutorService pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        postgres = new PostgreSQLContainer<>("postgres:15");
+        postgres.start();
+
+        contexto = new SpringApplicationBuilder(OmnibusApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.jpa.show-sql=false",
+                "management.tracing.enabled=false",
+                "sentry.dsn=")
+            .run();
+        viagemService = contexto.getBean(ViagemService.class);
+        ReflectionTestUtils.setField(contexto.getBean(ViagemBuscaCache.class), "enabled", "cache".equals(consulta));
+        popular(contexto.getBean(JdbcTemplate.class));
+
+        pool = "virtual".equals(executor)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(THREADS_TOMCAT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+        contexto.close();
+        postgres.stop();
+    }
+
+    /**
+     * Tempo para atender um lote de buscas simultâneas, cada uma com uma página de até 20 viagens.
+     */
+    @Benchmark
+    public int lote() throws Exception {
+        List<Future<?>> futuros = new ArrayList<>(REQUISICOES);
+        for (int i = 0; i < REQUISICOES; i++) {
+            futuros.add(pool.submit(() -> viagemService.buscar("Recife", "Natal", DATA, null, 20)));
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get();
+        }
+        return futuros.size();
+    }
+
+    private static void popular(JdbcTemplate jdbcTemplate) {
+        Long dono = jdbcTemplate.queryForObject("""
+            INSERT INTO usuarios (nome, email, senha, cpf, perfil_ativo)
+            VALUES ('Operador', 'operador@example.com', 'hash', '12345678909', 'EMPRESA') RETURNING id
+            """, Long.class);
+        Long empresa = jdbcTemplate.queryForObject("""
+            INSERT INTO empresas (usuario_dono_id, cnpj, nome_fantasia) VALUES (?, '12345678000195', 'Viação Teste')
+            RETURNING id
+            """, Long.class, dono);
+        List<Object[]> viagens = new ArrayList<>(VIAGENS);
+        for (int i = 0; i < VIAGENS; i++) {
+            LocalDateTime partida = DATA.atStartOfDay().plusMinutes(20L * i);
+            viagens.add(new Object[] {empresa, Timestamp.valueOf(partida)});
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO viagens (empresa_id, origem, destino, data_partida, preco, vagas_totais, vagas_disponiveis,
+                                 possui_assento_marcado, versao)
+            VALUES (?, 'Recife', 'Natal', ?, 100.00, 40, 40, true, 0)
+            """, viagens);
+    }
+}
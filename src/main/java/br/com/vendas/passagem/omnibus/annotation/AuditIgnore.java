@@ -0,0 +1,15 @@
+package br.com.vendas.passagem.omnibus.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exclui o parâmetro dos argumentos registrados pela auditoria de um método {@link Auditable}.
+ * Útil para streams, arquivos e objetos grandes que não devem ir para o log.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuditIgnore {
+}
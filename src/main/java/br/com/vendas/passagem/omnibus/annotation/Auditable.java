@@ -21,4 +21,10 @@ public @interface Auditable {
      * Nome da entidade sendo operada.
      */
     String entity() default "";
+
+    /**
+     * Argumentos registrados, por nome de parâmetro ou "parametro.propriedade".
+     * Vazio registra todos os parâmetros, exceto os marcados com {@link AuditIgnore}.
+     */
+    String[] fields() default {};
 }
@@ -0,0 +1,104 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.vendas.passagem.omnibus.domain.audit.AuditLog;
+import br.com.vendas.passagem.omnibus.service.AuditLogService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agrega chamadas auditadas repetidas em um registro por janela, por exemplo
+ * "usuário X leu Empresa 42 N vezes no último minuto".
+ *
+ * A contagem é incrementada dentro do {@code compute} da chave e o descarregamento remove
+ * cada chave também com {@code computeIfPresent}: os dois passam pelo lock do mesmo bin, então
+ * uma chamada conta na janela que está sendo descarregada ou na seguinte, nunca se perde.
+ */
+@Component
+@Slf4j
+public class AuditAggregator {
+
+    private final AuditLogService auditLogService;
+    private final AuditPolicyProperties properties;
+
+    private final Map<Chave, Contagem> janela = new ConcurrentHashMap<>();
+
+    public AuditAggregator(AuditLogService auditLogService, AuditPolicyProperties properties) {
+        this.auditLogService = auditLogService;
+        this.properties = properties;
+    }
+
+    /**
+     * Conta a chamada na janela atual. Retorna false se a janela já tiver chaves demais;
+     * nesse caso o chamador registra o evento normalmente.
+     */
+    public boolean agregar(String action, String entity, Long entityId, String metodo, Map<String, Object> argumentos) {
+        Chave chave = new Chave(auditLogService.resolveUsername(), entity, entityId, action, metodo, argumentos);
+        if (!janela.containsKey(chave) && janela.size() >= properties.getAgregacao().getMaxChaves()) {
+            return false;
+        }
+        janela.compute(chave, (c, contagem) -> {
+            Contagem atual = contagem != null ? contagem : new Contagem(LocalDateTime.now());
+            atual.chamadas++;
+            return atual;
+        });
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.policy.agregacao.janela-ms:60000}")
+    void descarregar() {
+        long segundos = properties.getAgregacao().getJanelaMs() / 1000;
+        List<AuditLog> registros = new ArrayList<>();
+
+        for (Chave chave : janela.keySet()) {
+            janela.computeIfPresent(chave, (c, contagem) -> {
+                registros.add(AuditLog.builder()
+                    .action(c.action())
+                    .entityName(c.entity())
+                    .entityId(c.entityId())
+                    .username(c.username())
+                    .details("Method: " + c.metodo() + " | Status: SUCCESS | Agregado: "
+                        + contagem.chamadas + " chamadas em " + segundos + "s")
+                    .argumentos(c.argumentos())
+                    .createdAt(contagem.inicio)
+                    .build());
+                return null;
+            });
+        }
+
+        registros.forEach(auditLogService::registrar);
+        if (!registros.isEmpty()) {
+            log.debug("Auditoria agregada: {} registros", registros.size());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        descarregar();
+    }
+
+    private record Chave(String username, String entity, Long entityId, String action, String metodo,
+                         Map<String, Object> argumentos) {
+    }
+
+    /**
+     * Só alterada dentro do compute da sua chave.
+     */
+    private static final class Contagem {
+
+        private final LocalDateTime inicio;
+        private long chamadas;
+
+        Contagem(LocalDateTime inicio) {
+            this.inicio = inicio;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import br.com.vendas.passagem.omnibus.annotation.AuditIgnore;
+import br.com.vendas.passagem.omnibus.annotation.Auditable;
+import jakarta.persistence.Entity;
+
+/**
+ * Captura, na thread da requisição, apenas o que será registrado dos argumentos auditados.
+ *
+ * O resultado contém somente valores imutáveis (escalares, mapas e listas novos), então
+ * pode ser codificado depois, em outra thread. Entidades viram o id, arquivos viram
+ * nome/tamanho/tipo, DTOs (records) são copiados em um nível e campos sensíveis são mascarados.
+ * O plano de captura de cada método é montado uma vez e reaproveitado.
+ */
+@Component
+public class AuditArgumentCapture {
+
+    private static final int MAX_TEXTO = 256;
+    private static final int MAX_PROFUNDIDADE = 2;
+    private static final String MASCARA = "***";
+    private static final Set<String> SENSIVEIS = Set.of("senha", "password", "token", "secret", "segredo");
+
+    private final Map<Method, List<Campo>> planos = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<String, Method>> acessores = new ConcurrentHashMap<>();
+    private final Map<Method, Integer> indicesDoId = new ConcurrentHashMap<>();
+
+    /**
+     * @return argumentos por nome, ou mapa vazio se nada deve ser registrado
+     */
+    public Map<String, Object> capturar(Method method, Object[] args) {
+        List<Campo> plano = planos.computeIfAbsent(method, this::montarPlano);
+        if (plano.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Object> capturados = new LinkedHashMap<>();
+        for (Campo campo : plano) {
+            Object arg = args[campo.indice()];
+            Object valor = campo.propriedade() == null
+                ? resumir(campo.nome(), arg, 0)
+                : resumir(campo.propriedade(), ler(arg, campo.propriedade()), 1);
+            capturados.put(campo.chave(), valor);
+        }
+        return capturados;
+    }
+
+    /**
+     * Id da entidade afetada: o primeiro parâmetro numérico chamado {@code id} ou terminado em
+     * {@code Id} (ex.: {@code obterPorId(Long id)}), ou nulo se o método não tem um.
+     */
+    public Long entityId(Method method, Object[] args) {
+        int indice = indicesDoId.computeIfAbsent(method, AuditArgumentCapture::indiceDoId);
+        return indice >= 0 && args[indice] instanceof Number numero ? numero.longValue() : null;
+    }
+
+    private static int indiceDoId(Method method) {
+        Parameter[] parametros = method.getParameters();
+        for (int i = 0; i < parametros.length; i++) {
+            Class<?> tipo = parametros[i].getType();
+            String nome = parametros[i].getName();
+            boolean numerico = tipo == Long.class || tipo == long.class || tipo == Integer.class || tipo == int.class;
+            if (numerico && (nome.equals("id") || nome.endsWith("Id"))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<Campo> montarPlano(Method method) {
+        Parameter[] parametros = method.getParameters();
+        Auditable auditable = method.getAnnotation(Auditable.class);
+        String[] whitelist = auditable == null ? new String[0] : auditable.fields();
+
+        List<Campo> plano = new ArrayList<>();
+        if (whitelist.length == 0) {
+            for (int i = 0; i < parametros.length; i++) {
+                if (!parametros[i].isAnnotationPresent(AuditIgnore.class)) {
+                    plano.add(new Campo(i, parametros[i].getName(), null));
+                }
+            }
+            return List.copyOf(plano);
+        }
+
+        for (String caminho : whitelist) {
+            int ponto = caminho.indexOf('.');
+            String nome = ponto < 0 ? caminho : caminho.substring(0, ponto);
+            String propriedade = ponto < 0 ? null : caminho.substring(ponto + 1);
+            int indice = indiceDoParametro(parametros, nome);
+            if (indice < 0) {
+                throw new IllegalStateException("@Auditable(fields) de " + method + " referencia parâmetro inexistente: " + nome);
+            }
+            plano.add(new Campo(indice, nome, propriedade));
+        }
+        return List.copyOf(plano);
+    }
+
+    private static int indiceDoParametro(Parameter[] parametros, String nome) {
+        for (int i = 0; i < parametros.length; i++) {
+            if (parametros[i].getName().equals(nome)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object resumir(String nome, Object valor, int profundidade) {
+        if (valor == null) {
+            return null;
+        }
+        if (nome != null && SENSIVEIS.contains(nome.toLowerCase(Locale.ROOT))) {
+            return MASCARA;
+        }
+        if (valor instanceof Number || valor instanceof Boolean || valor instanceof Character
+                || valor instanceof Enum<?> || valor instanceof TemporalAccessor) {
+            return valor;
+        }
+        if (valor instanceof CharSequence texto) {
+            return texto.length() > MAX_TEXTO ? texto.subSequence(0, MAX_TEXTO) + "..." : texto.toString();
+        }
+        if (valor instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        if (valor instanceof MultipartFile arquivo) {
+            Map<String, Object> resumo = new LinkedHashMap<>();
+            resumo.put("nome", arquivo.getOriginalFilename());
+            resumo.put("contentType", arquivo.getContentType());
+            resumo.put("tamanho", arquivo.getSize());
+            return resumo;
+        }
+        if (valor instanceof HibernateProxy proxy) {
+            return Map.of("id", proxy.getHibernateLazyInitializer().getInternalIdentifier());
+        }
+        if (valor.getClass().isAnnotationPresent(Entity.class)) {
+            Object id = ler(valor, "id");
+            return id == null ? valor.getClass().getSimpleName() : Map.of("id", id);
+        }
+        if (valor instanceof Collection<?> colecao) {
+            return Map.of("itens", colecao.size());
+        }
+        if (valor instanceof Optional<?> opcional) {
+            return resumir(nome, opcional.orElse(null), profundidade);
+        }
+        if (valor instanceof Record registro && profundidade < MAX_PROFUNDIDADE) {
+            Map<String, Object> copia = new LinkedHashMap<>();
+            for (RecordComponent componente : registro.getClass().getRecordComponents()) {
+                copia.put(componente.getName(), resumir(componente.getName(), ler(registro, componente.getName()), profundidade + 1));
+            }
+            return copia;
+        }
+        // Streams, requisições e demais objetos: só o tipo
+        return valor.getClass().getSimpleName();
+    }
+
+    private Object ler(Object alvo, String propriedade) {
+        if (alvo == null) {
+            return null;
+        }
+        Method acessor = acessores
+            .computeIfAbsent(alvo.getClass(), c -> new ConcurrentHashMap<>())
+            .computeIfAbsent(propriedade, p -> encontrarAcessor(alvo.getClass(), p));
+        if (acessor == null) {
+            return null;
+        }
+        try {
+            return acessor.invoke(alvo);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Method encontrarAcessor(Class<?> tipo, String propriedade) {
+        String sufixo = StringUtils.capitalize(propriedade);
+        for (String nome : new String[] {propriedade, "get" + sufixo, "is" + sufixo}) {
+            try {
+                Method metodo = tipo.getMethod(nome);
+                if (metodo.getParameterCount() == 0 && metodo.getReturnType() != void.class) {
+                    return metodo;
+                }
+            } catch (NoSuchMethodException e) {
+                // tenta a próxima convenção
+            }
+        }
+        return null;
+    }
+
+    private record Campo(int indice, String nome, String propriedade) {
+
+        String chave() {
+            return propriedade == null ? nome : nome + "." + propriedade;
+        }
+    }
+}
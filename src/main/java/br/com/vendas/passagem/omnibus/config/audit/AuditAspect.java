@@ -1,15 +1,15 @@
 package br.com.vendas.passagem.omnibus.config.audit;
 
-import java.util.Arrays;
+import java.util.Map;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
 import br.com.vendas.passagem.omnibus.annotation.Auditable;
 import br.com.vendas.passagem.omnibus.service.AuditLogService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,7 +20,9 @@ import lombok.extern.slf4j.Slf4j;
 public class AuditAspect {
 
     private final AuditLogService auditLogService;
-    private final ObjectMapper objectMapper;
+    private final AuditArgumentCapture auditArgumentCapture;
+    private final AuditPolicy auditPolicy;
+    private final AuditAggregator auditAggregator;
 
     private static final String EXECUTE = "EXECUTE";
 
@@ -38,25 +40,33 @@ public class AuditAspect {
             entity = deduceEntity(joinPoint.getTarget().getClass().getSimpleName());
         }
 
-        Object[] args = joinPoint.getArgs();
-        String details;
-        try {
-            details = "Method: " + methodName + " | Args: " + objectMapper.writeValueAsString(args);
-        } catch (Exception e) {
-            details = "Method: " + methodName + " | Args: " + Arrays.toString(args);
-        }
+        // Só captura o que será registrado; a codificação para JSON fica com o escritor de auditoria
+        AuditPolicy.Decisao decisao = auditPolicy.decidir(action, entity);
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Map<String, Object> argumentos = decisao == AuditPolicy.Decisao.DESCARTAR
+            ? null
+            : auditArgumentCapture.capturar(signature.getMethod(), joinPoint.getArgs());
+        Long entityId = auditArgumentCapture.entityId(signature.getMethod(), joinPoint.getArgs());
+        String details = "Method: " + methodName;
 
         Object result = null;
         try {
             // Executa o método
             result = joinPoint.proceed();
 
-            // Log de sucesso
-            auditLogService.log(action, entity, null, details + " | Status: SUCCESS");
+            // Log de sucesso, conforme a política de volume
+            if (decisao == AuditPolicy.Decisao.REGISTRAR
+                    || decisao == AuditPolicy.Decisao.AGREGAR
+                        && !auditAggregator.agregar(action, entity, entityId, methodName, argumentos)) {
+                auditLogService.log(action, entity, entityId, details + " | Status: SUCCESS", argumentos);
+            }
             return result;
         } catch (Exception e) {
-            // Log de erro
-            auditLogService.log(action, entity, null, details + " | Status: ERROR | Message: " + e.getMessage());
+            // Falhas são sempre registradas
+            if (argumentos == null) {
+                argumentos = auditArgumentCapture.capturar(signature.getMethod(), joinPoint.getArgs());
+            }
+            auditLogService.log(action, entity, entityId, details + " | Status: ERROR | Message: " + e.getMessage(), argumentos);
             throw e;
         }
     }
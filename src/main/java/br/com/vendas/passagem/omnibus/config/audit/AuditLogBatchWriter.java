@@ -0,0 +1,370 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.vendas.passagem.omnibus.domain.audit.AuditLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Escritor write-behind de auditoria.
+ *
+ * Os eventos entram numa fila limitada em memória e uma thread de fundo
+ * descarrega em lotes (batch insert JDBC) na tabela audit_logs, sem segurar
+ * uma segunda conexão do pool durante a requisição de negócio. A thread só é
+ * iniciada com {@code audit.write-behind.enabled}.
+ *
+ * Com a política SPILL, o reprocessamento do arquivo em disco grava um checkpoint
+ * (linhas já confirmadas) após cada lote: uma falha no meio retoma do lote seguinte,
+ * e no pior caso (queda entre o commit e o checkpoint) um lote é gravado duas vezes.
+ */
+@Component
+@Slf4j
+public class AuditLogBatchWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO audit_logs (entity_name, entity_id, action, username, details, payload, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), ?)";
+
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_FILE = "audit-spill.replay.ndjson";
+    private static final String CHECKPOINT_FILE = "audit-spill.replay.checkpoint";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditPayloadEncoder payloadEncoder;
+
+    @Value("${audit.write-behind.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.write-behind.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${audit.write-behind.overflow-policy:BLOCK}")
+    private AuditOverflowPolicy overflowPolicy;
+
+    @Value("${audit.write-behind.block-timeout-ms:200}")
+    private long blockTimeoutMs;
+
+    @Value("${audit.write-behind.spill-dir:${java.io.tmpdir}/omnibus-audit}")
+    private String spillDirPath;
+
+    // ReentrantLock em vez de synchronized: E/S de arquivo sob synchronized prende a carrier thread
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+
+    private Path spillDir;
+    private BlockingQueue<AuditLog> queue;
+    private Thread drainer;
+    private volatile boolean running;
+
+    public AuditLogBatchWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, AuditPayloadEncoder payloadEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.payloadEncoder = payloadEncoder;
+    }
+
+    @PostConstruct
+    void start() {
+        spillDir = Path.of(spillDirPath);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (!enabled) {
+            // Gravação síncrona (AuditLogService): a fila não é usada
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "audit-log-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (drainer == null) {
+            return;
+        }
+        running = false;
+        drainer.interrupt();
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Descarrega o que sobrou na fila antes de encerrar
+        List<AuditLog> restantes = new ArrayList<>();
+        queue.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            flush(restantes);
+        }
+    }
+
+    /**
+     * Enfileira um evento de auditoria. Nunca lança exceção para o chamador.
+     */
+    public void enqueue(AuditLog entry) {
+        if (entry.getCreatedAt() == null) {
+            entry.setCreatedAt(LocalDateTime.now());
+        }
+
+        if (queue.offer(entry)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        registrarDescarte(entry);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    registrarDescarte(entry);
+                }
+            }
+            case SPILL -> spill(List.of(entry));
+            case DROP -> registrarDescarte(entry);
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                collect(batch);
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                } else if (overflowPolicy == AuditOverflowPolicy.SPILL) {
+                    replaySpill();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("Falha no escritor assíncrono de auditoria", e);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Acumula eventos até completar o lote ou até o intervalo de flush expirar.
+     */
+    private void collect(List<AuditLog> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            AuditLog entry = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (entry == null) {
+                return;
+            }
+            batch.add(entry);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    void flush(List<AuditLog> batch) {
+        codificarPayloads(batch);
+        try {
+            insert(batch);
+        } catch (Exception e) {
+            if (overflowPolicy == AuditOverflowPolicy.SPILL) {
+                log.warn("Falha ao gravar lote de auditoria ({} eventos), gravando em disco", batch.size(), e);
+                spill(batch);
+            } else {
+                log.warn("Falha ao gravar lote de auditoria, {} eventos descartados", batch.size(), e);
+                dropped.addAndGet(batch.size());
+            }
+        }
+    }
+
+    private void insert(List<AuditLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+            ps.setString(1, entry.getEntityName());
+            if (entry.getEntityId() != null) {
+                ps.setLong(2, entry.getEntityId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, entry.getAction());
+            ps.setString(4, entry.getUsername());
+            ps.setString(5, entry.getDetails());
+            ps.setString(6, entry.getPayload());
+            ps.setTimestamp(7, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+    }
+
+    private void registrarDescarte(AuditLog entry) {
+        long total = dropped.incrementAndGet();
+        if (total % 1000 == 1) {
+            log.warn("Fila de auditoria cheia, descartando eventos (total descartado: {}) | {} | {}",
+                total, entry.getAction(), entry.getEntityName());
+        }
+    }
+
+    /**
+     * Codifica os argumentos capturados na thread do escritor, fora do caminho da requisição.
+     */
+    private void codificarPayloads(List<AuditLog> entries) {
+        for (AuditLog entry : entries) {
+            if (entry.getPayload() == null && entry.getArgumentos() != null) {
+                entry.setPayload(payloadEncoder.encode(entry.getArgumentos()));
+                entry.setArgumentos(null);
+            }
+        }
+    }
+
+    private void spill(List<AuditLog> entries) {
+        codificarPayloads(entries);
+        spillLock.lock();
+        try {
+            try {
+                Files.createDirectories(spillDir);
+                try (BufferedWriter writer = Files.newBufferedWriter(spillDir.resolve(SPILL_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLog entry : entries) {
+                        writer.write(objectMapper.writeValueAsString(entry));
+                        writer.newLine();
+                    }
+                }
+                spilled.addAndGet(entries.size());
+            } catch (IOException e) {
+                log.warn("Falha ao gravar auditoria em disco, {} eventos descartados", entries.size(), e);
+                dropped.addAndGet(entries.size());
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Reprocessa os eventos gravados em disco quando a fila está ociosa, retomando do
+     * último lote confirmado. Linhas ilegíveis são descartadas e contabilizadas.
+     */
+    void replaySpill() {
+        Path replay = spillDir.resolve(REPLAY_FILE);
+        Path checkpoint = spillDir.resolve(CHECKPOINT_FILE);
+        spillLock.lock();
+        try {
+            Path spill = spillDir.resolve(SPILL_FILE);
+            if (!Files.exists(replay)) {
+                if (!Files.exists(spill)) {
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(checkpoint);
+                    Files.move(spill, replay, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.warn("Falha ao preparar reprocessamento da auditoria em disco", e);
+                    return;
+                }
+            }
+        } finally {
+            spillLock.unlock();
+        }
+
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+            long confirmadas = lerCheckpoint(checkpoint);
+            long lidas = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lidas++;
+                if (lidas <= confirmadas || line.isBlank()) {
+                    continue;
+                }
+                AuditLog entry = ler(line);
+                if (entry != null) {
+                    batch.add(entry);
+                }
+                if (batch.size() == batchSize) {
+                    insert(batch);
+                    batch.clear();
+                    gravarCheckpoint(checkpoint, lidas);
+                }
+            }
+            if (!batch.isEmpty()) {
+                insert(batch);
+            }
+            Files.delete(replay);
+            Files.deleteIfExists(checkpoint);
+        } catch (Exception e) {
+            // Mantém o arquivo e o checkpoint para nova tentativa no próximo ciclo ocioso
+            log.warn("Falha ao reprocessar auditoria gravada em disco", e);
+        }
+    }
+
+    private AuditLog ler(String line) {
+        try {
+            return objectMapper.readValue(line, AuditLog.class);
+        } catch (IOException e) {
+            log.warn("Linha inválida na auditoria em disco descartada", e);
+            dropped.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static long lerCheckpoint(Path checkpoint) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        String conteudo = Files.readString(checkpoint, StandardCharsets.UTF_8).trim();
+        return conteudo.isEmpty() ? 0 : Long.parseLong(conteudo);
+    }
+
+    /**
+     * Escreve em arquivo temporário e renomeia: um checkpoint parcial nunca é lido.
+     */
+    private static void gravarCheckpoint(Path checkpoint, long linhas) throws IOException {
+        Path temporario = checkpoint.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temporario, Long.toString(linhas), StandardCharsets.UTF_8);
+        Files.move(temporario, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+/**
+ * Comportamento do escritor assíncrono de auditoria quando a fila em memória está cheia.
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * Bloqueia a thread da requisição até haver espaço (com tempo máximo de espera).
+     */
+    BLOCK,
+
+    /**
+     * Descarta o evento e contabiliza o descarte.
+     */
+    DROP,
+
+    /**
+     * Grava o evento em arquivo local para ser reprocessado quando a fila esvaziar.
+     */
+    SPILL
+}
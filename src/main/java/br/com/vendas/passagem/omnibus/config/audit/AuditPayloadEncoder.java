@@ -0,0 +1,18 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import java.util.Map;
+
+/**
+ * Codifica os argumentos capturados de um método auditado para a coluna payload (JSONB).
+ *
+ * É chamado fora da thread da requisição, pelo escritor de auditoria. Para trocar o
+ * formato, declare outro bean desta interface com {@code @Primary}.
+ */
+public interface AuditPayloadEncoder {
+
+    /**
+     * @param argumentos saída de {@link AuditArgumentCapture}: apenas escalares, mapas e listas
+     * @return documento JSON, ou null se não houver o que registrar
+     */
+    String encode(Map<String, Object> argumentos);
+}
@@ -0,0 +1,55 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Decide, antes da execução, como uma chamada auditada será registrada.
+ *
+ * Mutações e entidades configuradas em {@code sempre-auditar} são sempre registradas;
+ * falhas também (o aspecto ignora a decisão quando o método lança exceção).
+ * As demais ações podem ser agregadas por janela ou amostradas.
+ */
+@Component
+public class AuditPolicy {
+
+    private static final Set<String> MUTACOES = Set.of("CREATE", "UPDATE", "DELETE");
+
+    public enum Decisao {
+        REGISTRAR,
+        AGREGAR,
+        DESCARTAR
+    }
+
+    private final AuditPolicyProperties properties;
+
+    public AuditPolicy(AuditPolicyProperties properties) {
+        this.properties = properties;
+    }
+
+    public Decisao decidir(String action, String entity) {
+        if (MUTACOES.contains(action) || properties.getSempreAuditar().contains(entity)) {
+            return Decisao.REGISTRAR;
+        }
+        if (properties.getAgregacao().getAcoes().contains(action)) {
+            return Decisao.AGREGAR;
+        }
+
+        double taxa = taxaDeAmostragem(action, entity);
+        if (taxa >= 1.0) {
+            return Decisao.REGISTRAR;
+        }
+        return ThreadLocalRandom.current().nextDouble() < taxa ? Decisao.REGISTRAR : Decisao.DESCARTAR;
+    }
+
+    private double taxaDeAmostragem(String action, String entity) {
+        Map<String, Double> porEntidade = properties.getAmostragem().get(entity);
+        if (porEntidade != null && porEntidade.containsKey(action)) {
+            return porEntidade.get(action);
+        }
+        return properties.getAmostragemPorAcao().getOrDefault(action, 1.0);
+    }
+}
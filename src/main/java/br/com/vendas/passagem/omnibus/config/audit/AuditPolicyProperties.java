@@ -0,0 +1,64 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Política de volume da auditoria ({@code audit.policy.*}).
+ *
+ * <pre>
+ * audit.policy.sempre-auditar=Documento
+ * audit.policy.amostragem-por-acao.READ=0.05
+ * audit.policy.amostragem.Usuario.READ=0.2
+ * audit.policy.agregacao.acoes=READ
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "audit.policy")
+@Getter
+@Setter
+public class AuditPolicyProperties {
+
+    /**
+     * Entidades sempre registradas integralmente, sem amostragem nem agregação.
+     */
+    private Set<String> sempreAuditar = new HashSet<>();
+
+    /**
+     * Taxa de amostragem (0.0 a 1.0) por ação, para todas as entidades.
+     */
+    private Map<String, Double> amostragemPorAcao = new HashMap<>();
+
+    /**
+     * Taxa de amostragem por entidade e ação; tem precedência sobre {@link #amostragemPorAcao}.
+     */
+    private Map<String, Map<String, Double>> amostragem = new HashMap<>();
+
+    private Agregacao agregacao = new Agregacao();
+
+    @Getter
+    @Setter
+    public static class Agregacao {
+
+        /**
+         * Ações agregadas: chamadas iguais (usuário, entidade, método, argumentos) na mesma
+         * janela viram um único registro com a contagem.
+         */
+        private Set<String> acoes = new HashSet<>();
+
+        private long janelaMs = 60_000;
+
+        /**
+         * Acima deste número de chaves distintas na janela, as chamadas são registradas normalmente.
+         */
+        private int maxChaves = 10_000;
+    }
+}
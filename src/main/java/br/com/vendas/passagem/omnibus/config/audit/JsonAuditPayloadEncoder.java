@@ -0,0 +1,44 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Encoder padrão: JSON compacto, sem nulos e com datas em ISO-8601.
+ */
+@Component
+@Slf4j
+public class JsonAuditPayloadEncoder implements AuditPayloadEncoder {
+
+    private final ObjectWriter writer;
+
+    public JsonAuditPayloadEncoder(ObjectMapper objectMapper) {
+        this.writer = objectMapper.copy()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.INDENT_OUTPUT)
+            .writer();
+    }
+
+    @Override
+    public String encode(Map<String, Object> argumentos) {
+        if (argumentos == null || argumentos.isEmpty()) {
+            return null;
+        }
+        try {
+            return writer.writeValueAsString(argumentos);
+        } catch (JsonProcessingException e) {
+            log.warn("Falha ao codificar argumentos da auditoria", e);
+            return null;
+        }
+    }
+}
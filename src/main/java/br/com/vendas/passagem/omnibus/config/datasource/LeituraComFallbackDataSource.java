@@ -0,0 +1,58 @@
+package br.com.vendas.passagem.omnibus.config.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * DataSource das transações somente leitura: réplica quando utilizável, primário caso contrário
+ * (atraso acima do limite, réplica fora do ar ou falha ao obter conexão).
+ */
+public class LeituraComFallbackDataSource extends AbstractDataSource {
+
+    private final DataSource primario;
+    private final ReplicaLeitura replica;
+    private final Counter leiturasReplica;
+    private final Counter leiturasPrimario;
+
+    public LeituraComFallbackDataSource(DataSource primario, ReplicaLeitura replica, MeterRegistry meterRegistry) {
+        this.primario = primario;
+        this.replica = replica;
+        this.leiturasReplica = contador(meterRegistry, "replica");
+        this.leiturasPrimario = contador(meterRegistry, "primario");
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String destino) {
+        return Counter.builder("datasource.leituras")
+            .description("Conexões abertas para transações somente leitura, por destino")
+            .tag("destino", destino)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replica.usavel()) {
+            try {
+                Connection connection = replica.getConnection();
+                leiturasReplica.increment();
+                return connection;
+            } catch (SQLException e) {
+                // A réplica fica marcada como indisponível até a próxima verificação
+            }
+        }
+        leiturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        leiturasPrimario.increment();
+        return primario.getConnection(username, password);
+    }
+}
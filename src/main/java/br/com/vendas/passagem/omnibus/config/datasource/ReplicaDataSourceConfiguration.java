@@ -0,0 +1,82 @@
+package br.com.vendas.passagem.omnibus.config.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplica de leitura: transações {@code readOnly} usam a réplica, as demais o primário.
+ *
+ * O DataSource principal é um {@link LazyConnectionDataSourceProxy}: a conexão física só é
+ * obtida no primeiro comando, quando o gerenciador de transações já marcou a conexão como
+ * somente leitura, e então vem do DataSource de leitura. Flyway, JdbcTemplate fora de
+ * transação e transações de escrita continuam no primário.
+ *
+ * Desligado por padrão ({@code datasource.replica.enabled}); sem ele vale o DataSource
+ * autoconfigurado pelo Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    /**
+     * Pool do primário, com as mesmas propriedades spring.datasource.* do DataSource autoconfigurado.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    /**
+     * O pool da réplica não é exposto como DataSource: fica fora do health check (a queda da
+     * réplica não derruba a aplicação, só desvia as leituras) e da injeção por tipo.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaLeitura replicaLeitura(
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username}") String username,
+            @Value("${datasource.replica.password}") String password,
+            @Value("${datasource.replica.maximum-pool-size:20}") int maximumPoolSize,
+            @Value("${datasource.replica.connection-timeout:1000}") long connectionTimeout,
+            @Value("${datasource.replica.max-atraso-ms:2000}") long maxAtrasoMs,
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setReadOnly(true);
+        // Sobe mesmo com a réplica fora do ar; a verificação periódica a detecta quando voltar
+        config.setInitializationFailTimeout(-1);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReplicaLeitura(new HikariDataSource(config), primaryDataSource, maxAtrasoMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLeitura replicaLeitura,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(new LeituraComFallbackDataSource(primaryDataSource, replicaLeitura, meterRegistry));
+        return proxy;
+    }
+}
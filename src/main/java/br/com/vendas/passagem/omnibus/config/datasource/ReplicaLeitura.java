@@ -0,0 +1,146 @@
+package br.com.vendas.passagem.omnibus.config.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool de conexões da réplica de leitura e o acompanhamento do seu atraso de replicação.
+ *
+ * Uma verificação periódica lê a posição atual do WAL no primário e compara com o que a réplica
+ * já reaplicou: se alcançou, o atraso é zero; senão, é o tempo desde a última transação reaplicada.
+ * Comparar só com o WAL recebido pela própria réplica não basta: com o receptor de WAL
+ * desconectado, recebido e reaplicado ficam iguais e a réplica pareceria em dia. Por isso a
+ * réplica também é descartada enquanto não houver receptor de WAL ativo.
+ *
+ * A réplica só é usada enquanto responde e o atraso fica abaixo de {@code max-atraso-ms}; fora
+ * disso as leituras vão para o primário até a próxima verificação bem-sucedida. Um banco que não
+ * está em recuperação (réplica lógica, ou um banco independente em testes) conta como sem atraso.
+ */
+@Slf4j
+public class ReplicaLeitura implements AutoCloseable {
+
+    private static final String POSICAO_PRIMARIO_SQL = "SELECT CAST(pg_current_wal_lsn() AS text)";
+
+    /**
+     * -1 quando o receptor de WAL não está rodando (réplica desconectada do primário). Sem a
+     * posição do primário, compara com o último WAL recebido.
+     */
+    private static final String ATRASO_SQL = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN -1
+            WHEN pg_last_wal_replay_lsn() >= COALESCE(CAST(? AS pg_lsn), pg_last_wal_receive_lsn()) THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, -1)
+        END
+        """;
+    private static final int TIMEOUT_VERIFICACAO_SEGUNDOS = 2;
+
+    private final HikariDataSource dataSource;
+    private final DataSource primario;
+    private final long maxAtrasoMs;
+
+    private volatile boolean disponivel;
+    private volatile long atrasoMs = -1;
+
+    public ReplicaLeitura(HikariDataSource dataSource, DataSource primario, long maxAtrasoMs,
+                          MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.primario = primario;
+        this.maxAtrasoMs = maxAtrasoMs;
+        Gauge.builder("datasource.replica.atraso", this, ReplicaLeitura::getAtrasoMs)
+            .description("Atraso de replicação medido na última verificação (-1 se a réplica não respondeu ou não recebe WAL)")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("datasource.replica.disponivel", this, replica -> replica.usavel() ? 1 : 0)
+            .description("1 se as leituras estão indo para a réplica, 0 se estão no primário")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${datasource.replica.verificacao-ms:2000}")
+    public void verificar() {
+        boolean usavelAntes = usavel();
+        String posicaoPrimario = posicaoPrimario();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(ATRASO_SQL)) {
+            statement.setQueryTimeout(TIMEOUT_VERIFICACAO_SEGUNDOS);
+            statement.setString(1, posicaoPrimario);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                atrasoMs = rs.getLong(1);
+            }
+            disponivel = true;
+            if (!usavelAntes && usavel()) {
+                log.info("Réplica de leitura em uso (atraso de {} ms)", atrasoMs);
+            } else if (usavelAntes && atrasoMs < 0) {
+                log.warn("Réplica de leitura sem receptor de WAL ativo, leituras vão para o primário");
+            } else if (usavelAntes && !usavel()) {
+                log.warn("Réplica de leitura com atraso de {} ms (limite {} ms), leituras vão para o primário",
+                    atrasoMs, maxAtrasoMs);
+            }
+        } catch (SQLException e) {
+            registrarFalha(e);
+        }
+    }
+
+    /**
+     * Posição atual do WAL no primário, ou null se não foi possível lê-la.
+     */
+    private String posicaoPrimario() {
+        try (Connection connection = primario.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(TIMEOUT_VERIFICACAO_SEGUNDOS);
+            try (ResultSet rs = statement.executeQuery(POSICAO_PRIMARIO_SQL)) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            log.debug("Não foi possível ler a posição do WAL no primário: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * A réplica respondeu na última verificação e o atraso está dentro do limite.
+     */
+    public boolean usavel() {
+        return disponivel && atrasoMs >= 0 && atrasoMs <= maxAtrasoMs;
+    }
+
+    public Connection getConnection() throws SQLException {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            registrarFalha(e);
+            throw e;
+        }
+    }
+
+    public long getAtrasoMs() {
+        return atrasoMs;
+    }
+
+    private void registrarFalha(SQLException e) {
+        if (disponivel) {
+            log.warn("Réplica de leitura indisponível, leituras vão para o primário: {}", e.getMessage());
+        }
+        disponivel = false;
+        atrasoMs = -1;
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.vendas.passagem.omnibus.config.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import br.com.vendas.passagem.omnibus.config.audit.AuditLogBatchWriter;
+import br.com.vendas.passagem.omnibus.config.minio.MinioBucketProvisioner;
+import br.com.vendas.passagem.omnibus.config.sentry.AdaptiveTracesSampler;
+import br.com.vendas.passagem.omnibus.config.sentry.SentryErrorReporter;
+import br.com.vendas.passagem.omnibus.config.threads.VirtualThreadPinningMonitor;
+import br.com.vendas.passagem.omnibus.service.reserva.PassagemPersister;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Expõe como métricas o estado das filas em memória e dos componentes de fundo,
+ * lido dos getters já existentes (sem custo no caminho das requisições).
+ */
+@Component
+public class FilasMeterBinder implements MeterBinder {
+
+    private final AuditLogBatchWriter auditLogBatchWriter;
+    private final PassagemPersister passagemPersister;
+    private final MinioBucketProvisioner minioBucketProvisioner;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    private final SentryErrorReporter sentryErrorReporter;
+    private final AdaptiveTracesSampler tracesSampler;
+
+    public FilasMeterBinder(AuditLogBatchWriter auditLogBatchWriter, PassagemPersister passagemPersister,
+                            MinioBucketProvisioner minioBucketProvisioner,
+                            ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor,
+                            SentryErrorReporter sentryErrorReporter, AdaptiveTracesSampler tracesSampler) {
+        this.auditLogBatchWriter = auditLogBatchWriter;
+        this.passagemPersister = passagemPersister;
+        this.minioBucketProvisioner = minioBucketProvisioner;
+        this.pinningMonitor = pinningMonitor;
+        this.sentryErrorReporter = sentryErrorReporter;
+        this.tracesSampler = tracesSampler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auditoria.fila.tamanho", auditLogBatchWriter, AuditLogBatchWriter::getQueueSize)
+            .description("Eventos de auditoria aguardando gravação")
+            .register(registry);
+        FunctionCounter.builder("auditoria.descartados", auditLogBatchWriter, AuditLogBatchWriter::getDroppedCount)
+            .description("Eventos de auditoria descartados por fila cheia ou falha de gravação")
+            .register(registry);
+        FunctionCounter.builder("auditoria.spill", auditLogBatchWriter, AuditLogBatchWriter::getSpilledCount)
+            .description("Eventos de auditoria gravados em disco por falta de espaço na fila")
+            .register(registry);
+
+        Gauge.builder("reserva.persistencia.fila.tamanho", passagemPersister, PassagemPersister::getQueueSize)
+            .description("Reservas aguardando gravação em lote")
+            .register(registry);
+
+        Gauge.builder("minio.disponivel", minioBucketProvisioner, provisioner -> provisioner.isDisponivel() ? 1 : 0)
+            .description("1 se o bucket de documentos estava acessível na última verificação")
+            .register(registry);
+
+        Gauge.builder("sentry.fila.tamanho", sentryErrorReporter, SentryErrorReporter::getQueueSize)
+            .description("Exceções aguardando envio ao Sentry")
+            .register(registry);
+        Gauge.builder("sentry.traces.taxa", tracesSampler, AdaptiveTracesSampler::getTaxaAtual)
+            .description("Taxa de amostragem de transações calculada no último segundo")
+            .register(registry);
+
+        pinningMonitor.ifAvailable(monitor ->
+            FunctionCounter.builder("threads.virtuais.pinning", monitor, VirtualThreadPinningMonitor::getOcorrencias)
+                .description("Ocorrências de threads virtuais presas à carrier acima do limite")
+                .register(registry));
+    }
+}
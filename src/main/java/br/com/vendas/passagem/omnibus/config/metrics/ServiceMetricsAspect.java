@@ -0,0 +1,85 @@
+package br.com.vendas.passagem.omnibus.config.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Timer {@code servico.metodo} para todo método público de classes {@code @Service},
+ * com as tags classe, metodo e excecao (nome simples, ou "none").
+ *
+ * Os timers ficam em cache por método e exceção: o caminho comum não monta o id do
+ * medidor nem consulta o registro a cada chamada.
+ *
+ * Chamadas internas (this.metodo()) não passam pelo proxy e não são medidas.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String SEM_EXCECAO = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, TimersDoMetodo> timers = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String excecao = SEM_EXCECAO;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            amostra.stop(timersDo(joinPoint).timer(excecao));
+        }
+    }
+
+    private TimersDoMetodo timersDo(ProceedingJoinPoint joinPoint) {
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        TimersDoMetodo doMetodo = timers.get(metodo);
+        if (doMetodo == null) {
+            doMetodo = timers.computeIfAbsent(metodo, m -> new TimersDoMetodo(Timer.builder("servico.metodo")
+                .description("Latência dos métodos de serviço")
+                .tag("classe", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("metodo", joinPoint.getSignature().getName())
+                .withRegistry(meterRegistry)));
+        }
+        return doMetodo;
+    }
+
+    /**
+     * Timer de sucesso pronto; os de exceção são criados na primeira ocorrência de cada tipo.
+     */
+    private static final class TimersDoMetodo {
+
+        private final Meter.MeterProvider<Timer> provider;
+        private final Timer sucesso;
+        private final Map<String, Timer> porExcecao = new ConcurrentHashMap<>();
+
+        TimersDoMetodo(Meter.MeterProvider<Timer> provider) {
+            this.provider = provider;
+            this.sucesso = provider.withTag("excecao", SEM_EXCECAO);
+        }
+
+        Timer timer(String excecao) {
+            if (SEM_EXCECAO.equals(excecao)) {
+                return sucesso;
+            }
+            return porExcecao.computeIfAbsent(excecao, nome -> provider.withTag("excecao", nome));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.vendas.passagem.omnibus.config.minio;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.vendas.passagem.omnibus.exception.MinioStorageException;
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Garante que o bucket de documentos exista, sem consultar o MinIO a cada upload.
+ *
+ * O bucket é verificado/criado na subida e periodicamente; o resultado fica em memória
+ * e é exposto no health check. O caminho de upload só chama {@link #reprovisionar()}
+ * quando o MinIO responde NoSuchBucket.
+ */
+@Component
+@Slf4j
+public class MinioBucketProvisioner {
+
+    static final String NO_SUCH_BUCKET = "NoSuchBucket";
+    private static final String BUCKET_JA_EXISTE = "BucketAlreadyOwnedByYou";
+
+    private final MinioClient minioClient;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Value("${minio.bucket-name}")
+    private String bucketName;
+
+    private volatile boolean disponivel;
+    private volatile Instant ultimaVerificacao;
+    private volatile String ultimoErro;
+
+    public MinioBucketProvisioner(MinioClient minioClient) {
+        this.minioClient = minioClient;
+    }
+
+    /**
+     * Não impede a subida da aplicação: se o MinIO estiver fora, o estado fica DOWN
+     * até a próxima verificação agendada.
+     */
+    @PostConstruct
+    void provisionarNaSubida() {
+        try {
+            reprovisionar();
+            log.info("Bucket {} verificado no MinIO", bucketName);
+        } catch (MinioStorageException e) {
+            log.warn("MinIO indisponível na subida, bucket {} será verificado novamente", bucketName, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${minio.bucket.verify-interval-ms:300000}",
+               initialDelayString = "${minio.bucket.verify-interval-ms:300000}")
+    void verificarPeriodicamente() {
+        try {
+            reprovisionar();
+        } catch (MinioStorageException e) {
+            log.warn("Falha na verificação periódica do bucket {}", bucketName, e);
+        }
+    }
+
+    /**
+     * Verifica o bucket e cria se não existir. Chamado na subida, no agendamento e
+     * quando um upload recebe NoSuchBucket.
+     */
+    public void reprovisionar() {
+        lock.lock();
+        try {
+            boolean existe = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
+            if (!existe) {
+                criarBucket();
+            }
+            disponivel = true;
+            ultimoErro = null;
+        } catch (MinioStorageException e) {
+            marcarIndisponivel(e);
+            throw e;
+        } catch (Exception e) {
+            marcarIndisponivel(e);
+            throw MinioStorageException.bucketAccessFailed(bucketName, e);
+        } finally {
+            ultimaVerificacao = Instant.now();
+            lock.unlock();
+        }
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    public Instant getUltimaVerificacao() {
+        return ultimaVerificacao;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    /**
+     * Indica se o erro do MinIO é de bucket inexistente.
+     */
+    public static boolean isBucketAusente(Throwable erro) {
+        return erro instanceof ErrorResponseException e
+            && e.errorResponse() != null
+            && NO_SUCH_BUCKET.equals(e.errorResponse().code());
+    }
+
+    private void criarBucket() {
+        try {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            log.info("Bucket {} criado no MinIO", bucketName);
+        } catch (ErrorResponseException e) {
+            // Outra instância criou o bucket entre a verificação e a criação
+            if (!BUCKET_JA_EXISTE.equals(e.errorResponse().code())) {
+                throw MinioStorageException.bucketCreationFailed(bucketName, e);
+            }
+        } catch (Exception e) {
+            throw MinioStorageException.bucketCreationFailed(bucketName, e);
+        }
+    }
+
+    private void marcarIndisponivel(Exception e) {
+        disponivel = false;
+        ultimoErro = e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+}
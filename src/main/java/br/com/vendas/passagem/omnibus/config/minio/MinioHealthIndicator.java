@@ -0,0 +1,31 @@
+package br.com.vendas.passagem.omnibus.config.minio;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health do MinIO a partir da última verificação do bucket, sem chamada de rede por consulta.
+ */
+@Component("minio")
+public class MinioHealthIndicator implements HealthIndicator {
+
+    private final MinioBucketProvisioner provisioner;
+
+    public MinioHealthIndicator(MinioBucketProvisioner provisioner) {
+        this.provisioner = provisioner;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = provisioner.isDisponivel() ? Health.up() : Health.down();
+        builder.withDetail("bucket", provisioner.getBucketName());
+        if (provisioner.getUltimaVerificacao() != null) {
+            builder.withDetail("ultimaVerificacao", provisioner.getUltimaVerificacao().toString());
+        }
+        if (provisioner.getUltimoErro() != null) {
+            builder.withDetail("erro", provisioner.getUltimoErro());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.vendas.passagem.omnibus.config.security;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository.CredencialLogin;
+
+/**
+ * Dados do login resolvidos em uma única consulta: hash da senha, perfis e se o usuário possui empresa.
+ */
+public record CredenciaisLogin(
+    Long usuarioId,
+    String email,
+    String senhaHash,
+    TipoPerfil perfilAtivo,
+    Set<TipoPerfil> perfis,
+    boolean possuiEmpresa
+) {
+
+    /**
+     * Agrupa as linhas da consulta (uma por perfil).
+     *
+     * @return credenciais, ou {@code null} se o e-mail não existe
+     */
+    public static CredenciaisLogin de(List<CredencialLogin> linhas) {
+        if (linhas.isEmpty()) {
+            return null;
+        }
+        CredencialLogin primeira = linhas.get(0);
+        Set<TipoPerfil> perfis = EnumSet.noneOf(TipoPerfil.class);
+        for (CredencialLogin linha : linhas) {
+            if (linha.getPerfil() != null) {
+                perfis.add(linha.getPerfil());
+            }
+        }
+        return new CredenciaisLogin(primeira.getId(), primeira.getEmail(), primeira.getSenha(), primeira.getPerfilAtivo(),
+            Set.copyOf(perfis), Boolean.TRUE.equals(primeira.getPossuiEmpresa()));
+    }
+
+    /**
+     * Principal desacoplado do contexto de persistência, sem senha.
+     */
+    public Usuario toUsuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(usuarioId);
+        usuario.setEmail(email);
+        usuario.setPerfilAtivo(perfilAtivo);
+        usuario.setPerfis(new HashSet<>(perfis));
+        return usuario;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.vendas.passagem.omnibus.config.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+
+/**
+ * Autenticação por e-mail e senha com uma única consulta ao banco.
+ *
+ * Substitui o DaoAuthenticationProvider/UserDetailsService, que recarregava a entidade
+ * e os perfis depois de o serviço de login já ter buscado o usuário. As credenciais
+ * resolvidas ficam em {@link Authentication#getDetails()} para as validações de perfil.
+ */
+@Component
+public class LoginAuthenticationProvider implements AuthenticationProvider {
+
+    private final UsuarioRepository usuarioRepository;
+    private final PasswordHashingService passwordHashing;
+
+    // Hash usado quando o e-mail não existe, para que o tempo de resposta não revele quais e-mails estão cadastrados
+    private volatile String hashFicticio;
+
+    public LoginAuthenticationProvider(UsuarioRepository usuarioRepository, PasswordHashingService passwordHashing) {
+        this.usuarioRepository = usuarioRepository;
+        this.passwordHashing = passwordHashing;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        String email = authentication.getName();
+        String senha = authentication.getCredentials() == null ? "" : authentication.getCredentials().toString();
+
+        CredenciaisLogin credenciais = CredenciaisLogin.de(usuarioRepository.findCredenciaisByEmail(email));
+        if (credenciais == null) {
+            passwordHashing.matches(senha, hashFicticio());
+            throw new BadCredentialsException("Credenciais inválidas");
+        }
+        if (!passwordHashing.matches(senha, credenciais.senhaHash())) {
+            throw new BadCredentialsException("Credenciais inválidas");
+        }
+        if (passwordHashing.upgradeEncoding(credenciais.senhaHash())) {
+            atualizarHashDepois(credenciais.usuarioId(), senha, credenciais.senhaHash());
+        }
+
+        Usuario principal = credenciais.toUsuario();
+        UsernamePasswordAuthenticationToken autenticado =
+            UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        autenticado.setDetails(credenciais);
+        return autenticado;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    /**
+     * Regrava o hash em formato/custo antigo fora do caminho do login. A condição no hash
+     * atual evita sobrescrever uma troca de senha feita nesse meio tempo.
+     */
+    private void atualizarHashDepois(Long usuarioId, String senha, String hashAtual) {
+        passwordHashing.encodeDepois(senha, novoHash -> usuarioRepository.atualizarHashSenha(usuarioId, hashAtual, novoHash));
+    }
+
+    private String hashFicticio() {
+        String hash = hashFicticio;
+        if (hash == null) {
+            hash = passwordHashing.encode("senha-inexistente");
+            hashFicticio = hash;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.vendas.passagem.omnibus.config.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.vendas.passagem.omnibus.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executa o hash/verificação de senhas (BCrypt) num pool próprio e limitado.
+ *
+ * O trabalho de CPU do login sai das threads de requisição: no máximo {@code threads}
+ * hashes rodam ao mesmo tempo e até {@code queue-capacity} esperam na fila. Cada origem
+ * (IP) tem no máximo {@code max-por-origem} operações em andamento. Acima disso a
+ * requisição é recusada com 429, e o restante da API continua com CPU disponível.
+ *
+ * O IP é o {@code remoteAddr} já resolvido pelo Tomcat ({@code server.forward-headers-strategy}):
+ * o do cliente quando a requisição passou por um proxy confiável, o da conexão caso contrário.
+ */
+@Component
+@Slf4j
+public class PasswordHashingService {
+
+    private static final long RETRY_AFTER_SEGUNDOS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${api.security.password.hashing.threads:0}")
+    private int threads;
+
+    @Value("${api.security.password.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${api.security.password.hashing.max-por-origem:2}")
+    private int maxPorOrigem;
+
+    @Value("${api.security.password.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private final Map<String, Integer> emAndamentoPorOrigem = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+    private Counter recusadosOrigem;
+    private Counter recusadosFila;
+    private Counter recusadosTimeout;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        int tamanho = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequencia = new AtomicInteger();
+        executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            tarefa -> {
+                Thread thread = new Thread(tarefa, "senha-hash-" + sequencia.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.queued / executor.active / executor.pool.size etc. com a tag name=senha.hash
+        new ExecutorServiceMetrics(executor, "senha.hash", List.of()).bindTo(meterRegistry);
+        recusadosOrigem = recusados("origem");
+        recusadosFila = recusados("fila");
+        recusadosTimeout = recusados("timeout");
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public String encode(CharSequence senha) {
+        return executar(() -> passwordEncoder.encode(senha));
+    }
+
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> passwordEncoder.matches(senha, hash));
+    }
+
+    /**
+     * Verificação barata (só lê o prefixo/custo do hash), sem passar pelo pool.
+     */
+    public boolean upgradeEncoding(String hash) {
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    /**
+     * Gera o hash no pool sem esperar o resultado e o entrega a {@code destino} (ex.: regravar
+     * um hash antigo após o login). Com a fila cheia a tarefa é ignorada; será tentada de novo
+     * numa próxima ocasião.
+     */
+    public void encodeDepois(CharSequence senha, Consumer<String> destino) {
+        try {
+            executor.execute(() -> {
+                try {
+                    destino.accept(passwordEncoder.encode(senha));
+                } catch (Exception e) {
+                    log.warn("Falha ao regravar hash de senha em segundo plano", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            recusadosFila.increment();
+        }
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        String origem = origemAtual();
+        if (origem != null && !reservar(origem)) {
+            recusadosOrigem.increment();
+            throw new TooManyRequestsException("Muitas tentativas simultâneas. Tente novamente em instantes.", RETRY_AFTER_SEGUNDOS);
+        }
+        try {
+            Future<T> futuro;
+            try {
+                futuro = executor.submit(tarefa);
+            } catch (RejectedExecutionException e) {
+                recusadosFila.increment();
+                throw new TooManyRequestsException("Serviço de autenticação sobrecarregado. Tente novamente em instantes.", RETRY_AFTER_SEGUNDOS);
+            }
+            return aguardar(futuro);
+        } finally {
+            if (origem != null) {
+                liberar(origem);
+            }
+        }
+    }
+
+    private <T> T aguardar(Future<T> futuro) {
+        try {
+            return futuro.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            recusadosTimeout.increment();
+            throw new TooManyRequestsException("Serviço de autenticação sobrecarregado. Tente novamente em instantes.", RETRY_AFTER_SEGUNDOS);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando hash de senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Falha no hash de senha", e.getCause());
+        }
+    }
+
+    private boolean reservar(String origem) {
+        boolean[] reservado = {false};
+        emAndamentoPorOrigem.compute(origem, (chave, atual) -> {
+            int quantidade = atual == null ? 0 : atual;
+            if (quantidade >= maxPorOrigem) {
+                return atual;
+            }
+            reservado[0] = true;
+            return quantidade + 1;
+        });
+        return reservado[0];
+    }
+
+    private void liberar(String origem) {
+        emAndamentoPorOrigem.computeIfPresent(origem, (chave, atual) -> atual <= 1 ? null : atual - 1);
+    }
+
+    private static String origemAtual() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            return atributos.getRequest().getRemoteAddr();
+        }
+        // Chamadas fora de requisição HTTP não têm limite por origem, só o da fila
+        return null;
+    }
+
+    private Counter recusados(String motivo) {
+        return Counter.builder("senha.hash.recusados")
+            .description("Operações de hash de senha recusadas por limite de capacidade")
+            .tag("motivo", motivo)
+            .register(meterRegistry);
+    }
+}
@@ -1,5 +1,8 @@
 package br.com.vendas.passagem.omnibus.config.security;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,6 +12,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -18,8 +22,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity
 public class SecurityConfigurations {
 
+    private static final String ID_BCRYPT = "bcrypt";
+
     private final TokenFilter tokenFilter;
 
+    @Value("${management.server.port:-1}")
+    private int portaGerenciamento;
+
     public SecurityConfigurations(TokenFilter tokenFilter) {
         this.tokenFilter = tokenFilter;
     }
@@ -36,8 +45,12 @@ public class SecurityConfigurations {
                     "/swagger-ui.html",
                     "/swagger-ui/**",
                     "/api-docs/**",
-                    "/v3/api-docs/**"
+                    "/v3/api-docs/**",
+                    "/actuator/health"
                 ).permitAll()
+                // Scrape do Prometheus sem token só pela porta de gerenciamento, que não é publicada
+                .requestMatchers(request -> request.getLocalPort() == portaGerenciamento
+                    && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(tokenFilter, UsernamePasswordAuthenticationFilter.class)
@@ -51,8 +64,16 @@ public class SecurityConfigurations {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Hashes novos saem como {bcrypt}... no custo configurado. Hashes antigos, sem prefixo,
+     * continuam válidos e são regravados no formato atual no próximo login
+     * (ver {@link LoginAuthenticationProvider}).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.password.bcrypt-strength:10}") int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(ID_BCRYPT, Map.of(ID_BCRYPT, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
@@ -0,0 +1,154 @@
+package br.com.vendas.passagem.omnibus.config.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cache limitado de tokens JWT já validados.
+ *
+ * A chave é o hash SHA-256 do token (o token em si não fica em memória) e o valor
+ * guarda as claims verificadas e uma cópia leve do usuário, válida até a expiração
+ * do token. Assim requisições autenticadas não precisam revalidar a assinatura
+ * nem consultar o banco a cada chamada.
+ *
+ * Usuario é uma entidade mutável: a cópia guardada nunca sai do cache, cada leitura
+ * recebe a sua própria cópia para que uma requisição não altere o principal das outras.
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    @Value("${api.security.token.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.security.token.cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, CachedAuthentication> cache;
+
+    /**
+     * Claims verificadas e principal resolvido para um token.
+     */
+    public record CachedAuthentication(
+        Long usuarioId,
+        Usuario principal,
+        List<GrantedAuthority> authorities,
+        Instant expiresAt
+    ) {}
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<String, CachedAuthentication>() {
+                @Override
+                public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    public CachedAuthentication get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        CachedAuthentication cached = cache.getIfPresent(hash(token));
+        if (cached == null || cached.expiresAt().isBefore(Instant.now())) {
+            return null;
+        }
+        return new CachedAuthentication(cached.usuarioId(), snapshot(cached.principal()), cached.authorities(),
+            cached.expiresAt());
+    }
+
+    public void put(String token, Usuario usuario, List<GrantedAuthority> authorities, Instant expiresAt) {
+        if (!enabled || expiresAt == null) {
+            return;
+        }
+        cache.put(hash(token),
+            new CachedAuthentication(usuario.getId(), snapshot(usuario), List.copyOf(authorities), expiresAt));
+    }
+
+    /**
+     * Remove todos os tokens em cache do usuário. Quando chamado dentro de uma
+     * transação, a remoção acontece após o commit para que uma requisição
+     * concorrente não recoloque no cache o estado anterior.
+     */
+    public void invalidarUsuario(Long usuarioId) {
+        if (usuarioId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removerDoCache(usuarioId);
+                }
+            });
+        }
+        removerDoCache(usuarioId);
+    }
+
+    public void invalidarTudo() {
+        cache.invalidateAll();
+    }
+
+    private void removerDoCache(Long usuarioId) {
+        cache.asMap().values().removeIf(cached -> Objects.equals(cached.usuarioId(), usuarioId));
+    }
+
+    /**
+     * Cópia desacoplada do contexto de persistência, sem senha e sem coleções lazy.
+     */
+    private Usuario snapshot(Usuario usuario) {
+        Usuario copia = new Usuario();
+        copia.setId(usuario.getId());
+        copia.setNome(usuario.getNome());
+        copia.setEmail(usuario.getEmail());
+        copia.setCpf(usuario.getCpf());
+        copia.setCreatedAt(usuario.getCreatedAt());
+        copia.setPerfis(new HashSet<>(usuario.getPerfis()));
+        copia.setPerfilAtivo(usuario.getPerfilAtivo());
+        return copia;
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+}
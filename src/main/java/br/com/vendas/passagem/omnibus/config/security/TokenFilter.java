@@ -2,32 +2,65 @@ package br.com.vendas.passagem.omnibus.config.security;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
 
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache.CachedAuthentication;
 import br.com.vendas.passagem.omnibus.domain.Usuario;
 import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Autentica requisições com o token JWT do cabeçalho Authorization.
+ *
+ * O MeterRegistry e o Tracer são opcionais: o filtro também é instanciado em testes de fatia
+ * web e em benchmarks, onde eles não existem no contexto. Sem eles, as métricas ficam num
+ * registro local e os spans são no-op.
+ */
 @Component
 public class TokenFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UsuarioRepository usuarioRepository;
-
-    public TokenFilter(TokenService tokenService, UsuarioRepository usuarioRepository) {
+    private final TokenAuthenticationCache tokenAuthenticationCache;
+    private final Tracer tracer;
+    private final Meter.MeterProvider<Timer> timerFiltro;
+    // Um timer por resultado, criado uma vez
+    private final Map<String, Timer> timersPorResultado = new ConcurrentHashMap<>();
+
+    public TokenFilter(TokenService tokenService, UsuarioRepository usuarioRepository,
+                       TokenAuthenticationCache tokenAuthenticationCache, ObjectProvider<Tracer> tracer,
+                       ObjectProvider<MeterRegistry> meterRegistry) {
         this.tokenService = tokenService;
         this.usuarioRepository = usuarioRepository;
+        this.tokenAuthenticationCache = tokenAuthenticationCache;
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        this.timerFiltro = Timer.builder("token.filtro")
+            .description("Resolução da autenticação a partir do token JWT")
+            .publishPercentileHistogram()
+            .withRegistry(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
     }
 
     @Override
@@ -36,17 +69,52 @@ public class TokenFilter extends OncePerRequestFilter {
 
         var token = this.recoverToken(request);
 
-        if (token != null) {
-            String subject = tokenService.validateToken(token);
-
-            if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                usuarioRepository.findById(Long.valueOf(subject)).ifPresent(usuario -> authenticate(request, usuario, token));
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long inicio = System.nanoTime();
+            String resultado = "invalido";
+            Span span = tracer.nextSpan().name("token.filtro").start();
+            try (Tracer.SpanInScope escopo = tracer.withSpan(span)) {
+                resultado = autenticarToken(request, token);
+            } catch (RuntimeException e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.tag("token.resultado", resultado).end();
+                timersPorResultado.computeIfAbsent(resultado, r -> timerFiltro.withTag("resultado", r))
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * @return como a autenticação foi resolvida, para a tag da métrica
+     */
+    private String autenticarToken(HttpServletRequest request, String token) {
+        CachedAuthentication cached = tokenAuthenticationCache.get(token);
+        if (cached != null) {
+            authenticate(request, cached.principal(), cached.authorities());
+            return "cache";
+        }
+
+        DecodedJWT jwt = tokenService.verify(token);
+        String subject = jwt.getSubject();
+        if (subject == null) {
+            return "sem_usuario";
+        }
+
+        return usuarioRepository.findComPerfisById(Long.valueOf(subject)).map(usuario -> {
+            // Criar authority apenas com o perfil do token
+            List<GrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_" + jwt.getClaim("perfil").asString()));
+
+            tokenAuthenticationCache.put(token, usuario, authorities, jwt.getExpiresAtAsInstant());
+            authenticate(request, usuario, authorities);
+            return "banco";
+        }).orElse("sem_usuario");
+    }
+
     private String recoverToken(HttpServletRequest request) {
 
         String authHeader = request.getHeader("Authorization");
@@ -56,17 +124,11 @@ public class TokenFilter extends OncePerRequestFilter {
         return authHeader.replace("Bearer ", "");
     }
 
-    private void authenticate(HttpServletRequest request, Usuario usuario, String token) {
-        // Extrair o perfil ativo do token
-        String perfilAtivo = JWT.decode(token).getClaim("perfil").asString();
-        
-        // Criar authority apenas com o perfil do token
-        var authority = new SimpleGrantedAuthority("ROLE_" + perfilAtivo);
-        
+    private void authenticate(HttpServletRequest request, Usuario usuario, List<GrantedAuthority> authorities) {
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
             usuario,
             null,
-            Collections.singletonList(authority)
+            authorities
         );
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,176 @@
+package br.com.vendas.passagem.omnibus.config.security;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conjunto de chaves HMAC usadas para assinar e validar tokens JWT.
+ *
+ * Algoritmos e verificadores são criados uma única vez por chave e reaproveitados
+ * (ambos são imutáveis e thread-safe). Várias chaves podem estar ativas ao mesmo
+ * tempo, identificadas pelo {@code kid} do cabeçalho do token; apenas a chave ativa
+ * assina novos tokens. O arquivo de chaves opcional é relido periodicamente,
+ * permitindo rotação sem reiniciar a aplicação.
+ */
+@Component
+@Slf4j
+public class TokenKeyRing {
+
+    static final String ISSUER = "omnibus-api";
+    private static final String ACTIVE_ENTRY = "active";
+
+    private final TokenAuthenticationCache tokenAuthenticationCache;
+
+    @Value("${api.security.token.secret}")
+    private String secret;
+
+    @Value("${api.security.token.kid:v1}")
+    private String defaultKid;
+
+    @Value("${api.security.token.keys-file:}")
+    private String keysFile;
+
+    private final AtomicReference<KeySet> current = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile FileTime keysFileModified;
+
+    /**
+     * Chave usada para assinar novos tokens.
+     */
+    public record SigningKey(String kid, Algorithm algorithm) {}
+
+    private record KeySet(SigningKey active, Map<String, JWTVerifier> verifiers, Map<String, String> secrets) {}
+
+    public TokenKeyRing(TokenAuthenticationCache tokenAuthenticationCache) {
+        this.tokenAuthenticationCache = tokenAuthenticationCache;
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    public SigningKey signingKey() {
+        return current.get().active();
+    }
+
+    /**
+     * Retorna o verificador da chave informada. Tokens sem {@code kid} (emitidos antes
+     * da rotação de chaves) são validados com a chave padrão.
+     */
+    public JWTVerifier verifier(String kid) {
+        return current.get().verifiers().get(kid != null ? kid : defaultKid);
+    }
+
+    /**
+     * Relê o arquivo de chaves se ele foi alterado desde a última carga.
+     */
+    @Scheduled(fixedDelayString = "${api.security.token.keys-reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        if (keysFile == null || keysFile.isBlank()) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(Path.of(keysFile));
+            if (!modified.equals(keysFileModified)) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível verificar o arquivo de chaves JWT: {}", keysFile, e);
+        }
+    }
+
+    /**
+     * Monta um novo conjunto de chaves a partir do segredo padrão e do arquivo de chaves.
+     * O conjunto anterior é mantido se a nova configuração for inválida.
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            recarregar();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void recarregar() {
+        Map<String, String> secrets = new LinkedHashMap<>();
+        secrets.put(defaultKid, secret);
+        String activeKid = defaultKid;
+
+        if (keysFile != null && !keysFile.isBlank()) {
+            Path path = Path.of(keysFile);
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                Properties properties = new Properties();
+                properties.load(reader);
+                for (String kid : properties.stringPropertyNames()) {
+                    if (!ACTIVE_ENTRY.equals(kid)) {
+                        secrets.put(kid, properties.getProperty(kid));
+                    }
+                }
+                activeKid = properties.getProperty(ACTIVE_ENTRY, defaultKid);
+                keysFileModified = Files.getLastModifiedTime(path);
+            } catch (IOException e) {
+                log.warn("Falha ao ler o arquivo de chaves JWT: {}", keysFile, e);
+                if (current.get() != null) {
+                    return;
+                }
+            }
+        }
+
+        if (!secrets.containsKey(activeKid)) {
+            log.warn("Chave JWT ativa '{}' não encontrada, mantendo a configuração anterior", activeKid);
+            if (current.get() != null) {
+                return;
+            }
+            activeKid = defaultKid;
+        }
+
+        Map<String, JWTVerifier> verifiers = new LinkedHashMap<>();
+        SigningKey active = null;
+        for (Map.Entry<String, String> entry : secrets.entrySet()) {
+            Algorithm algorithm = Algorithm.HMAC256(entry.getValue());
+            verifiers.put(entry.getKey(), JWT.require(algorithm).withIssuer(ISSUER).build());
+            if (entry.getKey().equals(activeKid)) {
+                active = new SigningKey(entry.getKey(), algorithm);
+            }
+        }
+
+        KeySet anterior = current.getAndSet(new KeySet(active, Map.copyOf(verifiers), Map.copyOf(secrets)));
+        if (anterior != null) {
+            // Tokens de chaves removidas ou com o segredo trocado não podem continuar válidos pelo cache
+            if (chaveRemovidaOuAlterada(anterior.secrets(), secrets)) {
+                tokenAuthenticationCache.invalidarTudo();
+            }
+            log.info("Chaves JWT recarregadas: {} (ativa: {})", verifiers.keySet(), activeKid);
+        }
+    }
+
+    /**
+     * Só a inclusão de chaves novas preserva os tokens em cache.
+     */
+    private static boolean chaveRemovidaOuAlterada(Map<String, String> anteriores, Map<String, String> atuais) {
+        return anteriores.entrySet().stream()
+            .anyMatch(entry -> !entry.getValue().equals(atuais.get(entry.getKey())));
+    }
+}
@@ -3,75 +3,110 @@ package br.com.vendas.passagem.omnibus.config.security;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 
 import br.com.vendas.passagem.omnibus.exception.TokenGenerationException;
+import br.com.vendas.passagem.omnibus.config.security.TokenKeyRing.SigningKey;
 import br.com.vendas.passagem.omnibus.domain.Usuario;
 import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private final TokenKeyRing tokenKeyRing;
+    private final Timer geracao;
+    private final Timer verificacaoValida;
+    private final Timer verificacaoInvalida;
+
+    public TokenService(TokenKeyRing tokenKeyRing, MeterRegistry meterRegistry) {
+        this.tokenKeyRing = tokenKeyRing;
+        this.geracao = Timer.builder("token.geracao")
+            .description("Assinatura de tokens JWT")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.verificacaoValida = verificacao(meterRegistry, "valido");
+        this.verificacaoInvalida = verificacao(meterRegistry, "invalido");
+    }
 
     public String gerarToken(Usuario usuario, TipoPerfil perfilAtivo) {
         if (!usuario.possuiPerfil(perfilAtivo)) {
             throw new IllegalArgumentException("Usuário não possui o perfil informado");
         }
 
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.create()
-                .withIssuer("omnibus-api")
-                .withSubject(String.valueOf(usuario.getId()))
-                .withClaim("email", usuario.getEmail())
-                .withClaim("perfil", perfilAtivo.name())
-                .withExpiresAt(expiration())
-                .sign(algorithm);
-        } catch (JWTCreationException exception) {
-            throw new TokenGenerationException("Erro ao gerar token JWT", exception);
-        }
+        return assinar(usuario, perfilAtivo);
     }
 
     public String gerarTokenComPerfilAtivo(Usuario usuario) {
+        TipoPerfil perfilAtivo = usuario.getPerfilAtivo();
+        if (!usuario.possuiPerfil(perfilAtivo)) {
+            throw new IllegalArgumentException("Usuário não possui o perfil ativo configurado");
+        }
+
+        return assinar(usuario, perfilAtivo);
+    }
+
+    public String validateToken(String token){
+        return verify(token).getSubject();
+    }
+
+    /**
+     * Valida o token e devolve as claims decodificadas, evitando decodificar o token novamente.
+     * O verificador é escolhido pelo {@code kid} do cabeçalho.
+     */
+    public DecodedJWT verify(String token) {
+        long inicio = System.nanoTime();
+        Timer timer = verificacaoInvalida;
         try {
-            TipoPerfil perfilAtivo = usuario.getPerfilAtivo();
-            if (!usuario.possuiPerfil(perfilAtivo)) {
-                throw new IllegalArgumentException("Usuário não possui o perfil ativo configurado");
+            DecodedJWT decoded = JWT.decode(token);
+            JWTVerifier verifier = tokenKeyRing.verifier(decoded.getKeyId());
+            if (verifier == null) {
+                throw new TokenGenerationException("Token assinado com chave desconhecida");
             }
+            DecodedJWT verificado = verifier.verify(decoded);
+            timer = verificacaoValida;
+            return verificado;
+        } catch (JWTVerificationException e) {
+            throw new TokenGenerationException("Token inválido ou expirado", e); // criar exetion para TokenInvalidException
+        } finally {
+            timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
 
-            Algorithm algorithm = Algorithm.HMAC256(secret);
+    private String assinar(Usuario usuario, TipoPerfil perfilAtivo) {
+        long inicio = System.nanoTime();
+        try {
+            SigningKey signingKey = tokenKeyRing.signingKey();
             return JWT.create()
-                .withIssuer("omnibus-api")
+                .withKeyId(signingKey.kid())
+                .withIssuer(TokenKeyRing.ISSUER)
                 .withSubject(String.valueOf(usuario.getId()))
                 .withClaim("email", usuario.getEmail())
                 .withClaim("perfil", perfilAtivo.name())
                 .withExpiresAt(expiration())
-                .sign(algorithm);
+                .sign(signingKey.algorithm());
         } catch (JWTCreationException exception) {
             throw new TokenGenerationException("Erro ao gerar token JWT", exception);
+        } finally {
+            geracao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
     }
 
-    public String validateToken(String token){
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                .withIssuer("omnibus-api")
-                .build()
-                .verify(token)
-                .getSubject();
-        } catch (JWTVerificationException e) {
-            throw new TokenGenerationException("Token inválido ou expirado", e); // criar exetion para TokenInvalidException
-        }
+    private static Timer verificacao(MeterRegistry meterRegistry, String resultado) {
+        return Timer.builder("token.verificacao")
+            .description("Validação de assinatura e expiração de tokens JWT")
+            .tag("resultado", resultado)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
     private Instant expiration() {
@@ -0,0 +1,47 @@
+package br.com.vendas.passagem.omnibus.config.sentry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.vendas.passagem.omnibus.config.tracing.TaxaAmostragemAdaptativa;
+import io.sentry.SamplingContext;
+import io.sentry.SentryOptions;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Taxa de amostragem de transações que se ajusta ao volume, no lugar do traces-sample-rate fixo.
+ *
+ * Mira em cerca de {@code alvo-por-segundo} transações amostradas por segundo (ver
+ * {@link TaxaAmostragemAdaptativa}). Rotas do actuator não são rastreadas e a decisão
+ * de um trace distribuído já iniciado é respeitada.
+ */
+@Component
+public class AdaptiveTracesSampler implements SentryOptions.TracesSamplerCallback {
+
+    private final TaxaAmostragemAdaptativa taxa;
+
+    public AdaptiveTracesSampler(@Value("${erros.sentry.traces.alvo-por-segundo:5}") double alvoPorSegundo,
+                                 @Value("${erros.sentry.traces.taxa-minima:0.001}") double taxaMinima,
+                                 @Value("${erros.sentry.traces.taxa-maxima:1.0}") double taxaMaxima) {
+        this.taxa = new TaxaAmostragemAdaptativa(alvoPorSegundo, taxaMinima, taxaMaxima);
+    }
+
+    @Override
+    public Double sample(SamplingContext samplingContext) {
+        Boolean paiAmostrado = samplingContext.getTransactionContext().getParentSampled();
+        if (paiAmostrado != null) {
+            return paiAmostrado ? 1.0 : 0.0;
+        }
+        Object request = samplingContext.getCustomSamplingContext() == null
+            ? null
+            : samplingContext.getCustomSamplingContext().get("request");
+        if (request instanceof HttpServletRequest http && http.getRequestURI().startsWith("/actuator")) {
+            return 0.0;
+        }
+        return taxa.registrar();
+    }
+
+    public double getTaxaAtual() {
+        return taxa.getTaxaAtual();
+    }
+}
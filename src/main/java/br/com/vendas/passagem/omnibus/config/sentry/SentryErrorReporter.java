@@ -0,0 +1,254 @@
+package br.com.vendas.passagem.omnibus.config.sentry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.sentry.IScopes;
+import io.sentry.ISentryLifecycleToken;
+import io.sentry.Sentry;
+import io.sentry.SentryLevel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envio assíncrono de exceções ao Sentry, fora do caminho da requisição.
+ *
+ * Na thread da requisição só acontece o que é barato: amostragem de 4xx, deduplicação por
+ * fingerprint (tipo da exceção + primeiro frame da aplicação + status), limite global por
+ * segundo e uma cópia do escopo do Sentry. A montagem e o envio do evento ficam com uma
+ * thread de fundo alimentada por uma fila limitada; se a fila enche, o evento é descartado.
+ * Ocorrências suprimidas pela deduplicação são contadas e anexadas ao próximo evento enviado
+ * do mesmo fingerprint.
+ */
+@Component
+@Slf4j
+public class SentryErrorReporter {
+
+    private static final String PACOTE_APLICACAO = "br.com.vendas.passagem.omnibus";
+
+    @Value("${erros.sentry.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${erros.sentry.amostragem-4xx:0.1}")
+    private double amostragem4xx;
+
+    @Value("${erros.sentry.janela-segundos:60}")
+    private long janelaSegundos;
+
+    @Value("${erros.sentry.max-por-fingerprint:3}")
+    private int maxPorFingerprint;
+
+    @Value("${erros.sentry.max-por-segundo:20}")
+    private int maxPorSegundo;
+
+    private final Counter enviados;
+    private final Counter amostrados;
+    private final Counter duplicados;
+    private final Counter limitados;
+    private final Counter filaCheia;
+
+    // Limite global em janela fixa de um segundo
+    private final AtomicLong segundoAtual = new AtomicLong();
+    private final AtomicLong eventosNoSegundo = new AtomicLong();
+
+    private Cache<String, Janela> janelas;
+    private BlockingQueue<Ocorrencia> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    public SentryErrorReporter(MeterRegistry meterRegistry) {
+        this.enviados = contador(meterRegistry, "enviado");
+        this.amostrados = contador(meterRegistry, "amostrado");
+        this.duplicados = contador(meterRegistry, "duplicado");
+        this.limitados = contador(meterRegistry, "limitado");
+        this.filaCheia = contador(meterRegistry, "fila_cheia");
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("sentry.eventos")
+            .description("Exceções avaliadas para envio ao Sentry")
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        janelas = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofSeconds(janelaSegundos * 2))
+            .build();
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::drainLoop, "sentry-reporter");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Avalia e, se aprovada, enfileira a exceção para envio. Nunca bloqueia nem lança exceção.
+     *
+     * @param tags tags adicionais do evento (ex.: auth.failure)
+     */
+    public void reportar(Throwable ex, HttpStatus status, WebRequest request, Map<String, String> tags) {
+        if (!Sentry.isEnabled()) {
+            return;
+        }
+        if (status.is4xxClientError() && ThreadLocalRandom.current().nextDouble() >= amostragem4xx) {
+            amostrados.increment();
+            return;
+        }
+
+        String fingerprint = fingerprint(ex, status);
+        long suprimidas = admitir(fingerprint);
+        if (suprimidas < 0) {
+            duplicados.increment();
+            return;
+        }
+        if (!dentroDoLimiteGlobal()) {
+            limitados.increment();
+            return;
+        }
+
+        Ocorrencia ocorrencia = new Ocorrencia(ex, status, fingerprint, suprimidas, tags,
+            caminho(request), metodo(request), Sentry.forkedScopes("sentry-reporter"));
+        if (!queue.offer(ocorrencia)) {
+            filaCheia.increment();
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return ocorrências suprimidas desde o último envio, ou -1 se esta deve ser suprimida
+     */
+    private long admitir(String fingerprint) {
+        long agora = System.nanoTime();
+        long janelaNanos = TimeUnit.SECONDS.toNanos(janelaSegundos);
+        long[] resultado = new long[1];
+        janelas.asMap().compute(fingerprint, (chave, janela) -> {
+            if (janela == null || agora - janela.inicio >= janelaNanos) {
+                long pendentes = janela == null ? 0 : janela.suprimidas;
+                janela = new Janela(agora);
+                janela.suprimidas = pendentes;
+            }
+            if (janela.admitidas < maxPorFingerprint) {
+                janela.admitidas++;
+                resultado[0] = janela.suprimidas;
+                janela.suprimidas = 0;
+            } else {
+                janela.suprimidas++;
+                resultado[0] = -1;
+            }
+            return janela;
+        });
+        return resultado[0];
+    }
+
+    private boolean dentroDoLimiteGlobal() {
+        long segundo = System.nanoTime() / TimeUnit.SECONDS.toNanos(1);
+        long anterior = segundoAtual.get();
+        if (segundo != anterior && segundoAtual.compareAndSet(anterior, segundo)) {
+            eventosNoSegundo.set(0);
+        }
+        return eventosNoSegundo.incrementAndGet() <= maxPorSegundo;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                enviar(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.debug("Falha ao enviar evento ao Sentry", e);
+            }
+        }
+    }
+
+    private void enviar(Ocorrencia ocorrencia) {
+        try (ISentryLifecycleToken ignored = ocorrencia.scopes().makeCurrent()) {
+            Sentry.withScope(scope -> {
+                scope.setLevel(ocorrencia.status().is5xxServerError() ? SentryLevel.ERROR : SentryLevel.WARNING);
+                scope.setContexts("request", Map.of("url", ocorrencia.caminho(), "method", ocorrencia.metodo()));
+                scope.setTag("error.type", ocorrencia.erro().getClass().getSimpleName());
+                scope.setTag("http.status", String.valueOf(ocorrencia.status().value()));
+                ocorrencia.tags().forEach(scope::setTag);
+                scope.setFingerprint(List.of(ocorrencia.fingerprint()));
+                if (ocorrencia.suprimidas() > 0) {
+                    scope.setExtra("ocorrencias.suprimidas", String.valueOf(ocorrencia.suprimidas()));
+                }
+                Sentry.captureException(ocorrencia.erro());
+            });
+        }
+        enviados.increment();
+    }
+
+    private static String fingerprint(Throwable ex, HttpStatus status) {
+        StackTraceElement origem = null;
+        for (StackTraceElement frame : ex.getStackTrace()) {
+            if (frame.getClassName().startsWith(PACOTE_APLICACAO)) {
+                origem = frame;
+                break;
+            }
+        }
+        if (origem == null && ex.getStackTrace().length > 0) {
+            origem = ex.getStackTrace()[0];
+        }
+        String local = origem == null ? "?" : origem.getClassName() + "." + origem.getMethodName();
+        return ex.getClass().getName() + "@" + local + "#" + status.value();
+    }
+
+    private static String caminho(WebRequest request) {
+        return request.getDescription(false).replace("uri=", "");
+    }
+
+    private static String metodo(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            return servletRequest.getRequest().getMethod();
+        }
+        return "UNKNOWN";
+    }
+
+    private static final class Janela {
+
+        private final long inicio;
+        private int admitidas;
+        private long suprimidas;
+
+        private Janela(long inicio) {
+            this.inicio = inicio;
+        }
+    }
+
+    private record Ocorrencia(Throwable erro, HttpStatus status, String fingerprint, long suprimidas,
+                              Map<String, String> tags, String caminho, String metodo, IScopes scopes) {
+    }
+}
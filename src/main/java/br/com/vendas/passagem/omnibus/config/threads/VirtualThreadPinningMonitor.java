@@ -0,0 +1,71 @@
+package br.com.vendas.passagem.omnibus.config.threads;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detecta threads virtuais presas à carrier thread (bloqueio dentro de synchronized
+ * ou chamada nativa) usando o evento JFR {@code jdk.VirtualThreadPinned}.
+ *
+ * Cada ocorrência acima do limite é registrada com o trecho da pilha onde aconteceu,
+ * para que o bloco seja trocado por {@link java.util.concurrent.locks.ReentrantLock}.
+ */
+@Component
+@ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int FRAMES_NO_LOG = 8;
+
+    @Value("${virtual-threads.pinning-monitor.threshold-ms:20}")
+    private long thresholdMs;
+
+    private final AtomicLong ocorrencias = new AtomicLong();
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Monitor de pinning de threads virtuais ativo (limite {} ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getOcorrencias() {
+        return ocorrencias.get();
+    }
+
+    private void registrar(RecordedEvent event) {
+        ocorrencias.incrementAndGet();
+        String pilha = event.getStackTrace() == null ? "?" : event.getStackTrace().getFrames().stream()
+            .limit(FRAMES_NO_LOG)
+            .map(VirtualThreadPinningMonitor::formatar)
+            .collect(Collectors.joining(" <- "));
+        log.warn("Thread virtual presa à carrier por {} ms: {}", event.getDuration().toMillis(), pilha);
+    }
+
+    private static String formatar(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.vendas.passagem.omnibus.config.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Span por chamada de repositório Spring Data (ex.: "UsuarioRepository.findComPerfisById"),
+ * para separar o tempo de banco do restante da requisição.
+ *
+ * Só abre span dentro de um trace já amostrado: sem trace ativo, ou com o trace descartado,
+ * a chamada segue direto sem alocar nada.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryTracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object rastrear(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span atual = tracer.currentSpan();
+        if (atual == null || !Boolean.TRUE.equals(atual.context().sampled())) {
+            return joinPoint.proceed();
+        }
+
+        String repositorio = repositorio(joinPoint);
+        Span span = tracer.nextSpan()
+            .name(repositorio + "." + joinPoint.getSignature().getName())
+            .tag("db.system", "postgresql")
+            .tag("db.repository", repositorio)
+            .start();
+        try (Tracer.SpanInScope escopo = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static String repositorio(ProceedingJoinPoint joinPoint) {
+        // O alvo é um proxy JDK; a interface do repositório é a primeira declarada pela aplicação
+        for (Class<?> interfaceProxy : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (interfaceProxy.getName().startsWith("br.com.vendas.passagem.omnibus")) {
+                return interfaceProxy.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
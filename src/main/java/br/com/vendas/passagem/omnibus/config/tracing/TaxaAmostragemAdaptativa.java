@@ -0,0 +1,57 @@
+package br.com.vendas.passagem.omnibus.config.tracing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Taxa de amostragem recalculada a cada segundo para que cerca de {@code alvoPorSegundo}
+ * traces sejam amostrados, limitada entre a taxa mínima e a máxima.
+ *
+ * Com pouco tráfego tudo é amostrado; sob carga só uma fração. O custo por chamada é um
+ * incremento em {@link LongAdder} e uma leitura de campo volátil.
+ */
+public class TaxaAmostragemAdaptativa {
+
+    private static final long SEGUNDO_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double alvoPorSegundo;
+    private final double taxaMinima;
+    private final double taxaMaxima;
+
+    private final LongAdder ocorrencias = new LongAdder();
+    private final AtomicLong inicioJanela = new AtomicLong(System.nanoTime());
+    private volatile double taxaAtual;
+
+    public TaxaAmostragemAdaptativa(double alvoPorSegundo, double taxaMinima, double taxaMaxima) {
+        this.alvoPorSegundo = alvoPorSegundo;
+        this.taxaMinima = taxaMinima;
+        this.taxaMaxima = taxaMaxima;
+        this.taxaAtual = taxaMaxima;
+    }
+
+    /**
+     * Conta um novo trace candidato e devolve a taxa vigente.
+     */
+    public double registrar() {
+        ocorrencias.increment();
+        recalcular();
+        return taxaAtual;
+    }
+
+    public double getTaxaAtual() {
+        return taxaAtual;
+    }
+
+    private void recalcular() {
+        long agora = System.nanoTime();
+        long inicio = inicioJanela.get();
+        long decorrido = agora - inicio;
+        if (decorrido < SEGUNDO_NANOS || !inicioJanela.compareAndSet(inicio, agora)) {
+            return;
+        }
+        double porSegundo = ocorrencias.sumThenReset() * (double) SEGUNDO_NANOS / decorrido;
+        double taxa = porSegundo <= 0 ? taxaMaxima : alvoPorSegundo / porSegundo;
+        taxaAtual = Math.max(taxaMinima, Math.min(taxaMaxima, taxa));
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.vendas.passagem.omnibus.config.tracing;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * Tracing distribuído via Micrometer Tracing com a ponte OpenTelemetry e exportação OTLP.
+ *
+ * Na aplicação todo trace é amostrado: a decisão fica com o tail sampling do coletor
+ * (otel-collector.yaml), que vê o trace completo e guarda erros, traces lentos e uma
+ * amostra do restante. Descartar na origem perderia justamente esses traces, que só se
+ * revelam no fim da requisição. O custo de exportação é limitado pela fila do
+ * BatchSpanProcessor, que descarta spans quando o coletor não acompanha.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    /**
+     * Substitui o sampler por probabilidade fixa do Spring Boot (management.tracing.sampling.probability).
+     * Também ignora um "não amostrado" vindo de quem chamou: a parte deste serviço chega ao coletor.
+     */
+    @Bean
+    public Sampler otelSampler() {
+        return Sampler.alwaysOn();
+    }
+
+    /**
+     * Scrapes e health checks do actuator não geram traces (nem http.server.requests).
+     */
+    @Bean
+    public ObservationPredicate ignorarActuator() {
+        return (nome, contexto) -> !(contexto instanceof ServerRequestObservationContext requisicao
+            && requisicao.getCarrier().getRequestURI().startsWith("/actuator"));
+    }
+}
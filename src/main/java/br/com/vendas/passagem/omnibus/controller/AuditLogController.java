@@ -0,0 +1,112 @@
+package br.com.vendas.passagem.omnibus.controller;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.vendas.passagem.omnibus.dto.response.AuditLogPaginaResponseDTO;
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+import br.com.vendas.passagem.omnibus.repository.AuditLogConsultaRepository.Filtro;
+import br.com.vendas.passagem.omnibus.service.auditoria.AuditConsultaService;
+import br.com.vendas.passagem.omnibus.service.auditoria.FormatoExportacao;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/auditoria")
+@Tag(name = "Auditoria", description = "Consulta e exportação dos registros de auditoria")
+public class AuditLogController {
+
+    private final AuditConsultaService auditConsultaService;
+
+    public AuditLogController(AuditConsultaService auditConsultaService) {
+        this.auditConsultaService = auditConsultaService;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Consultar auditoria",
+        description = "Lista registros do mais recente para o mais antigo, paginados por cursor. "
+            + "Sem intervalo informado, considera os últimos 30 dias.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página de registros",
+            content = @Content(schema = @Schema(implementation = AuditLogPaginaResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Filtro ou cursor inválido"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sem permissão")
+    })
+    @GetMapping
+    public ResponseEntity<AuditLogPaginaResponseDTO> buscar(
+            @Parameter(description = "Nome da entidade auditada") @RequestParam(required = false) String entidade,
+            @Parameter(description = "ID da entidade auditada") @RequestParam(required = false) Long entidadeId,
+            @Parameter(description = "Usuário que executou a ação") @RequestParam(required = false) String usuario,
+            @Parameter(description = "Início do intervalo (inclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fim do intervalo (exclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        Filtro filtro = auditConsultaService.filtro(entidade, entidadeId, usuario, inicio, fim);
+        return ResponseEntity.ok(auditConsultaService.buscar(filtro, cursor, tamanho));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar auditoria",
+        description = "Exporta em NDJSON ou CSV todos os registros do filtro, em ordem cronológica, "
+            + "escrevendo na resposta à medida que são lidos do banco.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Arquivo exportado"),
+        @ApiResponse(responseCode = "400", description = "Filtro ou formato inválido"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sem permissão")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "ndjson ou csv") @RequestParam(defaultValue = "ndjson") String formato,
+            @Parameter(description = "Nome da entidade auditada") @RequestParam(required = false) String entidade,
+            @Parameter(description = "ID da entidade auditada") @RequestParam(required = false) Long entidadeId,
+            @Parameter(description = "Usuário que executou a ação") @RequestParam(required = false) String usuario,
+            @Parameter(description = "Início do intervalo (inclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fim do intervalo (exclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        FormatoExportacao formatoExportacao = parseFormato(formato);
+        // Valida o filtro antes de abrir a resposta; depois do primeiro byte não há como devolver 400
+        Filtro filtro = auditConsultaService.filtro(entidade, entidadeId, usuario, inicio, fim);
+        StreamingResponseBody corpo = saida -> auditConsultaService.exportar(filtro, formatoExportacao, saida);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(formatoExportacao.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("auditoria." + formatoExportacao.getExtensao())
+                .build()
+                .toString())
+            .body(corpo);
+    }
+
+    private static FormatoExportacao parseFormato(String formato) {
+        try {
+            return FormatoExportacao.valueOf(formato.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDtoException("formato", "use ndjson ou csv");
+        }
+    }
+}
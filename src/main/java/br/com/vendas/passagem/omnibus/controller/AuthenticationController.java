@@ -52,7 +52,7 @@ public class AuthenticationController {
     })
     @PostMapping("/register")
     public ResponseEntity<Void> register(@RequestBody UsuarioRequestDTO request) {
-        if(usuarioRepository.findByEmail(request.email()).isPresent()) {
+        if(usuarioRepository.existsByEmail(request.email())) {
             throw new BadCredentialsException("Usuário já existe com o email: " + request.email());
         }
         
@@ -1,19 +1,27 @@
 package br.com.vendas.passagem.omnibus.controller;
 
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.vendas.passagem.omnibus.domain.Usuario;
 import br.com.vendas.passagem.omnibus.dto.request.EmpresaRequestDTO;
 import br.com.vendas.passagem.omnibus.dto.response.EmpresaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.ImportacaoViagensResponseDTO;
 import br.com.vendas.passagem.omnibus.service.EmpresaService;
+import br.com.vendas.passagem.omnibus.service.ViagemImportacaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -30,9 +38,11 @@ import jakarta.validation.Valid;
 public class EmpresaController {
     
     private final EmpresaService empresaService;
+    private final ViagemImportacaoService viagemImportacaoService;
 
-    public EmpresaController(EmpresaService empresaService) {
+    public EmpresaController(EmpresaService empresaService, ViagemImportacaoService viagemImportacaoService) {
         this.empresaService = empresaService;
+        this.viagemImportacaoService = viagemImportacaoService;
     }
      // par qualquer role autenticado admin e passageiro
     @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
@@ -102,4 +112,28 @@ public class EmpresaController {
         empresaService.deletar(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPRESA')")
+    @Operation(summary = "Importar viagens em lote",
+        description = "Importa o quadro de horários da empresa a partir de um CSV com cabeçalho (text/csv) "
+            + "ou de um objeto JSON por linha (application/x-ndjson). Campos: origem, destino, dataPartida, "
+            + "preco, vagasTotais e possuiAssentoMarcado (opcional). Linhas inválidas são relatadas e não "
+            + "impedem a importação das demais.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Importação concluída (ver linhas rejeitadas no corpo)",
+            content = @Content(schema = @Schema(implementation = ImportacaoViagensResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Formato não suportado, cabeçalho do CSV incompleto ou arquivo ilegível"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Empresa de outro usuário"),
+        @ApiResponse(responseCode = "404", description = "Empresa não encontrada")
+    })
+    @PostMapping("/{id}/viagens/importacao")
+    public ResponseEntity<ImportacaoViagensResponseDTO> importarViagens(
+            @Parameter(description = "ID da empresa") @PathVariable Long id,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true) InputStream corpo,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        return ResponseEntity.ok(viagemImportacaoService.importar(id, usuarioLogado, contentType, corpo));
+    }
 }
@@ -0,0 +1,141 @@
+package br.com.vendas.passagem.omnibus.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.dto.request.ReservaRequestDTO;
+import br.com.vendas.passagem.omnibus.dto.response.AssentosResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.PassagemResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.SituacaoReservaResponseDTO;
+import br.com.vendas.passagem.omnibus.service.PassagemService;
+import br.com.vendas.passagem.omnibus.service.ReservaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/passagem")
+@Tag(name = "Passagens", description = "API para venda de passagens e reserva de assentos")
+public class PassagemController {
+
+    private final ReservaService reservaService;
+    private final PassagemService passagemService;
+
+    public PassagemController(ReservaService reservaService, PassagemService passagemService) {
+        this.reservaService = reservaService;
+        this.passagemService = passagemService;
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
+    @Operation(summary = "Reservar passagem",
+        description = "Garante a poltrona e registra a passagem como PENDENTE. A gravação no banco é assíncrona; acompanhe pelo código retornado em GET /passagem/{codigo}.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Poltrona reservada; o pagamento deve ser confirmado dentro do prazo, senão a reserva expira",
+            content = @Content(schema = @Schema(implementation = PassagemResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sem permissão"),
+        @ApiResponse(responseCode = "404", description = "Viagem não encontrada"),
+        @ApiResponse(responseCode = "422", description = "Poltrona ocupada, viagem lotada ou já partida")
+    })
+    @PostMapping
+    public ResponseEntity<PassagemResponseDTO> reservar(
+            @Valid @RequestBody ReservaRequestDTO request,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        PassagemResponseDTO reserva = reservaService.reservar(request, usuarioLogado);
+        return ResponseEntity.accepted().body(reserva);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
+    @Operation(summary = "Consultar situação da reserva",
+        description = "GRAVADA traz a passagem; EM_GRAVACAO (202) indica que a reserva ainda está na fila de gravação; "
+            + "RECUSADA indica que a reserva não pôde ser gravada e a poltrona foi liberada.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Reserva gravada ou recusada",
+            content = @Content(schema = @Schema(implementation = SituacaoReservaResponseDTO.class))),
+        @ApiResponse(responseCode = "202", description = "Reserva ainda em gravação",
+            content = @Content(schema = @Schema(implementation = SituacaoReservaResponseDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Passagem de outro usuário"),
+        @ApiResponse(responseCode = "404", description = "Código desconhecido")
+    })
+    @GetMapping("/{codigo}")
+    public ResponseEntity<SituacaoReservaResponseDTO> consultar(
+            @Parameter(description = "Código da passagem") @PathVariable String codigo,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        SituacaoReservaResponseDTO situacao = passagemService.consultar(codigo, usuarioLogado);
+        if (situacao.situacao() == SituacaoReservaResponseDTO.Situacao.EM_GRAVACAO) {
+            return ResponseEntity.accepted().body(situacao);
+        }
+        return ResponseEntity.ok(situacao);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
+    @Operation(summary = "Confirmar pagamento",
+        description = "Passa a passagem de PENDENTE para PAGA, se o prazo de pagamento não tiver expirado.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Pagamento confirmado",
+            content = @Content(schema = @Schema(implementation = PassagemResponseDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Passagem de outro usuário"),
+        @ApiResponse(responseCode = "404", description = "Passagem não encontrada (ou ainda em gravação)"),
+        @ApiResponse(responseCode = "422", description = "Reserva expirada ou passagem em estado que não permite pagamento")
+    })
+    @PostMapping("/{codigo}/pagamento")
+    public ResponseEntity<PassagemResponseDTO> pagar(
+            @Parameter(description = "Código da passagem") @PathVariable String codigo,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        return ResponseEntity.ok(passagemService.pagar(codigo, usuarioLogado));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
+    @Operation(summary = "Cancelar passagem",
+        description = "Cancela uma passagem PENDENTE ou PAGA e devolve a poltrona à viagem.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Passagem cancelada",
+            content = @Content(schema = @Schema(implementation = PassagemResponseDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Passagem de outro usuário"),
+        @ApiResponse(responseCode = "404", description = "Passagem não encontrada (ou ainda em gravação)"),
+        @ApiResponse(responseCode = "422", description = "Passagem já cancelada ou expirada")
+    })
+    @PostMapping("/{codigo}/cancelamento")
+    public ResponseEntity<PassagemResponseDTO> cancelar(
+            @Parameter(description = "Código da passagem") @PathVariable String codigo,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        return ResponseEntity.ok(passagemService.cancelar(codigo, usuarioLogado));
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Consultar assentos livres de uma viagem")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Mapa de assentos",
+            content = @Content(schema = @Schema(implementation = AssentosResponseDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "404", description = "Viagem não encontrada")
+    })
+    @GetMapping("/viagem/{viagemId}/assentos")
+    public ResponseEntity<AssentosResponseDTO> obterAssentos(
+            @Parameter(description = "ID da viagem") @PathVariable Long viagemId) {
+        return ResponseEntity.ok(reservaService.obterAssentos(viagemId));
+    }
+}
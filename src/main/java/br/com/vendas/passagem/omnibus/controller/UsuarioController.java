@@ -1,5 +1,9 @@
 package br.com.vendas.passagem.omnibus.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -9,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -17,8 +22,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import br.com.vendas.passagem.omnibus.domain.Usuario;
 import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
+import br.com.vendas.passagem.omnibus.dto.request.DocumentoUploadUrlRequestDTO;
 import br.com.vendas.passagem.omnibus.dto.request.UsuarioRequestDTO;
 import br.com.vendas.passagem.omnibus.dto.response.DocumentoResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.DocumentoUrlResponseDTO;
 import br.com.vendas.passagem.omnibus.dto.response.UsuarioResponseDTO;
 import br.com.vendas.passagem.omnibus.service.DocumentoService;
 import br.com.vendas.passagem.omnibus.service.UsuarioService;
@@ -30,6 +37,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -126,11 +134,101 @@ public class UsuarioController {
     public ResponseEntity<DocumentoResponseDTO> uploadDocumento(
             @Parameter(description = "ID do usuário") @PathVariable Long id,
             @Parameter(description = "Tipo do documento") @RequestParam("tipo") TipoDocumento tipoDocumento,
-            @Parameter(description = "Arquivo a ser enviado") @RequestPart("arquivo") MultipartFile arquivo) {
-        DocumentoResponseDTO salvo = documentoService.uploadDocumento(id, tipoDocumento, arquivo);
+            @Parameter(description = "Arquivo a ser enviado") @RequestPart("arquivo") MultipartFile arquivo,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        DocumentoResponseDTO salvo = documentoService.uploadDocumento(usuarioLogado, id, tipoDocumento, arquivo);
         return ResponseEntity.ok(salvo);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
+    @Operation(summary = "Upload de documento em streaming",
+        description = "Envia o arquivo no corpo da requisição (sem multipart). O conteúdo é repassado ao "
+            + "armazenamento em partes, permitindo documentos maiores que o limite do upload multipart.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Documento enviado",
+            content = @Content(schema = @Schema(implementation = DocumentoResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Arquivo vazio ou maior que o permitido"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sem permissão"),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @PutMapping(path = "/{id}/documentos/{tipo}")
+    public ResponseEntity<DocumentoResponseDTO> uploadDocumentoStream(
+            @Parameter(description = "ID do usuário") @PathVariable Long id,
+            @Parameter(description = "Tipo do documento") @PathVariable("tipo") TipoDocumento tipoDocumento,
+            @Parameter(description = "Nome original do arquivo") @RequestParam(value = "nomeArquivo", required = false) String nomeArquivo,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request,
+            @AuthenticationPrincipal Usuario usuarioLogado) throws IOException {
+        try (InputStream conteudo = request.getInputStream()) {
+            DocumentoResponseDTO salvo = documentoService.uploadDocumentoStream(
+                usuarioLogado, id, tipoDocumento, nomeArquivo, contentType, conteudo, request.getContentLengthLong());
+            return ResponseEntity.ok(salvo);
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
+    @Operation(summary = "Gerar URL de upload direto",
+        description = "Cria o documento aguardando upload e retorna um formulário pré-assinado de POST no armazenamento, "
+            + "válido só para o content type e o tamanho declarados. Após enviar o arquivo, chame o endpoint de conclusão.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "URL gerada",
+            content = @Content(schema = @Schema(implementation = DocumentoUrlResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos ou arquivo maior que o permitido"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sem permissão"),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @PostMapping("/{id}/documentos/upload-url")
+    public ResponseEntity<DocumentoUrlResponseDTO> gerarUrlUpload(
+            @Parameter(description = "ID do usuário") @PathVariable Long id,
+            @Valid @RequestBody DocumentoUploadUrlRequestDTO request,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        return ResponseEntity.ok(documentoService.gerarUrlUpload(usuarioLogado, id, request));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
+    @Operation(summary = "Concluir upload direto",
+        description = "Confirma que o arquivo foi recebido pelo armazenamento. Retorna 422 enquanto o upload não tiver chegado.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Documento disponível",
+            content = @Content(schema = @Schema(implementation = DocumentoResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Arquivo recebido difere do tamanho ou content type declarados"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sem permissão"),
+        @ApiResponse(responseCode = "404", description = "Documento não encontrado"),
+        @ApiResponse(responseCode = "422", description = "Upload ainda não recebido")
+    })
+    @PostMapping("/{id}/documentos/{documentoId}/concluir")
+    public ResponseEntity<DocumentoResponseDTO> concluirUpload(
+            @Parameter(description = "ID do usuário") @PathVariable Long id,
+            @Parameter(description = "ID do documento") @PathVariable Long documentoId,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        return ResponseEntity.ok(documentoService.concluirUpload(usuarioLogado, id, documentoId));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'PASSAGEIRO')")
+    @Operation(summary = "Gerar URL de download", description = "Retorna uma URL pré-assinada de GET para o documento.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "URL gerada",
+            content = @Content(schema = @Schema(implementation = DocumentoUrlResponseDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sem permissão"),
+        @ApiResponse(responseCode = "404", description = "Documento não encontrado"),
+        @ApiResponse(responseCode = "422", description = "Documento ainda não disponível")
+    })
+    @GetMapping("/{id}/documentos/{documentoId}/download-url")
+    public ResponseEntity<DocumentoUrlResponseDTO> gerarUrlDownload(
+            @Parameter(description = "ID do usuário") @PathVariable Long id,
+            @Parameter(description = "ID do documento") @PathVariable Long documentoId,
+            @AuthenticationPrincipal Usuario usuarioLogado) {
+        return ResponseEntity.ok(documentoService.gerarUrlDownload(usuarioLogado, id, documentoId));
+    }
+
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Alternar perfil ativo", description = "Atualiza o perfil ativo e retorna um novo token JWT.")
     @SecurityRequirement(name = "bearerAuth")
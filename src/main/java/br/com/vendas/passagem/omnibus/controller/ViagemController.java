@@ -0,0 +1,55 @@
+package br.com.vendas.passagem.omnibus.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.vendas.passagem.omnibus.dto.response.ViagemBuscaResponseDTO;
+import br.com.vendas.passagem.omnibus.service.ViagemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/viagem")
+@Tag(name = "Viagens", description = "API para consulta de viagens")
+public class ViagemController {
+
+    private final ViagemService viagemService;
+
+    public ViagemController(ViagemService viagemService) {
+        this.viagemService = viagemService;
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Buscar viagens por rota e data",
+        description = "Lista as viagens da rota na data informada, ordenadas por horário de partida. "
+            + "Para a próxima página, envie o proximoCursor da resposta anterior.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Viagens encontradas",
+            content = @Content(schema = @Schema(implementation = ViagemBuscaResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    @GetMapping("/busca")
+    public ResponseEntity<ViagemBuscaResponseDTO> buscar(
+            @Parameter(description = "Cidade de origem") @RequestParam String origem,
+            @Parameter(description = "Cidade de destino") @RequestParam String destino,
+            @Parameter(description = "Data de partida (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @Parameter(description = "Cursor da próxima página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de viagens por página (máx. 100)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(viagemService.buscar(origem, destino, data, cursor, tamanho));
+    }
+}
@@ -4,6 +4,7 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
+import br.com.vendas.passagem.omnibus.domain.enums.StatusDocumento;
 import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
 import jakarta.persistence.*;
 
@@ -18,11 +19,13 @@ public class Documento {
     
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documentos_id_seq")
+    @SequenceGenerator(name = "documentos_id_seq", sequenceName = "documentos_id_seq", allocationSize = 50)
     private Long id;
 
-    @OneToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "usuario_id", nullable = false, unique = true)
+    // Um usuário pode ter vários documentos (documentos.usuario_id não é único)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false)
     private Usuario usuario;
 
     @Enumerated(EnumType.STRING)
@@ -35,6 +38,13 @@ public class Documento {
     @Column(name = "content_type")
     private String contentType;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusDocumento status = StatusDocumento.DISPONIVEL;
+
+    @Column(name = "tamanho_bytes")
+    private Long tamanhoBytes;
+
     @Column(name = "validado")
     private Boolean validado = false;
 
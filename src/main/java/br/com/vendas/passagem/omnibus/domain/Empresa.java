@@ -4,10 +4,15 @@ import lombok.*;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "empresas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "empresa")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +22,8 @@ public class Empresa {
     
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "empresas_id_seq")
+    @SequenceGenerator(name = "empresas_id_seq", sequenceName = "empresas_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -2,10 +2,10 @@ package br.com.vendas.passagem.omnibus.domain;
 
 import lombok.*;
 
-import java.io.ObjectInputFilter.Status;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import br.com.vendas.passagem.omnibus.domain.enums.Status;
 import jakarta.persistence.*;
 
 @Entity
@@ -18,9 +18,13 @@ import jakarta.persistence.*;
 public class Passagen {
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passagens_id_seq")
+    @SequenceGenerator(name = "passagens_id_seq", sequenceName = "passagens_id_seq", allocationSize = 50)
     private Long id;
 
+    @Column(name = "codigo", unique = true, length = 36)
+    private String codigo; // código público da reserva, gerado antes da gravação
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "viagem_id", nullable = false)
     private Viagen viagem; 
@@ -34,7 +38,10 @@ public class Passagen {
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
-    private Status status; // 'PENDENTE', 'PAGA', 'CANCELADA
+    private Status status; // 'PENDENTE', 'PAGA', 'CANCELADA', 'EXPIRADA'
+
+    @Column(name = "expira_em")
+    private LocalDateTime expiraEm; // prazo de pagamento enquanto PENDENTE
 
     @Column(name = "poltrona")
     private Integer poltrona; // opcional
@@ -18,7 +18,8 @@ import jakarta.persistence.*;
 public class Viagen {
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "viagens_id_seq")
+    @SequenceGenerator(name = "viagens_id_seq", sequenceName = "viagens_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -45,4 +46,8 @@ public class Viagen {
 
     @Column(name = "possui_assento_marcado", nullable = false)
     private Boolean possuiAssentoMarcado = true;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
 }
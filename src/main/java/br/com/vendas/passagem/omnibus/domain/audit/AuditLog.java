@@ -1,6 +1,12 @@
 package br.com.vendas.passagem.omnibus.domain.audit;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,6 +15,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -43,6 +50,20 @@ public class AuditLog {
     @Column(name = "details", columnDefinition = "TEXT")
     private String details;
 
+    /**
+     * Argumentos do método auditado em JSON compacto (armazenado como JSONB).
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", columnDefinition = "jsonb")
+    private String payload;
+
+    /**
+     * Argumentos capturados e ainda não codificados; viram {@link #payload} no escritor de auditoria.
+     */
+    @Transient
+    @JsonIgnore
+    private Map<String, Object> argumentos;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -1,7 +1,31 @@
 package br.com.vendas.passagem.omnibus.domain.enums;
 
+import java.util.Set;
+
+/**
+ * Estados de uma passagem.
+ *
+ * PENDENTE aguarda pagamento até o prazo de expiração; PAGA ainda pode ser cancelada;
+ * CANCELADA e EXPIRADA são finais e liberam a poltrona.
+ */
 public enum Status {
     PENDENTE,
     PAGA,
-    CANCELADA
+    CANCELADA,
+    EXPIRADA;
+
+    public boolean permiteTransicaoPara(Status destino) {
+        return switch (this) {
+            case PENDENTE -> Set.of(PAGA, CANCELADA, EXPIRADA).contains(destino);
+            case PAGA -> destino == CANCELADA;
+            case CANCELADA, EXPIRADA -> false;
+        };
+    }
+
+    /**
+     * Se a passagem ainda ocupa a poltrona.
+     */
+    public boolean ativa() {
+        return this == PENDENTE || this == PAGA;
+    }
 }
@@ -0,0 +1,6 @@
+package br.com.vendas.passagem.omnibus.domain.enums;
+
+public enum StatusDocumento {
+    AGUARDANDO_UPLOAD, // URL de upload emitida, objeto ainda não confirmado no MinIO
+    DISPONIVEL
+}
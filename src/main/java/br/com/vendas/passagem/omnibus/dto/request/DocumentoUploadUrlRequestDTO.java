@@ -0,0 +1,14 @@
+package br.com.vendas.passagem.omnibus.dto.request;
+
+import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record DocumentoUploadUrlRequestDTO(
+    @NotNull(message = "O tipo do documento é obrigatório") TipoDocumento tipo,
+    @NotBlank(message = "O nome do arquivo é obrigatório") String nomeArquivo,
+    @NotBlank(message = "O content type do arquivo é obrigatório") String contentType,
+    @NotNull(message = "O tamanho do arquivo é obrigatório")
+    @Positive(message = "O tamanho do arquivo deve ser positivo") Long tamanhoBytes
+) {}
@@ -0,0 +1,9 @@
+package br.com.vendas.passagem.omnibus.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record ReservaRequestDTO(
+    @NotNull(message = "O ID da viagem é obrigatório") Long viagemId,
+    @Positive(message = "Poltrona inválida") Integer poltrona // opcional: sem poltrona, a primeira livre é escolhida
+) {}
@@ -0,0 +1,11 @@
+package br.com.vendas.passagem.omnibus.dto.response;
+
+import java.util.List;
+
+public record AssentosResponseDTO(
+    Long viagemId,
+    int vagasTotais,
+    int vagasDisponiveis,
+    boolean possuiAssentoMarcado,
+    List<Integer> poltronasLivres
+) {}
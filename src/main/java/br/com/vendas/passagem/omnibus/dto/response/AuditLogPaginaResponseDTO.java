@@ -0,0 +1,8 @@
+package br.com.vendas.passagem.omnibus.dto.response;
+
+import java.util.List;
+
+public record AuditLogPaginaResponseDTO(
+    List<AuditLogResponseDTO> registros,
+    String proximoCursor // nulo quando não há mais resultados
+) {}
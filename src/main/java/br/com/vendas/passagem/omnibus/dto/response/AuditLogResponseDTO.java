@@ -0,0 +1,16 @@
+package br.com.vendas.passagem.omnibus.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+public record AuditLogResponseDTO(
+    Long id,
+    String entityName,
+    Long entityId,
+    String action,
+    String username,
+    String details,
+    @JsonRawValue String payload, // JSON dos argumentos auditados, repassado sem nova serialização
+    LocalDateTime createdAt
+) {}
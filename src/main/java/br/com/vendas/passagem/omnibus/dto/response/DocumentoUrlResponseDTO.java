@@ -0,0 +1,12 @@
+package br.com.vendas.passagem.omnibus.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record DocumentoUrlResponseDTO(
+    Long documentoId,
+    String metodo, // POST (formulário) para upload, GET para download
+    String url,
+    Map<String, String> campos, // campos do formulário de upload, a enviar antes do arquivo; null no download
+    LocalDateTime expiraEm
+) {}
@@ -7,4 +7,11 @@ public record EmpresaResponseDTO(
     String nomeFantasia,
     String razaoSocial,
     UsuarioResponseDTO usuarioDono
-) {}
+) {
+
+    // Usado pela projeção JPQL (construtores aninhados não são suportados no select new)
+    public EmpresaResponseDTO(Long id, String cnpj, String nomeFantasia, String razaoSocial,
+                              Long usuarioDonoId, String usuarioDonoNome, String usuarioDonoEmail) {
+        this(id, cnpj, nomeFantasia, razaoSocial, new UsuarioResponseDTO(usuarioDonoId, usuarioDonoNome, usuarioDonoEmail));
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.vendas.passagem.omnibus.dto.response;
+
+import java.util.List;
+
+public record ImportacaoViagensResponseDTO(
+    Long empresaId,
+    long linhasLidas,
+    long importadas,
+    long rejeitadas,
+    List<ErroLinha> erros,
+    boolean errosTruncados
+) {
+
+    public record ErroLinha(long linha, String mensagem) {}
+}
@@ -0,0 +1,16 @@
+package br.com.vendas.passagem.omnibus.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.com.vendas.passagem.omnibus.domain.enums.Status;
+
+public record PassagemResponseDTO(
+    String codigo,
+    Long viagemId,
+    Long passageiroId,
+    Integer poltrona,
+    Status status,
+    BigDecimal valor,
+    LocalDateTime dataCompra
+) {}
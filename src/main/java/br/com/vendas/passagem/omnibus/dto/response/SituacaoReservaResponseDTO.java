@@ -0,0 +1,21 @@
+package br.com.vendas.passagem.omnibus.dto.response;
+
+/**
+ * Situação de uma reserva pelo código devolvido no 202.
+ *
+ * @param passagem a passagem gravada, só quando GRAVADA
+ * @param motivo por que a reserva foi recusada, só quando RECUSADA
+ */
+public record SituacaoReservaResponseDTO(
+    String codigo,
+    Situacao situacao,
+    PassagemResponseDTO passagem,
+    String motivo
+) {
+
+    public enum Situacao {
+        EM_GRAVACAO, // aceita, ainda na fila de gravação
+        GRAVADA,
+        RECUSADA // não pôde ser gravada; a poltrona foi liberada
+    }
+}
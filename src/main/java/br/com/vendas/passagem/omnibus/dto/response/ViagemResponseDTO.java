@@ -0,0 +1,17 @@
+package br.com.vendas.passagem.omnibus.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ViagemResponseDTO(
+    Long id,
+    Long empresaId,
+    String empresaNome,
+    String origem,
+    String destino,
+    LocalDateTime dataPartida,
+    BigDecimal preco,
+    Integer vagasTotais,
+    Integer vagasDisponiveis,
+    Boolean possuiAssentoMarcado
+) {}
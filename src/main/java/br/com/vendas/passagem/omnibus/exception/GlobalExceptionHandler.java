@@ -1,6 +1,9 @@
 package br.com.vendas.passagem.omnibus.exception;
 
+import java.util.Map;
+
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -13,9 +16,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
+import br.com.vendas.passagem.omnibus.config.sentry.SentryErrorReporter;
 import br.com.vendas.passagem.omnibus.dto.response.ErrorResponseDTO;
-import io.sentry.Sentry;
-import io.sentry.SentryLevel;
+import lombok.extern.slf4j.Slf4j;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 
@@ -25,33 +28,20 @@ import jakarta.validation.ConstraintViolationException;
  * Integrado com Sentry para monitoramento de erros em tempo real.
  */
 @RestControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
 
+    private final SentryErrorReporter sentryErrorReporter;
+
+    public GlobalExceptionHandler(SentryErrorReporter sentryErrorReporter) {
+        this.sentryErrorReporter = sentryErrorReporter;
+    }
+
     /**
-     * Envia exceção para o Sentry com contexto adicional.
+     * Envia exceção para o Sentry de forma assíncrona (4xx amostrados, deduplicado e com limite de taxa).
      */
     private void reportToSentry(Exception ex, WebRequest request, HttpStatus status) {
-        Sentry.withScope(scope -> {
-            // Adicionar contexto da requisição
-            scope.setContexts("request", java.util.Map.of(
-                "url", request.getDescription(false),
-                "method", request.getHeader("method") != null ? request.getHeader("method") : "UNKNOWN"
-            ));
-            
-            // Definir nível baseado no status HTTP
-            if (status.is5xxServerError()) {
-                scope.setLevel(SentryLevel.ERROR);
-            } else if (status.is4xxClientError()) {
-                scope.setLevel(SentryLevel.WARNING);
-            }
-            
-            // Adicionar tag de tipo de erro
-            scope.setTag("error.type", ex.getClass().getSimpleName());
-            scope.setTag("http.status", String.valueOf(status.value()));
-            
-            // Capturar a exceção
-            Sentry.captureException(ex);
-        });
+        sentryErrorReporter.reportar(ex, status, request, Map.of());
     }
 
     /**
@@ -295,6 +285,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Trata recusas por limite de capacidade (ex.: fila de hash de senhas cheia).
+     * Não vai ao Sentry: é esperado sob carga e já aparece nas métricas.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTooManyRequestsException(
+            TooManyRequestsException ex, 
+            WebRequest request) {
+        
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Too Many Requests",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(error);
+    }
+
     /**
      * Trata exceções de credenciais inválidas (login/senha incorretos).
      */
@@ -304,12 +315,8 @@ public class GlobalExceptionHandler {
             WebRequest request) {
         
         // Reportar ao Sentry como WARNING (tentativa de login inválido)
-        Sentry.withScope(scope -> {
-            scope.setLevel(SentryLevel.WARNING);
-            scope.setTag("error.type", "authentication");
-            scope.setTag("auth.failure", "bad_credentials");
-            Sentry.captureException(ex);
-        });
+        sentryErrorReporter.reportar(ex, HttpStatus.UNAUTHORIZED, request,
+            Map.of("error.type", "authentication", "auth.failure", "bad_credentials"));
         
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.UNAUTHORIZED.value(),
@@ -330,12 +337,8 @@ public class GlobalExceptionHandler {
             WebRequest request) {
         
         // Reportar ao Sentry como WARNING (falha de autenticação)
-        Sentry.withScope(scope -> {
-            scope.setLevel(SentryLevel.WARNING);
-            scope.setTag("error.type", "authentication");
-            scope.setTag("auth.failure", "generic");
-            Sentry.captureException(ex);
-        });
+        sentryErrorReporter.reportar(ex, HttpStatus.UNAUTHORIZED, request,
+            Map.of("error.type", "authentication", "auth.failure", "generic"));
         
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.UNAUTHORIZED.value(),
@@ -356,12 +359,8 @@ public class GlobalExceptionHandler {
             WebRequest request) {
         
         // Reportar ao Sentry como WARNING (tentativa de acesso não autorizado)
-        Sentry.withScope(scope -> {
-            scope.setLevel(SentryLevel.WARNING);
-            scope.setTag("error.type", "authorization");
-            scope.setTag("auth.failure", "access_denied");
-            Sentry.captureException(ex);
-        });
+        sentryErrorReporter.reportar(ex, HttpStatus.FORBIDDEN, request,
+            Map.of("error.type", "authorization", "auth.failure", "access_denied"));
         
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.FORBIDDEN.value(),
@@ -382,16 +381,8 @@ public class GlobalExceptionHandler {
             WebRequest request) {
         
         // Reportar ao Sentry como ERROR (exceção não tratada)
-        Sentry.withScope(scope -> {
-            scope.setLevel(SentryLevel.ERROR);
-            scope.setTag("error.type", "unhandled");
-            scope.setTag("exception.class", ex.getClass().getName());
-            scope.setContexts("request", java.util.Map.of(
-                "url", request.getDescription(false),
-                "method", request.getHeader("method") != null ? request.getHeader("method") : "UNKNOWN"
-            ));
-            Sentry.captureException(ex);
-        });
+        sentryErrorReporter.reportar(ex, HttpStatus.INTERNAL_SERVER_ERROR, request,
+            Map.of("error.type", "unhandled", "exception.class", ex.getClass().getName()));
         
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -400,8 +391,8 @@ public class GlobalExceptionHandler {
             request.getDescription(false).replace("uri=", "")
         );
         
-        // Log da exceção para debug (você pode usar um logger aqui)
-        ex.printStackTrace();
+        // WARN só vira breadcrumb no Sentry; o evento já foi enviado acima
+        log.warn("Erro não tratado em {}", error.getPath(), ex);
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
@@ -0,0 +1,18 @@
+package br.com.vendas.passagem.omnibus.exception;
+
+/**
+ * Exceção lançada quando a requisição é recusada por limite de capacidade; o cliente deve tentar novamente depois.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
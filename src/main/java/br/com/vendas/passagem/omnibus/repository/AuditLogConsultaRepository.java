@@ -0,0 +1,112 @@
+package br.com.vendas.passagem.omnibus.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import br.com.vendas.passagem.omnibus.dto.response.AuditLogResponseDTO;
+
+/**
+ * Consultas de leitura de audit_logs em JDBC.
+ *
+ * O SQL é montado só com os filtros informados, para que o planejador use os índices
+ * (entity_name, entity_id), (username) e (created_at, id) e faça a poda de partições
+ * pelo intervalo de created_at, que é sempre obrigatório.
+ */
+@Repository
+public class AuditLogConsultaRepository {
+
+    private static final String COLUNAS =
+        "SELECT id, entity_name, entity_id, action, username, details, payload::text AS payload, created_at FROM audit_logs";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditLogConsultaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record Filtro(String entidade, Long entidadeId, String usuario, LocalDateTime inicio, LocalDateTime fim) {
+    }
+
+    /**
+     * Página mais recente primeiro, a partir do cursor (createdAt, id) exclusivo.
+     */
+    public List<AuditLogResponseDTO> buscar(Filtro filtro, LocalDateTime cursorData, Long cursorId, int limite) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = where(filtro, params);
+        if (cursorData != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            params.add(Timestamp.valueOf(cursorData));
+            params.add(cursorId);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        params.add(limite);
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> mapear(rs), params.toArray());
+    }
+
+    /**
+     * Percorre todos os registros do filtro com cursor do servidor (fetch size), em ordem
+     * cronológica, sem materializar a lista. Deve ser chamado dentro de uma transação para
+     * que o driver do PostgreSQL leia em blocos.
+     */
+    public void percorrer(Filtro filtro, RowConsumer consumer) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = where(filtro, params).append(" ORDER BY created_at, id");
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString());
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapear(rs)));
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(AuditLogResponseDTO registro) throws SQLException;
+    }
+
+    private static StringBuilder where(Filtro filtro, List<Object> params) {
+        StringBuilder sql = new StringBuilder(COLUNAS).append(" WHERE created_at >= ? AND created_at < ?");
+        params.add(Timestamp.valueOf(filtro.inicio()));
+        params.add(Timestamp.valueOf(filtro.fim()));
+        if (filtro.entidade() != null) {
+            sql.append(" AND entity_name = ?");
+            params.add(filtro.entidade());
+        }
+        if (filtro.entidadeId() != null) {
+            sql.append(" AND entity_id = ?");
+            params.add(filtro.entidadeId());
+        }
+        if (filtro.usuario() != null) {
+            sql.append(" AND username = ?");
+            params.add(filtro.usuario());
+        }
+        return sql;
+    }
+
+    private static AuditLogResponseDTO mapear(ResultSet rs) throws SQLException {
+        long valorEntityId = rs.getLong("entity_id");
+        Long entityId = rs.wasNull() ? null : valorEntityId;
+        return new AuditLogResponseDTO(
+            rs.getLong("id"),
+            rs.getString("entity_name"),
+            entityId,
+            rs.getString("action"),
+            rs.getString("username"),
+            rs.getString("details"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+}
@@ -1,8 +1,32 @@
 package br.com.vendas.passagem.omnibus.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import br.com.vendas.passagem.omnibus.domain.Documento;
+import br.com.vendas.passagem.omnibus.domain.enums.StatusDocumento;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
 
 public interface DocumentoRepository extends JpaRepository<Documento, Long> {
+
+    /**
+     * Pedido de upload direto ainda pendente do usuário para o tipo, o mais recente se houver mais de um.
+     */
+    Optional<Documento> findFirstByUsuarioIdAndTipoAndStatusOrderByIdDesc(Long usuarioId, TipoDocumento tipo,
+                                                                          StatusDocumento status);
+
+    Optional<Documento> findByIdAndUsuarioId(Long id, Long usuarioId);
+
+    List<Documento> findByStatusAndDataUploadBefore(StatusDocumento status, LocalDateTime limite, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Documento d WHERE d.id = :id AND d.status = :status")
+    int deleteByIdAndStatus(@Param("id") Long id, @Param("status") StatusDocumento status);
 }
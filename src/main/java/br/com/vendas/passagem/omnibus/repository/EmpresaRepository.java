@@ -1,9 +1,33 @@
 package br.com.vendas.passagem.omnibus.repository;
 
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import br.com.vendas.passagem.omnibus.domain.Empresa;
+import br.com.vendas.passagem.omnibus.dto.response.EmpresaResponseDTO;
 
 public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
-    
+
+    boolean existsByUsuarioDonoId(Long usuarioDonoId);
+
+    boolean existsByIdAndUsuarioDonoId(Long id, Long usuarioDonoId);
+
+    /**
+     * Empresa e dono numa única consulta, para atualizações que devolvem o DTO completo.
+     */
+    @EntityGraph(attributePaths = "usuarioDono")
+    @Query("select e from Empresa e where e.id = :id")
+    Optional<Empresa> findComDonoById(@Param("id") Long id);
+
+    /**
+     * Projeção para leitura: empresa e dono em um join, sem carregar as entidades.
+     */
+    @Query("select new br.com.vendas.passagem.omnibus.dto.response.EmpresaResponseDTO("
+         + "e.id, e.cnpj, e.nomeFantasia, e.razaoSocial, u.id, u.nome, u.email) "
+         + "from Empresa e join e.usuarioDono u where e.id = :id")
+    Optional<EmpresaResponseDTO> findResponseById(@Param("id") Long id);
 }
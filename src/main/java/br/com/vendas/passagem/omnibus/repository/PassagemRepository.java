@@ -0,0 +1,33 @@
+package br.com.vendas.passagem.omnibus.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.vendas.passagem.omnibus.domain.Passagen;
+import jakarta.persistence.LockModeType;
+
+public interface PassagemRepository extends JpaRepository<Passagen, Long> {
+
+    /**
+     * Poltronas ocupadas de uma viagem (nulo para passagens sem assento marcado).
+     */
+    @Query("select p.poltrona from Passagen p where p.viagem.id = :viagemId "
+         + "and p.status in (br.com.vendas.passagem.omnibus.domain.enums.Status.PENDENTE, "
+         + "br.com.vendas.passagem.omnibus.domain.enums.Status.PAGA)")
+    List<Integer> findPoltronasOcupadas(@Param("viagemId") Long viagemId);
+
+    /**
+     * Passagem pelo código público com a viagem carregada, bloqueada para mudança de estado.
+     * A varredura de expiração usa SKIP LOCKED e não espera por este bloqueio.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Passagen p join fetch p.viagem where p.codigo = :codigo")
+    Optional<Passagen> findParaTransicaoByCodigo(@Param("codigo") String codigo);
+
+    Optional<Passagen> findByCodigo(String codigo);
+}
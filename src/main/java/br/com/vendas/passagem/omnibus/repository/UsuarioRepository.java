@@ -1,20 +1,67 @@
 package br.com.vendas.passagem.omnibus.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.dto.response.UsuarioResponseDTO;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-    @Query("select u from Usuario u where u.email = :login")
-    UserDetails findByLogin(@Param("login") String login);
-    
     Optional<Usuario> findByEmail(String email);
-    
-    @Query("select u from Usuario u left join fetch u.empresas where u.email = :email")
-    Optional<Usuario> findByEmailWithEmpresas(@Param("email") String email);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * Usuário e perfis numa única consulta (perfis é LAZY).
+     * Sempre no primário (transação de escrita, não a somente leitura padrão dos repositórios):
+     * com réplica de leitura, um perfil alterado ou um usuário recém-criado poderiam ser lidos
+     * desatualizados na autenticação do token.
+     */
+    @Transactional
+    @EntityGraph(attributePaths = "perfis")
+    @Query("select u from Usuario u where u.id = :id")
+    Optional<Usuario> findComPerfisById(@Param("id") Long id);
+
+    /**
+     * Tudo o que o login precisa em uma consulta: uma linha por perfil, com o hash da senha
+     * e se o usuário é dono de alguma empresa. Sempre no primário, como {@link #findComPerfisById}:
+     * logo após um cadastro ou troca de senha a réplica ainda pode ter os dados antigos.
+     */
+    @Transactional
+    @Query("select u.id as id, u.email as email, u.senha as senha, u.perfilAtivo as perfilAtivo, p as perfil, "
+         + "case when exists (select 1 from Empresa e where e.usuarioDono.id = u.id) then true else false end as possuiEmpresa "
+         + "from Usuario u left join u.perfis p where u.email = :email")
+    List<CredencialLogin> findCredenciaisByEmail(@Param("email") String email);
+
+    /**
+     * Troca o hash só se ele ainda for o lido no login (não sobrescreve troca de senha concorrente).
+     */
+    @Modifying
+    @Transactional
+    @Query("update Usuario u set u.senha = :novoHash where u.id = :id and u.senha = :hashAtual")
+    int atualizarHashSenha(@Param("id") Long id, @Param("hashAtual") String hashAtual, @Param("novoHash") String novoHash);
+
+    interface CredencialLogin {
+        Long getId();
+        String getEmail();
+        String getSenha();
+        TipoPerfil getPerfilAtivo();
+        TipoPerfil getPerfil();
+        Boolean getPossuiEmpresa();
+    }
+
+    /**
+     * Projeção para leitura: só as colunas do DTO, sem carregar a entidade.
+     */
+    @Query("select new br.com.vendas.passagem.omnibus.dto.response.UsuarioResponseDTO(u.id, u.nome, u.email) "
+         + "from Usuario u where u.id = :id")
+    Optional<UsuarioResponseDTO> findResumoById(@Param("id") Long id);
 }
@@ -0,0 +1,52 @@
+package br.com.vendas.passagem.omnibus.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.vendas.passagem.omnibus.domain.Viagen;
+import br.com.vendas.passagem.omnibus.dto.response.ViagemResponseDTO;
+
+public interface ViagemRepository extends JpaRepository<Viagen, Long> {
+
+    String PROJECAO_BUSCA = "select new br.com.vendas.passagem.omnibus.dto.response.ViagemResponseDTO("
+        + "v.id, e.id, e.nomeFantasia, v.origem, v.destino, v.dataPartida, v.preco, "
+        + "v.vagasTotais, v.vagasDisponiveis, v.possuiAssentoMarcado) "
+        + "from Viagen v join v.empresa e "
+        + "where v.origem = :origem and v.destino = :destino "
+        + "and v.dataPartida >= :inicio and v.dataPartida < :fim ";
+
+    /**
+     * Primeira página da busca por rota e período (usa idx_viagens_rota_partida).
+     */
+    @Query(PROJECAO_BUSCA + "order by v.dataPartida, v.id")
+    List<ViagemResponseDTO> buscarPorRota(@Param("origem") String origem, @Param("destino") String destino,
+                                          @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                          Limit limit);
+
+    /**
+     * Páginas seguintes: continua a partir do último (dataPartida, id) já retornado.
+     */
+    @Query(PROJECAO_BUSCA
+        + "and (v.dataPartida > :cursorData or (v.dataPartida = :cursorData and v.id > :cursorId)) "
+        + "order by v.dataPartida, v.id")
+    List<ViagemResponseDTO> buscarPorRotaAposCursor(@Param("origem") String origem, @Param("destino") String destino,
+                                                    @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                                    @Param("cursorData") LocalDateTime cursorData,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Limit limit);
+
+    /**
+     * Devolve vagas de passagens canceladas em um único UPDATE. A versão é incrementada para
+     * que gravações concorrentes com controle otimista refaçam a conta.
+     */
+    @Modifying
+    @Query("update Viagen v set v.vagasDisponiveis = v.vagasDisponiveis + :quantidade, v.versao = v.versao + 1 "
+         + "where v.id = :viagemId")
+    int devolverVagas(@Param("viagemId") Long viagemId, @Param("quantidade") int quantidade);
+}
@@ -1,42 +1,115 @@
 package br.com.vendas.passagem.omnibus.service;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.vendas.passagem.omnibus.config.audit.AuditLogBatchWriter;
+import br.com.vendas.passagem.omnibus.config.audit.AuditPayloadEncoder;
 import br.com.vendas.passagem.omnibus.domain.audit.AuditLog;
 import br.com.vendas.passagem.omnibus.repository.AuditLogRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogBatchWriter auditLogBatchWriter;
+    private final AuditPayloadEncoder auditPayloadEncoder;
+    private final TransactionTemplate requiresNewTransaction;
+    private final Meter.MeterProvider<Timer> timerLog;
+    private final Map<String, Timer> timersPorResultado = new ConcurrentHashMap<>();
+    private final Tracer tracer;
+
+    @Value("${audit.write-behind.enabled:true}")
+    private boolean writeBehindEnabled;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public AuditLogService(AuditLogRepository auditLogRepository, AuditLogBatchWriter auditLogBatchWriter,
+                           AuditPayloadEncoder auditPayloadEncoder, PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry, Tracer tracer) {
+        this.auditLogRepository = auditLogRepository;
+        this.auditLogBatchWriter = auditLogBatchWriter;
+        this.auditPayloadEncoder = auditPayloadEncoder;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.timerLog = Timer.builder("auditoria.log")
+            .description("Tempo gasto pela requisição para registrar um evento de auditoria")
+            .publishPercentileHistogram()
+            .withRegistry(meterRegistry);
+        this.tracer = tracer;
+    }
+
+    /**
+     * Registra um evento de auditoria.
+     * Com write-behind habilitado o evento é enfileirado e gravado em lote por
+     * {@link AuditLogBatchWriter}, e o registro retornado ainda não possui id.
+     */
     public AuditLog log(String action, String entityName, Long entityId, String details) {
-        try {
-            AuditLog logEntry = AuditLog.builder()
-                    .action(action)
-                    .entityName(entityName)
-                    .entityId(entityId)
-                    .details(details)
-                    .username(resolveUsername())
-                    .build();
-
-            return auditLogRepository.save(logEntry);
+        return log(action, entityName, entityId, details, null);
+    }
+
+    /**
+     * Registra um evento com os argumentos capturados do método auditado. Com write-behind
+     * os argumentos são codificados para o payload na thread do escritor, fora da requisição.
+     */
+    public AuditLog log(String action, String entityName, Long entityId, String details, Map<String, Object> argumentos) {
+        return registrar(AuditLog.builder()
+                .action(action)
+                .entityName(entityName)
+                .entityId(entityId)
+                .details(details)
+                .argumentos(argumentos)
+                .username(resolveUsername())
+                .build());
+    }
+
+    /**
+     * Registra um evento já montado, como os registros agregados por janela.
+     */
+    public AuditLog registrar(AuditLog logEntry) {
+        long inicio = System.nanoTime();
+        String resultado = "erro";
+        Span span = tracer.nextSpan().name("auditoria.log").tag("auditoria.acao", String.valueOf(logEntry.getAction())).start();
+        try (Tracer.SpanInScope escopo = tracer.withSpan(span)) {
+            if (writeBehindEnabled) {
+                auditLogBatchWriter.enqueue(logEntry);
+                resultado = "enfileirado";
+                return logEntry;
+            }
+
+            logEntry.setPayload(auditPayloadEncoder.encode(logEntry.getArgumentos()));
+            AuditLog salvo = requiresNewTransaction.execute(status -> auditLogRepository.save(logEntry));
+            resultado = "gravado";
+            return salvo;
         } catch (Exception e) {
-            log.warn("Falha ao registrar auditoria: {} | {}", action, entityName, e);
+            span.error(e);
+            log.warn("Falha ao registrar auditoria: {} | {}", logEntry.getAction(), logEntry.getEntityName(), e);
             return null;
+        } finally {
+            span.tag("auditoria.resultado", resultado).end();
+            timersPorResultado.computeIfAbsent(resultado, r -> timerLog.withTag("resultado", r))
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
     }
 
-    private String resolveUsername() {
+    /**
+     * Usuário autenticado na thread atual, ou "system".
+     */
+    public String resolveUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return "system";
@@ -1,24 +0,0 @@
-package br.com.vendas.passagem.omnibus.service;
-
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.stereotype.Service;
-
-import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
-
-@Service
-public class AuthorizationService implements UserDetailsService {
-
-    private final UsuarioRepository usuarioRepository;
-
-    public AuthorizationService(UsuarioRepository usuarioRepository) {
-        this.usuarioRepository = usuarioRepository;
-    }
-
-    @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return usuarioRepository.findByLogin(email);
-    }
-
-}
@@ -1,84 +1,469 @@
 package br.com.vendas.passagem.omnibus.service;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import br.com.vendas.passagem.omnibus.annotation.AuditIgnore;
 import br.com.vendas.passagem.omnibus.annotation.Auditable;
+import br.com.vendas.passagem.omnibus.config.minio.MinioBucketProvisioner;
 import br.com.vendas.passagem.omnibus.domain.Documento;
 import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.StatusDocumento;
 import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.dto.request.DocumentoUploadUrlRequestDTO;
 import br.com.vendas.passagem.omnibus.dto.response.DocumentoResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.DocumentoUrlResponseDTO;
 import br.com.vendas.passagem.omnibus.repository.DocumentoRepository;
+import br.com.vendas.passagem.omnibus.exception.BusinessException;
 import br.com.vendas.passagem.omnibus.exception.DocumentoUploadException;
-import io.minio.BucketExistsArgs;
-import io.minio.MakeBucketArgs;
+import br.com.vendas.passagem.omnibus.exception.FileValidationException;
+import br.com.vendas.passagem.omnibus.exception.MinioStorageException;
+import br.com.vendas.passagem.omnibus.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MinioClient;
+import io.minio.PostPolicy;
 import io.minio.PutObjectArgs;
-import io.minio.errors.MinioException;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.http.Method;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 public class DocumentoService {
 
+    private static final String CONTENT_TYPE_PADRAO = "application/octet-stream";
+
     private final DocumentoRepository documentoRepository;
     private final UsuarioService usuarioService;
     private final MinioClient minioClient;
+    private final MinioBucketProvisioner bucketProvisioner;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final DistributionSummary bytesEnviados;
+    private final Meter.MeterProvider<Timer> timerUpload;
+    // Chave "modo/resultado"
+    private final Map<String, Timer> timersUpload = new ConcurrentHashMap<>();
 
     @Value("${minio.bucket-name}")
     private String bucketName;
 
-    public DocumentoService(DocumentoRepository documentoRepository, UsuarioService usuarioService, MinioClient minioClient) {
+    @Value("${documento.upload.max-size-bytes:104857600}")
+    private long maxSizeBytes;
+
+    @Value("${documento.upload.part-size-bytes:5242880}")
+    private long partSizeBytes;
+
+    @Value("${documento.presigned.expiracao-segundos:600}")
+    private int expiracaoUrlSegundos;
+
+    @Value("${documento.upload.abandonado-apos-minutos:60}")
+    private long abandonadoAposMinutos;
+
+    @Value("${documento.upload.limpeza-batch-size:100}")
+    private int limpezaBatchSize;
+
+    @Value("${minio.endpoint}")
+    private String minioEndpoint;
+
+    public DocumentoService(DocumentoRepository documentoRepository, UsuarioService usuarioService, MinioClient minioClient,
+                            MinioBucketProvisioner bucketProvisioner, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry, Tracer tracer) {
         this.documentoRepository = documentoRepository;
         this.usuarioService = usuarioService;
         this.minioClient = minioClient;
+        this.bucketProvisioner = bucketProvisioner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.bytesEnviados = DistributionSummary.builder("documento.upload.bytes")
+            .description("Tamanho dos documentos enviados ao armazenamento")
+            .baseUnit("bytes")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.timerUpload = Timer.builder("documento.upload")
+            .description("Latência do upload de documentos")
+            .publishPercentileHistogram()
+            .withRegistry(meterRegistry);
     }
 
-    @Transactional
     @Auditable(action = "CREATE", entity = "Documento")
-    public DocumentoResponseDTO uploadDocumento(Long usuarioId, TipoDocumento tipoDocumento, MultipartFile arquivo) {
+    public DocumentoResponseDTO uploadDocumento(Usuario usuarioLogado, Long usuarioId, TipoDocumento tipoDocumento,
+                                                MultipartFile arquivo) {
+        verificarAcesso(usuarioLogado, usuarioId);
+        return enviarERegistrar(usuarioId, tipoDocumento, arquivo.getOriginalFilename(), arquivo.getContentType(),
+            arquivo, true, arquivo.getSize());
+    }
+
+    /**
+     * Upload em streaming: o corpo da requisição é repassado direto ao upload multipart
+     * do MinIO em partes de tamanho fixo, sem passar pelo buffer de multipart do Spring.
+     *
+     * @param tamanho tamanho em bytes, ou -1 quando desconhecido (transfer-encoding chunked)
+     */
+    @Auditable(action = "CREATE", entity = "Documento")
+    public DocumentoResponseDTO uploadDocumentoStream(Usuario usuarioLogado, Long usuarioId, TipoDocumento tipoDocumento,
+                                                      String nomeArquivo, String contentType,
+                                                      @AuditIgnore InputStream conteudo, long tamanho) {
+        verificarAcesso(usuarioLogado, usuarioId);
+        // O corpo da requisição só pode ser lido uma vez
+        return enviarERegistrar(usuarioId, tipoDocumento, nomeArquivo, contentType, () -> conteudo, false, tamanho);
+    }
+
+    /**
+     * Mede a latência do upload completo (envio + registro), por modo e resultado.
+     */
+    private DocumentoResponseDTO enviarERegistrar(Long usuarioId, TipoDocumento tipoDocumento, String nomeArquivo,
+                                                  String contentType, InputStreamSource fonte, boolean reenviavel,
+                                                  long tamanho) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String resultado = "erro";
         try {
-            ensureBucket();
-
-            Usuario usuario = usuarioService.obterPorId(usuarioId);
-            String objectName = gerarNomeObjeto(usuarioId, tipoDocumento, arquivo.getOriginalFilename());
-
-            try (InputStream is = arquivo.getInputStream()) {
-                minioClient.putObject(
-                    PutObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .stream(is, arquivo.getSize(), -1)
-                        .contentType(arquivo.getContentType())
-                        .build()
-                );
-            }
+            DocumentoResponseDTO resposta = enviarEGravar(usuarioId, tipoDocumento, nomeArquivo, contentType, fonte,
+                reenviavel, tamanho);
+            resultado = "sucesso";
+            return resposta;
+        } finally {
+            String modo = reenviavel ? "multipart" : "stream";
+            String resultadoFinal = resultado;
+            amostra.stop(timersUpload.computeIfAbsent(modo + "/" + resultado,
+                chave -> timerUpload.withTags("modo", modo, "resultado", resultadoFinal)));
+        }
+    }
 
-            Documento documento = new Documento();
-            documento.setUsuario(usuario);
-            documento.setTipo(tipoDocumento);
-            documento.setNomeArquivoMinio(objectName);
-            documento.setContentType(arquivo.getContentType());
-            documento.setDataUpload(LocalDateTime.now());
+    /**
+     * Envia o objeto ao MinIO fora de transação e só então grava os metadados,
+     * em uma transação curta. Se a gravação falhar, o objeto é removido.
+     *
+     * @param reenviavel se a fonte pode ser aberta de novo para repetir o envio após recriar o bucket
+     */
+    private DocumentoResponseDTO enviarEGravar(Long usuarioId, TipoDocumento tipoDocumento, String nomeArquivo,
+                                               String contentType, InputStreamSource fonte, boolean reenviavel,
+                                               long tamanho) {
+        String nome = nomeArquivo == null || nomeArquivo.isBlank() ? "arquivo" : nomeArquivo;
+        if (tamanho > maxSizeBytes) {
+            throw FileValidationException.fileTooLarge(nome, maxSizeBytes);
+        }
+        if (tamanho == 0) {
+            throw FileValidationException.emptyFile(nome);
+        }
 
-            Documento salvo = documentoRepository.save(documento);
+        String tipoConteudo = contentType == null || contentType.isBlank() ? CONTENT_TYPE_PADRAO : contentType;
+        // Usuário inexistente sobe como ResourceNotFoundException (404), sem enviar nada ao MinIO
+        Usuario usuario = usuarioService.obterPorId(usuarioId);
+        String objectName = gerarNomeObjeto(usuarioId, tipoDocumento, nome);
+
+        long enviados;
+        try {
+            enviados = enviarObjeto(objectName, fonte, tamanho, tipoConteudo, nome);
+        } catch (FileValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            if (!MinioBucketProvisioner.isBucketAusente(e)) {
+                throw new DocumentoUploadException("Erro ao fazer upload do documento", e);
+            }
+            log.warn("Bucket {} não encontrado durante upload, reprovisionando", bucketName);
+            bucketProvisioner.reprovisionar();
+            if (!reenviavel) {
+                throw new DocumentoUploadException("Armazenamento reinicializado, envie o documento novamente", e);
+            }
+            try {
+                enviados = enviarObjeto(objectName, fonte, tamanho, tipoConteudo, nome);
+            } catch (FileValidationException erro) {
+                throw erro;
+            } catch (Exception erro) {
+                throw new DocumentoUploadException("Erro ao fazer upload do documento", erro);
+            }
+        }
+        bytesEnviados.record(enviados);
+
+        try {
+            Documento salvo = transactionTemplate.execute(status -> {
+                Documento documento = new Documento();
+                documento.setUsuario(usuario);
+                documento.setTipo(tipoDocumento);
+                documento.setNomeArquivoMinio(objectName);
+                documento.setContentType(tipoConteudo);
+                documento.setTamanhoBytes(tamanho >= 0 ? tamanho : null);
+                documento.setDataUpload(LocalDateTime.now());
+                return documentoRepository.save(documento);
+            });
             return new DocumentoResponseDTO(salvo.getId(), usuario.getId(), salvo.getTipo(), salvo.getNomeArquivoMinio(), salvo.getContentType());
+        } catch (RuntimeException e) {
+            removerObjeto(objectName);
+            throw new DocumentoUploadException("Erro ao registrar o documento", e);
+        }
+    }
+
+    /**
+     * Emite um formulário pré-assinado de POST para o cliente enviar o arquivo direto ao MinIO.
+     * A política assinada fixa o nome do objeto, o content type e o tamanho declarados: o MinIO
+     * recusa qualquer envio diferente. O documento fica AGUARDANDO_UPLOAD até {@link #concluirUpload};
+     * um pedido anterior ainda pendente do mesmo usuário e tipo é reaproveitado e o objeto dele é removido.
+     * Como nos uploads multipart e em streaming, documentos já enviados não limitam novos envios.
+     */
+    @Auditable(action = "CREATE", entity = "Documento")
+    public DocumentoUrlResponseDTO gerarUrlUpload(Usuario usuarioLogado, Long usuarioId,
+                                                  DocumentoUploadUrlRequestDTO request) {
+        verificarAcesso(usuarioLogado, usuarioId);
+        if (request.tamanhoBytes() > maxSizeBytes) {
+            throw FileValidationException.fileTooLarge(request.nomeArquivo(), maxSizeBytes);
+        }
+        Usuario usuario = usuarioService.obterPorId(usuarioId);
+        String objectName = gerarNomeObjeto(usuarioId, request.tipo(), request.nomeArquivo());
+
+        String[] objetoAnterior = new String[1];
+        Documento documento = transactionTemplate.execute(status -> {
+            Documento doc = documentoRepository.findFirstByUsuarioIdAndTipoAndStatusOrderByIdDesc(
+                usuarioId, request.tipo(), StatusDocumento.AGUARDANDO_UPLOAD).orElseGet(Documento::new);
+            objetoAnterior[0] = doc.getNomeArquivoMinio();
+            doc.setUsuario(usuario);
+            doc.setTipo(request.tipo());
+            doc.setNomeArquivoMinio(objectName);
+            doc.setContentType(request.contentType());
+            doc.setStatus(StatusDocumento.AGUARDANDO_UPLOAD);
+            // Tamanho declarado; conferido de novo na conclusão
+            doc.setTamanhoBytes(request.tamanhoBytes());
+            doc.setDataUpload(LocalDateTime.now());
+            return documentoRepository.save(doc);
+        });
+        if (objetoAnterior[0] != null) {
+            // O cliente pode ter chegado a enviar o arquivo do pedido substituído
+            removerObjeto(objetoAnterior[0]);
+        }
+
+        ZonedDateTime expiraEm = ZonedDateTime.now().plusSeconds(expiracaoUrlSegundos);
+        return new DocumentoUrlResponseDTO(documento.getId(), "POST", urlBucket(),
+            gerarFormularioUpload(objectName, request.contentType(), request.tamanhoBytes(), expiraEm),
+            expiraEm.toLocalDateTime());
+    }
+
+    /**
+     * Confirma o upload direto: verifica o objeto no MinIO e marca o documento como disponível.
+     * Pode ser chamado em polling pelo cliente; enquanto o objeto não existir retorna 422.
+     */
+    @Auditable(action = "UPDATE", entity = "Documento")
+    public DocumentoResponseDTO concluirUpload(Usuario usuarioLogado, Long usuarioId, Long documentoId) {
+        verificarAcesso(usuarioLogado, usuarioId);
+        Documento documento = buscarDocumento(usuarioId, documentoId);
+        if (documento.getStatus() == StatusDocumento.DISPONIVEL) {
+            return toResponse(documento, usuarioId);
+        }
+
+        StatObjectResponse stat = statObjeto(documento.getNomeArquivoMinio());
+        if (stat == null) {
+            throw new BusinessException("Upload do documento ainda não foi recebido");
+        }
+        if (stat.size() > maxSizeBytes) {
+            removerObjeto(documento.getNomeArquivoMinio());
+            throw FileValidationException.fileTooLarge(documento.getNomeArquivoMinio(), maxSizeBytes);
+        }
+        // A política do formulário já restringe o envio; a conferência cobre objetos gravados por outro caminho
+        if (documento.getTamanhoBytes() != null && stat.size() != documento.getTamanhoBytes()) {
+            removerObjeto(documento.getNomeArquivoMinio());
+            throw new FileValidationException(String.format("Arquivo '%s' tem %d bytes, mas foram declarados %d",
+                documento.getNomeArquivoMinio(), stat.size(), documento.getTamanhoBytes()));
+        }
+        if (documento.getContentType() != null && !documento.getContentType().equalsIgnoreCase(stat.contentType())) {
+            removerObjeto(documento.getNomeArquivoMinio());
+            throw FileValidationException.invalidFileType(documento.getNomeArquivoMinio(), documento.getContentType());
+        }
+
+        Documento salvo = transactionTemplate.execute(status -> {
+            Documento doc = buscarDocumento(usuarioId, documentoId);
+            doc.setStatus(StatusDocumento.DISPONIVEL);
+            doc.setTamanhoBytes(stat.size());
+            doc.setContentType(stat.contentType());
+            doc.setDataUpload(LocalDateTime.now());
+            return documentoRepository.save(doc);
+        });
+        return toResponse(salvo, usuarioId);
+    }
+
+    /**
+     * Emite uma URL pré-assinada de GET para o cliente baixar o documento direto do MinIO.
+     */
+    public DocumentoUrlResponseDTO gerarUrlDownload(Usuario usuarioLogado, Long usuarioId, Long documentoId) {
+        verificarAcesso(usuarioLogado, usuarioId);
+        Documento documento = buscarDocumento(usuarioId, documentoId);
+        if (documento.getStatus() != StatusDocumento.DISPONIVEL) {
+            throw new BusinessException("Documento ainda não está disponível para download");
+        }
+        return new DocumentoUrlResponseDTO(documento.getId(), Method.GET.name(),
+            gerarUrlPreAssinada(Method.GET, documento.getNomeArquivoMinio()), null,
+            LocalDateTime.now().plusSeconds(expiracaoUrlSegundos));
+    }
+
+    /**
+     * Remove os uploads diretos abandonados: documentos AGUARDANDO_UPLOAD mais antigos que
+     * {@code documento.upload.abandonado-apos-minutos}, junto com o objeto, se chegou a ser enviado.
+     * A exclusão só vale se o documento ainda estiver pendente, para não competir com uma conclusão.
+     */
+    @Scheduled(fixedDelayString = "${documento.upload.limpeza-interval-ms:900000}")
+    public void removerUploadsAbandonados() {
+        LocalDateTime limite = LocalDateTime.now().minusMinutes(abandonadoAposMinutos);
+        int removidos = 0;
+        try {
+            List<Documento> abandonados = documentoRepository.findByStatusAndDataUploadBefore(
+                StatusDocumento.AGUARDANDO_UPLOAD, limite, PageRequest.of(0, limpezaBatchSize));
+            for (Documento documento : abandonados) {
+                Integer excluidos = transactionTemplate.execute(status ->
+                    documentoRepository.deleteByIdAndStatus(documento.getId(), StatusDocumento.AGUARDANDO_UPLOAD));
+                if (excluidos != null && excluidos > 0) {
+                    removerObjeto(documento.getNomeArquivoMinio());
+                    removidos++;
+                }
+            }
         } catch (Exception e) {
-            throw new DocumentoUploadException("Erro ao fazer upload do documento", e);
+            log.warn("Falha ao remover uploads diretos abandonados", e);
+        }
+        if (removidos > 0) {
+            log.info("{} uploads diretos abandonados removidos", removidos);
         }
     }
 
-    private void ensureBucket() throws MinioException, InvalidKeyException, IOException, NoSuchAlgorithmException {
-        boolean exists = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
-        if (!exists) {
-            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+    /**
+     * O próprio usuário ou um ADMIN.
+     */
+    private void verificarAcesso(Usuario usuarioLogado, Long usuarioId) {
+        if (!usuarioLogado.getId().equals(usuarioId) && usuarioLogado.getPerfilAtivo() != TipoPerfil.ADMIN) {
+            throw new AccessDeniedException("Documento pertence a outro usuário");
+        }
+    }
+
+    private Documento buscarDocumento(Long usuarioId, Long documentoId) {
+        return documentoRepository.findByIdAndUsuarioId(documentoId, usuarioId)
+            .orElseThrow(() -> new ResourceNotFoundException("Documento", "id", documentoId));
+    }
+
+    private DocumentoResponseDTO toResponse(Documento documento, Long usuarioId) {
+        return new DocumentoResponseDTO(documento.getId(), usuarioId, documento.getTipo(),
+            documento.getNomeArquivoMinio(), documento.getContentType());
+    }
+
+    private String gerarUrlPreAssinada(Method metodo, String objectName) {
+        try {
+            return minioClient.getPresignedObjectUrl(
+                GetPresignedObjectUrlArgs.builder()
+                    .method(metodo)
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .expiry(expiracaoUrlSegundos, TimeUnit.SECONDS)
+                    .build()
+            );
+        } catch (Exception e) {
+            throw MinioStorageException.bucketAccessFailed(bucketName, e);
+        }
+    }
+
+    /**
+     * Campos do formulário de POST: os da assinatura gerados pelo MinIO mais os que a política
+     * exige com valor exato (nome do objeto e content type).
+     */
+    private Map<String, String> gerarFormularioUpload(String objectName, String contentType, long tamanho,
+                                                      ZonedDateTime expiraEm) {
+        try {
+            PostPolicy politica = new PostPolicy(bucketName, expiraEm);
+            politica.addEqualsCondition("key", objectName);
+            politica.addEqualsCondition("Content-Type", contentType);
+            politica.addContentLengthRangeCondition(tamanho, tamanho);
+            Map<String, String> campos = new HashMap<>(minioClient.getPresignedPostFormData(politica));
+            campos.put("key", objectName);
+            campos.put("Content-Type", contentType);
+            return campos;
+        } catch (Exception e) {
+            throw MinioStorageException.bucketAccessFailed(bucketName, e);
+        }
+    }
+
+    private String urlBucket() {
+        String endpoint = minioEndpoint.endsWith("/") ? minioEndpoint : minioEndpoint + "/";
+        return endpoint + bucketName;
+    }
+
+    /**
+     * Retorna os metadados do objeto, ou null se ele ainda não existir.
+     */
+    private StatObjectResponse statObjeto(String objectName) {
+        try {
+            return minioClient.statObject(StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return null;
+            }
+            throw MinioStorageException.downloadFailed(objectName, e);
+        } catch (Exception e) {
+            throw MinioStorageException.downloadFailed(objectName, e);
+        }
+    }
+
+    /**
+     * @return bytes efetivamente lidos da fonte
+     */
+    private long enviarObjeto(String objectName, InputStreamSource fonte, long tamanho, String tipoConteudo,
+                              String nome) throws Exception {
+        LimitedInputStream limitado = new LimitedInputStream(fonte.getInputStream(), maxSizeBytes);
+        Span span = tracer.nextSpan().name("minio.putObject")
+            .tag("minio.bucket", bucketName)
+            .tag("minio.tamanho", String.valueOf(tamanho))
+            .start();
+        try (limitado; Tracer.SpanInScope escopo = tracer.withSpan(span)) {
+            minioClient.putObject(
+                PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    // Tamanho conhecido: MinIO escolhe as partes; desconhecido: partes de tamanho fixo
+                    .stream(limitado, tamanho, tamanho >= 0 ? -1 : partSizeBytes)
+                    .contentType(tipoConteudo)
+                    .build()
+            );
+            span.tag("minio.bytes", String.valueOf(limitado.getLidos()));
+            return limitado.getLidos();
+        } catch (Exception e) {
+            span.error(e);
+            if (limitado.isExcedeu()) {
+                throw FileValidationException.fileTooLarge(nome, maxSizeBytes);
+            }
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private void removerObjeto(String objectName) {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(objectName).build());
+        } catch (Exception e) {
+            log.warn("Não foi possível remover o objeto órfão {} do bucket {}", objectName, bucketName, e);
         }
     }
 
@@ -86,4 +471,53 @@ public class DocumentoService {
         String sanitized = originalFilename == null ? "arquivo" : originalFilename.replaceAll("\\s+", "_");
         return "usuarios/" + usuarioId + "/" + tipoDocumento.name().toLowerCase() + "/" + UUID.randomUUID() + "-" + sanitized;
     }
+
+    /**
+     * Interrompe a leitura quando o conteúdo passa do limite, para uploads sem tamanho declarado.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limite;
+        private long lidos;
+        private boolean excedeu;
+
+        LimitedInputStream(InputStream in, long limite) {
+            super(in);
+            this.limite = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                contar(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                contar(n);
+            }
+            return n;
+        }
+
+        boolean isExcedeu() {
+            return excedeu;
+        }
+
+        long getLidos() {
+            return lidos;
+        }
+
+        private void contar(long n) throws IOException {
+            lidos += n;
+            if (lidos > limite) {
+                excedeu = true;
+                throw new IOException("Conteúdo excede o tamanho máximo de " + limite + " bytes");
+            }
+        }
+    }
 }
@@ -35,7 +35,7 @@ public class EmpresaService {
         Empresa empresaSalva = empresaRepository.save(empresaEntity);
         
         // Promover usuário para perfil EMPRESA
-        usuarioService.promoverParaEmpresa(empresaRequestDTO.usuarioDonoId());
+        usuarioService.promoverParaEmpresa(usuarioDono);
         
         return empresaMapper.toResponse(empresaSalva);
     }
@@ -43,13 +43,16 @@ public class EmpresaService {
     @Transactional(readOnly = true)
     @Auditable(action = "READ", entity = "Empresa")
     public EmpresaResponseDTO obterPorIdResponseDTO(Long id) {
-        return empresaMapper.toResponse(obterPorId(id));
+        return empresaRepository.findResponseById(id)
+            .orElseThrow(() -> new RuntimeException("Empresa não encontrada com id: " + id));
     }
 
     @Transactional
     @Auditable(action = "UPDATE", entity = "Empresa")
     public EmpresaResponseDTO atualizar(Long id, EmpresaRequestDTO empresaAtualizada) {
-        Empresa empresaExistente = this.obterPorId(id);
+        // Já traz o dono, que o DTO de resposta inclui
+        Empresa empresaExistente = empresaRepository.findComDonoById(id)
+            .orElseThrow(() -> new RuntimeException("Empresa não encontrada com id: " + id));
         empresaExistente.setNomeFantasia(empresaAtualizada.nomeFantasia());
         empresaExistente.setCnpj(empresaAtualizada.cnpj());
         return empresaMapper.toResponse(empresaRepository.save(empresaExistente));
@@ -0,0 +1,150 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.vendas.passagem.omnibus.annotation.Auditable;
+import br.com.vendas.passagem.omnibus.domain.Passagen;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.Viagen;
+import br.com.vendas.passagem.omnibus.domain.enums.Status;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.dto.response.PassagemResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.SituacaoReservaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.SituacaoReservaResponseDTO.Situacao;
+import br.com.vendas.passagem.omnibus.exception.BusinessException;
+import br.com.vendas.passagem.omnibus.exception.ResourceNotFoundException;
+import br.com.vendas.passagem.omnibus.repository.PassagemRepository;
+import br.com.vendas.passagem.omnibus.repository.ViagemRepository;
+import br.com.vendas.passagem.omnibus.service.reserva.EventoPassagem;
+import br.com.vendas.passagem.omnibus.service.reserva.PassagemOutbox;
+import br.com.vendas.passagem.omnibus.service.reserva.PassagemPersister;
+import br.com.vendas.passagem.omnibus.service.reserva.PoltronaLiberadaEvent;
+import br.com.vendas.passagem.omnibus.service.reserva.ReservasRecusadas;
+import br.com.vendas.passagem.omnibus.service.reserva.ReservasRecusadas.ReservaRecusada;
+import br.com.vendas.passagem.omnibus.service.reserva.TipoEventoPassagem;
+import br.com.vendas.passagem.omnibus.service.viagem.VagasAlteradasEvent;
+
+/**
+ * Ciclo de vida das passagens depois da reserva: pagamento e cancelamento.
+ *
+ * As transições seguem {@link Status#permiteTransicaoPara(Status)} e cada uma grava seu
+ * evento no outbox na mesma transação. A expiração das reservas não pagas é feita em lote
+ * por {@link br.com.vendas.passagem.omnibus.service.reserva.ExpiracaoReservas}.
+ */
+@Service
+public class PassagemService {
+
+    private final PassagemRepository passagemRepository;
+    private final ViagemRepository viagemRepository;
+    private final PassagemOutbox passagemOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PassagemPersister passagemPersister;
+    private final ReservasRecusadas reservasRecusadas;
+
+    public PassagemService(PassagemRepository passagemRepository, ViagemRepository viagemRepository,
+                           PassagemOutbox passagemOutbox, ApplicationEventPublisher eventPublisher,
+                           PassagemPersister passagemPersister, ReservasRecusadas reservasRecusadas) {
+        this.passagemRepository = passagemRepository;
+        this.viagemRepository = viagemRepository;
+        this.passagemOutbox = passagemOutbox;
+        this.eventPublisher = eventPublisher;
+        this.passagemPersister = passagemPersister;
+        this.reservasRecusadas = reservasRecusadas;
+    }
+
+    /**
+     * Situação da reserva pelo código: gravada, ainda na fila desta instância ou recusada.
+     * Transação de escrita para ler do primário: na réplica a passagem recém-gravada
+     * poderia ainda não existir.
+     */
+    @Transactional
+    public SituacaoReservaResponseDTO consultar(String codigo, Usuario usuario) {
+        Passagen passagem = passagemRepository.findByCodigo(codigo).orElse(null);
+        if (passagem != null) {
+            verificarDono(passagem.getPassageiro().getId(), usuario);
+            return new SituacaoReservaResponseDTO(codigo, Situacao.GRAVADA, toResponse(passagem), null);
+        }
+        if (passagemPersister.emGravacao(codigo)) {
+            return new SituacaoReservaResponseDTO(codigo, Situacao.EM_GRAVACAO, null, null);
+        }
+        ReservaRecusada recusada = reservasRecusadas.buscar(codigo)
+            .orElseThrow(() -> new ResourceNotFoundException("Passagem", "codigo", codigo));
+        verificarDono(recusada.passageiroId(), usuario);
+        return new SituacaoReservaResponseDTO(codigo, Situacao.RECUSADA, null, recusada.motivo());
+    }
+
+    @Transactional
+    @Auditable(action = "UPDATE", entity = "Passagem")
+    public PassagemResponseDTO pagar(String codigo, Usuario usuario) {
+        Passagen passagem = obterParaTransicao(codigo, usuario);
+        LocalDateTime agora = LocalDateTime.now();
+
+        if (passagem.getStatus() == Status.PENDENTE && passagem.getExpiraEm() != null
+                && !passagem.getExpiraEm().isAfter(agora)) {
+            throw new BusinessException("O prazo de pagamento desta reserva expirou");
+        }
+
+        transicionar(passagem, Status.PAGA, TipoEventoPassagem.PAGA, agora);
+        return toResponse(passagem);
+    }
+
+    @Transactional
+    @Auditable(action = "UPDATE", entity = "Passagem")
+    public PassagemResponseDTO cancelar(String codigo, Usuario usuario) {
+        Passagen passagem = obterParaTransicao(codigo, usuario);
+        Viagen viagem = passagem.getViagem();
+        LocalDateTime agora = LocalDateTime.now();
+
+        if (!viagem.getDataPartida().isAfter(agora)) {
+            throw new BusinessException("Não é possível cancelar a passagem de uma viagem que já partiu");
+        }
+
+        transicionar(passagem, Status.CANCELADA, TipoEventoPassagem.CANCELADA, agora);
+        viagemRepository.devolverVagas(viagem.getId(), 1);
+
+        // Consumidos após o commit: devolvem a poltrona ao mapa e invalidam a busca em cache
+        eventPublisher.publishEvent(new PoltronaLiberadaEvent(viagem.getId(), passagem.getId(), passagem.getPoltrona()));
+        eventPublisher.publishEvent(new VagasAlteradasEvent(viagem.getId(), viagem.getOrigem(),
+            viagem.getDestino(), viagem.getDataPartida().toLocalDate()));
+        return toResponse(passagem);
+    }
+
+    /**
+     * Carrega e bloqueia a passagem, verificando se pertence ao usuário (ou se ele é ADMIN).
+     * Reservas recém-feitas podem ainda não estar gravadas: nesse caso a resposta é 404.
+     */
+    private Passagen obterParaTransicao(String codigo, Usuario usuario) {
+        Passagen passagem = passagemRepository.findParaTransicaoByCodigo(codigo)
+            .orElseThrow(() -> new ResourceNotFoundException("Passagem", "codigo", codigo));
+
+        verificarDono(passagem.getPassageiro().getId(), usuario);
+        return passagem;
+    }
+
+    private void verificarDono(Long passageiroId, Usuario usuario) {
+        if (!passageiroId.equals(usuario.getId()) && usuario.getPerfilAtivo() != TipoPerfil.ADMIN) {
+            throw new AccessDeniedException("Passagem pertence a outro usuário");
+        }
+    }
+
+    private void transicionar(Passagen passagem, Status destino, TipoEventoPassagem tipo, LocalDateTime agora) {
+        Status atual = passagem.getStatus();
+        if (!atual.permiteTransicaoPara(destino)) {
+            throw new BusinessException("Passagem " + atual + " não pode passar para " + destino);
+        }
+        passagem.setStatus(destino);
+        passagemOutbox.registrar(new EventoPassagem(null, tipo, passagem.getId(), passagem.getCodigo(),
+            passagem.getViagem().getId(), passagem.getPassageiro().getId(), passagem.getPoltrona(), destino, agora));
+    }
+
+    private PassagemResponseDTO toResponse(Passagen passagem) {
+        return new PassagemResponseDTO(passagem.getCodigo(), passagem.getViagem().getId(),
+            passagem.getPassageiro().getId(), passagem.getPoltrona(), passagem.getStatus(),
+            passagem.getValorPago(), passagem.getDataCompra());
+    }
+}
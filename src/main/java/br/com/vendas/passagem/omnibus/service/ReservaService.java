@@ -0,0 +1,100 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import br.com.vendas.passagem.omnibus.annotation.Auditable;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.Status;
+import br.com.vendas.passagem.omnibus.dto.request.ReservaRequestDTO;
+import br.com.vendas.passagem.omnibus.dto.response.AssentosResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.PassagemResponseDTO;
+import br.com.vendas.passagem.omnibus.exception.BusinessException;
+import br.com.vendas.passagem.omnibus.service.reserva.MapaAssentos;
+import br.com.vendas.passagem.omnibus.service.reserva.MapaAssentosRegistry;
+import br.com.vendas.passagem.omnibus.service.reserva.PassagemPersister;
+import br.com.vendas.passagem.omnibus.service.reserva.ReservaPendente;
+
+/**
+ * Venda de passagens. A poltrona é garantida no mapa de assentos em memória
+ * (sem lock de linha no banco) e a passagem é gravada depois, em lote.
+ */
+@Service
+public class ReservaService {
+
+    private final MapaAssentosRegistry mapaAssentosRegistry;
+    private final PassagemPersister passagemPersister;
+
+    public ReservaService(MapaAssentosRegistry mapaAssentosRegistry, PassagemPersister passagemPersister) {
+        this.mapaAssentosRegistry = mapaAssentosRegistry;
+        this.passagemPersister = passagemPersister;
+    }
+
+    @Auditable(action = "CREATE", entity = "Passagem")
+    public PassagemResponseDTO reservar(ReservaRequestDTO request, Usuario passageiro) {
+        MapaAssentos mapa = mapaAssentosRegistry.obter(request.viagemId());
+        LocalDateTime agora = LocalDateTime.now();
+
+        if (mapa.partiu(agora)) {
+            throw new BusinessException("Esta viagem já partiu");
+        }
+
+        int posicao = ocuparPosicao(mapa, request.poltrona());
+        Integer poltrona = mapa.isAssentoMarcado() ? posicao : null;
+
+        ReservaPendente reserva = new ReservaPendente(
+            UUID.randomUUID().toString(),
+            mapa.getViagemId(),
+            passageiro.getId(),
+            posicao,
+            poltrona,
+            mapa.getPreco(),
+            agora
+        );
+
+        boolean enfileirada;
+        try {
+            enfileirada = passagemPersister.enfileirar(reserva);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            enfileirada = false;
+        }
+        if (!enfileirada) {
+            mapa.liberar(posicao);
+            throw new BusinessException("Sistema de vendas sobrecarregado, tente novamente em instantes");
+        }
+
+        return new PassagemResponseDTO(reserva.codigo(), reserva.viagemId(), reserva.passageiroId(),
+            poltrona, Status.PENDENTE, reserva.valor(), reserva.dataCompra());
+    }
+
+    public AssentosResponseDTO obterAssentos(Long viagemId) {
+        MapaAssentos mapa = mapaAssentosRegistry.obter(viagemId);
+        List<Integer> livres = mapa.isAssentoMarcado() ? mapa.poltronasLivres() : List.of();
+        return new AssentosResponseDTO(viagemId, mapa.getCapacidade(), mapa.getLivres(), mapa.isAssentoMarcado(), livres);
+    }
+
+    private int ocuparPosicao(MapaAssentos mapa, Integer poltrona) {
+        if (poltrona == null) {
+            int posicao = mapa.ocuparQualquer();
+            if (posicao < 0) {
+                throw new BusinessException("Não há vagas disponíveis para esta viagem");
+            }
+            return posicao;
+        }
+
+        if (!mapa.isAssentoMarcado()) {
+            throw new BusinessException("Esta viagem não possui assento marcado");
+        }
+        if (poltrona > mapa.getCapacidade()) {
+            throw new BusinessException("Poltrona " + poltrona + " não existe nesta viagem");
+        }
+        if (!mapa.ocupar(poltrona)) {
+            throw new BusinessException("Poltrona " + poltrona + " já está ocupada");
+        }
+        return poltrona;
+    }
+}
@@ -3,7 +3,6 @@ package br.com.vendas.passagem.omnibus.service;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,51 +13,66 @@ import br.com.vendas.passagem.omnibus.dto.mapper.UsuarioMapper;
 import br.com.vendas.passagem.omnibus.dto.request.AuthenticationDTO;
 import br.com.vendas.passagem.omnibus.dto.request.UsuarioRequestDTO;
 import br.com.vendas.passagem.omnibus.dto.response.UsuarioResponseDTO;
+import br.com.vendas.passagem.omnibus.exception.ResourceNotFoundException;
+import br.com.vendas.passagem.omnibus.repository.EmpresaRepository;
 import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.config.security.CredenciaisLogin;
+import br.com.vendas.passagem.omnibus.config.security.PasswordHashingService;
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
 import br.com.vendas.passagem.omnibus.config.security.TokenService;
 
 @Service
 public class UsuarioService {
     
     private final UsuarioRepository usuarioRepository;
+    private final EmpresaRepository empresaRepository;
     private final UsuarioMapper usuarioMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final AuthenticationManager authenticationManager;
     private final TokenService tokenService;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
 
-    public UsuarioService(UsuarioRepository usuarioRepository, UsuarioMapper usuarioMapper, 
-                         PasswordEncoder passwordEncoder, AuthenticationManager authenticationManager,
-                         TokenService tokenService) {
+    public UsuarioService(UsuarioRepository usuarioRepository, EmpresaRepository empresaRepository, UsuarioMapper usuarioMapper,
+                         PasswordHashingService passwordHashing, AuthenticationManager authenticationManager,
+                         TokenService tokenService, TokenAuthenticationCache tokenAuthenticationCache) {
         this.usuarioRepository = usuarioRepository;
+        this.empresaRepository = empresaRepository;
         this.usuarioMapper = usuarioMapper;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
         this.authenticationManager = authenticationManager;
         this.tokenService = tokenService;
+        this.tokenAuthenticationCache = tokenAuthenticationCache;
     }
 
     @Transactional
-    @Auditable(action = "CREATE", entity = "Usuario")
+    @Auditable(action = "CREATE", entity = "Usuario", fields = {"usuario.nome", "usuario.email"})
     public UsuarioResponseDTO criarUser(UsuarioRequestDTO usuario) {
         Usuario userEntity = usuarioMapper.toEntity(usuario);
         // Criptografar senha antes de salvar
-        userEntity.setSenha(passwordEncoder.encode(usuario.senha()));
+        userEntity.setSenha(passwordHashing.encode(usuario.senha()));
         return usuarioMapper.toDTO(usuarioRepository.save(userEntity));
     }
 
     @Transactional(readOnly = true)
     @Auditable(action = "READ", entity = "Usuario")
     public UsuarioResponseDTO obterDTOporId(Long id) {
-        return usuarioMapper.toDTO(obterPorId(id));
+        return usuarioRepository.findResumoById(id)
+            .orElseThrow(() -> new RuntimeException("Usuário não encontrado com id: " + id));
     }
 
     @Transactional
-    @Auditable(action = "UPDATE", entity = "Usuario")
+    @Auditable(action = "UPDATE", entity = "Usuario", fields = {"id", "usuarioAtualizado.nome", "usuarioAtualizado.email"})
     public UsuarioResponseDTO atualizarUser(Long id, UsuarioRequestDTO usuarioAtualizado) {
         Usuario usuarioExistente = obterPorId(id);
         usuarioExistente.setNome(usuarioAtualizado.nome());
         usuarioExistente.setEmail(usuarioAtualizado.email());
-        usuarioExistente.setSenha(passwordEncoder.encode(usuarioAtualizado.senha()));
+        // Só gera novo hash se a senha mudou ou se o hash atual está em formato/custo antigo
+        if (passwordHashing.upgradeEncoding(usuarioExistente.getSenha())
+                || !passwordHashing.matches(usuarioAtualizado.senha(), usuarioExistente.getSenha())) {
+            usuarioExistente.setSenha(passwordHashing.encode(usuarioAtualizado.senha()));
+        }
         usuarioExistente.setCpf(usuarioAtualizado.cpf());
+        tokenAuthenticationCache.invalidarUsuario(id);
         return usuarioMapper.toDTO(usuarioRepository.save(usuarioExistente));
     }
 
@@ -66,46 +80,49 @@ public class UsuarioService {
     @Auditable(action = "DELETE", entity = "Usuario")
     public void deletarUser(Long id) {
         usuarioRepository.delete(obterPorId(id));
+        tokenAuthenticationCache.invalidarUsuario(id);
     }
 
     public Usuario obterPorId(Long id) {
         return usuarioRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Usuário não encontrado com id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
     }
 
     // Método para adicionar perfil EMPRESA quando usuário criar empresa
     @Transactional
     public void promoverParaEmpresa(Long usuarioId) {
-        Usuario usuario = obterPorId(usuarioId);
+        promoverParaEmpresa(obterPorId(usuarioId));
+    }
+
+    // Recebe a entidade já carregada na transação do chamador, sem nova busca
+    @Transactional
+    public void promoverParaEmpresa(Usuario usuario) {
         usuario.adicionarPerfil(TipoPerfil.EMPRESA);
         usuarioRepository.save(usuario);
+        tokenAuthenticationCache.invalidarUsuario(usuario.getId());
     }
 
-    @Transactional(readOnly = true)
+    // Sem transação: o LoginAuthenticationProvider resolve tudo em uma única consulta
     public String autenticar(AuthenticationDTO authRequest) {
-        // 1. Buscar usuário
-        Usuario usuario = usuarioRepository.findByEmailWithEmpresas(authRequest.email())
-                .orElseThrow(() -> new BadCredentialsException("Credenciais inválidas"));
+        // 1. Autenticar credenciais (senha, perfis e empresa vêm juntos)
+        var usernamePassword = new UsernamePasswordAuthenticationToken(
+            authRequest.email(), 
+            authRequest.senha()
+        );
+        var authentication = authenticationManager.authenticate(usernamePassword);
+        CredenciaisLogin credenciais = (CredenciaisLogin) authentication.getDetails();
 
         // 2. Validar se o usuário possui o perfil solicitado
-        if (!usuario.possuiPerfil(authRequest.perfilDesejado())) {
+        if (!credenciais.perfis().contains(authRequest.perfilDesejado())) {
             throw new BadCredentialsException("Você não possui permissão para acessar como " + authRequest.perfilDesejado());
         }
 
         // 3. Se o perfil for EMPRESA, validar se tem empresa associada
-        if (authRequest.perfilDesejado() == TipoPerfil.EMPRESA && 
-            (usuario.getEmpresas() == null || usuario.getEmpresas().isEmpty())) {
+        if (authRequest.perfilDesejado() == TipoPerfil.EMPRESA && !credenciais.possuiEmpresa()) {
             throw new BadCredentialsException("Você não possui empresa cadastrada");
         }
 
-        // 4. Autenticar credenciais
-        var usernamePassword = new UsernamePasswordAuthenticationToken(
-            authRequest.email(), 
-            authRequest.senha()
-        );
-        var authentication = authenticationManager.authenticate(usernamePassword);
-
-        // 5. Gerar e retornar token
+        // 4. Gerar e retornar token
         return tokenService.gerarToken((Usuario) authentication.getPrincipal(), authRequest.perfilDesejado());
     }
 
@@ -126,19 +143,16 @@ public class UsuarioService {
         }
 
         // 3. Se o perfil for EMPRESA, validar se tem empresa associada
-        if (perfilDesejado == TipoPerfil.EMPRESA) {
-            Usuario usuarioComEmpresas = usuarioRepository.findByEmailWithEmpresas(usuarioLogado.getEmail())
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-            
-            if (usuarioComEmpresas.getEmpresas() == null || usuarioComEmpresas.getEmpresas().isEmpty()) {
-                throw new BadCredentialsException("Você não possui empresa cadastrada para usar este perfil");
-            }
+        if (perfilDesejado == TipoPerfil.EMPRESA && !empresaRepository.existsByUsuarioDonoId(usuarioLogado.getId())) {
+            throw new BadCredentialsException("Você não possui empresa cadastrada para usar este perfil");
         }
 
         // 4. Atualizar o perfil ativo no banco
-        Usuario usuarioAtualizado = obterPorId(usuarioLogado.getId());
+        Usuario usuarioAtualizado = usuarioRepository.findComPerfisById(usuarioLogado.getId())
+            .orElseThrow(() -> new RuntimeException("Usuário não encontrado com id: " + usuarioLogado.getId()));
         usuarioAtualizado.setPerfilAtivo(perfilDesejado);
         usuarioRepository.save(usuarioAtualizado);
+        tokenAuthenticationCache.invalidarUsuario(usuarioAtualizado.getId());
 
         // 5. Retornar novo token com o perfil ativo atualizado
         return tokenService.gerarTokenComPerfilAtivo(usuarioAtualizado);
@@ -0,0 +1,204 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.vendas.passagem.omnibus.annotation.Auditable;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.dto.response.ImportacaoViagensResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.ImportacaoViagensResponseDTO.ErroLinha;
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+import br.com.vendas.passagem.omnibus.exception.ResourceNotFoundException;
+import br.com.vendas.passagem.omnibus.repository.EmpresaRepository;
+import br.com.vendas.passagem.omnibus.service.viagem.LeitorImportacaoViagens;
+import br.com.vendas.passagem.omnibus.service.viagem.LeitorImportacaoViagens.Formato;
+import br.com.vendas.passagem.omnibus.service.viagem.LeitorImportacaoViagens.LinhaInvalidaException;
+import br.com.vendas.passagem.omnibus.service.viagem.LinhaViagem;
+import br.com.vendas.passagem.omnibus.service.viagem.ViagemBuscaCache;
+import br.com.vendas.passagem.omnibus.service.viagem.ViagemBuscaCache.RotaData;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importação em lote de viagens de uma empresa (quadros de horários inteiros).
+ *
+ * O arquivo é lido em streaming, linha a linha, sem ser carregado em memória. Linhas válidas
+ * são gravadas em lotes por batch insert JDBC (com reWriteBatchedInserts o driver envia cada
+ * lote como poucos INSERTs multi-valor), cada lote na sua própria transação; linhas inválidas
+ * são relatadas com o número da linha e não impedem a gravação das demais. Se um lote falha
+ * no banco, suas linhas são regravadas uma a uma para isolar as que causaram o erro.
+ */
+@Service
+@Slf4j
+public class ViagemImportacaoService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO viagens (empresa_id, origem, destino, data_partida, preco, vagas_totais, "
+            + "vagas_disponiveis, possui_assento_marcado, versao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final EmpresaRepository empresaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ViagemBuscaCache viagemBuscaCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${viagem.importacao.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${viagem.importacao.max-linhas:200000}")
+    private long maxLinhas;
+
+    @Value("${viagem.importacao.max-erros:1000}")
+    private int maxErros;
+
+    @Value("${viagem.importacao.max-vagas:100}")
+    private int maxVagas;
+
+    public ViagemImportacaoService(EmpresaRepository empresaRepository, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager, ViagemBuscaCache viagemBuscaCache,
+                                   ObjectMapper objectMapper) {
+        this.empresaRepository = empresaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.viagemBuscaCache = viagemBuscaCache;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Importa as viagens do arquivo para a empresa. Lotes já gravados permanecem gravados
+     * mesmo que a leitura seja interrompida depois (limite de linhas ou falha de E/S).
+     *
+     * @param contentType text/csv ou application/x-ndjson
+     */
+    @Auditable(action = "CREATE", entity = "Viagem")
+    public ImportacaoViagensResponseDTO importar(Long empresaId, Usuario usuario, String contentType, InputStream corpo) {
+        Formato formato = Formato.de(contentType);
+        verificarAcesso(empresaId, usuario);
+
+        Resultado resultado = new Resultado();
+        List<LinhaViagem> lote = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8), TAMANHO_BUFFER)) {
+            LeitorImportacaoViagens leitor = new LeitorImportacaoViagens(reader, formato, objectMapper, maxVagas);
+            while (true) {
+                LinhaViagem linha;
+                try {
+                    linha = leitor.proxima();
+                } catch (LinhaInvalidaException e) {
+                    resultado.linhasLidas++;
+                    resultado.rejeitar(e.getLinha(), e.getMessage());
+                    continue;
+                }
+                if (linha == null) {
+                    break;
+                }
+                if (++resultado.linhasLidas > maxLinhas) {
+                    resultado.linhasLidas--;
+                    resultado.rejeitar(linha.linha(), "limite de " + maxLinhas + " linhas por importação atingido; "
+                        + "o restante do arquivo foi ignorado");
+                    break;
+                }
+                lote.add(linha);
+                if (lote.size() == batchSize) {
+                    gravar(empresaId, lote, resultado);
+                    lote.clear();
+                }
+            }
+            gravar(empresaId, lote, resultado);
+        } catch (IOException e) {
+            throw new InvalidDtoException("Falha ao ler o arquivo de importação", e);
+        } finally {
+            // Novas viagens mudam as páginas de busca dessas rotas/datas
+            viagemBuscaCache.invalidar(resultado.rotas);
+        }
+
+        log.info("Importação de viagens da empresa {}: {} linhas, {} importadas, {} rejeitadas",
+            empresaId, resultado.linhasLidas, resultado.importadas, resultado.rejeitadas);
+        return new ImportacaoViagensResponseDTO(empresaId, resultado.linhasLidas, resultado.importadas,
+            resultado.rejeitadas, resultado.erros, resultado.rejeitadas > resultado.erros.size());
+    }
+
+    private void verificarAcesso(Long empresaId, Usuario usuario) {
+        if (!empresaRepository.existsById(empresaId)) {
+            throw new ResourceNotFoundException("Empresa", "id", empresaId);
+        }
+        if (usuario.getPerfilAtivo() != TipoPerfil.ADMIN
+                && !empresaRepository.existsByIdAndUsuarioDonoId(empresaId, usuario.getId())) {
+            throw new AccessDeniedException("Empresa pertence a outro usuário");
+        }
+    }
+
+    private void gravar(Long empresaId, List<LinhaViagem> lote, Resultado resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, lote, lote.size(), (ps, linha) -> preencher(ps, empresaId, linha)));
+            lote.forEach(resultado::importar);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar lote de {} viagens da empresa {}, regravando linha a linha",
+                lote.size(), empresaId, e);
+            for (LinhaViagem linha : lote) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> preencher(ps, empresaId, linha));
+                    resultado.importar(linha);
+                } catch (DataAccessException erroLinha) {
+                    resultado.rejeitar(linha.linha(), "falha ao gravar: " + erroLinha.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private static void preencher(PreparedStatement ps, Long empresaId, LinhaViagem linha) throws SQLException {
+        ps.setLong(1, empresaId);
+        ps.setString(2, linha.origem());
+        ps.setString(3, linha.destino());
+        ps.setTimestamp(4, Timestamp.valueOf(linha.dataPartida()));
+        ps.setBigDecimal(5, linha.preco());
+        ps.setInt(6, linha.vagasTotais());
+        ps.setInt(7, linha.vagasTotais());
+        ps.setBoolean(8, linha.possuiAssentoMarcado());
+    }
+
+    private final class Resultado {
+
+        private long linhasLidas;
+        private long importadas;
+        private long rejeitadas;
+        private final List<ErroLinha> erros = new ArrayList<>();
+        private final Set<RotaData> rotas = new HashSet<>();
+
+        private void importar(LinhaViagem linha) {
+            importadas++;
+            rotas.add(new RotaData(linha.origem(), linha.destino(), linha.dataPartida().toLocalDate()));
+        }
+
+        private void rejeitar(long linha, String mensagem) {
+            rejeitadas++;
+            if (erros.size() < maxErros) {
+                erros.add(new ErroLinha(linha, mensagem));
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.vendas.passagem.omnibus.dto.response.ViagemBuscaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.ViagemResponseDTO;
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+import br.com.vendas.passagem.omnibus.repository.ViagemRepository;
+import br.com.vendas.passagem.omnibus.service.reserva.MapaAssentosRegistry;
+import br.com.vendas.passagem.omnibus.service.viagem.ViagemBuscaCache;
+import br.com.vendas.passagem.omnibus.service.viagem.ViagemBuscaCache.ChaveBusca;
+
+@Service
+public class ViagemService {
+
+    static final int TAMANHO_PADRAO = 20;
+    static final int TAMANHO_MAXIMO = 100;
+
+    private final ViagemRepository viagemRepository;
+    private final ViagemBuscaCache viagemBuscaCache;
+    private final MapaAssentosRegistry mapaAssentosRegistry;
+
+    public ViagemService(ViagemRepository viagemRepository, ViagemBuscaCache viagemBuscaCache,
+                         MapaAssentosRegistry mapaAssentosRegistry) {
+        this.viagemRepository = viagemRepository;
+        this.viagemBuscaCache = viagemBuscaCache;
+        this.mapaAssentosRegistry = mapaAssentosRegistry;
+    }
+
+    /**
+     * Busca viagens de uma rota em uma data, paginando por cursor (dataPartida, id).
+     * A página vem do cache da rota/data; as vagas disponíveis são sobrepostas com o
+     * mapa de assentos em memória, que está à frente do valor gravado no banco.
+     */
+    @Transactional(readOnly = true)
+    public ViagemBuscaResponseDTO buscar(String origem, String destino, LocalDate data, String cursor, Integer tamanho) {
+        if (origem == null || origem.isBlank()) {
+            throw new InvalidDtoException("origem", "é obrigatória");
+        }
+        if (destino == null || destino.isBlank()) {
+            throw new InvalidDtoException("destino", "é obrigatório");
+        }
+        if (data == null) {
+            throw new InvalidDtoException("data", "é obrigatória");
+        }
+
+        int limite = tamanho == null ? TAMANHO_PADRAO : Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO);
+        ChaveBusca chave = new ChaveBusca(origem.trim(), destino.trim(), data, cursor, limite);
+
+        ViagemBuscaResponseDTO pagina = viagemBuscaCache.obter(chave, this::consultar);
+        return comVagasAtuais(pagina);
+    }
+
+    private ViagemBuscaResponseDTO consultar(ChaveBusca chave) {
+        LocalDateTime inicio = chave.data().atStartOfDay();
+        LocalDateTime fim = chave.data().plusDays(1).atStartOfDay();
+        // Busca um item a mais para saber se existe próxima página
+        Limit limit = Limit.of(chave.tamanho() + 1);
+
+        List<ViagemResponseDTO> viagens;
+        if (chave.cursor() == null || chave.cursor().isBlank()) {
+            viagens = viagemRepository.buscarPorRota(chave.origem(), chave.destino(), inicio, fim, limit);
+        } else {
+            Cursor cursor = Cursor.decode(chave.cursor());
+            viagens = viagemRepository.buscarPorRotaAposCursor(chave.origem(), chave.destino(), inicio, fim,
+                cursor.dataPartida(), cursor.id(), limit);
+        }
+
+        String proximoCursor = null;
+        if (viagens.size() > chave.tamanho()) {
+            viagens = viagens.subList(0, chave.tamanho());
+            ViagemResponseDTO ultima = viagens.get(viagens.size() - 1);
+            proximoCursor = new Cursor(ultima.dataPartida(), ultima.id()).encode();
+        }
+        return new ViagemBuscaResponseDTO(List.copyOf(viagens), proximoCursor);
+    }
+
+    private ViagemBuscaResponseDTO comVagasAtuais(ViagemBuscaResponseDTO pagina) {
+        List<ViagemResponseDTO> viagens = new ArrayList<>(pagina.viagens().size());
+        for (ViagemResponseDTO viagem : pagina.viagens()) {
+            Integer livres = mapaAssentosRegistry.vagasLivres(viagem.id());
+            if (livres == null || livres.equals(viagem.vagasDisponiveis())) {
+                viagens.add(viagem);
+            } else {
+                viagens.add(new ViagemResponseDTO(viagem.id(), viagem.empresaId(), viagem.empresaNome(),
+                    viagem.origem(), viagem.destino(), viagem.dataPartida(), viagem.preco(),
+                    viagem.vagasTotais(), livres, viagem.possuiAssentoMarcado()));
+            }
+        }
+        return new ViagemBuscaResponseDTO(viagens, pagina.proximoCursor());
+    }
+
+    /**
+     * Cursor opaco da paginação: última (dataPartida, id) retornada, em Base64 URL-safe.
+     */
+    private record Cursor(LocalDateTime dataPartida, Long id) {
+
+        String encode() {
+            String valor = dataPartida + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(valor.substring(0, separador)), Long.valueOf(valor.substring(separador + 1)));
+            } catch (RuntimeException e) {
+                throw new InvalidDtoException("cursor", "cursor de paginação inválido");
+            }
+        }
+    }
+}
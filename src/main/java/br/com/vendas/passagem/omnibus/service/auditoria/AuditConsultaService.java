@@ -0,0 +1,151 @@
+package br.com.vendas.passagem.omnibus.service.auditoria;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.vendas.passagem.omnibus.dto.response.AuditLogPaginaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.AuditLogResponseDTO;
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+import br.com.vendas.passagem.omnibus.repository.AuditLogConsultaRepository;
+import br.com.vendas.passagem.omnibus.repository.AuditLogConsultaRepository.Filtro;
+
+/**
+ * Leitura dos registros de auditoria: consulta paginada por cursor e exportação em streaming.
+ */
+@Service
+public class AuditConsultaService {
+
+    static final int TAMANHO_PADRAO = 50;
+    static final int TAMANHO_MAXIMO = 500;
+    static final int DIAS_PADRAO = 30;
+
+    private static final String CABECALHO_CSV = "id,entity_name,entity_id,action,username,details,payload,created_at";
+
+    private final AuditLogConsultaRepository auditLogConsultaRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AuditConsultaService(AuditLogConsultaRepository auditLogConsultaRepository, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.auditLogConsultaRepository = auditLogConsultaRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Sem intervalo informado, considera os últimos {@value #DIAS_PADRAO} dias
+     * (o intervalo limita as partições lidas).
+     */
+    public Filtro filtro(String entidade, Long entidadeId, String usuario, LocalDateTime inicio, LocalDateTime fim) {
+        LocalDateTime ate = fim == null ? LocalDateTime.now() : fim;
+        LocalDateTime de = inicio == null ? ate.minusDays(DIAS_PADRAO) : inicio;
+        if (!de.isBefore(ate)) {
+            throw new InvalidDtoException("inicio", "deve ser anterior ao fim");
+        }
+        return new Filtro(vazioComoNulo(entidade), entidadeId, vazioComoNulo(usuario), de, ate);
+    }
+
+    public AuditLogPaginaResponseDTO buscar(Filtro filtro, String cursor, Integer tamanho) {
+        int limite = tamanho == null ? TAMANHO_PADRAO : Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO);
+        Cursor posicao = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+
+        // Busca um item a mais para saber se existe próxima página
+        List<AuditLogResponseDTO> registros = readOnlyTransaction.execute(status -> auditLogConsultaRepository.buscar(
+            filtro, posicao == null ? null : posicao.createdAt(), posicao == null ? null : posicao.id(), limite + 1));
+
+        String proximoCursor = null;
+        if (registros.size() > limite) {
+            registros = registros.subList(0, limite);
+            AuditLogResponseDTO ultimo = registros.get(registros.size() - 1);
+            proximoCursor = new Cursor(ultimo.createdAt(), ultimo.id()).encode();
+        }
+        return new AuditLogPaginaResponseDTO(List.copyOf(registros), proximoCursor);
+    }
+
+    /**
+     * Escreve todos os registros do filtro no stream à medida que são lidos do cursor JDBC.
+     */
+    public void exportar(Filtro filtro, FormatoExportacao formato, OutputStream saida) {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                if (formato == FormatoExportacao.CSV) {
+                    writer.write(CABECALHO_CSV);
+                    writer.newLine();
+                }
+                auditLogConsultaRepository.percorrer(filtro, registro -> {
+                    try {
+                        writer.write(formato == FormatoExportacao.CSV ? csv(registro) : objectMapper.writeValueAsString(registro));
+                        writer.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String csv(AuditLogResponseDTO r) {
+        return String.join(",",
+            String.valueOf(r.id()),
+            campoCsv(r.entityName()),
+            r.entityId() == null ? "" : String.valueOf(r.entityId()),
+            campoCsv(r.action()),
+            campoCsv(r.username()),
+            campoCsv(r.details()),
+            campoCsv(r.payload()),
+            r.createdAt().toString());
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private static String vazioComoNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
+    /**
+     * Cursor opaco da paginação: último (createdAt, id) retornado, em Base64 URL-safe.
+     */
+    private record Cursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String valor = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(valor.substring(0, separador)), Long.valueOf(valor.substring(separador + 1)));
+            } catch (RuntimeException e) {
+                throw new InvalidDtoException("cursor", "cursor de paginação inválido");
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package br.com.vendas.passagem.omnibus.service.auditoria;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manutenção das partições mensais de audit_logs (V10).
+ *
+ * Cria as partições dos próximos meses antes de serem necessárias e aplica a retenção:
+ * partições mais antigas que o limite são desanexadas, exportadas em NDJSON compactado
+ * e removidas. DETACH e DROP usam o mesmo advisory lock da função criar_particao_audit_logs,
+ * então só uma instância faz a manutenção por vez; a exportação roda antes, fora do lock.
+ *
+ * O arquivamento falha fechado: sem {@code audit.particoes.arquivamento.dir} configurado, ou
+ * se o arquivo exportado não tiver todas as linhas da partição, nada é removido. Para remover
+ * sem exportar é preciso desligar o arquivamento explicitamente.
+ */
+@Service
+@Slf4j
+public class AuditParticoesService {
+
+    private static final Pattern NOME_PARTICAO = Pattern.compile("audit_logs_(\\d{4})_(\\d{2})");
+    private static final String LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('audit_logs_particoes'))";
+    private static final String LISTAR_PARTICOES = """
+        SELECT c.relname, i.inhrelid IS NOT NULL AS anexada
+          FROM pg_class c
+          LEFT JOIN pg_inherits i ON i.inhrelid = c.oid
+         WHERE c.relkind = 'r'
+           AND c.relname ~ '^audit_logs_[0-9]{4}_[0-9]{2}$'
+        """;
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.particoes.meses-adiante:3}")
+    private int mesesAdiante;
+
+    @Value("${audit.particoes.retencao-meses:12}")
+    private int retencaoMeses;
+
+    @Value("${audit.particoes.arquivamento.enabled:true}")
+    private boolean arquivamentoHabilitado;
+
+    /**
+     * Diretório durável (volume persistente, montagem de storage externo); sem valor padrão.
+     */
+    @Value("${audit.particoes.arquivamento.dir:}")
+    private String arquivamentoDir;
+
+    public AuditParticoesService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void criarNaSubida() {
+        try {
+            criarParticoesFuturas();
+        } catch (Exception e) {
+            log.warn("Não foi possível criar as partições de auditoria na subida", e);
+        }
+    }
+
+    @Scheduled(cron = "${audit.particoes.cron:0 30 3 * * *}")
+    public void manter() {
+        try {
+            criarParticoesFuturas();
+            aplicarRetencao();
+        } catch (Exception e) {
+            log.error("Falha na manutenção das partições de auditoria", e);
+        }
+    }
+
+    /**
+     * Garante as partições do mês atual até {@code mesesAdiante} meses à frente.
+     */
+    public void criarParticoesFuturas() {
+        YearMonth atual = YearMonth.now();
+        for (int i = 0; i <= mesesAdiante; i++) {
+            jdbcTemplate.queryForObject("SELECT criar_particao_audit_logs(?)", String.class,
+                Date.valueOf(atual.plusMonths(i).atDay(1)));
+        }
+    }
+
+    /**
+     * Desanexa, exporta e remove as partições fora da retenção.
+     * Partições já desanexadas em uma execução anterior que falhou são retomadas.
+     *
+     * @return nomes das partições removidas
+     */
+    public List<String> aplicarRetencao() {
+        YearMonth limite = YearMonth.now().minusMonths(retencaoMeses);
+        List<String> removidas = new ArrayList<>();
+        if (arquivamentoHabilitado && !StringUtils.hasText(arquivamentoDir)) {
+            log.error("Retenção de auditoria suspensa: audit.particoes.arquivamento.dir não configurado "
+                + "(configure um diretório durável ou desligue audit.particoes.arquivamento.enabled)");
+            return removidas;
+        }
+
+        for (Map.Entry<String, Boolean> particao : listarParticoes().entrySet()) {
+            String nome = particao.getKey();
+            if (!mesDa(nome).isBefore(limite)) {
+                continue;
+            }
+            if (particao.getValue() && !desanexar(nome)) {
+                continue;
+            }
+            if (arquivarERemover(nome)) {
+                removidas.add(nome);
+            }
+        }
+        return removidas;
+    }
+
+    private Map<String, Boolean> listarParticoes() {
+        Map<String, Boolean> particoes = new LinkedHashMap<>();
+        jdbcTemplate.query(LISTAR_PARTICOES, rs -> {
+            particoes.put(rs.getString("relname"), rs.getBoolean("anexada"));
+        });
+        return particoes;
+    }
+
+    /**
+     * DETACH em transação própria: o lock exclusivo no pai dura só o comando, não a exportação.
+     */
+    private boolean desanexar(String nome) {
+        Boolean feito = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK, Boolean.class))) {
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + nome);
+            return true;
+        });
+        if (Boolean.TRUE.equals(feito)) {
+            log.info("Partição de auditoria {} desanexada", nome);
+        }
+        return Boolean.TRUE.equals(feito);
+    }
+
+    /**
+     * Exporta e confere o arquivo sem segurar o lock; só o DROP é feito com ele, e apenas se a
+     * partição ainda tem o mesmo número de linhas que foi exportado.
+     */
+    private boolean arquivarERemover(String nome) {
+        try {
+            Long exportadas = arquivamentoHabilitado
+                ? transactionTemplate.execute(status -> exportar(nome))
+                : null;
+            Boolean feito = transactionTemplate.execute(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK, Boolean.class))) {
+                    return false;
+                }
+                if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, nome) != Boolean.TRUE) {
+                    // Removida por outra instância depois da listagem
+                    return false;
+                }
+                if (exportadas != null && !exportadas.equals(contarLinhas(nome))) {
+                    throw new IllegalStateException("Partição " + nome + " mudou depois da exportação");
+                }
+                jdbcTemplate.execute("DROP TABLE " + nome);
+                return true;
+            });
+            if (Boolean.TRUE.equals(feito)) {
+                log.info("Partição de auditoria {} {} e removida", nome, arquivamentoHabilitado ? "arquivada" : "descartada");
+            }
+            return Boolean.TRUE.equals(feito);
+        } catch (Exception e) {
+            // A tabela desanexada é mantida e a exportação é refeita na próxima execução
+            log.error("Falha ao arquivar a partição de auditoria {}", nome, e);
+            return false;
+        }
+    }
+
+    private Long contarLinhas(String nome) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + nome, Long.class);
+    }
+
+    /**
+     * Exporta a partição em NDJSON gzip, lendo com cursor (fetch size) para não carregar tudo em memória.
+     * O arquivo é sincronizado em disco e relido antes de receber o nome final.
+     *
+     * @return número de linhas exportadas, conferido no arquivo
+     */
+    private long exportar(String nome) {
+        Path dir = Path.of(arquivamentoDir);
+        Path destino = dir.resolve(nome + ".ndjson.gz");
+        Path temporario = dir.resolve(nome + ".ndjson.gz." + UUID.randomUUID() + ".tmp");
+        long[] escritas = {0};
+
+        try {
+            Files.createDirectories(dir);
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temporario)), StandardCharsets.UTF_8))) {
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                        "SELECT id, entity_name, entity_id, action, username, details, payload::text AS payload, created_at FROM "
+                            + nome + " ORDER BY created_at, id");
+                    ps.setFetchSize(FETCH_SIZE);
+                    return ps;
+                }, rs -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(linha(rs)));
+                        writer.newLine();
+                        escritas[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                canal.force(true);
+            }
+
+            long lidas = contarLinhasDoArquivo(temporario);
+            Long naParticao = contarLinhas(nome);
+            if (lidas != escritas[0] || naParticao == null || lidas != naParticao) {
+                throw new IllegalStateException("Arquivo de " + nome + " com " + lidas + " linhas, esperadas " + naParticao);
+            }
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return lidas;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao exportar " + nome, e);
+        } finally {
+            try {
+                Files.deleteIfExists(temporario);
+            } catch (IOException e) {
+                log.warn("Arquivo temporário {} não removido", temporario, e);
+            }
+        }
+    }
+
+    /**
+     * Relê o arquivo inteiro: além de contar as linhas, valida o gzip até o fim.
+     */
+    private static long contarLinhasDoArquivo(Path arquivo) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(arquivo)), StandardCharsets.UTF_8))) {
+            long linhas = 0;
+            while (reader.readLine() != null) {
+                linhas++;
+            }
+            return linhas;
+        }
+    }
+
+    private static Map<String, Object> linha(ResultSet rs) throws SQLException {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("id", rs.getLong("id"));
+        linha.put("entityName", rs.getString("entity_name"));
+        long entityId = rs.getLong("entity_id");
+        linha.put("entityId", rs.wasNull() ? null : entityId);
+        linha.put("action", rs.getString("action"));
+        linha.put("username", rs.getString("username"));
+        linha.put("details", rs.getString("details"));
+        linha.put("payload", rs.getString("payload"));
+        linha.put("createdAt", rs.getTimestamp("created_at").toLocalDateTime().toString());
+        return linha;
+    }
+
+    private static YearMonth mesDa(String nome) {
+        Matcher matcher = NOME_PARTICAO.matcher(nome);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Nome de partição inesperado: " + nome);
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.time.LocalDateTime;
+
+import br.com.vendas.passagem.omnibus.domain.enums.Status;
+
+/**
+ * Mudança de estado de uma passagem, gravada no outbox na mesma transação e publicada
+ * depois por {@link PassagemOutboxPublisher} (entrega pelo menos uma vez).
+ *
+ * @param outboxId id da linha do outbox, preenchido na publicação; permite descartar duplicatas
+ */
+public record EventoPassagem(
+    Long outboxId,
+    TipoEventoPassagem tipo,
+    Long passagemId,
+    String codigo,
+    Long viagemId,
+    Long passageiroId,
+    Integer poltrona,
+    Status status,
+    LocalDateTime ocorridoEm
+) {
+
+    public EventoPassagem comOutboxId(Long id) {
+        return new EventoPassagem(id, tipo, passagemId, codigo, viagemId, passageiroId, poltrona, status, ocorridoEm);
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.vendas.passagem.omnibus.service.viagem.VagasAlteradasEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expira as passagens PENDENTE cujo prazo de pagamento venceu.
+ *
+ * Cada lote é um único comando SQL: marca as passagens como EXPIRADA, devolve as vagas
+ * às viagens (um UPDATE por viagem, incrementando a versão para que gravações concorrentes
+ * com versão otimista refaçam a conta) e grava os eventos no outbox. Após o commit, as
+ * poltronas voltam ao mapa em memória e a busca em cache das rotas afetadas é invalidada.
+ */
+@Component
+@Slf4j
+public class ExpiracaoReservas {
+
+    private static final String EXPIRAR_SQL = """
+        WITH expiradas AS (
+            UPDATE passagens p SET status = 'EXPIRADA'
+            WHERE p.id IN (
+                SELECT id FROM passagens
+                WHERE status = 'PENDENTE' AND expira_em <= ?
+                ORDER BY expira_em
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING p.id, p.codigo, p.viagem_id, p.passageiro_id, p.poltrona
+        ), vagas AS (
+            UPDATE viagens v
+            SET vagas_disponiveis = v.vagas_disponiveis + e.quantidade, versao = v.versao + 1
+            FROM (SELECT viagem_id, count(*) AS quantidade FROM expiradas GROUP BY viagem_id) e
+            WHERE v.id = e.viagem_id
+            RETURNING v.id
+        ), outbox AS (
+            INSERT INTO passagem_outbox (passagem_id, tipo, payload)
+            SELECT e.id, 'EXPIRADA', jsonb_build_object(
+                'tipo', 'EXPIRADA', 'passagemId', e.id, 'codigo', e.codigo, 'viagemId', e.viagem_id,
+                'passageiroId', e.passageiro_id, 'poltrona', e.poltrona, 'status', 'EXPIRADA', 'ocorridoEm', CAST(? AS text))
+            FROM expiradas e
+        )
+        SELECT e.id, e.viagem_id, e.poltrona, v.origem, v.destino, v.data_partida
+        FROM expiradas e JOIN viagens v ON v.id = e.viagem_id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${reserva.expiracao.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${reserva.expiracao.max-lotes-por-execucao:50}")
+    private int maxLotesPorExecucao;
+
+    public ExpiracaoReservas(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${reserva.expiracao.intervalo-ms:30000}")
+    public void expirarVencidas() {
+        LocalDateTime agora = LocalDateTime.now();
+        int total = 0;
+        try {
+            for (int lote = 0; lote < maxLotesPorExecucao; lote++) {
+                Integer expiradas = transactionTemplate.execute(status -> expirarLote(agora));
+                total += expiradas == null ? 0 : expiradas;
+                if (expiradas == null || expiradas < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao expirar reservas pendentes", e);
+        }
+        if (total > 0) {
+            log.info("{} reservas pendentes expiradas", total);
+        }
+    }
+
+    private int expirarLote(LocalDateTime agora) {
+        Map<Long, VagasAlteradasEvent> viagens = new LinkedHashMap<>();
+        List<PoltronaLiberadaEvent> liberadas = jdbcTemplate.query(EXPIRAR_SQL, (rs, linha) -> {
+            long viagemId = rs.getLong("viagem_id");
+            if (!viagens.containsKey(viagemId)) {
+                viagens.put(viagemId, new VagasAlteradasEvent(viagemId, rs.getString("origem"), rs.getString("destino"),
+                    rs.getTimestamp("data_partida").toLocalDateTime().toLocalDate()));
+            }
+            return new PoltronaLiberadaEvent(viagemId, rs.getLong("id"), rs.getObject("poltrona", Integer.class));
+        }, Timestamp.valueOf(agora), batchSize, agora.toString());
+
+        // Consumidos após o commit (TransactionalEventListener)
+        liberadas.forEach(eventPublisher::publishEvent);
+        viagens.values().forEach(eventPublisher::publishEvent);
+        return liberadas.size();
+    }
+}
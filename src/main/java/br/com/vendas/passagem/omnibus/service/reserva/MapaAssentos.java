@@ -0,0 +1,181 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa de assentos de uma viagem em memória.
+ *
+ * Cada poltrona é um bit de um {@link AtomicLongArray}; ocupar e liberar são feitos
+ * com compare-and-set na palavra correspondente, sem lock e sem tocar o banco.
+ * Poltronas são numeradas de 1 até a capacidade.
+ */
+public class MapaAssentos {
+
+    private final Long viagemId;
+    private final int capacidade;
+    private final boolean assentoMarcado;
+    private final BigDecimal preco;
+    private final LocalDateTime dataPartida;
+    private final AtomicLongArray palavras;
+    private final AtomicInteger livres;
+    private final LocalDateTime criadoEm = LocalDateTime.now();
+
+    public MapaAssentos(Long viagemId, int capacidade, boolean assentoMarcado, BigDecimal preco, LocalDateTime dataPartida) {
+        this.viagemId = viagemId;
+        this.capacidade = capacidade;
+        this.assentoMarcado = assentoMarcado;
+        this.preco = preco;
+        this.dataPartida = dataPartida;
+        this.palavras = new AtomicLongArray((capacidade + 63) >>> 6);
+        this.livres = new AtomicInteger(capacidade);
+    }
+
+    /**
+     * Ocupa a poltrona informada. Retorna false se ela já estava ocupada ou não existe.
+     */
+    public boolean ocupar(int poltrona) {
+        if (poltrona < 1 || poltrona > capacidade) {
+            return false;
+        }
+        int bit = poltrona - 1;
+        int indice = bit >>> 6;
+        long mascara = 1L << (bit & 63);
+
+        while (true) {
+            long atual = palavras.get(indice);
+            if ((atual & mascara) != 0) {
+                return false;
+            }
+            if (palavras.compareAndSet(indice, atual, atual | mascara)) {
+                livres.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ocupa a primeira poltrona livre. Retorna o número da poltrona ou -1 se a viagem estiver lotada.
+     */
+    public int ocuparQualquer() {
+        for (int indice = 0; indice < palavras.length(); indice++) {
+            if (livres.get() == 0) {
+                return -1;
+            }
+            long validos = mascaraValida(indice);
+            while (true) {
+                long atual = palavras.get(indice);
+                long disponiveis = ~atual & validos;
+                if (disponiveis == 0) {
+                    break;
+                }
+                long mascara = Long.lowestOneBit(disponiveis);
+                if (palavras.compareAndSet(indice, atual, atual | mascara)) {
+                    livres.decrementAndGet();
+                    return (indice << 6) + Long.numberOfTrailingZeros(mascara) + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Libera a poltrona (cancelamento ou falha ao gravar a venda).
+     */
+    public void liberar(int poltrona) {
+        if (poltrona < 1 || poltrona > capacidade) {
+            return;
+        }
+        int bit = poltrona - 1;
+        int indice = bit >>> 6;
+        long mascara = 1L << (bit & 63);
+
+        while (true) {
+            long atual = palavras.get(indice);
+            if ((atual & mascara) == 0) {
+                return;
+            }
+            if (palavras.compareAndSet(indice, atual, atual & ~mascara)) {
+                livres.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Libera a primeira posição ocupada (viagens sem assento marcado, em que a posição
+     * ocupada por cada passagem não é gravada).
+     */
+    public void liberarQualquer() {
+        for (int indice = 0; indice < palavras.length(); indice++) {
+            while (true) {
+                long atual = palavras.get(indice);
+                if (atual == 0) {
+                    break;
+                }
+                long mascara = Long.lowestOneBit(atual);
+                if (palavras.compareAndSet(indice, atual, atual & ~mascara)) {
+                    livres.incrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    public List<Integer> poltronasLivres() {
+        List<Integer> resultado = new ArrayList<>(livres.get());
+        for (int indice = 0; indice < palavras.length(); indice++) {
+            long disponiveis = ~palavras.get(indice) & mascaraValida(indice);
+            while (disponiveis != 0) {
+                long mascara = Long.lowestOneBit(disponiveis);
+                resultado.add((indice << 6) + Long.numberOfTrailingZeros(mascara) + 1);
+                disponiveis &= ~mascara;
+            }
+        }
+        return resultado;
+    }
+
+    public boolean partiu(LocalDateTime agora) {
+        return dataPartida != null && dataPartida.isBefore(agora);
+    }
+
+    public Long getViagemId() {
+        return viagemId;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public boolean isAssentoMarcado() {
+        return assentoMarcado;
+    }
+
+    public BigDecimal getPreco() {
+        return preco;
+    }
+
+    public LocalDateTime getDataPartida() {
+        return dataPartida;
+    }
+
+    /**
+     * Momento da montagem: liberações ocorridas antes disso já estavam no banco quando ele foi carregado.
+     */
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public int getLivres() {
+        return livres.get();
+    }
+
+    private long mascaraValida(int indice) {
+        int resto = capacidade - (indice << 6);
+        return resto >= 64 ? -1L : (1L << resto) - 1;
+    }
+}
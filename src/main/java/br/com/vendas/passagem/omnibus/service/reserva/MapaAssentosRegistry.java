@@ -0,0 +1,198 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.vendas.passagem.omnibus.domain.Viagen;
+import br.com.vendas.passagem.omnibus.exception.ResourceNotFoundException;
+import br.com.vendas.passagem.omnibus.repository.PassagemRepository;
+import br.com.vendas.passagem.omnibus.repository.ViagemRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém um {@link MapaAssentos} por viagem ainda não partida.
+ * O mapa é montado na primeira venda a partir das passagens ativas no banco e,
+ * daí em diante, passa a ser a fonte da disponibilidade de assentos.
+ *
+ * A carga não acontece dentro do {@code computeIfAbsent}: ali só é registrado um futuro,
+ * e a thread que o registrou consulta o banco fora do lock do mapa; as demais que pedirem
+ * a mesma viagem esperam o mesmo futuro. Assim uma consulta lenta não bloqueia outras
+ * viagens que caiam no mesmo bin, nem prende virtual threads ao carrier.
+ *
+ * Poltronas liberadas chegam por dois caminhos: o evento local, logo após o commit nesta
+ * instância, e o outbox, para cancelamentos e expirações feitos em outras instâncias. Cada
+ * passagem é devolvida uma única vez, registrada pelo id em {@code liberacoesAplicadas}.
+ */
+@Component
+@Slf4j
+public class MapaAssentosRegistry {
+
+    private final ViagemRepository viagemRepository;
+    private final PassagemRepository passagemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, CompletableFuture<MapaAssentos>> mapas = new ConcurrentHashMap<>();
+    // passagemId -> momento em que a posição foi devolvida ao mapa
+    private final Map<Long, LocalDateTime> liberacoesAplicadas = new ConcurrentHashMap<>();
+
+    public MapaAssentosRegistry(ViagemRepository viagemRepository, PassagemRepository passagemRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.viagemRepository = viagemRepository;
+        this.passagemRepository = passagemRepository;
+        // Transação de escrita de propósito: com réplica de leitura, as consultas somente leitura
+        // dos repositórios iriam para a réplica, e um mapa montado com dados atrasados vende
+        // poltronas já ocupadas
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public MapaAssentos obter(Long viagemId) {
+        CompletableFuture<MapaAssentos> existente = mapas.get(viagemId);
+        if (existente == null) {
+            CompletableFuture<MapaAssentos> novo = new CompletableFuture<>();
+            existente = mapas.putIfAbsent(viagemId, novo);
+            if (existente == null) {
+                return carregarEm(viagemId, novo);
+            }
+        }
+        try {
+            return existente.join();
+        } catch (CompletionException e) {
+            // A carga falhou em outra thread, que já removeu o futuro
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private MapaAssentos carregarEm(Long viagemId, CompletableFuture<MapaAssentos> futuro) {
+        try {
+            MapaAssentos mapa = carregar(viagemId);
+            futuro.complete(mapa);
+            return mapa;
+        } catch (RuntimeException e) {
+            mapas.remove(viagemId, futuro);
+            futuro.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Mapa já carregado, ou nulo se ainda não existe ou está sendo carregado.
+     */
+    private MapaAssentos carregado(Long viagemId) {
+        CompletableFuture<MapaAssentos> futuro = mapas.get(viagemId);
+        return futuro != null && futuro.isDone() && !futuro.isCompletedExceptionally() ? futuro.join() : null;
+    }
+
+    /**
+     * Vagas livres segundo o mapa em memória, sem carregá-lo. Nulo se a viagem ainda não
+     * teve vendas nesta instância (nesse caso o valor gravado no banco é o atual).
+     */
+    public Integer vagasLivres(Long viagemId) {
+        MapaAssentos mapa = carregado(viagemId);
+        return mapa != null ? mapa.getLivres() : null;
+    }
+
+    /**
+     * Devolve ao mapa a poltrona de uma passagem cancelada ou expirada nesta instância. Se o mapa
+     * não está carregado não há nada a fazer: ele será montado a partir do banco.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPoltronaLiberada(PoltronaLiberadaEvent event) {
+        MapaAssentos mapa = carregado(event.viagemId());
+        if (mapa != null) {
+            liberar(mapa, event.passagemId(), event.poltrona());
+        }
+    }
+
+    /**
+     * Devolve ao mapa uma liberação lida do outbox. Liberações anteriores à montagem do mapa
+     * são ignoradas, pois o banco já as refletia; na dúvida a poltrona fica ocupada até a
+     * próxima montagem, nunca é liberada duas vezes.
+     */
+    public void onLiberacaoRemota(Long viagemId, Long passagemId, Integer poltrona, LocalDateTime ocorridoEm) {
+        MapaAssentos mapa = carregado(viagemId);
+        if (mapa != null && ocorridoEm != null && !ocorridoEm.isBefore(mapa.getCriadoEm())) {
+            liberar(mapa, passagemId, poltrona);
+        }
+    }
+
+    /**
+     * Esquece as liberações aplicadas antes do limite; o outbox não as entrega mais.
+     */
+    public void esquecerLiberacoesAntes(LocalDateTime limite) {
+        liberacoesAplicadas.values().removeIf(aplicadaEm -> aplicadaEm.isBefore(limite));
+    }
+
+    /**
+     * Se há ao menos um mapa carregado nesta instância.
+     */
+    public boolean possuiMapasCarregados() {
+        return mapas.values().stream().anyMatch(CompletableFuture::isDone);
+    }
+
+    private void liberar(MapaAssentos mapa, Long passagemId, Integer poltrona) {
+        if (passagemId != null && liberacoesAplicadas.putIfAbsent(passagemId, LocalDateTime.now()) != null) {
+            return;
+        }
+        if (poltrona != null) {
+            mapa.liberar(poltrona);
+        } else {
+            mapa.liberarQualquer();
+        }
+    }
+
+    /**
+     * Remove da memória os mapas de viagens que já partiram.
+     */
+    @Scheduled(fixedDelayString = "${reserva.mapa.limpeza-interval-ms:3600000}")
+    public void removerViagensPartidas() {
+        LocalDateTime agora = LocalDateTime.now();
+        mapas.values().removeIf(futuro -> futuro.isDone() && !futuro.isCompletedExceptionally()
+            && futuro.join().partiu(agora));
+    }
+
+    private MapaAssentos carregar(Long viagemId) {
+        return transactionTemplate.execute(status -> montar(viagemId));
+    }
+
+    private MapaAssentos montar(Long viagemId) {
+        Viagen viagem = viagemRepository.findById(viagemId)
+            .orElseThrow(() -> new ResourceNotFoundException("Viagem", "id", viagemId));
+
+        MapaAssentos mapa = new MapaAssentos(
+            viagem.getId(),
+            viagem.getVagasTotais(),
+            Boolean.TRUE.equals(viagem.getPossuiAssentoMarcado()),
+            viagem.getPreco(),
+            viagem.getDataPartida()
+        );
+
+        List<Integer> ocupadas = passagemRepository.findPoltronasOcupadas(viagemId);
+        int semPoltrona = 0;
+        for (Integer poltrona : ocupadas) {
+            if (poltrona == null || !mapa.ocupar(poltrona)) {
+                semPoltrona++;
+            }
+        }
+        // Passagens sem assento marcado ocupam as primeiras vagas livres
+        for (int i = 0; i < semPoltrona; i++) {
+            mapa.ocuparQualquer();
+        }
+
+        log.debug("Mapa de assentos carregado: viagem {} ({} livres de {})", viagemId, mapa.getLivres(), mapa.getCapacidade());
+        return mapa;
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Grava eventos de passagem na tabela passagem_outbox.
+ *
+ * Deve ser chamado dentro da transação que altera as passagens: o JdbcTemplate usa a
+ * mesma conexão, então evento e mudança de estado são confirmados (ou desfeitos) juntos.
+ */
+@Component
+public class PassagemOutbox {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO passagem_outbox (passagem_id, tipo, payload) VALUES (?, ?, CAST(? AS jsonb))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PassagemOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void registrar(EventoPassagem evento) {
+        registrar(List.of(evento));
+    }
+
+    public void registrar(List<EventoPassagem> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, eventos, eventos.size(), (ps, evento) -> {
+            ps.setLong(1, evento.passagemId());
+            ps.setString(2, evento.tipo().name());
+            ps.setString(3, serializar(evento));
+        });
+    }
+
+    private String serializar(EventoPassagem evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento de passagem " + evento.codigo(), e);
+        }
+    }
+}
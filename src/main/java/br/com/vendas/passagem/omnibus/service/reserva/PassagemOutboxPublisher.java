@@ -0,0 +1,124 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica os eventos pendentes do outbox em lotes.
+ *
+ * Cada lote é lido com FOR UPDATE SKIP LOCKED, então várias instâncias podem publicar em
+ * paralelo sem repetir linhas. Os eventos são entregues como {@link EventoPassagem} aos
+ * listeners da aplicação e o lote só é marcado como publicado se todos forem entregues;
+ * em caso de falha a transação é desfeita e o lote volta na próxima execução.
+ */
+@Component
+@Slf4j
+public class PassagemOutboxPublisher {
+
+    private static final String SELECT_PENDENTES =
+        "SELECT id, payload FROM passagem_outbox WHERE publicado_em IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String MARCAR_PUBLICADOS =
+        "UPDATE passagem_outbox SET publicado_em = ? WHERE id = ANY (?)";
+    private static final String REMOVER_PUBLICADOS =
+        "DELETE FROM passagem_outbox WHERE publicado_em < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reserva.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reserva.outbox.max-lotes-por-execucao:20}")
+    private int maxLotesPorExecucao;
+
+    @Value("${reserva.outbox.retencao-dias:7}")
+    private int retencaoDias;
+
+    public PassagemOutboxPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                   ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${reserva.outbox.intervalo-ms:1000}")
+    public void publicarPendentes() {
+        try {
+            for (int lote = 0; lote < maxLotesPorExecucao; lote++) {
+                Integer publicados = transactionTemplate.execute(status -> publicarLote());
+                if (publicados == null || publicados < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao publicar eventos do outbox de passagens", e);
+        }
+    }
+
+    /**
+     * Remove eventos publicados há mais tempo que a retenção.
+     */
+    @Scheduled(cron = "${reserva.outbox.limpeza-cron:0 15 4 * * *}")
+    public void removerPublicados() {
+        int removidos = jdbcTemplate.update(REMOVER_PUBLICADOS,
+            Timestamp.valueOf(LocalDateTime.now().minusDays(retencaoDias)));
+        if (removidos > 0) {
+            log.info("Outbox de passagens: {} eventos publicados removidos", removidos);
+        }
+    }
+
+    private int publicarLote() {
+        List<Long> ids = new ArrayList<>(batchSize);
+        List<EventoPassagem> eventos = new ArrayList<>(batchSize);
+        jdbcTemplate.query(SELECT_PENDENTES, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            ids.add(id);
+            eventos.add(ler(id, rs.getString("payload")));
+        }, batchSize);
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        for (EventoPassagem evento : eventos) {
+            eventPublisher.publishEvent(evento);
+        }
+
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(MARCAR_PUBLICADOS);
+            Array array = con.createArrayOf("bigint", ids.toArray());
+            ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            ps.setArray(2, array);
+            return ps;
+        });
+        log.debug("Outbox de passagens: {} eventos publicados", ids.size());
+        return ids.size();
+    }
+
+    private EventoPassagem ler(long id, String payload) {
+        try {
+            return objectMapper.readValue(payload, EventoPassagem.class).comOutboxId(id);
+        } catch (Exception e) {
+            throw new IllegalStateException("Evento de outbox inválido: " + id, e);
+        }
+    }
+}
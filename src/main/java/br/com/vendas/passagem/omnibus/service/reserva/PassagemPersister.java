@@ -0,0 +1,268 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.vendas.passagem.omnibus.domain.Passagen;
+import br.com.vendas.passagem.omnibus.domain.Viagen;
+import br.com.vendas.passagem.omnibus.domain.enums.Status;
+import br.com.vendas.passagem.omnibus.repository.PassagemRepository;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.repository.ViagemRepository;
+import br.com.vendas.passagem.omnibus.service.viagem.VagasAlteradasEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grava de forma assíncrona as vendas confirmadas no {@link MapaAssentos}.
+ *
+ * As reservas são agrupadas em lotes; cada lote insere as passagens e faz um único
+ * UPDATE de vagas por viagem, com controle de versão otimista em viagens. Assim os
+ * picos de venda de uma mesma viagem não disputam a mesma linha a cada passagem.
+ *
+ * A reserva já foi respondida com 202 quando chega aqui. Se não puder ser gravada, a posição
+ * volta ao mapa e a recusa é registrada em {@link ReservasRecusadas}; enquanto está na fila,
+ * {@link #emGravacao(String)} a identifica. O cliente acompanha pelo código da passagem.
+ */
+@Component
+@Slf4j
+public class PassagemPersister {
+
+    private static final int MAX_TENTATIVAS = 3;
+    static final String MOTIVO_RECUSA = "Não foi possível gravar a reserva; a poltrona foi liberada";
+
+    private final PassagemRepository passagemRepository;
+    private final ViagemRepository viagemRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final MapaAssentosRegistry mapaAssentosRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PassagemOutbox passagemOutbox;
+    private final ReservasRecusadas reservasRecusadas;
+    private final Set<String> codigosEmGravacao = ConcurrentHashMap.newKeySet();
+
+    @Value("${reserva.persistencia.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${reserva.persistencia.batch-size:100}")
+    private int batchSize;
+
+    @Value("${reserva.persistencia.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${reserva.persistencia.enqueue-timeout-ms:500}")
+    private long enqueueTimeoutMs;
+
+    @Value("${reserva.pagamento.prazo-minutos:15}")
+    private long prazoPagamentoMinutos;
+
+    private BlockingQueue<ReservaPendente> queue;
+    private Thread drainer;
+    private volatile boolean running;
+
+    public PassagemPersister(PassagemRepository passagemRepository, ViagemRepository viagemRepository,
+                             UsuarioRepository usuarioRepository, MapaAssentosRegistry mapaAssentosRegistry,
+                             PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                             PassagemOutbox passagemOutbox, ReservasRecusadas reservasRecusadas) {
+        this.passagemRepository = passagemRepository;
+        this.viagemRepository = viagemRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.mapaAssentosRegistry = mapaAssentosRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.passagemOutbox = passagemOutbox;
+        this.reservasRecusadas = reservasRecusadas;
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        drainer = new Thread(this::drainLoop, "passagem-persister");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<ReservaPendente> restantes = new ArrayList<>();
+        queue.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            gravar(restantes);
+        }
+    }
+
+    /**
+     * Enfileira a reserva para gravação. Retorna false se a fila continuar cheia após a espera.
+     */
+    public boolean enfileirar(ReservaPendente reserva) throws InterruptedException {
+        codigosEmGravacao.add(reserva.codigo());
+        boolean enfileirada = false;
+        try {
+            enfileirada = queue.offer(reserva, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+            return enfileirada;
+        } finally {
+            if (!enfileirada) {
+                codigosEmGravacao.remove(reserva.codigo());
+            }
+        }
+    }
+
+    /**
+     * Se a reserva foi aceita por esta instância e ainda não terminou de ser gravada (ou recusada).
+     */
+    public boolean emGravacao(String codigo) {
+        return codigosEmGravacao.contains(codigo);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<ReservaPendente> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                collect(batch);
+                if (!batch.isEmpty()) {
+                    gravar(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Falha no gravador assíncrono de passagens", e);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            gravar(batch);
+        }
+    }
+
+    private void collect(List<ReservaPendente> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            ReservaPendente reserva = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (reserva == null) {
+                return;
+            }
+            batch.add(reserva);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    /**
+     * Grava o lote inteiro; se falhar por outro motivo que não conflito de versão,
+     * grava reserva por reserva para isolar as inválidas.
+     */
+    void gravar(List<ReservaPendente> batch) {
+        try {
+            gravarComRetentativa(batch);
+        } catch (Exception e) {
+            log.warn("Falha ao gravar lote de {} passagens, gravando individualmente", batch.size(), e);
+            for (ReservaPendente reserva : batch) {
+                try {
+                    gravarComRetentativa(List.of(reserva));
+                } catch (Exception erro) {
+                    log.error("Passagem {} não gravada, liberando posição {} da viagem {}",
+                        reserva.codigo(), reserva.posicao(), reserva.viagemId(), erro);
+                    recusar(reserva);
+                }
+            }
+        } finally {
+            batch.forEach(reserva -> codigosEmGravacao.remove(reserva.codigo()));
+        }
+    }
+
+    private void recusar(ReservaPendente reserva) {
+        try {
+            reservasRecusadas.registrar(reserva, MOTIVO_RECUSA);
+        } catch (Exception e) {
+            log.error("Não foi possível registrar a recusa da passagem {}", reserva.codigo(), e);
+        }
+        try {
+            mapaAssentosRegistry.obter(reserva.viagemId()).liberar(reserva.posicao());
+        } catch (Exception e) {
+            // Viagem removida: não há mapa para devolver a posição
+            log.warn("Posição {} da viagem {} não devolvida ao mapa", reserva.posicao(), reserva.viagemId(), e);
+        }
+    }
+
+    private void gravarComRetentativa(List<ReservaPendente> reservas) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> inserirEAtualizarVagas(reservas));
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa >= MAX_TENTATIVAS) {
+                    throw e;
+                }
+                log.debug("Conflito de versão ao atualizar vagas, tentativa {}", tentativa);
+            }
+        }
+    }
+
+    private void inserirEAtualizarVagas(List<ReservaPendente> reservas) {
+        List<Passagen> passagens = new ArrayList<>(reservas.size());
+        Map<Long, Integer> vendidasPorViagem = new LinkedHashMap<>();
+
+        for (ReservaPendente reserva : reservas) {
+            Passagen passagem = new Passagen();
+            passagem.setCodigo(reserva.codigo());
+            passagem.setViagem(viagemRepository.getReferenceById(reserva.viagemId()));
+            passagem.setPassageiro(usuarioRepository.getReferenceById(reserva.passageiroId()));
+            passagem.setPoltrona(reserva.poltrona());
+            passagem.setStatus(Status.PENDENTE);
+            passagem.setValorPago(reserva.valor());
+            passagem.setDataCompra(reserva.dataCompra());
+            passagem.setExpiraEm(reserva.dataCompra().plusMinutes(prazoPagamentoMinutos));
+            passagens.add(passagem);
+            vendidasPorViagem.merge(reserva.viagemId(), 1, Integer::sum);
+        }
+
+        passagemRepository.saveAll(passagens);
+
+        List<EventoPassagem> eventos = new ArrayList<>(reservas.size());
+        for (int i = 0; i < reservas.size(); i++) {
+            ReservaPendente reserva = reservas.get(i);
+            eventos.add(new EventoPassagem(null, TipoEventoPassagem.RESERVADA, passagens.get(i).getId(), reserva.codigo(),
+                reserva.viagemId(), reserva.passageiroId(), reserva.poltrona(), Status.PENDENTE, reserva.dataCompra()));
+        }
+        passagemOutbox.registrar(eventos);
+
+        for (Map.Entry<Long, Integer> entry : vendidasPorViagem.entrySet()) {
+            Viagen viagem = viagemRepository.findById(entry.getKey())
+                .orElseThrow(() -> new IllegalStateException("Viagem removida durante a venda: " + entry.getKey()));
+            viagem.setVagasDisponiveis(viagem.getVagasDisponiveis() - entry.getValue());
+            eventPublisher.publishEvent(new VagasAlteradasEvent(viagem.getId(), viagem.getOrigem(),
+                viagem.getDestino(), viagem.getDataPartida().toLocalDate()));
+        }
+        // O flush no commit verifica a versão de cada viagem alterada
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+/**
+ * Publicado quando uma passagem deixa de ocupar a poltrona (cancelamento ou expiração).
+ * Consumido após o commit para devolver a posição ao {@link MapaAssentos} desta instância;
+ * as demais recebem a mesma liberação pelo outbox ({@link SincronizacaoMapaAssentos}).
+ *
+ * @param passagemId passagem liberada; evita devolver a mesma posição duas vezes
+ * @param poltrona poltrona liberada, ou nulo quando a viagem não tem assento marcado
+ */
+public record PoltronaLiberadaEvent(
+    Long viagemId,
+    Long passagemId,
+    Integer poltrona
+) {}
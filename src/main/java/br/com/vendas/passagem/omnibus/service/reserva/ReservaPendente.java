@@ -0,0 +1,20 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Venda já confirmada no mapa de assentos e aguardando gravação no banco.
+ *
+ * @param posicao posição ocupada no mapa de assentos (igual à poltrona quando a viagem tem assento marcado)
+ * @param poltrona poltrona gravada na passagem, ou nulo quando a viagem não tem assento marcado
+ */
+public record ReservaPendente(
+    String codigo,
+    Long viagemId,
+    Long passageiroId,
+    int posicao,
+    Integer poltrona,
+    BigDecimal valor,
+    LocalDateTime dataCompra
+) {}
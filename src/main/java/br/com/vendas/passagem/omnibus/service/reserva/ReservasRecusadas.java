@@ -0,0 +1,71 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reservas que receberam 202 mas não puderam ser gravadas (tabela reservas_recusadas).
+ * O cliente consulta a situação pelo código; a poltrona já foi devolvida ao mapa.
+ */
+@Component
+@Slf4j
+public class ReservasRecusadas {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO reservas_recusadas (codigo, viagem_id, passageiro_id, poltrona, motivo, recusada_em)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (codigo) DO NOTHING
+        """;
+    private static final String SELECT_SQL =
+        "SELECT codigo, viagem_id, passageiro_id, poltrona, motivo, recusada_em FROM reservas_recusadas WHERE codigo = ?";
+    private static final String DELETE_ANTIGAS_SQL = "DELETE FROM reservas_recusadas WHERE recusada_em < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${reserva.recusadas.retencao-dias:7}")
+    private int retencaoDias;
+
+    public record ReservaRecusada(String codigo, Long viagemId, Long passageiroId, Integer poltrona, String motivo,
+                                  LocalDateTime recusadaEm) {}
+
+    public ReservasRecusadas(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void registrar(ReservaPendente reserva, String motivo) {
+        jdbcTemplate.update(INSERT_SQL, reserva.codigo(), reserva.viagemId(), reserva.passageiroId(), reserva.poltrona(),
+            motivo, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public Optional<ReservaRecusada> buscar(String codigo) {
+        List<ReservaRecusada> encontradas = jdbcTemplate.query(SELECT_SQL, (rs, linha) -> new ReservaRecusada(
+            rs.getString("codigo"),
+            rs.getLong("viagem_id"),
+            rs.getLong("passageiro_id"),
+            rs.getObject("poltrona", Integer.class),
+            rs.getString("motivo"),
+            rs.getTimestamp("recusada_em").toLocalDateTime()), codigo);
+        return encontradas.stream().findFirst();
+    }
+
+    /**
+     * Remove recusas mais antigas que a retenção: depois disso o código responde 404.
+     */
+    @Scheduled(cron = "${reserva.recusadas.limpeza-cron:0 30 4 * * *}")
+    public void removerAntigas() {
+        int removidas = jdbcTemplate.update(DELETE_ANTIGAS_SQL,
+            Timestamp.valueOf(LocalDateTime.now().minusDays(retencaoDias)));
+        if (removidas > 0) {
+            log.info("{} reservas recusadas removidas", removidas);
+        }
+    }
+}
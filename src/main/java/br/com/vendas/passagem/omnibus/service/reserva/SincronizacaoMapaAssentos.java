@@ -0,0 +1,77 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Leva aos mapas de assentos desta instância as poltronas liberadas em qualquer instância.
+ *
+ * O {@link PassagemOutboxPublisher} entrega cada evento a uma única instância (FOR UPDATE
+ * SKIP LOCKED), o que não serve para os mapas em memória: todas precisam da liberação. Aqui
+ * cada instância lê, sem lock e sem marcar nada, os cancelamentos e expirações gravados no
+ * outbox dentro da janela e os repassa ao {@link MapaAssentosRegistry}, que descarta os já
+ * aplicados (inclusive os desta própria instância, aplicados pelo evento local).
+ *
+ * A leitura é por janela de tempo e não por id: os ids do outbox são reservados antes do
+ * commit, então um id menor pode ficar visível depois de um maior.
+ */
+@Component
+@Slf4j
+public class SincronizacaoMapaAssentos {
+
+    private static final String SELECT_LIBERACOES = """
+        SELECT id, payload FROM passagem_outbox
+        WHERE criado_em >= LOCALTIMESTAMP - make_interval(secs => ?) AND tipo IN ('CANCELADA', 'EXPIRADA')
+        ORDER BY id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MapaAssentosRegistry mapaAssentosRegistry;
+
+    @Value("${reserva.mapa.sincronizacao.janela-segundos:30}")
+    private long janelaSegundos;
+
+    public SincronizacaoMapaAssentos(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                     MapaAssentosRegistry mapaAssentosRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.mapaAssentosRegistry = mapaAssentosRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${reserva.mapa.sincronizacao.intervalo-ms:1000}")
+    public void sincronizar() {
+        LocalDateTime agora = LocalDateTime.now();
+        // As liberações aplicadas são lembradas pelo dobro da janela, para nenhuma ser relida depois de esquecida
+        mapaAssentosRegistry.esquecerLiberacoesAntes(agora.minusSeconds(2 * janelaSegundos));
+        if (!mapaAssentosRegistry.possuiMapasCarregados()) {
+            return;
+        }
+        try {
+            // Janela medida no relógio do banco, o mesmo que preenche criado_em
+            jdbcTemplate.query(SELECT_LIBERACOES, (RowCallbackHandler) rs -> aplicar(rs.getLong("id"), rs.getString("payload")),
+                janelaSegundos);
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar os mapas de assentos com o outbox de passagens", e);
+        }
+    }
+
+    private void aplicar(long id, String payload) {
+        try {
+            EventoPassagem evento = objectMapper.readValue(payload, EventoPassagem.class);
+            mapaAssentosRegistry.onLiberacaoRemota(evento.viagemId(), evento.passagemId(), evento.poltrona(),
+                evento.ocorridoEm());
+        } catch (Exception e) {
+            log.warn("Evento de outbox {} ignorado na sincronização dos mapas de assentos", id, e);
+        }
+    }
+}
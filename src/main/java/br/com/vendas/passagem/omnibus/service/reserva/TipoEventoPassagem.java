@@ -0,0 +1,8 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+public enum TipoEventoPassagem {
+    RESERVADA,
+    PAGA,
+    CANCELADA,
+    EXPIRADA
+}
@@ -0,0 +1,309 @@
+package br.com.vendas.passagem.omnibus.service.viagem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+
+/**
+ * Leitura incremental de um arquivo de importação de viagens, uma linha por vez.
+ *
+ * Aceita CSV com cabeçalho (separador vírgula, campos entre aspas duplas quando necessário,
+ * sem quebras de linha dentro dos campos) ou NDJSON, um objeto por linha. Os campos são os
+ * mesmos nos dois formatos: origem, destino, dataPartida, preco, vagasTotais e
+ * possuiAssentoMarcado (opcional, padrão true). Linhas em branco são ignoradas.
+ */
+public class LeitorImportacaoViagens {
+
+    public enum Formato {
+        CSV, NDJSON;
+
+        public static Formato de(String contentType) {
+            String tipo = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (tipo.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (tipo.startsWith("application/x-ndjson")) {
+                return NDJSON;
+            }
+            throw new InvalidDtoException("Content-Type", "use text/csv ou application/x-ndjson");
+        }
+    }
+
+    private static final String ORIGEM = "origem";
+    private static final String DESTINO = "destino";
+    private static final String DATA_PARTIDA = "dataPartida";
+    private static final String PRECO = "preco";
+    private static final String VAGAS_TOTAIS = "vagasTotais";
+    private static final String POSSUI_ASSENTO_MARCADO = "possuiAssentoMarcado";
+    private static final List<String> OBRIGATORIOS = List.of(ORIGEM, DESTINO, DATA_PARTIDA, PRECO, VAGAS_TOTAIS);
+
+    private static final int MAX_TEXTO = 100;
+    // DECIMAL(10,2)
+    private static final BigDecimal PRECO_MAXIMO = new BigDecimal("99999999.99");
+
+    private final BufferedReader reader;
+    private final Formato formato;
+    private final ObjectMapper objectMapper;
+    private final int maxVagas;
+    private final LocalDateTime agora = LocalDateTime.now();
+
+    private Map<String, Integer> colunas;
+    private long linhaAtual;
+
+    public LeitorImportacaoViagens(BufferedReader reader, Formato formato, ObjectMapper objectMapper, int maxVagas) {
+        this.reader = reader;
+        this.formato = formato;
+        this.objectMapper = objectMapper;
+        this.maxVagas = maxVagas;
+    }
+
+    /**
+     * Lê a próxima viagem do arquivo.
+     *
+     * @return a viagem validada, ou null no fim do arquivo
+     * @throws LinhaInvalidaException se a linha não puder ser lida ou não passar na validação;
+     *         a leitura pode continuar na linha seguinte
+     * @throws InvalidDtoException se o cabeçalho do CSV estiver ausente ou incompleto
+     */
+    public LinhaViagem proxima() throws IOException {
+        String texto = proximaLinhaNaoVazia();
+        if (texto == null) {
+            return null;
+        }
+        if (formato == Formato.CSV && colunas == null) {
+            colunas = lerCabecalho(texto);
+            texto = proximaLinhaNaoVazia();
+            if (texto == null) {
+                return null;
+            }
+        }
+        return formato == Formato.CSV ? lerCsv(texto) : lerNdjson(texto);
+    }
+
+    /**
+     * Número (1-based) da última linha física lida, para relatar erros.
+     */
+    public long getLinhaAtual() {
+        return linhaAtual;
+    }
+
+    private String proximaLinhaNaoVazia() throws IOException {
+        String texto;
+        while ((texto = reader.readLine()) != null) {
+            linhaAtual++;
+            if (linhaAtual == 1 && !texto.isEmpty() && texto.charAt(0) == '\uFEFF') {
+                texto = texto.substring(1);
+            }
+            if (!texto.isBlank()) {
+                return texto;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Integer> lerCabecalho(String texto) {
+        List<String> nomes = dividirCsv(texto);
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            indices.put(nomes.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> ausentes = OBRIGATORIOS.stream()
+            .filter(nome -> !indices.containsKey(nome.toLowerCase(Locale.ROOT)))
+            .toList();
+        if (!ausentes.isEmpty()) {
+            throw new InvalidDtoException("cabeçalho", "colunas obrigatórias ausentes: " + String.join(", ", ausentes));
+        }
+        return indices;
+    }
+
+    private LinhaViagem lerCsv(String texto) {
+        List<String> valores;
+        try {
+            valores = dividirCsv(texto);
+        } catch (IllegalArgumentException e) {
+            throw new LinhaInvalidaException(linhaAtual, e.getMessage());
+        }
+        return validar(nome -> {
+            Integer indice = colunas.get(nome.toLowerCase(Locale.ROOT));
+            return indice == null || indice >= valores.size() ? null : valores.get(indice);
+        });
+    }
+
+    private LinhaViagem lerNdjson(String texto) {
+        JsonNode objeto;
+        try {
+            objeto = objectMapper.readTree(texto);
+        } catch (JsonProcessingException e) {
+            throw new LinhaInvalidaException(linhaAtual, "JSON inválido: " + e.getOriginalMessage());
+        }
+        if (!objeto.isObject()) {
+            throw new LinhaInvalidaException(linhaAtual, "cada linha deve conter um objeto JSON");
+        }
+        return validar(nome -> {
+            JsonNode valor = objeto.get(nome);
+            return valor == null || valor.isNull() ? null : valor.asText();
+        });
+    }
+
+    /**
+     * Valida todos os campos da linha e reúne os problemas numa única mensagem.
+     */
+    private LinhaViagem validar(Function<String, String> campo) {
+        List<String> erros = new ArrayList<>();
+
+        String origem = texto(campo.apply(ORIGEM), ORIGEM, erros);
+        String destino = texto(campo.apply(DESTINO), DESTINO, erros);
+        if (origem != null && destino != null && origem.equalsIgnoreCase(destino)) {
+            erros.add("origem e destino devem ser diferentes");
+        }
+
+        LocalDateTime dataPartida = null;
+        String dataTexto = vazioParaNulo(campo.apply(DATA_PARTIDA));
+        if (dataTexto == null) {
+            erros.add(DATA_PARTIDA + " é obrigatória");
+        } else {
+            try {
+                dataPartida = LocalDateTime.parse(dataTexto.replace(' ', 'T'));
+                if (!dataPartida.isAfter(agora)) {
+                    erros.add(DATA_PARTIDA + " deve estar no futuro");
+                }
+            } catch (DateTimeParseException e) {
+                erros.add(DATA_PARTIDA + " deve estar no formato yyyy-MM-ddTHH:mm[:ss]");
+            }
+        }
+
+        BigDecimal preco = null;
+        String precoTexto = vazioParaNulo(campo.apply(PRECO));
+        if (precoTexto == null) {
+            erros.add(PRECO + " é obrigatório");
+        } else {
+            try {
+                preco = new BigDecimal(precoTexto);
+                if (preco.signum() <= 0 || preco.compareTo(PRECO_MAXIMO) > 0 || preco.stripTrailingZeros().scale() > 2) {
+                    erros.add(PRECO + " deve ser positivo, com até duas casas decimais e no máximo " + PRECO_MAXIMO);
+                }
+            } catch (NumberFormatException e) {
+                erros.add(PRECO + " inválido: " + precoTexto);
+            }
+        }
+
+        int vagasTotais = 0;
+        String vagasTexto = vazioParaNulo(campo.apply(VAGAS_TOTAIS));
+        if (vagasTexto == null) {
+            erros.add(VAGAS_TOTAIS + " é obrigatório");
+        } else {
+            try {
+                vagasTotais = Integer.parseInt(vagasTexto);
+                if (vagasTotais < 1 || vagasTotais > maxVagas) {
+                    erros.add(VAGAS_TOTAIS + " deve estar entre 1 e " + maxVagas);
+                }
+            } catch (NumberFormatException e) {
+                erros.add(VAGAS_TOTAIS + " inválido: " + vagasTexto);
+            }
+        }
+
+        boolean possuiAssentoMarcado = true;
+        String assentoTexto = vazioParaNulo(campo.apply(POSSUI_ASSENTO_MARCADO));
+        if (assentoTexto != null) {
+            if ("true".equalsIgnoreCase(assentoTexto) || "false".equalsIgnoreCase(assentoTexto)) {
+                possuiAssentoMarcado = Boolean.parseBoolean(assentoTexto.toLowerCase(Locale.ROOT));
+            } else {
+                erros.add(POSSUI_ASSENTO_MARCADO + " deve ser true ou false");
+            }
+        }
+
+        if (!erros.isEmpty()) {
+            throw new LinhaInvalidaException(linhaAtual, String.join("; ", erros));
+        }
+        return new LinhaViagem(linhaAtual, origem, destino, dataPartida, preco.stripTrailingZeros().setScale(2), vagasTotais,
+            possuiAssentoMarcado);
+    }
+
+    private static String texto(String valor, String nome, List<String> erros) {
+        String texto = vazioParaNulo(valor);
+        if (texto == null) {
+            erros.add(nome + " é obrigatório");
+            return null;
+        }
+        if (texto.length() > MAX_TEXTO) {
+            erros.add(nome + " deve ter no máximo " + MAX_TEXTO + " caracteres");
+            return null;
+        }
+        return texto;
+    }
+
+    private static String vazioParaNulo(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String texto = valor.trim();
+        return texto.isEmpty() ? null : texto;
+    }
+
+    /**
+     * Divide uma linha CSV respeitando aspas duplas ("" dentro de aspas vira uma aspa).
+     */
+    static List<String> dividirCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"') {
+                    if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("aspas não fechadas");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    /**
+     * Linha rejeitada. Não interrompe a importação: é relatada e a leitura segue.
+     */
+    public static class LinhaInvalidaException extends RuntimeException {
+
+        private final long linha;
+
+        public LinhaInvalidaException(long linha, String message) {
+            super(message);
+            this.linha = linha;
+        }
+
+        public long getLinha() {
+            return linha;
+        }
+    }
+}
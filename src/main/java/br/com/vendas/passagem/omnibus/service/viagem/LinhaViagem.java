@@ -0,0 +1,17 @@
+package br.com.vendas.passagem.omnibus.service.viagem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Uma viagem lida e validada de um arquivo de importação, pronta para o insert em lote.
+ */
+public record LinhaViagem(
+    long linha,
+    String origem,
+    String destino,
+    LocalDateTime dataPartida,
+    BigDecimal preco,
+    int vagasTotais,
+    boolean possuiAssentoMarcado
+) {}
@@ -0,0 +1,14 @@
+package br.com.vendas.passagem.omnibus.service.viagem;
+
+import java.time.LocalDate;
+
+/**
+ * Publicado quando as vagas gravadas de uma viagem mudam (venda, cancelamento, expiração).
+ * Consumido após o commit para invalidar a busca em cache da rota/data.
+ */
+public record VagasAlteradasEvent(
+    Long viagemId,
+    String origem,
+    String destino,
+    LocalDate data
+) {}
@@ -0,0 +1,115 @@
+package br.com.vendas.passagem.omnibus.service.viagem;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.vendas.passagem.omnibus.dto.response.ViagemBuscaResponseDTO;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cache das páginas de busca de viagens por rota e data.
+ * Entradas de uma rota/data são removidas sempre que as vagas gravadas de uma de suas viagens mudam.
+ *
+ * A consulta não roda dentro do {@code Cache.get(chave, loader)} do Caffeine, que segura o lock
+ * do mapa durante a carga (prendendo a carrier thread e bloqueando outras chaves do mesmo bin).
+ * O cache guarda um futuro: quem o registra consulta o banco na própria thread e transação, e as
+ * demais requisições da mesma chave esperam por ele. Uma invalidação durante a consulta remove o
+ * futuro, então o resultado possivelmente desatualizado não fica em cache.
+ */
+@Component
+public class ViagemBuscaCache {
+
+    @Value("${viagem.busca.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${viagem.busca.cache.max-size:5000}")
+    private long maxSize;
+
+    @Value("${viagem.busca.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<ChaveBusca, CompletableFuture<ViagemBuscaResponseDTO>> cache;
+
+    public record ChaveBusca(String origem, String destino, LocalDate data, String cursor, int tamanho) {}
+
+    public record RotaData(String origem, String destino, LocalDate data) {}
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    public ViagemBuscaResponseDTO obter(ChaveBusca chave, Function<ChaveBusca, ViagemBuscaResponseDTO> consulta) {
+        if (!enabled) {
+            return consulta.apply(chave);
+        }
+        ConcurrentMap<ChaveBusca, CompletableFuture<ViagemBuscaResponseDTO>> paginas = cache.asMap();
+        CompletableFuture<ViagemBuscaResponseDTO> existente = paginas.get(chave);
+        if (existente == null) {
+            CompletableFuture<ViagemBuscaResponseDTO> novo = new CompletableFuture<>();
+            existente = paginas.putIfAbsent(chave, novo);
+            if (existente == null) {
+                return consultarEm(chave, novo, consulta);
+            }
+        }
+        try {
+            return existente.join();
+        } catch (CompletionException e) {
+            // A consulta falhou em outra thread, que já removeu o futuro
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private ViagemBuscaResponseDTO consultarEm(ChaveBusca chave, CompletableFuture<ViagemBuscaResponseDTO> futuro,
+                                               Function<ChaveBusca, ViagemBuscaResponseDTO> consulta) {
+        try {
+            ViagemBuscaResponseDTO pagina = consulta.apply(chave);
+            futuro.complete(pagina);
+            return pagina;
+        } catch (RuntimeException e) {
+            cache.asMap().remove(chave, futuro);
+            futuro.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidar(String origem, String destino, LocalDate data) {
+        cache.asMap().keySet().removeIf(chave ->
+            chave.origem().equals(origem) && chave.destino().equals(destino) && chave.data().equals(data));
+    }
+
+    /**
+     * Invalida várias rotas/datas numa única varredura do cache (ex.: após uma importação em lote).
+     */
+    public void invalidar(Set<RotaData> rotas) {
+        if (rotas.isEmpty()) {
+            return;
+        }
+        cache.asMap().keySet().removeIf(chave ->
+            rotas.contains(new RotaData(chave.origem(), chave.destino(), chave.data())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVagasAlteradas(VagasAlteradasEvent event) {
+        invalidar(event.origem(), event.destino(), event.data());
+    }
+}
@@ -0,0 +1,75 @@
+-- Particionamento mensal de audit_logs por created_at.
+-- A tabela atual é recriada como tabela particionada e os dados existentes são copiados.
+
+ALTER TABLE audit_logs RENAME TO audit_logs_legado;
+ALTER TABLE audit_logs_legado RENAME CONSTRAINT audit_logs_pkey TO audit_logs_legado_pkey;
+ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+
+-- A chave primária de uma tabela particionada precisa incluir a coluna de partição
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    entity_name VARCHAR(150) NOT NULL,
+    entity_id BIGINT NULL,
+    action VARCHAR(50) NOT NULL,
+    username VARCHAR(150) NULL,
+    details TEXT NULL,
+    payload JSONB NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT audit_logs_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Recebe eventos fora das partições criadas (relógio adiantado, job de criação parado)
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- Cria a partição do mês (audit_logs_AAAA_MM) se ainda não existir.
+-- Linhas do mês que caíram na partição default são movidas para a nova partição antes do ATTACH.
+CREATE OR REPLACE FUNCTION criar_particao_audit_logs(mes DATE) RETURNS TEXT AS $$
+DECLARE
+    inicio DATE := date_trunc('month', mes)::date;
+    fim DATE := (date_trunc('month', mes) + INTERVAL '1 month')::date;
+    nome TEXT := 'audit_logs_' || to_char(mes, 'YYYY_MM');
+BEGIN
+    -- Serializa com outras instâncias e com o job de retenção
+    PERFORM pg_advisory_xact_lock(hashtext('audit_logs_particoes'));
+
+    IF to_regclass(nome) IS NOT NULL THEN
+        RETURN nome;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE audit_logs INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', nome);
+    EXECUTE format(
+        'WITH movidas AS (DELETE FROM audit_logs_default WHERE created_at >= %L AND created_at < %L RETURNING *) '
+        || 'INSERT INTO %I SELECT * FROM movidas', inicio, fim, nome);
+    EXECUTE format('ALTER TABLE audit_logs ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', nome, inicio, fim);
+    RETURN nome;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partições do primeiro mês com dados até três meses à frente
+DO $$
+DECLARE
+    mes DATE;
+    ultimo DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT LEAST(date_trunc('month', COALESCE(MIN(created_at), CURRENT_DATE)), date_trunc('month', CURRENT_DATE))::date
+      INTO mes
+      FROM audit_logs_legado;
+
+    WHILE mes <= ultimo LOOP
+        PERFORM criar_particao_audit_logs(mes);
+        mes := (mes + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, entity_name, entity_id, action, username, details, payload, created_at)
+SELECT id, entity_name, entity_id, action, username, details, payload, created_at
+  FROM audit_logs_legado;
+
+DROP TABLE audit_logs_legado;
+
+-- Índices particionados: criados em cada partição, atual e futura
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at ON audit_logs (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity ON audit_logs (entity_name, entity_id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_username ON audit_logs (username);
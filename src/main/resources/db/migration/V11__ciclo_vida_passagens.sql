@@ -0,0 +1,36 @@
+-- Ciclo de vida das passagens (reserva -> pagamento/cancelamento/expiração) com outbox transacional
+
+-- 1. Prazo de pagamento das reservas PENDENTE
+ALTER TABLE passagens ADD COLUMN expira_em TIMESTAMP;
+UPDATE passagens SET expira_em = data_compra + INTERVAL '15 minutes' WHERE status = 'PENDENTE';
+
+-- Varredura de reservas vencidas: só as pendentes entram no índice
+CREATE INDEX IF NOT EXISTS idx_passagens_pendentes_expira_em
+    ON passagens (expira_em)
+    WHERE status = 'PENDENTE';
+
+-- 2. Passagens expiradas também liberam a poltrona
+DROP INDEX IF EXISTS ux_passagens_viagem_poltrona;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_passagens_viagem_poltrona
+    ON passagens (viagem_id, poltrona)
+    WHERE poltrona IS NOT NULL AND status IN ('PENDENTE', 'PAGA');
+
+-- 3. Outbox: eventos gravados na mesma transação da mudança de estado e publicados depois
+CREATE TABLE passagem_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    passagem_id BIGINT NOT NULL,
+    tipo VARCHAR(20) NOT NULL, -- 'RESERVADA', 'PAGA', 'CANCELADA', 'EXPIRADA'
+    payload JSONB NOT NULL,
+    criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    publicado_em TIMESTAMP
+);
+
+-- Leitura dos pendentes de publicação em ordem de gravação
+CREATE INDEX IF NOT EXISTS idx_passagem_outbox_pendentes
+    ON passagem_outbox (id)
+    WHERE publicado_em IS NULL;
+
+-- Limpeza dos já publicados
+CREATE INDEX IF NOT EXISTS idx_passagem_outbox_publicado_em
+    ON passagem_outbox (publicado_em)
+    WHERE publicado_em IS NOT NULL;
@@ -0,0 +1,10 @@
+-- IDs gerados pelo Hibernate com sequência pooled-lo (allocationSize = 50 nas entidades).
+-- Cada nextval reserva um bloco de 50 IDs para a aplicação, o que libera o batch de INSERTs
+-- (com IDENTITY o Hibernate precisa executar cada INSERT para conhecer o ID).
+-- O INCREMENT BY deve ser igual ao allocationSize. Inserts que usam o DEFAULT da coluna
+-- (importação de viagens, scripts) continuam corretos: recebem o início do próximo bloco.
+ALTER SEQUENCE usuarios_id_seq INCREMENT BY 50;
+ALTER SEQUENCE empresas_id_seq INCREMENT BY 50;
+ALTER SEQUENCE documentos_id_seq INCREMENT BY 50;
+ALTER SEQUENCE viagens_id_seq INCREMENT BY 50;
+ALTER SEQUENCE passagens_id_seq INCREMENT BY 50;
@@ -0,0 +1,16 @@
+-- Reservas aceitas (202) que o gravador assíncrono não conseguiu gravar. Sem chaves estrangeiras:
+-- a falha pode ser justamente a viagem ou o usuário terem sido removidos.
+CREATE TABLE IF NOT EXISTS reservas_recusadas (
+    codigo VARCHAR(36) PRIMARY KEY,
+    viagem_id BIGINT NOT NULL,
+    passageiro_id BIGINT NOT NULL,
+    poltrona INTEGER,
+    motivo VARCHAR(255) NOT NULL,
+    recusada_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservas_recusadas_recusada_em ON reservas_recusadas (recusada_em);
+
+-- Vendas além da capacidade passam a falhar no banco, não só no mapa de assentos em memória
+UPDATE viagens SET vagas_disponiveis = 0 WHERE vagas_disponiveis < 0;
+ALTER TABLE viagens ADD CONSTRAINT ck_viagens_vagas_disponiveis CHECK (vagas_disponiveis >= 0);
@@ -0,0 +1,5 @@
+-- Sincronização dos mapas de assentos entre instâncias: cada uma relê os cancelamentos
+-- e expirações recentes do outbox
+CREATE INDEX IF NOT EXISTS idx_passagem_outbox_liberacoes
+    ON passagem_outbox (criado_em)
+    WHERE tipo IN ('CANCELADA', 'EXPIRADA');
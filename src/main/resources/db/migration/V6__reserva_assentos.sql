@@ -0,0 +1,16 @@
+-- Suporte à venda de passagens com reserva de assentos em memória
+
+-- 1. Versão para controle de concorrência otimista na atualização de vagas
+ALTER TABLE viagens ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+-- 2. Código público da reserva (gerado antes da gravação assíncrona)
+ALTER TABLE passagens ADD COLUMN codigo VARCHAR(36);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_passagens_codigo ON passagens (codigo);
+
+-- 3. Garante no banco que uma poltrona não seja vendida duas vezes (ex.: mais de uma instância da API)
+CREATE UNIQUE INDEX IF NOT EXISTS ux_passagens_viagem_poltrona
+    ON passagens (viagem_id, poltrona)
+    WHERE poltrona IS NOT NULL AND status <> 'CANCELADA';
+
+-- 4. Carga do mapa de assentos por viagem
+CREATE INDEX IF NOT EXISTS idx_passagens_viagem_status ON passagens (viagem_id, status);
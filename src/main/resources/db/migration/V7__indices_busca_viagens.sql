@@ -0,0 +1,2 @@
+-- Índice composto para a busca de viagens por rota e data (paginação por cursor em data_partida, id)
+CREATE INDEX IF NOT EXISTS idx_viagens_rota_partida ON viagens (origem, destino, data_partida, id);
@@ -0,0 +1,5 @@
+-- Upload direto ao MinIO via URL pré-assinada: o documento é criado antes do objeto existir
+ALTER TABLE documentos ADD COLUMN IF NOT EXISTS status VARCHAR(20) NOT NULL DEFAULT 'DISPONIVEL';
+ALTER TABLE documentos ADD COLUMN IF NOT EXISTS tamanho_bytes BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_documentos_usuario ON documentos (usuario_id);
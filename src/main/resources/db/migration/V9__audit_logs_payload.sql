@@ -0,0 +1,2 @@
+-- Argumentos dos métodos auditados em JSONB compacto; details passa a ter só método e status
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS payload JSONB;
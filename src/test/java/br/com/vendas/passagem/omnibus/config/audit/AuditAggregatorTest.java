@@ -0,0 +1,147 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.vendas.passagem.omnibus.domain.audit.AuditLog;
+import br.com.vendas.passagem.omnibus.service.AuditLogService;
+
+class AuditAggregatorTest {
+
+    private static final Pattern AGREGADO = Pattern.compile("Agregado: (\\d+) chamadas");
+
+    private final List<AuditLog> registrados = Collections.synchronizedList(new ArrayList<>());
+    private AuditLogService auditLogService;
+    private AuditPolicyProperties properties;
+    private AuditAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        auditLogService = mock(AuditLogService.class);
+        when(auditLogService.resolveUsername()).thenReturn("maria");
+        when(auditLogService.registrar(any())).thenAnswer(invocation -> {
+            registrados.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        properties = new AuditPolicyProperties();
+        aggregator = new AuditAggregator(auditLogService, properties);
+    }
+
+    @Test
+    @DisplayName("Chamadas iguais na janela devem virar um registro com a contagem e o id da entidade")
+    void agregaPorChave() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(aggregator.agregar("READ", "Empresa", 42L, "obterPorIdResponseDTO", Map.of("id", 42L))).isTrue();
+        }
+        aggregator.agregar("READ", "Empresa", 7L, "obterPorIdResponseDTO", Map.of("id", 7L));
+
+        aggregator.descarregar();
+
+        assertThat(registrados).hasSize(2);
+        AuditLog empresa42 = registrados.stream().filter(r -> r.getEntityId() == 42L).findFirst().orElseThrow();
+        assertThat(empresa42.getEntityName()).isEqualTo("Empresa");
+        assertThat(empresa42.getAction()).isEqualTo("READ");
+        assertThat(empresa42.getUsername()).isEqualTo("maria");
+        assertThat(empresa42.getCreatedAt()).isNotNull();
+        assertThat(contagem(empresa42)).isEqualTo(5);
+
+        // A janela seguinte começa vazia
+        registrados.clear();
+        aggregator.descarregar();
+        assertThat(registrados).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Acima do limite de chaves a chamada não é agregada; chaves existentes continuam contando")
+    void limiteDeChaves() {
+        properties.getAgregacao().setMaxChaves(2);
+
+        assertThat(aggregator.agregar("READ", "Empresa", 1L, "obter", Map.of())).isTrue();
+        assertThat(aggregator.agregar("READ", "Empresa", 2L, "obter", Map.of())).isTrue();
+        assertThat(aggregator.agregar("READ", "Empresa", 3L, "obter", Map.of())).isFalse();
+        assertThat(aggregator.agregar("READ", "Empresa", 1L, "obter", Map.of())).isTrue();
+
+        aggregator.descarregar();
+        assertThat(registrados).hasSize(2);
+        assertThat(aggregator.agregar("READ", "Empresa", 3L, "obter", Map.of())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Descarregar durante as chamadas não deve perder nenhuma contagem")
+    void descarregarConcorrente() throws Exception {
+        int threads = 8;
+        int porThread = 20_000;
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            Future<?> descarregador = executor.submit(() -> {
+                largada.await();
+                while (rodando.get()) {
+                    aggregator.descarregar();
+                }
+                return null;
+            });
+            List<Future<?>> chamadas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long entidade = t % 2;
+                chamadas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porThread; i++) {
+                        aggregator.agregar("READ", "Empresa", entidade, "obter", Map.of());
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> chamada : chamadas) {
+                chamada.get(30, TimeUnit.SECONDS);
+            }
+            rodando.set(false);
+            descarregador.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        aggregator.descarregar();
+
+        long total;
+        synchronized (registrados) {
+            total = registrados.stream().mapToLong(AuditAggregatorTest::contagem).sum();
+        }
+        assertThat(total).isEqualTo((long) threads * porThread);
+    }
+
+    @Test
+    @DisplayName("Janela vazia não registra nada")
+    void janelaVazia() {
+        aggregator.descarregar();
+        verify(auditLogService, never()).registrar(any());
+    }
+
+    private static long contagem(AuditLog registro) {
+        Matcher matcher = AGREGADO.matcher(registro.getDetails());
+        assertThat(matcher.find()).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import br.com.vendas.passagem.omnibus.annotation.AuditIgnore;
+import br.com.vendas.passagem.omnibus.annotation.Auditable;
+
+class AuditArgumentCaptureTest {
+
+    private final AuditArgumentCapture capture = new AuditArgumentCapture();
+
+    @Test
+    @DisplayName("O id da entidade deve vir do primeiro parâmetro numérico chamado id ou terminado em Id")
+    void entityId() throws NoSuchMethodException {
+        Method porId = Alvo.class.getDeclaredMethod("obterPorId", String.class, Long.class);
+        Method porViagemId = Alvo.class.getDeclaredMethod("listar", long.class, int.class);
+        Method semId = Alvo.class.getDeclaredMethod("buscar", String.class, Integer.class);
+
+        assertThat(capture.entityId(porId, new Object[] {"x", 42L})).isEqualTo(42L);
+        assertThat(capture.entityId(porId, new Object[] {"x", null})).isNull();
+        assertThat(capture.entityId(porViagemId, new Object[] {7L, 3})).isEqualTo(7L);
+        assertThat(capture.entityId(semId, new Object[] {"Recife", 10})).isNull();
+    }
+
+    @Test
+    @DisplayName("Parâmetros e componentes sensíveis devem ser mascarados")
+    void mascaraSensiveis() throws NoSuchMethodException {
+        Method metodo = Alvo.class.getDeclaredMethod("alterarSenha", Long.class, String.class, String.class);
+
+        Map<String, Object> capturados = capture.capturar(metodo, new Object[] {1L, "nova-senha", "abc"});
+        Map<String, Object> cadastro = cadastro(capture.capturar(cadastrar(), argsCadastro()));
+
+        assertThat(capturados).containsExactly(entry("id", 1L), entry("senha", "***"), entry("token", "***"));
+        assertThat(cadastro).containsEntry("senha", "***").containsEntry("token", "***");
+        assertThat(capturados.values()).doesNotContain("nova-senha", "abc");
+    }
+
+    @Test
+    @DisplayName("Parâmetros com @AuditIgnore não devem ser registrados")
+    void auditIgnore() throws NoSuchMethodException {
+        Method metodo = Alvo.class.getDeclaredMethod("enviar", Long.class, InputStream.class, MultipartFile.class);
+        MultipartFile arquivo = new MockMultipartFile("arquivo", "rg.pdf", "application/pdf", new byte[10]);
+
+        Map<String, Object> capturados = capture.capturar(metodo, new Object[] {1L, InputStream.nullInputStream(), arquivo});
+
+        assertThat(capturados).containsOnlyKeys("usuarioId", "arquivo");
+        assertThat(capturados.get("arquivo")).isEqualTo(Map.of("nome", "rg.pdf", "contentType", "application/pdf",
+            "tamanho", 10L));
+    }
+
+    @Test
+    @DisplayName("Com fields() só os parâmetros e propriedades listados devem ser registrados, mascarando os sensíveis")
+    void whitelist() throws NoSuchMethodException {
+        Method metodo = Alvo.class.getDeclaredMethod("atualizar", Long.class, Cadastro.class);
+        Object[] args = {5L, argsCadastro()[0]};
+
+        Map<String, Object> capturados = capture.capturar(metodo, args);
+
+        assertThat(capturados).containsOnlyKeys("id", "cadastro.nome", "cadastro.senha", "cadastro.endereco",
+            "cadastro.inexistente");
+        assertThat(capturados).containsEntry("id", 5L)
+            .containsEntry("cadastro.nome", "Maria")
+            .containsEntry("cadastro.senha", "***")
+            .containsEntry("cadastro.inexistente", null);
+        // A propriedade já está no nível 1: o record dela é copiado, o que estiver abaixo vira só o tipo
+        assertThat(capturados.get("cadastro.endereco"))
+            .isEqualTo(Map.of("cidade", "Recife", "coordenada", "Coordenada"));
+    }
+
+    @Test
+    @DisplayName("fields() com parâmetro inexistente deve falhar ao montar o plano")
+    void whitelistInvalida() throws NoSuchMethodException {
+        Method metodo = Alvo.class.getDeclaredMethod("invalido", Long.class);
+
+        assertThatThrownBy(() -> capture.capturar(metodo, new Object[] {1L}))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("referencia parâmetro inexistente: usuario");
+    }
+
+    @Test
+    @DisplayName("Records devem ser copiados até dois níveis; abaixo disso, coleções e textos longos são resumidos")
+    void profundidadeDeRecords() throws NoSuchMethodException {
+        Map<String, Object> cadastro = cadastro(capture.capturar(cadastrar(), argsCadastro()));
+
+        assertThat(cadastro).containsEntry("nome", "Maria");
+        assertThat(cadastro.get("endereco")).isEqualTo(Map.of("cidade", "Recife", "coordenada", "Coordenada"));
+        assertThat(cadastro.get("telefones")).isEqualTo(Map.of("itens", 2));
+        assertThat((String) cadastro.get("observacao")).hasSize(259).endsWith("...");
+    }
+
+    private static Method cadastrar() throws NoSuchMethodException {
+        return Alvo.class.getDeclaredMethod("cadastrar", Cadastro.class);
+    }
+
+    private static Object[] argsCadastro() {
+        Endereco endereco = new Endereco("Recife", new Coordenada(-8.05, -34.9));
+        return new Object[] {new Cadastro("Maria", "segredo123", "tk", endereco, List.of("1", "2"), "x".repeat(300))};
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> cadastro(Map<String, Object> capturados) {
+        return (Map<String, Object>) capturados.get("cadastro");
+    }
+
+    record Coordenada(double latitude, double longitude) {
+    }
+
+    record Endereco(String cidade, Coordenada coordenada) {
+    }
+
+    record Cadastro(String nome, String senha, String token, Endereco endereco, List<String> telefones,
+                    String observacao) {
+    }
+
+    @SuppressWarnings("unused")
+    private static class Alvo {
+
+        void obterPorId(String filtro, Long id) {
+        }
+
+        void listar(long viagemId, int pagina) {
+        }
+
+        void buscar(String origem, Integer limite) {
+        }
+
+        void alterarSenha(Long id, String senha, String token) {
+        }
+
+        void enviar(Long usuarioId, @AuditIgnore InputStream conteudo, MultipartFile arquivo) {
+        }
+
+        void cadastrar(Cadastro cadastro) {
+        }
+
+        @Auditable(fields = {"id", "cadastro.nome", "cadastro.senha", "cadastro.endereco", "cadastro.inexistente"})
+        void atualizar(Long id, Cadastro cadastro) {
+        }
+
+        @Auditable(fields = "usuario.email")
+        void invalido(Long id) {
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.vendas.passagem.omnibus.domain.audit.AuditLog;
+
+/**
+ * Fila cheia → disco → reprocessamento, sem a thread de fundo: o teste chama flush e
+ * replaySpill diretamente.
+ */
+class AuditLogBatchWriterTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final List<String> gravados = new ArrayList<>();
+    private final AtomicInteger lote = new AtomicInteger();
+    private final List<Integer> lotesComFalha = new ArrayList<>();
+    private AuditLogBatchWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                if (lotesComFalha.contains(lote.incrementAndGet())) {
+                    throw new DataAccessResourceFailureException("banco fora do ar");
+                }
+                Collection<AuditLog> entries = invocation.getArgument(1);
+                entries.forEach(entry -> gravados.add(entry.getDetails()));
+                return new int[0][0];
+            });
+
+        writer = new AuditLogBatchWriter(jdbcTemplate, new ObjectMapper().findAndRegisterModules(), argumentos -> "{}");
+        ReflectionTestUtils.setField(writer, "enabled", false);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 2);
+        ReflectionTestUtils.setField(writer, "batchSize", 2);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", AuditOverflowPolicy.SPILL);
+        ReflectionTestUtils.setField(writer, "spillDirPath", spillDir.toString());
+        writer.start();
+    }
+
+    @Test
+    @DisplayName("Desabilitado, não deve iniciar a thread de gravação")
+    void semThreadQuandoDesabilitado() throws Exception {
+        assertThat(ReflectionTestUtils.getField(writer, "drainer")).isNull();
+        writer.stop();
+    }
+
+    @Test
+    @DisplayName("Com a fila cheia, o excedente deve ir para o disco e ser gravado no reprocessamento")
+    void filaCheiaVaiParaDisco() {
+        for (int i = 1; i <= 5; i++) {
+            writer.enqueue(evento("e" + i));
+        }
+
+        assertThat(writer.getQueueSize()).isEqualTo(2);
+        assertThat(writer.getSpilledCount()).isEqualTo(3);
+        assertThat(writer.getDroppedCount()).isZero();
+
+        writer.replaySpill();
+
+        assertThat(gravados).containsExactly("e3", "e4", "e5");
+        assertThat(spillDir).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("Lote que falha ao gravar deve ir para o disco")
+    void falhaNoFlushVaiParaDisco() {
+        lotesComFalha.add(1);
+
+        writer.flush(new ArrayList<>(List.of(evento("a"), evento("b"))));
+        writer.replaySpill();
+
+        assertThat(writer.getSpilledCount()).isEqualTo(2);
+        assertThat(gravados).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("Falha no meio do reprocessamento deve retomar do lote seguinte, sem regravar os confirmados")
+    void reprocessamentoRetomaDoCheckpoint() {
+        for (int i = 1; i <= 7; i++) {
+            writer.enqueue(evento("e" + i));
+        }
+        // e3..e7 no disco: lotes [e3,e4] ok, [e5,e6] falha
+        lotesComFalha.add(2);
+
+        writer.replaySpill();
+
+        assertThat(gravados).containsExactly("e3", "e4");
+        assertThat(spillDir.resolve("audit-spill.replay.checkpoint")).hasContent("2");
+
+        writer.replaySpill();
+
+        assertThat(gravados).containsExactly("e3", "e4", "e5", "e6", "e7");
+        assertThat(spillDir).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("Linha ilegível deve ser descartada sem travar o reprocessamento")
+    void linhaInvalidaDescartada() throws Exception {
+        writer.enqueue(evento("e1"));
+        writer.enqueue(evento("e2"));
+        writer.enqueue(evento("e3"));
+        Files.writeString(spillDir.resolve("audit-spill.ndjson"), "{quebrado\n", StandardCharsets.UTF_8,
+            StandardOpenOption.APPEND);
+        writer.enqueue(evento("e4"));
+
+        writer.replaySpill();
+
+        assertThat(gravados).containsExactly("e3", "e4");
+        assertThat(writer.getDroppedCount()).isEqualTo(1);
+        assertThat(spillDir).isEmptyDirectory();
+    }
+
+    private static AuditLog evento(String details) {
+        return AuditLog.builder()
+            .entityName("Passagem")
+            .action("CRIAR")
+            .username("maria")
+            .details(details)
+            .build();
+    }
+}
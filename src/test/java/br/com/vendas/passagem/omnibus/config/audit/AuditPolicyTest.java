@@ -0,0 +1,82 @@
+package br.com.vendas.passagem.omnibus.config.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.vendas.passagem.omnibus.config.audit.AuditPolicy.Decisao;
+
+class AuditPolicyTest {
+
+    private AuditPolicyProperties properties;
+    private AuditPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditPolicyProperties();
+        policy = new AuditPolicy(properties);
+    }
+
+    @Test
+    @DisplayName("Mutações devem ser sempre registradas, mesmo com amostragem zero ou agregação configuradas")
+    void mutacoesSempreRegistradas() {
+        properties.getAmostragemPorAcao().put("UPDATE", 0.0);
+        properties.getAgregacao().setAcoes(Set.of("CREATE", "READ"));
+
+        for (String acao : new String[] {"CREATE", "UPDATE", "DELETE"}) {
+            assertThat(policy.decidir(acao, "Empresa")).isEqualTo(Decisao.REGISTRAR);
+        }
+    }
+
+    @Test
+    @DisplayName("Entidade em sempre-auditar deve ignorar agregação e amostragem")
+    void sempreAuditar() {
+        properties.setSempreAuditar(Set.of("Documento"));
+        properties.getAgregacao().setAcoes(Set.of("READ"));
+        properties.getAmostragemPorAcao().put("READ", 0.0);
+
+        assertThat(policy.decidir("READ", "Documento")).isEqualTo(Decisao.REGISTRAR);
+        assertThat(policy.decidir("READ", "Empresa")).isEqualTo(Decisao.AGREGAR);
+    }
+
+    @Test
+    @DisplayName("Sem configuração, leituras são registradas; com taxa zero, descartadas")
+    void amostragemPorAcao() {
+        assertThat(policy.decidir("READ", "Empresa")).isEqualTo(Decisao.REGISTRAR);
+
+        properties.getAmostragemPorAcao().put("READ", 0.0);
+        assertThat(policy.decidir("READ", "Empresa")).isEqualTo(Decisao.DESCARTAR);
+        assertThat(policy.decidir("EXECUTE", "Empresa")).isEqualTo(Decisao.REGISTRAR);
+    }
+
+    @Test
+    @DisplayName("Taxa por entidade deve ter precedência sobre a taxa por ação")
+    void amostragemPorEntidade() {
+        properties.getAmostragemPorAcao().put("READ", 0.0);
+        properties.getAmostragem().put("Usuario", Map.of("READ", 1.0));
+
+        assertThat(policy.decidir("READ", "Usuario")).isEqualTo(Decisao.REGISTRAR);
+        assertThat(policy.decidir("READ", "Empresa")).isEqualTo(Decisao.DESCARTAR);
+    }
+
+    @Test
+    @DisplayName("Taxa fracionária deve registrar aproximadamente essa fração das chamadas")
+    void amostragemFracionaria() {
+        properties.getAmostragemPorAcao().put("READ", 0.2);
+
+        int registradas = 0;
+        int total = 20_000;
+        for (int i = 0; i < total; i++) {
+            if (policy.decidir("READ", "Empresa") == Decisao.REGISTRAR) {
+                registradas++;
+            }
+        }
+
+        assertThat(registradas / (double) total).isBetween(0.18, 0.22);
+    }
+}
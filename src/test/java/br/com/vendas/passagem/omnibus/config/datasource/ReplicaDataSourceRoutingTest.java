@@ -0,0 +1,128 @@
+package br.com.vendas.passagem.omnibus.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.service.reserva.MapaAssentos;
+import br.com.vendas.passagem.omnibus.service.reserva.MapaAssentosRegistry;
+import br.com.vendas.passagem.omnibus.support.DadosTeste;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Roteamento das transações somente leitura para a réplica e volta ao primário quando ela cai.
+ * A "réplica" é um segundo PostgreSQL independente, com outro nome de banco para identificar
+ * para onde cada transação foi. Ela não tem as tabelas da aplicação (o Flyway só roda no
+ * primário), então uma consulta de entidade roteada por engano para ela falha.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "sentry.dsn=",
+    "datasource.replica.enabled=true",
+    // A verificação é disparada pelo teste
+    "datasource.replica.verificacao-ms=3600000"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaDataSourceRoutingTest {
+
+    @Container
+    static PostgreSQLContainer<?> primario = new PostgreSQLContainer<>("postgres:15").withDatabaseName("primario");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15").withDatabaseName("replica");
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primario::getJdbcUrl);
+        registry.add("spring.datasource.username", primario::getUsername);
+        registry.add("spring.datasource.password", primario::getPassword);
+        registry.add("datasource.replica.url", replica::getJdbcUrl);
+        registry.add("datasource.replica.username", replica::getUsername);
+        registry.add("datasource.replica.password", replica::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLeitura replicaLeitura;
+
+    @Autowired
+    private MapaAssentosRegistry mapaAssentosRegistry;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @Order(1)
+    @DisplayName("Mapa de assentos e usuário do token devem ser lidos do primário mesmo com a réplica em uso")
+    void leiturasCriticasNoPrimario() {
+        replicaLeitura.verificar();
+        assertThat(replicaLeitura.usavel()).isTrue();
+
+        long passageiro = DadosTeste.usuario(jdbcTemplate, "PASSAGEIRO");
+        long empresa = DadosTeste.empresa(jdbcTemplate, DadosTeste.usuario(jdbcTemplate, "EMPRESA"));
+        long viagem = DadosTeste.viagem(jdbcTemplate, empresa, "Recife", "Natal", LocalDateTime.now().plusDays(3), 40, 38);
+        DadosTeste.passagem(jdbcTemplate, viagem, passageiro, "PAGA", 7, null);
+        DadosTeste.passagem(jdbcTemplate, viagem, passageiro, "PENDENTE", 8, LocalDateTime.now().plusMinutes(15));
+        double leiturasNaReplica = leiturasNaReplica();
+
+        MapaAssentos mapa = mapaAssentosRegistry.obter(viagem);
+
+        assertThat(mapa.getLivres()).isEqualTo(38);
+        assertThat(usuarioRepository.findComPerfisById(passageiro)).isPresent();
+        assertThat(leiturasNaReplica()).isEqualTo(leiturasNaReplica);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Transação readOnly deve ler da réplica e as demais do primário; sem réplica, tudo no primário")
+    void roteamento() {
+        replicaLeitura.verificar();
+        assertThat(replicaLeitura.usavel()).isTrue();
+
+        assertThat(bancoAtual(true)).isEqualTo("replica");
+        assertThat(bancoAtual(false)).isEqualTo("primario");
+        assertThat(jdbcTemplate.queryForObject("select current_database()", String.class)).isEqualTo("primario");
+
+        replica.stop();
+        replicaLeitura.verificar();
+
+        assertThat(replicaLeitura.usavel()).isFalse();
+        assertThat(bancoAtual(true)).isEqualTo("primario");
+    }
+
+    private double leiturasNaReplica() {
+        return meterRegistry.get("datasource.leituras").tag("destino", "replica").counter().count();
+    }
+
+    private String bancoAtual(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select current_database()", String.class));
+    }
+}
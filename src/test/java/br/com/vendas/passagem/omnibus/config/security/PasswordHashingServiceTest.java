@@ -0,0 +1,155 @@
+package br.com.vendas.passagem.omnibus.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.vendas.passagem.omnibus.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Limites do pool de hash de senhas: por origem, fila cheia e tempo de espera, todos com 429.
+ * A senha "lenta" prende a thread do pool até o teste liberá-la.
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final CountDownLatch iniciadas = new CountDownLatch(1);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        RequestContextHolder.resetRequestAttributes();
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Origem no limite de operações em andamento deve receber 429; outras origens seguem")
+    void limitePorOrigem() throws Exception {
+        service = criar(2, 8, 1, 5000);
+
+        CompletableFuture<Boolean> lenta = CompletableFuture.supplyAsync(() -> {
+            origem("10.0.0.1");
+            try {
+                return service.matches("lenta", "hash");
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+        assertThat(iniciadas.await(5, TimeUnit.SECONDS)).isTrue();
+
+        origem("10.0.0.1");
+        assertThatThrownBy(() -> service.matches("rapida", "hash"))
+            .isInstanceOf(TooManyRequestsException.class)
+            .extracting(e -> ((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(1L);
+        assertThat(recusados("origem")).isEqualTo(1);
+
+        origem("10.0.0.2");
+        assertThat(service.matches("rapida", "hash")).isTrue();
+
+        liberar.countDown();
+        assertThat(lenta.get(5, TimeUnit.SECONDS)).isTrue();
+
+        // A vaga da origem é devolvida ao terminar
+        origem("10.0.0.1");
+        assertThat(service.matches("rapida", "hash")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Com o pool ocupado e a fila cheia a operação deve ser recusada com 429")
+    void filaCheia() throws Exception {
+        service = criar(1, 1, 2, 5000);
+        service.encodeDepois("lenta", hash -> { });
+        assertThat(iniciadas.await(5, TimeUnit.SECONDS)).isTrue();
+        // Ocupa a única posição da fila
+        service.encodeDepois("lenta", hash -> { });
+
+        assertThatThrownBy(() -> service.encode("rapida"))
+            .isInstanceOf(TooManyRequestsException.class)
+            .hasMessageContaining("sobrecarregado");
+        assertThat(recusados("fila")).isEqualTo(1);
+
+        // Tarefa em segundo plano com a fila cheia é descartada sem erro
+        service.encodeDepois("rapida", hash -> { });
+        assertThat(recusados("fila")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Hash que passa do tempo limite deve responder 429 e liberar a vaga da origem")
+    void tempoLimite() {
+        service = criar(1, 8, 1, 100);
+        origem("10.0.0.1");
+
+        assertThatThrownBy(() -> service.matches("lenta", "hash"))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThat(recusados("timeout")).isEqualTo(1);
+
+        // A tarefa foi cancelada (interrompida) e a origem pode tentar de novo
+        assertThat(service.matches("rapida", "hash")).isTrue();
+        assertThat(recusados("origem")).isZero();
+    }
+
+    private PasswordHashingService criar(int threads, int queueCapacity, int maxPorOrigem, long timeoutMs) {
+        PasswordHashingService hashing = new PasswordHashingService(new EncoderLento(), meterRegistry);
+        ReflectionTestUtils.setField(hashing, "threads", threads);
+        ReflectionTestUtils.setField(hashing, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(hashing, "maxPorOrigem", maxPorOrigem);
+        ReflectionTestUtils.setField(hashing, "timeoutMs", timeoutMs);
+        hashing.start();
+        return hashing;
+    }
+
+    private static void origem(String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(ip);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private double recusados(String motivo) {
+        return meterRegistry.get("senha.hash.recusados").tag("motivo", motivo).counter().count();
+    }
+
+    private class EncoderLento implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence senha) {
+            esperarSeLenta(senha);
+            return "hash";
+        }
+
+        @Override
+        public boolean matches(CharSequence senha, String hash) {
+            esperarSeLenta(senha);
+            return true;
+        }
+
+        private void esperarSeLenta(CharSequence senha) {
+            if (!"lenta".contentEquals(senha)) {
+                return;
+            }
+            iniciadas.countDown();
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
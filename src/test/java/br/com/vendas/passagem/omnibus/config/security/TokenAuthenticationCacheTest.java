@@ -0,0 +1,158 @@
+package br.com.vendas.passagem.omnibus.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache.CachedAuthentication;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+
+/**
+ * Cache de tokens validados: acerto, cópia do principal por leitura, expiração e invalidação
+ * por usuário, inclusive depois do commit da transação.
+ */
+class TokenAuthenticationCacheTest {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_PASSAGEIRO"));
+
+    private TokenAuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = novoCache(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Token em cache deve devolver as claims e uma cópia do usuário sem a senha")
+    void acerto() {
+        cache.put("token-1", usuario(1L), AUTHORITIES, Instant.now().plusSeconds(60));
+
+        CachedAuthentication cached = cache.get("token-1");
+
+        assertThat(cached).isNotNull();
+        assertThat(cached.usuarioId()).isEqualTo(1L);
+        assertThat(cached.authorities()).isEqualTo(AUTHORITIES);
+        assertThat(cached.principal().getEmail()).isEqualTo("usuario1@example.com");
+        assertThat(cached.principal().getPerfis()).containsExactly(TipoPerfil.PASSAGEIRO);
+        assertThat(cached.principal().getSenha()).isNull();
+        assertThat(cache.get("outro-token")).isNull();
+    }
+
+    @Test
+    @DisplayName("Cada leitura deve receber a sua cópia do principal, sem afetar o cache nem as outras requisições")
+    void principalIsolado() {
+        Usuario original = usuario(1L);
+        cache.put("token-1", original, AUTHORITIES, Instant.now().plusSeconds(60));
+        original.setNome("Alterado após o put");
+
+        Usuario primeiro = cache.get("token-1").principal();
+        Usuario segundo = cache.get("token-1").principal();
+        assertThat(primeiro).isNotSameAs(segundo).isNotSameAs(original);
+
+        primeiro.setPerfilAtivo(TipoPerfil.ADMIN);
+        primeiro.getPerfis().add(TipoPerfil.ADMIN);
+        primeiro.setNome("Alterado na requisição");
+
+        Usuario terceiro = cache.get("token-1").principal();
+        assertThat(segundo.getPerfilAtivo()).isEqualTo(TipoPerfil.PASSAGEIRO);
+        assertThat(terceiro.getPerfilAtivo()).isEqualTo(TipoPerfil.PASSAGEIRO);
+        assertThat(terceiro.getPerfis()).containsExactly(TipoPerfil.PASSAGEIRO);
+        assertThat(terceiro.getNome()).isEqualTo("Usuário 1");
+    }
+
+    @Test
+    @DisplayName("Token expirado ou sem expiração não deve ficar em cache")
+    void expiracao() {
+        cache.put("expirado", usuario(1L), AUTHORITIES, Instant.now().minusSeconds(1));
+        cache.put("sem-expiracao", usuario(1L), AUTHORITIES, null);
+
+        assertThat(cache.get("expirado")).isNull();
+        assertThat(cache.get("sem-expiracao")).isNull();
+    }
+
+    @Test
+    @DisplayName("Invalidar um usuário deve remover só os tokens dele")
+    void invalidarUsuario() {
+        Instant expiracao = Instant.now().plusSeconds(60);
+        cache.put("token-1a", usuario(1L), AUTHORITIES, expiracao);
+        cache.put("token-1b", usuario(1L), AUTHORITIES, expiracao);
+        cache.put("token-2", usuario(2L), AUTHORITIES, expiracao);
+
+        cache.invalidarUsuario(1L);
+
+        assertThat(cache.get("token-1a")).isNull();
+        assertThat(cache.get("token-1b")).isNull();
+        assertThat(cache.get("token-2")).isNotNull();
+
+        cache.invalidarTudo();
+        assertThat(cache.get("token-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Dentro de uma transação a invalidação deve ser repetida após o commit")
+    void invalidarAposCommit() {
+        Instant expiracao = Instant.now().plusSeconds(60);
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put("token-1", usuario(1L), AUTHORITIES, expiracao);
+
+        cache.invalidarUsuario(1L);
+        assertThat(cache.get("token-1")).isNull();
+
+        // Requisição concorrente recoloca o estado anterior antes do commit
+        cache.put("token-1", usuario(1L), AUTHORITIES, expiracao);
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get("token-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Com o cache desligado nada deve ser guardado")
+    void desligado() {
+        TokenAuthenticationCache desligado = novoCache(false);
+        desligado.put("token-1", usuario(1L), AUTHORITIES, Instant.now().plusSeconds(60));
+
+        assertThat(desligado.get("token-1")).isNull();
+    }
+
+    private static TokenAuthenticationCache novoCache(boolean enabled) {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache();
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        cache.init();
+        return cache;
+    }
+
+    private static Usuario usuario(Long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNome("Usuário " + id);
+        usuario.setEmail("usuario" + id + "@example.com");
+        usuario.setSenha("hash");
+        usuario.setCpf("12345678909");
+        usuario.setPerfis(new HashSet<>(Set.of(TipoPerfil.PASSAGEIRO)));
+        usuario.setPerfilAtivo(TipoPerfil.PASSAGEIRO);
+        return usuario;
+    }
+}
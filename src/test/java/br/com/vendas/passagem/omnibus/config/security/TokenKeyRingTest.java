@@ -0,0 +1,107 @@
+package br.com.vendas.passagem.omnibus.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+/**
+ * Rotação de chaves pelo arquivo: tokens das chaves trocadas ou removidas deixam de valer,
+ * inclusive os que estavam no cache de autenticação.
+ */
+class TokenKeyRingTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Path arquivo;
+    private TokenAuthenticationCache tokenAuthenticationCache;
+    private TokenKeyRing keyRing;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        arquivo = diretorio.resolve("jwt-keys.properties");
+        escrever("v2=segredo-v2\nactive=v2\n");
+        tokenAuthenticationCache = mock(TokenAuthenticationCache.class);
+        keyRing = new TokenKeyRing(tokenAuthenticationCache);
+        ReflectionTestUtils.setField(keyRing, "secret", "segredo-padrao");
+        ReflectionTestUtils.setField(keyRing, "defaultKid", "v1");
+        ReflectionTestUtils.setField(keyRing, "keysFile", arquivo.toString());
+        keyRing.init();
+    }
+
+    @Test
+    @DisplayName("Trocar o segredo de uma chave existente deve invalidar o cache e os tokens antigos")
+    void trocaDeSegredoInvalida() throws IOException {
+        String token = emitir();
+
+        escrever("v2=segredo-v2-novo\nactive=v2\n");
+        keyRing.reload();
+
+        verify(tokenAuthenticationCache).invalidarTudo();
+        assertThatThrownBy(() -> verificar(token)).isInstanceOf(JWTVerificationException.class);
+        assertThat(verificar(emitir()).getKeyId()).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Remover uma chave deve invalidar o cache")
+    void remocaoDeChaveInvalida() throws IOException {
+        escrever("v3=segredo-v3\nactive=v3\n");
+        keyRing.reload();
+
+        verify(tokenAuthenticationCache).invalidarTudo();
+        assertThat(keyRing.verifier("v2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Incluir uma chave nova e ativá-la deve manter válidos os tokens já emitidos")
+    void inclusaoDeChaveMantemTokens() throws IOException {
+        String token = emitir();
+
+        escrever("v2=segredo-v2\nv3=segredo-v3\nactive=v3\n");
+        keyRing.reload();
+
+        verify(tokenAuthenticationCache, never()).invalidarTudo();
+        assertThat(verificar(token).getKeyId()).isEqualTo("v2");
+        assertThat(keyRing.signingKey().kid()).isEqualTo("v3");
+    }
+
+    @Test
+    @DisplayName("Arquivo com chave ativa inexistente deve manter a configuração anterior")
+    void chaveAtivaInexistenteMantemAnterior() throws IOException {
+        escrever("v2=segredo-v2\nactive=v9\n");
+        keyRing.reload();
+
+        assertThat(keyRing.signingKey().kid()).isEqualTo("v2");
+        verify(tokenAuthenticationCache, never()).invalidarTudo();
+    }
+
+    private String emitir() {
+        TokenKeyRing.SigningKey chave = keyRing.signingKey();
+        return JWT.create().withIssuer(TokenKeyRing.ISSUER).withKeyId(chave.kid()).withSubject("1").sign(chave.algorithm());
+    }
+
+    private DecodedJWT verificar(String token) {
+        String kid = JWT.decode(token).getKeyId();
+        return keyRing.verifier(kid).verify(token);
+    }
+
+    private void escrever(String conteudo) throws IOException {
+        Files.writeString(arquivo, conteudo);
+    }
+}
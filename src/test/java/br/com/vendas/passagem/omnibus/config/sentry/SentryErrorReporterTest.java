@@ -0,0 +1,186 @@
+package br.com.vendas.passagem.omnibus.config.sentry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.sentry.NoOpTransportFactory;
+import io.sentry.Sentry;
+
+/**
+ * Filtros aplicados na thread da requisição: amostragem de 4xx, janela por fingerprint e
+ * limite global por segundo. A thread de envio é parada logo após o start, então o que foi
+ * aprovado fica na fila e pode ser inspecionado; nada sai para o Sentry.
+ */
+class SentryErrorReporterTest {
+
+    private static final WebRequest REQUEST = new ServletWebRequest(new MockHttpServletRequest("GET", "/viagem/1"));
+
+    private SimpleMeterRegistry meterRegistry;
+    private SentryErrorReporter reporter;
+
+    @BeforeAll
+    static void iniciarSentry() {
+        Sentry.init(options -> {
+            options.setDsn("https://chave@localhost/1");
+            options.setTransportFactory(NoOpTransportFactory.getInstance());
+        });
+    }
+
+    @AfterAll
+    static void fecharSentry() {
+        Sentry.close();
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        reporter = novoReporter(1.0, 60, 3, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reporter.stop();
+    }
+
+    @Test
+    @DisplayName("Com amostragem zero todo 4xx deve ser descartado, mas 5xx nunca é amostrado")
+    void amostragem4xxZero() throws InterruptedException {
+        reporter = novoReporter(0.0, 60, 3, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            reporter.reportar(new IllegalArgumentException(), HttpStatus.BAD_REQUEST, REQUEST, Map.of());
+        }
+        reporter.reportar(new IllegalStateException(), HttpStatus.INTERNAL_SERVER_ERROR, REQUEST, Map.of());
+
+        assertThat(contador("amostrado")).isEqualTo(10);
+        assertThat(reporter.getQueueSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Com amostragem total o 4xx deve seguir para a deduplicação como um 5xx")
+    void amostragem4xxTotal() {
+        reporter.reportar(new IllegalArgumentException(), HttpStatus.NOT_FOUND, REQUEST, Map.of());
+
+        assertThat(contador("amostrado")).isZero();
+        assertThat(reporter.getQueueSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Acima do máximo por fingerprint as ocorrências devem ser suprimidas e anexadas ao próximo envio")
+    void janelaPorFingerprint() throws InterruptedException {
+        reporter = novoReporter(1.0, 1, 3, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            reporter.reportar(erro(), HttpStatus.INTERNAL_SERVER_ERROR, REQUEST, Map.of());
+        }
+        assertThat(reporter.getQueueSize()).isEqualTo(3);
+        assertThat(contador("duplicado")).isEqualTo(2);
+
+        // Outro status é outro fingerprint, com janela própria
+        reporter.reportar(erro(), HttpStatus.BAD_GATEWAY, REQUEST, Map.of());
+        assertThat(reporter.getQueueSize()).isEqualTo(4);
+
+        Thread.sleep(1100);
+        reporter.reportar(erro(), HttpStatus.INTERNAL_SERVER_ERROR, REQUEST, Map.of());
+
+        assertThat(reporter.getQueueSize()).isEqualTo(5);
+        assertThat(suprimidasNaFila()).containsExactly(0L, 0L, 0L, 0L, 2L);
+    }
+
+    @Test
+    @DisplayName("Fingerprints diferentes acima do limite global no mesmo segundo devem ser descartados")
+    void limiteGlobalPorSegundo() throws InterruptedException {
+        reporter = novoReporter(1.0, 60, 3, 2);
+        HttpStatus[] status = {HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.NOT_IMPLEMENTED, HttpStatus.BAD_GATEWAY,
+            HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT};
+
+        aguardarInicioDoSegundo();
+        for (HttpStatus s : status) {
+            reporter.reportar(erro(), s, REQUEST, Map.of());
+        }
+        assertThat(reporter.getQueueSize()).isEqualTo(2);
+        assertThat(contador("limitado")).isEqualTo(3);
+
+        // No segundo seguinte o limite recomeça
+        aguardarInicioDoSegundo();
+        reporter.reportar(erro(), HttpStatus.HTTP_VERSION_NOT_SUPPORTED, REQUEST, Map.of());
+        assertThat(reporter.getQueueSize()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Com a fila cheia o evento deve ser descartado sem bloquear")
+    void filaCheia() throws InterruptedException {
+        reporter = novoReporter(1.0, 60, 3, 1000, 1);
+
+        reporter.reportar(erro(), HttpStatus.INTERNAL_SERVER_ERROR, REQUEST, Map.of());
+        reporter.reportar(erro(), HttpStatus.BAD_GATEWAY, REQUEST, Map.of());
+
+        assertThat(reporter.getQueueSize()).isEqualTo(1);
+        assertThat(contador("fila_cheia")).isEqualTo(1);
+    }
+
+    private SentryErrorReporter novoReporter(double amostragem4xx, long janelaSegundos, int maxPorFingerprint,
+                                             int maxPorSegundo) throws InterruptedException {
+        return novoReporter(amostragem4xx, janelaSegundos, maxPorFingerprint, maxPorSegundo, 100);
+    }
+
+    private SentryErrorReporter novoReporter(double amostragem4xx, long janelaSegundos, int maxPorFingerprint,
+                                             int maxPorSegundo, int capacidade) throws InterruptedException {
+        if (reporter != null) {
+            reporter.stop();
+        }
+        meterRegistry = new SimpleMeterRegistry();
+        SentryErrorReporter novo = new SentryErrorReporter(meterRegistry);
+        ReflectionTestUtils.setField(novo, "queueCapacity", capacidade);
+        ReflectionTestUtils.setField(novo, "amostragem4xx", amostragem4xx);
+        ReflectionTestUtils.setField(novo, "janelaSegundos", janelaSegundos);
+        ReflectionTestUtils.setField(novo, "maxPorFingerprint", maxPorFingerprint);
+        ReflectionTestUtils.setField(novo, "maxPorSegundo", maxPorSegundo);
+        novo.start();
+        // Sem a thread de envio, o que for aprovado permanece na fila
+        novo.stop();
+        return novo;
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("sentry.eventos").tag("resultado", resultado).counter().count();
+    }
+
+    private Object[] suprimidasNaFila() {
+        BlockingQueue<?> fila = (BlockingQueue<?>) ReflectionTestUtils.getField(reporter, "queue");
+        return fila.stream().map(ocorrencia -> ReflectionTestUtils.invokeMethod(ocorrencia, "suprimidas")).toArray();
+    }
+
+    /**
+     * Exceções criadas aqui têm o mesmo primeiro frame da aplicação, então o fingerprint só
+     * varia com o status.
+     */
+    private static RuntimeException erro() {
+        return new IllegalStateException("falha");
+    }
+
+    /**
+     * O limite global usa janelas fixas alinhadas ao segundo de System.nanoTime; começar logo
+     * após a virada evita que o lote do teste atravesse duas janelas.
+     */
+    private static void aguardarInicioDoSegundo() throws InterruptedException {
+        long segundo = TimeUnit.SECONDS.toNanos(1);
+        long restante = segundo - System.nanoTime() % segundo;
+        TimeUnit.NANOSECONDS.sleep(restante + TimeUnit.MILLISECONDS.toNanos(10));
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.vendas.passagem.omnibus.config.threads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * O monitor deve contar uma espera dentro de synchronized numa thread virtual e ignorar a
+ * mesma espera sob ReentrantLock. A partir do JDK 24 synchronized não prende mais a carrier,
+ * por isso o teste de detecção só roda até o 23.
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private static final long ESPERA_MS = 100;
+    // O RecordingStream entrega os eventos em lotes, cerca de uma vez por segundo
+    private static final long ENTREGA_MS = 3000;
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor();
+        ReflectionTestUtils.setField(monitor, "thresholdMs", 20L);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_23)
+    @DisplayName("Espera dentro de synchronized numa thread virtual deve ser registrada")
+    void detectaPinning() throws Exception {
+        Object monitorJava = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitorJava) {
+                dormir();
+            }
+        }).join();
+
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ENTREGA_MS);
+        while (monitor.getOcorrencias() == 0 && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+        assertThat(monitor.getOcorrencias()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Espera sob ReentrantLock não prende a carrier e não deve ser registrada")
+    void ignoraReentrantLock() throws Exception {
+        ReentrantLock lock = new ReentrantLock();
+        Thread.ofVirtual().start(() -> {
+            lock.lock();
+            try {
+                dormir();
+            } finally {
+                lock.unlock();
+            }
+        }).join();
+
+        Thread.sleep(ENTREGA_MS);
+        assertThat(monitor.getOcorrencias()).isZero();
+    }
+
+    private static void dormir() {
+        try {
+            Thread.sleep(ESPERA_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
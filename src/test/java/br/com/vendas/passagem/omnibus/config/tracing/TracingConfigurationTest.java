@@ -0,0 +1,74 @@
+package br.com.vendas.passagem.omnibus.config.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+
+/**
+ * Amostragem na origem (tudo vai para o tail sampling do coletor) e filtro das rotas do actuator.
+ */
+class TracingConfigurationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+
+    private final TracingConfiguration configuration = new TracingConfiguration();
+
+    @Test
+    @DisplayName("Todo trace deve ser amostrado na origem, inclusive sob muitos pedidos seguidos")
+    void amostraTudo() {
+        Sampler sampler = configuration.otelSampler();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(decisao(sampler, Context.root())).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+        }
+    }
+
+    @Test
+    @DisplayName("Um 'não amostrado' de quem chamou não descarta a parte deste serviço")
+    void ignoraPaiNaoAmostrado() {
+        SpanContext paiRemoto = SpanContext.createFromRemoteParent(TRACE_ID, SPAN_ID, TraceFlags.getDefault(),
+            TraceState.getDefault());
+        Context contexto = Context.root().with(Span.wrap(paiRemoto));
+
+        assertThat(decisao(configuration.otelSampler(), contexto)).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    }
+
+    @Test
+    @DisplayName("Requisições ao actuator não devem gerar observações; as demais sim")
+    void ignoraActuator() {
+        ObservationPredicate predicate = configuration.ignorarActuator();
+
+        assertThat(predicate.test("http.server.requests", requisicao("/actuator/prometheus"))).isFalse();
+        assertThat(predicate.test("http.server.requests", requisicao("/actuator/health"))).isFalse();
+        assertThat(predicate.test("http.server.requests", requisicao("/viagens/busca"))).isTrue();
+        assertThat(predicate.test("auditoria.log", new Observation.Context())).isTrue();
+    }
+
+    private static SamplingDecision decisao(Sampler sampler, Context contexto) {
+        return sampler.shouldSample(contexto, TRACE_ID, "GET /viagens", SpanKind.SERVER, Attributes.empty(), List.of())
+            .getDecision();
+    }
+
+    private static ServerRequestObservationContext requisicao(String uri) {
+        return new ServerRequestObservationContext(new MockHttpServletRequest("GET", uri), new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.vendas.passagem.omnibus.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import br.com.vendas.passagem.omnibus.config.sentry.SentryErrorReporter;
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
+import br.com.vendas.passagem.omnibus.config.security.TokenService;
+import br.com.vendas.passagem.omnibus.dto.response.AuditLogPaginaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.AuditLogResponseDTO;
+import br.com.vendas.passagem.omnibus.repository.AuditLogConsultaRepository.Filtro;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.service.auditoria.AuditConsultaService;
+import br.com.vendas.passagem.omnibus.service.auditoria.FormatoExportacao;
+
+@WebMvcTest(controllers = AuditLogController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AuditLogControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AuditConsultaService auditConsultaService;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private UsuarioRepository usuarioRepository;
+
+    @MockitoBean
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @MockitoBean
+    private SentryErrorReporter sentryErrorReporter;
+
+    private final Filtro filtro = new Filtro("Usuario", 1L, null,
+        LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+
+    @Test
+    @DisplayName("Deve retornar página de auditoria com cursor da próxima página")
+    @WithMockUser(username = "admin@example.com", roles = {"ADMIN"})
+    void deveRetornarPaginaDeAuditoria() throws Exception {
+        AuditLogResponseDTO registro = new AuditLogResponseDTO(10L, "Usuario", 1L, "UPDATE", "admin@example.com",
+            "Method: atualizarUser | Status: SUCCESS", "{\"id\":1}", LocalDateTime.of(2025, 1, 15, 10, 0));
+        when(auditConsultaService.filtro(eq("Usuario"), eq(1L), isNull(), any(), any())).thenReturn(filtro);
+        when(auditConsultaService.buscar(filtro, null, 20))
+            .thenReturn(new AuditLogPaginaResponseDTO(List.of(registro), "cursor-seguinte"));
+
+        mockMvc.perform(get("/auditoria")
+                .param("entidade", "Usuario")
+                .param("entidadeId", "1")
+                .param("inicio", "2025-01-01T00:00:00")
+                .param("fim", "2025-02-01T00:00:00")
+                .param("tamanho", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registros[0].id").value(10))
+                .andExpect(jsonPath("$.registros[0].action").value("UPDATE"))
+                .andExpect(jsonPath("$.registros[0].payload.id").value(1))
+                .andExpect(jsonPath("$.proximoCursor").value("cursor-seguinte"));
+    }
+
+    @Test
+    @DisplayName("Deve exportar auditoria em NDJSON como anexo")
+    @WithMockUser(username = "admin@example.com", roles = {"ADMIN"})
+    void deveExportarAuditoriaEmNdjson() throws Exception {
+        when(auditConsultaService.filtro(any(), any(), any(), any(), any())).thenReturn(filtro);
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(2);
+            saida.write("{\"id\":10}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(auditConsultaService).exportar(eq(filtro), eq(FormatoExportacao.NDJSON), any(OutputStream.class));
+
+        MvcResult resultado = mockMvc.perform(get("/auditoria/export").param("formato", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"auditoria.ndjson\""))
+                .andExpect(content().string("{\"id\":10}\n"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando formato de exportação é inválido")
+    @WithMockUser(username = "admin@example.com", roles = {"ADMIN"})
+    void deveRetornar400QuandoFormatoInvalido() throws Exception {
+        mockMvc.perform(get("/auditoria/export").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(auditConsultaService, never()).exportar(any(), any(), any());
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.vendas.passagem.omnibus.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
+import br.com.vendas.passagem.omnibus.config.security.TokenService;
+import br.com.vendas.passagem.omnibus.domain.Empresa;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.repository.EmpresaRepository;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.support.QueryCountInspector;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Número de comandos SQL por endpoint de leitura, com caches frios (segundo nível e tokens).
+ * Uma regressão de N+1 ou de carregamento EAGER altera a contagem e quebra o build.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.vendas.passagem.omnibus.support.QueryCountInspector",
+    "spring.jpa.show-sql=false",
+    "sentry.dsn="
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ConsultaQueryCountTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static final String SENHA = "senha123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Usuario admin;
+    private Empresa empresa;
+
+    @BeforeEach
+    void setUp() {
+        admin = usuarioRepository.save(novoUsuario(TipoPerfil.PASSAGEIRO, TipoPerfil.ADMIN));
+
+        empresa = new Empresa();
+        empresa.setUsuarioDono(admin);
+        empresa.setCnpj(digitos(14));
+        empresa.setNomeFantasia("Empresa Teste");
+        empresa.setRazaoSocial("Empresa Teste Ltda");
+        empresa = empresaRepository.save(empresa);
+    }
+
+    @Test
+    @DisplayName("Login deve executar 1 consulta (senha, perfis e empresa juntos)")
+    void login() throws Exception {
+        String corpo = "{\"email\":\"" + admin.getEmail() + "\",\"senha\":\"" + SENHA + "\",\"perfilDesejado\":\"PASSAGEIRO\"}";
+
+        assertThat(contarConsultas(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(corpo)))
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /usuario/me deve executar 2 consultas (token + projeção)")
+    void usuarioLogado() throws Exception {
+        assertThat(contarConsultas(get("/usuario/me").header(HttpHeaders.AUTHORIZATION, bearer(TipoPerfil.PASSAGEIRO))))
+            .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /usuario/{id} deve executar 2 consultas (token + projeção)")
+    void usuarioPorId() throws Exception {
+        assertThat(contarConsultas(get("/usuario/{id}", admin.getId()).header(HttpHeaders.AUTHORIZATION, bearer(TipoPerfil.ADMIN))))
+            .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /empresa/{id} deve executar 2 consultas (token + projeção com dono)")
+    void empresaPorId() throws Exception {
+        assertThat(contarConsultas(get("/empresa/{id}", empresa.getId()).header(HttpHeaders.AUTHORIZATION, bearer(TipoPerfil.ADMIN))))
+            .isEqualTo(2);
+    }
+
+    private int contarConsultas(RequestBuilder request) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        tokenAuthenticationCache.invalidarTudo();
+        QueryCountInspector.iniciar();
+        try {
+            mockMvc.perform(request).andExpect(status().isOk());
+            return QueryCountInspector.total();
+        } finally {
+            QueryCountInspector.parar();
+        }
+    }
+
+    private String bearer(TipoPerfil perfil) {
+        return "Bearer " + tokenService.gerarToken(admin, perfil);
+    }
+
+    private Usuario novoUsuario(TipoPerfil... perfis) {
+        String sufixo = digitos(11);
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuário " + sufixo);
+        usuario.setEmail("usuario" + sufixo + "@example.com");
+        usuario.setCpf(sufixo);
+        usuario.setSenha(passwordEncoder.encode(SENHA));
+        usuario.setPerfis(new HashSet<>(Set.of(perfis)));
+        return usuario;
+    }
+
+    private static String digitos(int quantidade) {
+        StringBuilder sb = new StringBuilder(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            sb.append(ThreadLocalRandom.current().nextInt(10));
+        }
+        return sb.toString();
+    }
+}
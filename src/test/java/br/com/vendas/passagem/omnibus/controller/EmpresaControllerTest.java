@@ -2,6 +2,7 @@ package br.com.vendas.passagem.omnibus.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -13,6 +14,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.InputStream;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,10 +32,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.vendas.passagem.omnibus.dto.request.EmpresaRequestDTO;
 import br.com.vendas.passagem.omnibus.dto.response.EmpresaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.ImportacaoViagensResponseDTO;
 import br.com.vendas.passagem.omnibus.dto.response.UsuarioResponseDTO;
+import br.com.vendas.passagem.omnibus.config.sentry.SentryErrorReporter;
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
 import br.com.vendas.passagem.omnibus.config.security.TokenService;
 import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
 import br.com.vendas.passagem.omnibus.service.EmpresaService;
+import br.com.vendas.passagem.omnibus.service.ViagemImportacaoService;
 
 @WebMvcTest(controllers = EmpresaController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -46,12 +55,21 @@ class EmpresaControllerTest {
     @MockitoBean
     private EmpresaService empresaService;
 
+    @MockitoBean
+    private ViagemImportacaoService viagemImportacaoService;
+
     @MockitoBean
     private TokenService tokenService;
 
     @MockitoBean
     private UsuarioRepository usuarioRepository;
 
+    @MockitoBean
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @MockitoBean
+    private SentryErrorReporter sentryErrorReporter;
+
     private EmpresaRequestDTO empresaRequestDTO;
     private EmpresaResponseDTO empresaResponseDTO;
     private UsuarioResponseDTO usuarioDonoDTO;
@@ -284,4 +302,41 @@ class EmpresaControllerTest {
     //             .contentType(MediaType.APPLICATION_JSON))
     //             .andExpect(status().isUnauthorized());
     // }
+
+    @Test
+    @DisplayName("Deve importar viagens em lote e relatar as linhas rejeitadas")
+    @WithMockUser(username = "empresa@example.com", roles = {"EMPRESA"})
+    void deveImportarViagensRelatandoLinhasRejeitadas() throws Exception {
+        String csv = """
+            origem,destino,dataPartida,preco,vagasTotais
+            São Paulo,Rio de Janeiro,2030-01-10T08:00,120.50,42
+            São Paulo,São Paulo,2030-01-10T09:00,0,42
+            """;
+        ImportacaoViagensResponseDTO resposta = new ImportacaoViagensResponseDTO(1L, 2, 1, 1,
+            List.of(new ImportacaoViagensResponseDTO.ErroLinha(3, "origem e destino devem ser diferentes")), false);
+        when(viagemImportacaoService.importar(eq(1L), isNull(), eq("text/csv"), any(InputStream.class)))
+            .thenReturn(resposta);
+
+        mockMvc.perform(post("/empresa/1/viagens/importacao")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importadas").value(1))
+                .andExpect(jsonPath("$.rejeitadas").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(3))
+                .andExpect(jsonPath("$.errosTruncados").value(false));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o formato da importação não é suportado")
+    @WithMockUser(username = "empresa@example.com", roles = {"EMPRESA"})
+    void deveRetornar400QuandoFormatoDaImportacaoNaoSuportado() throws Exception {
+        when(viagemImportacaoService.importar(eq(1L), isNull(), eq(MediaType.APPLICATION_XML_VALUE), any(InputStream.class)))
+            .thenThrow(new InvalidDtoException("Content-Type", "use text/csv ou application/x-ndjson"));
+
+        mockMvc.perform(post("/empresa/1/viagens/importacao")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<viagens/>"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,192 @@
+package br.com.vendas.passagem.omnibus.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.vendas.passagem.omnibus.config.sentry.SentryErrorReporter;
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
+import br.com.vendas.passagem.omnibus.config.security.TokenService;
+import br.com.vendas.passagem.omnibus.domain.enums.Status;
+import br.com.vendas.passagem.omnibus.dto.request.ReservaRequestDTO;
+import br.com.vendas.passagem.omnibus.dto.response.AssentosResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.PassagemResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.SituacaoReservaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.SituacaoReservaResponseDTO.Situacao;
+import br.com.vendas.passagem.omnibus.exception.BusinessException;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.service.PassagemService;
+import br.com.vendas.passagem.omnibus.service.ReservaService;
+
+@WebMvcTest(controllers = PassagemController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class PassagemControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ReservaService reservaService;
+
+    @MockitoBean
+    private PassagemService passagemService;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private UsuarioRepository usuarioRepository;
+
+    @MockitoBean
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @MockitoBean
+    private SentryErrorReporter sentryErrorReporter;
+
+    @Test
+    @DisplayName("Deve reservar poltrona e retornar 202")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveReservarPoltrona() throws Exception {
+        PassagemResponseDTO reserva = new PassagemResponseDTO(
+            "b0c1d2e3-0000-4000-8000-000000000001",
+            10L,
+            1L,
+            12,
+            Status.PENDENTE,
+            new BigDecimal("89.90"),
+            LocalDateTime.of(2026, 1, 10, 8, 30)
+        );
+
+        when(reservaService.reservar(any(ReservaRequestDTO.class), any())).thenReturn(reserva);
+
+        mockMvc.perform(post("/passagem")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ReservaRequestDTO(10L, 12))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.codigo").value("b0c1d2e3-0000-4000-8000-000000000001"))
+                .andExpect(jsonPath("$.viagemId").value(10))
+                .andExpect(jsonPath("$.poltrona").value(12))
+                .andExpect(jsonPath("$.status").value("PENDENTE"));
+
+        verify(reservaService, times(1)).reservar(any(ReservaRequestDTO.class), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 422 quando a poltrona já está ocupada")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornar422QuandoPoltronaOcupada() throws Exception {
+        when(reservaService.reservar(any(ReservaRequestDTO.class), any()))
+            .thenThrow(new BusinessException("Poltrona 12 já está ocupada"));
+
+        mockMvc.perform(post("/passagem")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ReservaRequestDTO(10L, 12))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Poltrona 12 já está ocupada"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando a viagem não for informada")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornar400SemViagem() throws Exception {
+        mockMvc.perform(post("/passagem")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ReservaRequestDTO(null, 0))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar os assentos livres da viagem")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornarAssentosLivres() throws Exception {
+        when(reservaService.obterAssentos(10L))
+            .thenReturn(new AssentosResponseDTO(10L, 4, 2, true, List.of(2, 4)));
+
+        mockMvc.perform(get("/passagem/viagem/10/assentos")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vagasDisponiveis").value(2))
+                .andExpect(jsonPath("$.poltronasLivres[0]").value(2))
+                .andExpect(jsonPath("$.poltronasLivres[1]").value(4));
+    }
+
+    @Test
+    @DisplayName("Deve confirmar o pagamento da passagem")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveConfirmarPagamento() throws Exception {
+        String codigo = "b0c1d2e3-0000-4000-8000-000000000001";
+        when(passagemService.pagar(eq(codigo), any()))
+            .thenReturn(new PassagemResponseDTO(codigo, 10L, 1L, 12, Status.PAGA,
+                new BigDecimal("89.90"), LocalDateTime.of(2026, 1, 10, 8, 30)));
+
+        mockMvc.perform(post("/passagem/" + codigo + "/pagamento"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.codigo").value(codigo))
+                .andExpect(jsonPath("$.status").value("PAGA"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 422 ao cancelar passagem já expirada")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornar422AoCancelarPassagemExpirada() throws Exception {
+        when(passagemService.cancelar(any(), any()))
+            .thenThrow(new BusinessException("Passagem EXPIRADA não pode passar para CANCELADA"));
+
+        mockMvc.perform(post("/passagem/b0c1d2e3-0000-4000-8000-000000000001/cancelamento"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Passagem EXPIRADA não pode passar para CANCELADA"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 202 enquanto a reserva está na fila de gravação")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornar202ParaReservaEmGravacao() throws Exception {
+        String codigo = "b0c1d2e3-0000-4000-8000-000000000001";
+        when(passagemService.consultar(eq(codigo), any()))
+            .thenReturn(new SituacaoReservaResponseDTO(codigo, Situacao.EM_GRAVACAO, null, null));
+
+        mockMvc.perform(get("/passagem/" + codigo))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.situacao").value("EM_GRAVACAO"));
+    }
+
+    @Test
+    @DisplayName("Deve informar a recusa de uma reserva que não pôde ser gravada")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveInformarReservaRecusada() throws Exception {
+        String codigo = "b0c1d2e3-0000-4000-8000-000000000002";
+        when(passagemService.consultar(eq(codigo), any()))
+            .thenReturn(new SituacaoReservaResponseDTO(codigo, Situacao.RECUSADA, null,
+                "Não foi possível gravar a reserva; a poltrona foi liberada"));
+
+        mockMvc.perform(get("/passagem/" + codigo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.situacao").value("RECUSADA"))
+                .andExpect(jsonPath("$.motivo").value("Não foi possível gravar a reserva; a poltrona foi liberada"));
+    }
+}
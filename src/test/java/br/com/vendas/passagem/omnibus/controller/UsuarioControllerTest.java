@@ -1,18 +1,25 @@
 package br.com.vendas.passagem.omnibus.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,16 +29,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.vendas.passagem.omnibus.domain.Usuario;
 import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.dto.request.DocumentoUploadUrlRequestDTO;
 import br.com.vendas.passagem.omnibus.dto.request.UsuarioRequestDTO;
 import br.com.vendas.passagem.omnibus.dto.response.DocumentoResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.DocumentoUrlResponseDTO;
 import br.com.vendas.passagem.omnibus.dto.response.UsuarioResponseDTO;
+import br.com.vendas.passagem.omnibus.config.sentry.SentryErrorReporter;
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
 import br.com.vendas.passagem.omnibus.config.security.TokenService;
+import br.com.vendas.passagem.omnibus.exception.BusinessException;
+import br.com.vendas.passagem.omnibus.exception.ResourceNotFoundException;
 import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
 import br.com.vendas.passagem.omnibus.service.DocumentoService;
 import br.com.vendas.passagem.omnibus.service.UsuarioService;
@@ -58,6 +74,12 @@ class UsuarioControllerTest {
     @MockitoBean
     private UsuarioRepository usuarioRepository;
 
+    @MockitoBean
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @MockitoBean
+    private SentryErrorReporter sentryErrorReporter;
+
     private UsuarioResponseDTO usuarioResponseDTO;
     private UsuarioRequestDTO usuarioRequestDTO;
 
@@ -91,6 +113,98 @@ class UsuarioControllerTest {
     //     verify(usuarioService, times(1)).obterDTOporId(1L));
     // }
 
+    @Test
+    @DisplayName("Deve fazer upload de documento em streaming")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveFazerUploadDeDocumentoEmStreaming() throws Exception {
+        byte[] conteudo = "conteudo do documento".getBytes();
+        DocumentoResponseDTO documentoResponse = new DocumentoResponseDTO(
+            2L,
+            1L,
+            TipoDocumento.CNH,
+            "usuarios/1/cnh/cnh.pdf",
+            "application/pdf"
+        );
+
+        when(documentoService.uploadDocumentoStream(any(), eq(1L), eq(TipoDocumento.CNH), eq("cnh.pdf"),
+                eq("application/pdf"), any(), eq((long) conteudo.length)))
+            .thenReturn(documentoResponse);
+
+        mockMvc.perform(put("/usuario/1/documentos/CNH")
+                .param("nomeArquivo", "cnh.pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .content(conteudo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(2))
+                .andExpect(jsonPath("$.tipo").value("CNH"))
+                .andExpect(jsonPath("$.nomeArquivoMinio").value("usuarios/1/cnh/cnh.pdf"));
+
+        verify(documentoService, times(1)).uploadDocumentoStream(any(), eq(1L), eq(TipoDocumento.CNH), eq("cnh.pdf"),
+            eq("application/pdf"), any(), eq((long) conteudo.length));
+    }
+
+    @Test
+    @DisplayName("Deve gerar URL pré-assinada de upload")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveGerarUrlDeUpload() throws Exception {
+        DocumentoUploadUrlRequestDTO request = new DocumentoUploadUrlRequestDTO(TipoDocumento.RG, "rg.pdf",
+            "application/pdf", 2048L);
+        DocumentoUrlResponseDTO response = new DocumentoUrlResponseDTO(
+            5L, "POST", "http://localhost:9000/documentos-omnibus",
+            Map.of("key", "usuarios/1/rg/rg.pdf", "Content-Type", "application/pdf", "x-amz-signature", "abc"),
+            LocalDateTime.of(2026, 3, 1, 8, 10)
+        );
+
+        when(documentoService.gerarUrlUpload(any(), eq(1L), any(DocumentoUploadUrlRequestDTO.class))).thenReturn(response);
+
+        mockMvc.perform(post("/usuario/1/documentos/upload-url")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documentoId").value(5))
+                .andExpect(jsonPath("$.metodo").value("POST"))
+                .andExpect(jsonPath("$.campos.key").value("usuarios/1/rg/rg.pdf"));
+
+        verify(documentoService, times(1)).gerarUrlUpload(any(), eq(1L), any(DocumentoUploadUrlRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao pedir URL de upload sem o tamanho do arquivo")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornar400AoPedirUrlDeUploadSemTamanho() throws Exception {
+        DocumentoUploadUrlRequestDTO request = new DocumentoUploadUrlRequestDTO(TipoDocumento.RG, "rg.pdf",
+            "application/pdf", null);
+
+        mockMvc.perform(post("/usuario/1/documentos/upload-url")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(documentoService, never()).gerarUrlUpload(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 403 ao gerar URL de download de documento de outro usuário")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornar403AoBaixarDocumentoDeOutroUsuario() throws Exception {
+        when(documentoService.gerarUrlDownload(any(), eq(2L), eq(5L)))
+            .thenThrow(new AccessDeniedException("Documento pertence a outro usuário"));
+
+        mockMvc.perform(get("/usuario/2/documentos/5/download-url"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 422 ao concluir upload ainda não recebido")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornar422AoConcluirUploadNaoRecebido() throws Exception {
+        when(documentoService.concluirUpload(any(), eq(1L), eq(5L)))
+            .thenThrow(new BusinessException("Upload do documento ainda não foi recebido"));
+
+        mockMvc.perform(post("/usuario/1/documentos/5/concluir"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     // Teste de autorização desabilitado pois @AutoConfigureMockMvc(addFilters = false) desabilita os filtros de segurança
     // @Test
     // @DisplayName("Deve retornar 401 quando não autenticado ao buscar /me")
@@ -198,7 +312,7 @@ class UsuarioControllerTest {
             "application/pdf"
         );
 
-        when(documentoService.uploadDocumento(eq(1L), eq(TipoDocumento.RG), any()))
+        when(documentoService.uploadDocumento(any(), eq(1L), eq(TipoDocumento.RG), any()))
             .thenReturn(documentoResponse);
 
         mockMvc.perform(multipart("/usuario/1/documentos")
@@ -212,7 +326,81 @@ class UsuarioControllerTest {
                 .andExpect(jsonPath("$.nomeArquivoMinio").value("documento.pdf"))
                 .andExpect(jsonPath("$.contentType").value("application/pdf"));
 
-        verify(documentoService, times(1)).uploadDocumento(eq(1L), eq(TipoDocumento.RG), any());
+        verify(documentoService, times(1)).uploadDocumento(any(), eq(1L), eq(TipoDocumento.RG), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao fazer upload de documento para usuário inexistente")
+    @WithMockUser(username = "admin@example.com", roles = {"ADMIN"})
+    void deveRetornar404AoFazerUploadParaUsuarioInexistente() throws Exception {
+        MockMultipartFile arquivo = new MockMultipartFile(
+            "arquivo",
+            "documento.pdf",
+            "application/pdf",
+            "conteudo do documento".getBytes()
+        );
+        when(documentoService.uploadDocumento(any(), eq(99L), eq(TipoDocumento.RG), any()))
+            .thenThrow(new ResourceNotFoundException("Usuário", "id", 99L));
+
+        mockMvc.perform(multipart("/usuario/99/documentos")
+                .file(arquivo)
+                .param("tipo", "RG")
+                .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao fazer upload em streaming para usuário inexistente")
+    @WithMockUser(username = "admin@example.com", roles = {"ADMIN"})
+    void deveRetornar404AoFazerUploadEmStreamingParaUsuarioInexistente() throws Exception {
+        when(documentoService.uploadDocumentoStream(any(), eq(99L), eq(TipoDocumento.CNH), any(), any(), any(), anyLong()))
+            .thenThrow(new ResourceNotFoundException("Usuário", "id", 99L));
+
+        mockMvc.perform(put("/usuario/99/documentos/CNH")
+                .contentType(MediaType.APPLICATION_PDF)
+                .content("conteudo".getBytes()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 403 quando um usuário envia documento em streaming para outro usuário")
+    void deveRetornar403AoFazerUploadEmStreamingParaOutroUsuario() throws Exception {
+        Usuario usuarioA = passageiro(1L);
+        when(documentoService.uploadDocumentoStream(eq(usuarioA), eq(2L), eq(TipoDocumento.CNH), any(), any(), any(),
+                anyLong()))
+            .thenThrow(new AccessDeniedException("Documento pertence a outro usuário"));
+
+        mockMvc.perform(put("/usuario/2/documentos/CNH")
+                .with(user(usuarioA))
+                .contentType(MediaType.APPLICATION_PDF)
+                .content("conteudo".getBytes()))
+                .andExpect(status().isForbidden());
+
+        verify(documentoService).uploadDocumentoStream(eq(usuarioA), eq(2L), eq(TipoDocumento.CNH), any(), any(),
+            any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 403 quando um usuário envia documento multipart para outro usuário")
+    void deveRetornar403AoFazerUploadParaOutroUsuario() throws Exception {
+        Usuario usuarioA = passageiro(1L);
+        MockMultipartFile arquivo = new MockMultipartFile(
+            "arquivo",
+            "documento.pdf",
+            "application/pdf",
+            "conteudo do documento".getBytes()
+        );
+        when(documentoService.uploadDocumento(eq(usuarioA), eq(2L), eq(TipoDocumento.RG), any()))
+            .thenThrow(new AccessDeniedException("Documento pertence a outro usuário"));
+
+        mockMvc.perform(multipart("/usuario/2/documentos")
+                .file(arquivo)
+                .param("tipo", "RG")
+                .with(user(usuarioA))
+                .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isForbidden());
+
+        verify(documentoService).uploadDocumento(eq(usuarioA), eq(2L), eq(TipoDocumento.RG), any());
     }
 
     // Teste de autorização desabilitado pois @AutoConfigureMockMvc(addFilters = false) desabilita os filtros de segurança
@@ -232,4 +420,13 @@ class UsuarioControllerTest {
     //             .contentType(MediaType.MULTIPART_FORM_DATA))
     //             .andExpect(status().isUnauthorized());
     // }
+
+    private static Usuario passageiro(Long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setEmail("usuario" + id + "@example.com");
+        usuario.setSenha("hash");
+        usuario.setPerfilAtivo(TipoPerfil.PASSAGEIRO);
+        return usuario;
+    }
 }
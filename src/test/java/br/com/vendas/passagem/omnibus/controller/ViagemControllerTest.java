@@ -0,0 +1,94 @@
+package br.com.vendas.passagem.omnibus.controller;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.vendas.passagem.omnibus.config.sentry.SentryErrorReporter;
+import br.com.vendas.passagem.omnibus.config.security.TokenAuthenticationCache;
+import br.com.vendas.passagem.omnibus.config.security.TokenService;
+import br.com.vendas.passagem.omnibus.dto.response.ViagemBuscaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.ViagemResponseDTO;
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.service.ViagemService;
+
+@WebMvcTest(controllers = ViagemController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ViagemControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ViagemService viagemService;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private UsuarioRepository usuarioRepository;
+
+    @MockitoBean
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @MockitoBean
+    private SentryErrorReporter sentryErrorReporter;
+
+    @Test
+    @DisplayName("Deve buscar viagens por rota e data")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveBuscarViagensPorRotaEData() throws Exception {
+        ViagemResponseDTO viagem = new ViagemResponseDTO(
+            10L, 1L, "Empresa XYZ Ltda", "Recife", "Natal",
+            LocalDateTime.of(2026, 3, 1, 8, 0), new BigDecimal("120.00"), 44, 30, true
+        );
+        when(viagemService.buscar("Recife", "Natal", LocalDate.of(2026, 3, 1), null, null))
+            .thenReturn(new ViagemBuscaResponseDTO(List.of(viagem), "cursor-2"));
+
+        mockMvc.perform(get("/viagem/busca")
+                .param("origem", "Recife")
+                .param("destino", "Natal")
+                .param("data", "2026-03-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.viagens[0].id").value(10))
+                .andExpect(jsonPath("$.viagens[0].vagasDisponiveis").value(30))
+                .andExpect(jsonPath("$.proximoCursor").value("cursor-2"));
+
+        verify(viagemService, times(1)).buscar(eq("Recife"), eq("Natal"), eq(LocalDate.of(2026, 3, 1)), isNull(), isNull());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o cursor for inválido")
+    @WithMockUser(username = "joao@example.com", roles = {"PASSAGEIRO"})
+    void deveRetornar400QuandoCursorInvalido() throws Exception {
+        when(viagemService.buscar("Recife", "Natal", LocalDate.of(2026, 3, 1), "xyz", null))
+            .thenThrow(new InvalidDtoException("cursor", "cursor de paginação inválido"));
+
+        mockMvc.perform(get("/viagem/busca")
+                .param("origem", "Recife")
+                .param("destino", "Natal")
+                .param("data", "2026-03-01")
+                .param("cursor", "xyz"))
+                .andExpect(status().isBadRequest());
+    }
+}
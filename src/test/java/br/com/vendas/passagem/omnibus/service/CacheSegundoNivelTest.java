@@ -0,0 +1,119 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.support.DadosTeste;
+import br.com.vendas.passagem.omnibus.support.QueryCountInspector;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cache de segundo nível de Usuario, perfis e Empresa: a segunda leitura, em outra transação,
+ * não vai ao banco, e uma alteração feita pela aplicação atualiza a entrada em cache.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.vendas.passagem.omnibus.support.QueryCountInspector",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false",
+    "sentry.dsn="
+})
+@Testcontainers(disabledWithoutDocker = true)
+class CacheSegundoNivelTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Segunda leitura de usuário e perfis deve vir do cache, sem SQL")
+    void usuarioEPerfisNoCache() {
+        long id = DadosTeste.usuario(jdbcTemplate, "PASSAGEIRO");
+
+        assertThat(contarConsultas(() -> usuarioService.obterPorId(id).getPerfis().size())).isEqualTo(2);
+        assertThat(contarConsultas(() -> usuarioService.obterPorId(id).getPerfis().size())).isZero();
+
+        assertThat(statistics.getDomainDataRegionStatistics("usuario").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("usuario-perfis").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Segunda leitura de empresa deve vir do cache, sem SQL")
+    void empresaNoCache() {
+        long id = DadosTeste.empresa(jdbcTemplate, DadosTeste.usuario(jdbcTemplate, "EMPRESA"));
+
+        assertThat(contarConsultas(() -> empresaService.obterPorId(id).getId())).isEqualTo(1);
+        assertThat(contarConsultas(() -> empresaService.obterPorId(id).getId())).isZero();
+
+        assertThat(statistics.getDomainDataRegionStatistics("empresa").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Perfil adicionado pela aplicação deve aparecer na leitura seguinte")
+    void alteracaoAtualizaCache() {
+        long id = DadosTeste.usuario(jdbcTemplate, "PASSAGEIRO");
+        contarConsultas(() -> usuarioService.obterPorId(id).getPerfis().size());
+
+        usuarioService.promoverParaEmpresa(id);
+
+        assertThat(emTransacao(() -> Set.copyOf(usuarioService.obterPorId(id).getPerfis())))
+            .containsExactlyInAnyOrder(TipoPerfil.PASSAGEIRO, TipoPerfil.EMPRESA);
+    }
+
+    private int contarConsultas(Supplier<?> leitura) {
+        QueryCountInspector.iniciar();
+        try {
+            emTransacao(leitura);
+            return QueryCountInspector.total();
+        } finally {
+            QueryCountInspector.parar();
+        }
+    }
+
+    private <T> T emTransacao(Supplier<T> leitura) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> leitura.get());
+    }
+}
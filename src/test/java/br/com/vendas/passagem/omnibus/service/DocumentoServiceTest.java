@@ -0,0 +1,91 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.vendas.passagem.omnibus.config.minio.MinioBucketProvisioner;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.exception.ResourceNotFoundException;
+import br.com.vendas.passagem.omnibus.repository.DocumentoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.minio.MinioClient;
+
+/**
+ * Uploads diretos recusados antes de chegar ao MinIO: usuário inexistente (a ResourceNotFoundException
+ * chega ao controller sem ser embrulhada em DocumentoUploadException, que viraria 500) e envio para
+ * outro usuário.
+ */
+class DocumentoServiceTest {
+
+    private UsuarioService usuarioService;
+    private MinioClient minioClient;
+    private DocumentoService documentoService;
+
+    @BeforeEach
+    void setUp() {
+        usuarioService = mock(UsuarioService.class);
+        minioClient = mock(MinioClient.class);
+        documentoService = new DocumentoService(mock(DocumentoRepository.class), usuarioService, minioClient,
+            mock(MinioBucketProvisioner.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+            Tracer.NOOP);
+        ReflectionTestUtils.setField(documentoService, "maxSizeBytes", 1024L);
+        ReflectionTestUtils.setField(documentoService, "bucketName", "documentos");
+        when(usuarioService.obterPorId(99L)).thenThrow(new ResourceNotFoundException("Usuário", "id", 99L));
+    }
+
+    @Test
+    @DisplayName("Upload multipart para usuário inexistente deve lançar ResourceNotFoundException")
+    void uploadMultipart() {
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "rg.pdf", "application/pdf", "conteudo".getBytes());
+
+        assertThatThrownBy(() -> documentoService.uploadDocumento(usuario(1L, TipoPerfil.ADMIN), 99L, TipoDocumento.RG,
+                arquivo))
+            .isExactlyInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    @DisplayName("Upload em streaming para usuário inexistente deve lançar ResourceNotFoundException")
+    void uploadStreaming() {
+        assertThatThrownBy(() -> documentoService.uploadDocumentoStream(usuario(1L, TipoPerfil.ADMIN), 99L,
+                TipoDocumento.CNH, "cnh.pdf", "application/pdf", new ByteArrayInputStream("conteudo".getBytes()), 8))
+            .isExactlyInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    @DisplayName("Passageiro enviando documento para outro usuário deve ser recusado antes de qualquer envio")
+    void uploadParaOutroUsuario() {
+        Usuario usuarioA = usuario(1L, TipoPerfil.PASSAGEIRO);
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "rg.pdf", "application/pdf", "conteudo".getBytes());
+
+        assertThatThrownBy(() -> documentoService.uploadDocumento(usuarioA, 2L, TipoDocumento.RG, arquivo))
+            .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> documentoService.uploadDocumentoStream(usuarioA, 2L, TipoDocumento.CNH, "cnh.pdf",
+                "application/pdf", new ByteArrayInputStream("conteudo".getBytes()), 8))
+            .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(usuarioService, minioClient);
+    }
+
+    private static Usuario usuario(Long id, TipoPerfil perfil) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setPerfilAtivo(perfil);
+        return usuario;
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoDocumento;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.dto.request.DocumentoUploadUrlRequestDTO;
+import br.com.vendas.passagem.omnibus.dto.response.DocumentoUrlResponseDTO;
+import br.com.vendas.passagem.omnibus.support.DadosTeste;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectArgs;
+
+/**
+ * URL de upload direto para usuário que já tem documentos: só o pedido pendente do mesmo tipo é
+ * reaproveitado e documentos já enviados não impedem um novo pedido. O MinIO é simulado.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "sentry.dsn="
+})
+@Testcontainers(disabledWithoutDocker = true)
+class DocumentoUploadDiretoTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @MockitoBean
+    private MinioClient minioClient;
+
+    @Autowired
+    private DocumentoService documentoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setId(DadosTeste.usuario(jdbcTemplate, "PASSAGEIRO"));
+        usuario.setPerfilAtivo(TipoPerfil.PASSAGEIRO);
+        reset(minioClient);
+    }
+
+    @Test
+    @DisplayName("Usuário com vários documentos enviados deve conseguir pedir URL para um tipo que já possui")
+    void usuarioComDocumentos() throws Exception {
+        inserirDocumento(TipoDocumento.RG, "DISPONIVEL");
+        inserirDocumento(TipoDocumento.CNH, "DISPONIVEL");
+
+        DocumentoUrlResponseDTO resposta = documentoService.gerarUrlUpload(usuario, usuario.getId(),
+            pedido(TipoDocumento.RG));
+
+        assertThat(resposta.documentoId()).isNotNull();
+        assertThat(status(resposta.documentoId())).isEqualTo("AGUARDANDO_UPLOAD");
+        assertThat(documentosDoUsuario()).isEqualTo(3);
+        verify(minioClient, never()).removeObject(any(RemoveObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("Novo pedido deve reaproveitar só o pedido pendente do mesmo tipo")
+    void reaproveitaPendenteDoMesmoTipo() throws Exception {
+        inserirDocumento(TipoDocumento.RG, "DISPONIVEL");
+        long pendenteCnh = inserirDocumento(TipoDocumento.CNH, "AGUARDANDO_UPLOAD");
+
+        Long primeiro = documentoService.gerarUrlUpload(usuario, usuario.getId(), pedido(TipoDocumento.PASSAPORTE))
+            .documentoId();
+        Long segundo = documentoService.gerarUrlUpload(usuario, usuario.getId(), pedido(TipoDocumento.PASSAPORTE))
+            .documentoId();
+
+        assertThat(segundo).isEqualTo(primeiro).isNotEqualTo(pendenteCnh);
+        assertThat(status(pendenteCnh)).isEqualTo("AGUARDANDO_UPLOAD");
+        assertThat(documentosDoUsuario()).isEqualTo(3);
+        // O objeto do pedido substituído é removido
+        verify(minioClient).removeObject(any(RemoveObjectArgs.class));
+    }
+
+    private long inserirDocumento(TipoDocumento tipo, String status) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO documentos (id, usuario_id, tipo_documento, nome_arquivo_minio, content_type, status)
+            VALUES (nextval('documentos_id_seq'), ?, ?, ?, 'application/pdf', ?) RETURNING id
+            """, Long.class, usuario.getId(), tipo.name(), "usuarios/" + usuario.getId() + "/" + tipo + ".pdf", status);
+    }
+
+    private String status(long documentoId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM documentos WHERE id = ?", String.class, documentoId);
+    }
+
+    private long documentosDoUsuario() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM documentos WHERE usuario_id = ?", Long.class,
+            usuario.getId());
+    }
+
+    private static DocumentoUploadUrlRequestDTO pedido(TipoDocumento tipo) {
+        return new DocumentoUploadUrlRequestDTO(tipo, tipo.name().toLowerCase() + ".pdf", "application/pdf", 2048L);
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.vendas.passagem.omnibus.dto.response.ViagemBuscaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.ViagemResponseDTO;
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+import br.com.vendas.passagem.omnibus.service.viagem.VagasAlteradasEvent;
+import br.com.vendas.passagem.omnibus.support.DadosTeste;
+
+/**
+ * Busca de viagens por rota/data: paginação por cursor (dataPartida, id) contra o banco e
+ * invalidação do cache quando as vagas gravadas mudam.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "sentry.dsn="
+})
+@Testcontainers(disabledWithoutDocker = true)
+class ViagemBuscaTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static final LocalDate DATA = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private ViagemService viagemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private long empresa;
+    // Origem única por teste: as viagens dos outros testes não entram na busca
+    private String origem;
+
+    @BeforeEach
+    void setUp() {
+        empresa = DadosTeste.empresa(jdbcTemplate, DadosTeste.usuario(jdbcTemplate, "EMPRESA"));
+        origem = "Origem " + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Páginas devem seguir (dataPartida, id), incluindo empates de horário, sem repetir nem pular viagens")
+    void paginacaoPorCursor() {
+        long empate1 = viagem(DATA.atTime(8, 0));
+        long empate2 = viagem(DATA.atTime(8, 0));
+        long manha = viagem(DATA.atTime(10, 0));
+        long tarde = viagem(DATA.atTime(15, 0));
+        long noite = viagem(DATA.atTime(23, 59));
+        viagem(DATA.minusDays(1).atTime(23, 59));
+        viagem(DATA.plusDays(1).atStartOfDay());
+
+        List<Long> ids = new ArrayList<>();
+        List<Integer> tamanhos = new ArrayList<>();
+        String cursor = null;
+        do {
+            ViagemBuscaResponseDTO pagina = viagemService.buscar(origem, "Natal", DATA, cursor, 2);
+            pagina.viagens().forEach(viagem -> ids.add(viagem.id()));
+            tamanhos.add(pagina.viagens().size());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactly(Math.min(empate1, empate2), Math.max(empate1, empate2), manha, tarde, noite);
+        assertThat(tamanhos).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Viagem criada antes do cursor não deve deslocar a página seguinte")
+    void cursorEstavel() {
+        long primeira = viagem(DATA.atTime(8, 0));
+        long segunda = viagem(DATA.atTime(9, 0));
+        long terceira = viagem(DATA.atTime(10, 0));
+
+        ViagemBuscaResponseDTO pagina1 = viagemService.buscar(origem, "Natal", DATA, null, 2);
+        viagem(DATA.atTime(7, 0));
+        ViagemBuscaResponseDTO pagina2 = viagemService.buscar(origem, "Natal", DATA, pagina1.proximoCursor(), 2);
+
+        assertThat(pagina1.viagens()).extracting(ViagemResponseDTO::id).containsExactly(primeira, segunda);
+        assertThat(pagina2.viagens()).extracting(ViagemResponseDTO::id).containsExactly(terceira);
+        assertThat(pagina2.proximoCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Cursor adulterado deve ser recusado")
+    void cursorInvalido() {
+        assertThatThrownBy(() -> viagemService.buscar(origem, "Natal", DATA, "nao-e-um-cursor", 2))
+            .isInstanceOf(InvalidDtoException.class);
+    }
+
+    @Test
+    @DisplayName("Vagas alteradas devem invalidar a página em cache da rota/data")
+    void invalidacao() {
+        long id = viagem(DATA.atTime(8, 0));
+        assertThat(viagemService.buscar(origem, "Natal", DATA, null, 20).viagens().get(0).vagasDisponiveis())
+            .isEqualTo(40);
+
+        jdbcTemplate.update("UPDATE viagens SET vagas_disponiveis = 39 WHERE id = ?", id);
+        // Sem o evento, a página continua vindo do cache
+        assertThat(viagemService.buscar(origem, "Natal", DATA, null, 20).viagens().get(0).vagasDisponiveis())
+            .isEqualTo(40);
+
+        eventPublisher.publishEvent(new VagasAlteradasEvent(id, origem, "Natal", DATA));
+
+        assertThat(viagemService.buscar(origem, "Natal", DATA, null, 20).viagens().get(0).vagasDisponiveis())
+            .isEqualTo(39);
+    }
+
+    private long viagem(LocalDateTime dataPartida) {
+        return DadosTeste.viagem(jdbcTemplate, empresa, origem, "Natal", dataPartida, 40, 40);
+    }
+}
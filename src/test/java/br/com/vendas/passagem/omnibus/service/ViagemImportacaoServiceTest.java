@@ -0,0 +1,162 @@
+package br.com.vendas.passagem.omnibus.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.dto.response.ImportacaoViagensResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.ImportacaoViagensResponseDTO.ErroLinha;
+import br.com.vendas.passagem.omnibus.support.DadosTeste;
+
+/**
+ * Importação de viagens contra o banco: lote que falha no banco regravado linha a linha,
+ * limite de linhas por importação e o volume de 100 mil viagens.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "sentry.dsn="
+})
+@Testcontainers(disabledWithoutDocker = true)
+class ViagemImportacaoServiceTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static final String CABECALHO = "origem,destino,dataPartida,preco,vagasTotais\n";
+    private static final LocalDateTime PARTIDA = LocalDateTime.now().plusDays(30).withNano(0);
+
+    @Autowired
+    private ViagemImportacaoService importacaoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ViagemImportacaoService alvo;
+    private Usuario dono;
+    private long empresa;
+
+    @BeforeEach
+    void setUp() {
+        alvo = AopTestUtils.getUltimateTargetObject(importacaoService);
+        long donoId = DadosTeste.usuario(jdbcTemplate, "EMPRESA");
+        empresa = DadosTeste.empresa(jdbcTemplate, donoId);
+        dono = new Usuario();
+        dono.setId(donoId);
+        dono.setPerfilAtivo(TipoPerfil.EMPRESA);
+    }
+
+    @AfterEach
+    void restaurar() {
+        ReflectionTestUtils.setField(alvo, "batchSize", 1000);
+        ReflectionTestUtils.setField(alvo, "maxLinhas", 200000L);
+        jdbcTemplate.execute("ALTER TABLE viagens DROP CONSTRAINT IF EXISTS ck_teste_origem");
+    }
+
+    @Test
+    @DisplayName("Lote que falha no banco deve ser regravado linha a linha, rejeitando só a linha com erro")
+    void loteComFalha() {
+        ReflectionTestUtils.setField(alvo, "batchSize", 3);
+        jdbcTemplate.execute("ALTER TABLE viagens ADD CONSTRAINT ck_teste_origem CHECK (origem <> 'Proibida')");
+        String origem = origemUnica();
+        String csv = CABECALHO
+            + linha(origem, 0)
+            + "Proibida,Natal," + PARTIDA + ",10,40\n"
+            + linha(origem, 1)
+            + "Recife,Natal,ontem,10,40\n"
+            + linha(origem, 2)
+            + linha(origem, 3)
+            + linha(origem, 4);
+
+        ImportacaoViagensResponseDTO resultado = importar("text/csv", csv);
+
+        assertThat(resultado.linhasLidas()).isEqualTo(7);
+        assertThat(resultado.importadas()).isEqualTo(5);
+        assertThat(resultado.rejeitadas()).isEqualTo(2);
+        // O primeiro lote (linhas 2 a 4) é gravado antes da leitura da linha 5
+        assertThat(resultado.erros()).extracting(ErroLinha::linha).containsExactly(3L, 5L);
+        assertThat(resultado.erros().get(0).mensagem()).startsWith("falha ao gravar");
+        assertThat(viagensDaEmpresa()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Acima do limite de linhas o restante do arquivo deve ser ignorado, mantendo o que já foi lido")
+    void limiteDeLinhas() {
+        ReflectionTestUtils.setField(alvo, "maxLinhas", 3L);
+        String origem = origemUnica();
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for (int i = 0; i < 5; i++) {
+            csv.append(linha(origem, i));
+        }
+
+        ImportacaoViagensResponseDTO resultado = importar("text/csv", csv.toString());
+
+        assertThat(resultado.linhasLidas()).isEqualTo(3);
+        assertThat(resultado.importadas()).isEqualTo(3);
+        assertThat(resultado.rejeitadas()).isEqualTo(1);
+        assertThat(resultado.erros()).singleElement().satisfies(erro -> {
+            assertThat(erro.linha()).isEqualTo(5);
+            assertThat(erro.mensagem()).startsWith("limite de 3 linhas por importação atingido");
+        });
+        assertThat(viagensDaEmpresa()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("100 mil viagens devem ser importadas em poucos segundos")
+    void cemMilViagens() {
+        String origem = origemUnica();
+        StringBuilder ndjson = new StringBuilder(100_000 * 120);
+        for (int i = 0; i < 100_000; i++) {
+            ndjson.append("{\"origem\":\"").append(origem).append("\",\"destino\":\"Natal\",\"dataPartida\":\"")
+                .append(PARTIDA.plusMinutes(i)).append("\",\"preco\":89.90,\"vagasTotais\":42}\n");
+        }
+
+        long inicio = System.nanoTime();
+        ImportacaoViagensResponseDTO resultado = importar("application/x-ndjson", ndjson.toString());
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        assertThat(resultado.importadas()).isEqualTo(100_000);
+        assertThat(resultado.rejeitadas()).isZero();
+        assertThat(viagensDaEmpresa()).isEqualTo(100_000);
+        // Limite folgado para máquinas de CI; localmente a importação leva poucos segundos
+        assertThat(duracao).isLessThan(Duration.ofSeconds(30));
+    }
+
+    private ImportacaoViagensResponseDTO importar(String contentType, String conteudo) {
+        InputStream corpo = new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+        return importacaoService.importar(empresa, dono, contentType, corpo);
+    }
+
+    private long viagensDaEmpresa() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM viagens WHERE empresa_id = ?", Long.class, empresa);
+    }
+
+    private static String linha(String origem, int minutos) {
+        return origem + ",Natal," + PARTIDA.plusMinutes(minutos) + ",10,40\n";
+    }
+
+    private static String origemUnica() {
+        return "Origem " + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.vendas.passagem.omnibus.service.auditoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.vendas.passagem.omnibus.dto.response.AuditLogPaginaResponseDTO;
+import br.com.vendas.passagem.omnibus.dto.response.AuditLogResponseDTO;
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+import br.com.vendas.passagem.omnibus.repository.AuditLogConsultaRepository.Filtro;
+
+/**
+ * Consulta de audit_logs contra o banco: paginação por cursor (ida e volta, empates de
+ * created_at, cursor adulterado) e combinações de filtros. Cada teste usa um intervalo próprio
+ * no passado, onde a aplicação não grava nada.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "sentry.dsn="
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AuditConsultaServiceTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private AuditConsultaService auditConsultaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Percorrer as páginas pelo cursor deve trazer todos os registros, sem repetir, mesmo com created_at empatado")
+    void paginacaoPorCursor() {
+        LocalDateTime base = inicioDoIntervalo(1);
+        List<Long> esperados = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // Os registros 2, 3 e 4 compartilham o mesmo instante
+            LocalDateTime criadoEm = base.plusMinutes(i < 2 ? i : i < 5 ? 2 : i);
+            esperados.add(0, inserir("Viagem", (long) i, "CREATE", "ana", null, criadoEm));
+        }
+        Filtro filtro = auditConsultaService.filtro(null, null, null, base, base.plusHours(1));
+
+        List<Long> lidos = new ArrayList<>();
+        List<Integer> tamanhos = new ArrayList<>();
+        String cursor = null;
+        do {
+            AuditLogPaginaResponseDTO pagina = auditConsultaService.buscar(filtro, cursor, 3);
+            pagina.registros().forEach(registro -> lidos.add(registro.id()));
+            tamanhos.add(pagina.registros().size());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertThat(tamanhos).containsExactly(3, 3, 1);
+        // Mais recente primeiro; no empate, o maior id primeiro
+        assertThat(lidos).containsExactlyElementsOf(esperados);
+    }
+
+    @Test
+    @DisplayName("Última página completa não deve gerar cursor e tamanho fora dos limites deve ser ajustado")
+    void limitesDaPagina() {
+        LocalDateTime base = inicioDoIntervalo(2);
+        inserir("Viagem", 1L, "CREATE", "ana", null, base);
+        inserir("Viagem", 2L, "CREATE", "ana", null, base.plusMinutes(1));
+        Filtro filtro = auditConsultaService.filtro(null, null, null, base, base.plusHours(1));
+
+        assertThat(auditConsultaService.buscar(filtro, null, 2).proximoCursor()).isNull();
+        assertThat(auditConsultaService.buscar(filtro, "  ", 0).registros()).hasSize(1);
+        assertThat(auditConsultaService.buscar(filtro, null, null).registros()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Cursor adulterado ou malformado deve ser recusado")
+    void cursorAdulterado() {
+        LocalDateTime base = inicioDoIntervalo(3);
+        Filtro filtro = auditConsultaService.filtro(null, null, null, base, base.plusHours(1));
+
+        for (String cursor : List.of("não é base64!", base64("sem-separador"), base64("2024-01-01T10:00|abc"),
+                base64("ontem|10"), base64("|10"))) {
+            assertThatThrownBy(() -> auditConsultaService.buscar(filtro, cursor, 10))
+                .as(cursor)
+                .isInstanceOf(InvalidDtoException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Cursor de uma posição válida qualquer deve continuar a partir dela")
+    void cursorArbitrario() {
+        LocalDateTime base = inicioDoIntervalo(4);
+        long primeiro = inserir("Viagem", 1L, "CREATE", "ana", null, base);
+        long segundo = inserir("Viagem", 2L, "CREATE", "ana", null, base.plusMinutes(1));
+        inserir("Viagem", 3L, "CREATE", "ana", null, base.plusMinutes(2));
+        Filtro filtro = auditConsultaService.filtro(null, null, null, base, base.plusHours(1));
+
+        String cursor = base64(base.plusMinutes(2) + "|0");
+
+        assertThat(auditConsultaService.buscar(filtro, cursor, 10).registros())
+            .extracting(AuditLogResponseDTO::id)
+            .containsExactly(segundo, primeiro);
+    }
+
+    @Test
+    @DisplayName("Filtros de entidade, id e usuário devem se combinar e respeitar o intervalo")
+    void combinacoesDeFiltros() {
+        LocalDateTime base = inicioDoIntervalo(5);
+        long viagem1Ana = inserir("Viagem", 1L, "CREATE", "ana", null, base.plusMinutes(1));
+        long viagem1Bia = inserir("Viagem", 1L, "UPDATE", "bia", null, base.plusMinutes(2));
+        long viagem2Ana = inserir("Viagem", 2L, "UPDATE", "ana", null, base.plusMinutes(3));
+        long empresaAna = inserir("Empresa", 1L, "CREATE", "ana", null, base.plusMinutes(4));
+        long semEntidadeId = inserir("Viagem", null, "IMPORT", "bia", null, base.plusMinutes(5));
+        inserir("Viagem", 1L, "CREATE", "ana", null, base.plusHours(2));
+        LocalDateTime fim = base.plusHours(1);
+
+        assertThat(ids(null, null, null, base, fim))
+            .containsExactly(semEntidadeId, empresaAna, viagem2Ana, viagem1Bia, viagem1Ana);
+        assertThat(ids("Viagem", null, null, base, fim))
+            .containsExactly(semEntidadeId, viagem2Ana, viagem1Bia, viagem1Ana);
+        assertThat(ids("Viagem", 1L, null, base, fim)).containsExactly(viagem1Bia, viagem1Ana);
+        assertThat(ids(null, 1L, null, base, fim)).containsExactly(empresaAna, viagem1Bia, viagem1Ana);
+        assertThat(ids(null, null, "ana", base, fim)).containsExactly(empresaAna, viagem2Ana, viagem1Ana);
+        assertThat(ids("Viagem", null, "bia", base, fim)).containsExactly(semEntidadeId, viagem1Bia);
+        assertThat(ids("Viagem", 1L, "ana", base, fim)).containsExactly(viagem1Ana);
+        assertThat(ids("Empresa", 2L, null, base, fim)).isEmpty();
+        // Texto em branco conta como filtro ausente
+        assertThat(ids(" ", null, "", base, fim)).hasSize(5);
+        // O fim é exclusivo
+        assertThat(ids(null, null, null, base, base.plusMinutes(3))).containsExactly(viagem1Bia, viagem1Ana);
+    }
+
+    @Test
+    @DisplayName("Intervalo invertido deve ser recusado e sem intervalo devem valer os últimos 30 dias")
+    void intervalo() {
+        LocalDateTime agora = LocalDateTime.now();
+
+        assertThatThrownBy(() -> auditConsultaService.filtro(null, null, null, agora, agora))
+            .isInstanceOf(InvalidDtoException.class);
+        assertThatThrownBy(() -> auditConsultaService.filtro(null, null, null, agora, agora.minusDays(1)))
+            .isInstanceOf(InvalidDtoException.class);
+
+        Filtro padrao = auditConsultaService.filtro(null, null, null, null, agora);
+        assertThat(padrao.inicio()).isEqualTo(agora.minusDays(AuditConsultaService.DIAS_PADRAO));
+    }
+
+    @Test
+    @DisplayName("Exportação em CSV deve sair em ordem cronológica, com campos escapados")
+    void exportarCsv() {
+        LocalDateTime base = inicioDoIntervalo(6);
+        long primeiro = inserir("Viagem", 1L, "CREATE", "ana", "preço, \"promocional\"", base);
+        long segundo = inserir("Viagem", null, "DELETE", null, null, base.plusMinutes(1));
+        Filtro filtro = auditConsultaService.filtro(null, null, null, base, base.plusHours(1));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        auditConsultaService.exportar(filtro, FormatoExportacao.CSV, saida);
+
+        assertThat(saida.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+            "id,entity_name,entity_id,action,username,details,payload,created_at",
+            primeiro + ",Viagem,1,CREATE,ana,\"preço, \"\"promocional\"\"\",," + base,
+            segundo + ",Viagem,,DELETE,,,," + base.plusMinutes(1));
+    }
+
+    private List<Long> ids(String entidade, Long entidadeId, String usuario, LocalDateTime inicio, LocalDateTime fim) {
+        Filtro filtro = auditConsultaService.filtro(entidade, entidadeId, usuario, inicio, fim);
+        return auditConsultaService.buscar(filtro, null, 100).registros().stream().map(AuditLogResponseDTO::id).toList();
+    }
+
+    private long inserir(String entidade, Long entidadeId, String acao, String usuario, String detalhes,
+                         LocalDateTime criadoEm) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO audit_logs (entity_name, entity_id, action, username, details, created_at)
+            VALUES (?, ?, ?, ?, ?, ?) RETURNING id
+            """, Long.class, entidade, entidadeId, acao, usuario, detalhes, Timestamp.valueOf(criadoEm));
+    }
+
+    /**
+     * Um dia diferente no passado por teste, para que os registros de um não apareçam no outro.
+     */
+    private static LocalDateTime inicioDoIntervalo(int teste) {
+        return LocalDateTime.now().minusDays(60L + teste).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static String base64(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
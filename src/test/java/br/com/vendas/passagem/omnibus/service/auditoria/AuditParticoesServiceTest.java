@@ -0,0 +1,160 @@
+package br.com.vendas.passagem.omnibus.service.auditoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Partições mensais de audit_logs: criação pela função do V10 e retenção com arquivamento.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "sentry.dsn=",
+    "audit.particoes.retencao-meses=12"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AuditParticoesServiceTest {
+
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @TempDir
+    Path arquivo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditParticoesService auditParticoesService;
+
+    @AfterEach
+    void tearDown() {
+        configurarArquivo("");
+    }
+
+    @Test
+    @DisplayName("Devem existir partições anexadas do mês atual até três meses à frente")
+    void particoesFuturas() {
+        auditParticoesService.criarParticoesFuturas();
+
+        for (int i = 0; i <= 3; i++) {
+            assertThat(anexada(particao(YearMonth.now().plusMonths(i)))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("criar_particao_audit_logs deve mover as linhas do mês que caíram na default e ser idempotente")
+    void criarParticaoMoveLinhasDaDefault() {
+        YearMonth mes = YearMonth.now().plusMonths(8);
+        String nome = particao(mes);
+        inserir(mes, 2);
+        assertThat(contar("audit_logs_default")).isEqualTo(2);
+
+        assertThat(criar(mes)).isEqualTo(nome);
+        assertThat(criar(mes)).isEqualTo(nome);
+
+        assertThat(anexada(nome)).isTrue();
+        assertThat(contar(nome)).isEqualTo(2);
+        assertThat(contar("audit_logs_default")).isZero();
+    }
+
+    @Test
+    @DisplayName("Sem diretório de arquivo a retenção não remove nada; com ele, exporta todas as linhas e remove")
+    void retencao() throws IOException {
+        YearMonth antigo = YearMonth.now().minusMonths(14);
+        String nome = particao(antigo);
+        inserir(antigo, 3);
+        criar(antigo);
+        String atual = particao(YearMonth.now());
+
+        configurarArquivo("");
+        assertThat(auditParticoesService.aplicarRetencao()).isEmpty();
+        assertThat(anexada(nome)).isTrue();
+        assertThat(contar(nome)).isEqualTo(3);
+
+        configurarArquivo(arquivo.toString());
+        List<String> removidas = auditParticoesService.aplicarRetencao();
+
+        assertThat(removidas).containsExactly(nome);
+        assertThat(existe(nome)).isFalse();
+        assertThat(anexada(atual)).isTrue();
+        Path exportado = arquivo.resolve(nome + ".ndjson.gz");
+        assertThat(linhas(exportado)).hasSize(3).allSatisfy(linha -> assertThat(linha).contains("\"entityName\":\"Empresa\""));
+        try (var arquivos = Files.list(arquivo)) {
+            assertThat(arquivos).containsExactly(exportado);
+        }
+    }
+
+    private void configurarArquivo(String dir) {
+        AuditParticoesService alvo = AopTestUtils.getUltimateTargetObject(auditParticoesService);
+        ReflectionTestUtils.setField(alvo, "arquivamentoDir", dir);
+    }
+
+    private void inserir(YearMonth mes, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            jdbcTemplate.update("""
+                INSERT INTO audit_logs (entity_name, entity_id, action, username, details, created_at)
+                VALUES ('Empresa', ?, 'READ', 'maria', 'Method: obter', ?)
+                """, (long) i, Timestamp.valueOf(mes.atDay(10).atStartOfDay().plusMinutes(i)));
+        }
+    }
+
+    private String criar(YearMonth mes) {
+        return jdbcTemplate.queryForObject("SELECT criar_particao_audit_logs(?)", String.class, Date.valueOf(mes.atDay(1)));
+    }
+
+    private boolean existe(String nome) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, nome));
+    }
+
+    private boolean anexada(String nome) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+            SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                            JOIN pg_class p ON p.oid = i.inhparent
+                           WHERE c.relname = ? AND p.relname = 'audit_logs')
+            """, Boolean.class, nome));
+    }
+
+    private long contar(String tabela) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + tabela, Long.class);
+    }
+
+    private static String particao(YearMonth mes) {
+        return "audit_logs_" + mes.format(SUFIXO);
+    }
+
+    private static List<String> linhas(Path gz) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(gz)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
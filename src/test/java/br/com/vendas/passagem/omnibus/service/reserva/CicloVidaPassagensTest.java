@@ -0,0 +1,206 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.enums.Status;
+import br.com.vendas.passagem.omnibus.domain.enums.TipoPerfil;
+import br.com.vendas.passagem.omnibus.exception.BusinessException;
+import br.com.vendas.passagem.omnibus.service.PassagemService;
+import br.com.vendas.passagem.omnibus.support.DadosTeste;
+
+/**
+ * Transições de estado das passagens contra o banco: expiração em lote, pagamento e
+ * cancelamento com seus eventos no outbox, e a liberação de poltronas entre instâncias.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "sentry.dsn=",
+    // As rotinas agendadas são disparadas pelos testes
+    "reserva.expiracao.intervalo-ms=3600000",
+    "reserva.mapa.sincronizacao.intervalo-ms=3600000"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class CicloVidaPassagensTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ExpiracaoReservas expiracaoReservas;
+
+    @Autowired
+    private PassagemService passagemService;
+
+    @Autowired
+    private PassagemOutbox passagemOutbox;
+
+    @Autowired
+    private MapaAssentosRegistry mapaAssentosRegistry;
+
+    @Autowired
+    private SincronizacaoMapaAssentos sincronizacaoMapaAssentos;
+
+    @Test
+    @DisplayName("A varredura deve expirar só as PENDENTE vencidas e devolver as vagas de cada viagem")
+    void varreduraExpiraSoPendentesVencidas() {
+        LocalDateTime agora = LocalDateTime.now();
+        long passageiro = DadosTeste.usuario(jdbcTemplate, "PASSAGEIRO");
+        long empresa = DadosTeste.empresa(jdbcTemplate, DadosTeste.usuario(jdbcTemplate, "EMPRESA"));
+        long viagemA = DadosTeste.viagem(jdbcTemplate, empresa, "Recife", "Natal", agora.plusDays(2), 40, 36);
+        long viagemB = DadosTeste.viagem(jdbcTemplate, empresa, "Recife", "Maceió", agora.plusDays(2), 40, 39);
+
+        long vencidaA1 = DadosTeste.passagem(jdbcTemplate, viagemA, passageiro, "PENDENTE", 1, agora.minusMinutes(5));
+        long vencidaA2 = DadosTeste.passagem(jdbcTemplate, viagemA, passageiro, "PENDENTE", 2, agora.minusMinutes(1));
+        long noPrazo = DadosTeste.passagem(jdbcTemplate, viagemA, passageiro, "PENDENTE", 3, agora.plusMinutes(10));
+        long paga = DadosTeste.passagem(jdbcTemplate, viagemA, passageiro, "PAGA", 4, agora.minusMinutes(30));
+        long vencidaB = DadosTeste.passagem(jdbcTemplate, viagemB, passageiro, "PENDENTE", 1, agora.minusMinutes(2));
+
+        expiracaoReservas.expirarVencidas();
+
+        assertThat(status(vencidaA1)).isEqualTo("EXPIRADA");
+        assertThat(status(vencidaA2)).isEqualTo("EXPIRADA");
+        assertThat(status(vencidaB)).isEqualTo("EXPIRADA");
+        assertThat(status(noPrazo)).isEqualTo("PENDENTE");
+        assertThat(status(paga)).isEqualTo("PAGA");
+
+        assertThat(vagasDisponiveis(viagemA)).isEqualTo(38);
+        assertThat(vagasDisponiveis(viagemB)).isEqualTo(40);
+
+        assertThat(eventos(vencidaA1, "EXPIRADA")).isEqualTo(1);
+        assertThat(eventos(vencidaA2, "EXPIRADA")).isEqualTo(1);
+        assertThat(eventos(vencidaB, "EXPIRADA")).isEqualTo(1);
+        assertThat(eventos(noPrazo, null)).isZero();
+        assertThat(eventos(paga, null)).isZero();
+
+        // Uma segunda varredura não encontra mais nada
+        expiracaoReservas.expirarVencidas();
+        assertThat(vagasDisponiveis(viagemA)).isEqualTo(38);
+        assertThat(eventos(vencidaA1, null)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Pagamento e cancelamento devem gravar um evento por transição; EXPIRADA não pode ser paga")
+    void transicoes() {
+        LocalDateTime agora = LocalDateTime.now();
+        long passageiro = DadosTeste.usuario(jdbcTemplate, "PASSAGEIRO");
+        long empresa = DadosTeste.empresa(jdbcTemplate, DadosTeste.usuario(jdbcTemplate, "EMPRESA"));
+        long viagem = DadosTeste.viagem(jdbcTemplate, empresa, "Recife", "Natal", agora.plusDays(2), 40, 38);
+        long pendente = DadosTeste.passagem(jdbcTemplate, viagem, passageiro, "PENDENTE", 1, agora.plusMinutes(10));
+        long expirada = DadosTeste.passagem(jdbcTemplate, viagem, passageiro, "EXPIRADA", 2, agora.minusMinutes(10));
+        Usuario usuario = usuario(passageiro);
+
+        passagemService.pagar(codigo(pendente), usuario);
+        assertThat(status(pendente)).isEqualTo("PAGA");
+        assertThat(eventos(pendente, "PAGA")).isEqualTo(1);
+
+        passagemService.cancelar(codigo(pendente), usuario);
+        assertThat(status(pendente)).isEqualTo("CANCELADA");
+        assertThat(eventos(pendente, "CANCELADA")).isEqualTo(1);
+        assertThat(eventos(pendente, null)).isEqualTo(2);
+        assertThat(vagasDisponiveis(viagem)).isEqualTo(39);
+
+        assertThatThrownBy(() -> passagemService.pagar(codigo(expirada), usuario))
+            .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> passagemService.cancelar(codigo(pendente), usuario))
+            .isInstanceOf(BusinessException.class);
+        assertThat(status(expirada)).isEqualTo("EXPIRADA");
+        assertThat(eventos(expirada, null)).isZero();
+        assertThat(eventos(pendente, null)).isEqualTo(2);
+        assertThat(vagasDisponiveis(viagem)).isEqualTo(39);
+    }
+
+    @Test
+    @DisplayName("Passagem de viagem que já partiu não pode ser cancelada")
+    void cancelamentoAposPartida() {
+        long passageiro = DadosTeste.usuario(jdbcTemplate, "PASSAGEIRO");
+        long empresa = DadosTeste.empresa(jdbcTemplate, DadosTeste.usuario(jdbcTemplate, "EMPRESA"));
+        long viagem = DadosTeste.viagem(jdbcTemplate, empresa, "Recife", "Natal", LocalDateTime.now().minusHours(1), 40, 39);
+        long paga = DadosTeste.passagem(jdbcTemplate, viagem, passageiro, "PAGA", 1, null);
+
+        assertThatThrownBy(() -> passagemService.cancelar(codigo(paga), usuario(passageiro)))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("já partiu");
+
+        assertThat(status(paga)).isEqualTo("PAGA");
+        assertThat(eventos(paga, null)).isZero();
+        assertThat(vagasDisponiveis(viagem)).isEqualTo(39);
+    }
+
+    @Test
+    @DisplayName("Cancelamento feito em outra instância deve liberar a poltrona no mapa desta, uma única vez")
+    void liberacaoEntreInstancias() {
+        long passageiro = DadosTeste.usuario(jdbcTemplate, "PASSAGEIRO");
+        long empresa = DadosTeste.empresa(jdbcTemplate, DadosTeste.usuario(jdbcTemplate, "EMPRESA"));
+        long viagem = DadosTeste.viagem(jdbcTemplate, empresa, "Recife", "Natal", LocalDateTime.now().plusDays(2), 40, 39);
+        long paga = DadosTeste.passagem(jdbcTemplate, viagem, passageiro, "PAGA", 5, null);
+        MapaAssentos mapa = mapaAssentosRegistry.obter(viagem);
+        assertThat(mapa.getLivres()).isEqualTo(39);
+
+        // Outra instância cancela: só o banco e o outbox mudam, o evento local não chega aqui
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE passagens SET status = 'CANCELADA' WHERE id = ?", paga);
+            passagemOutbox.registrar(new EventoPassagem(null, TipoEventoPassagem.CANCELADA, paga, codigo(paga), viagem,
+                passageiro, 5, Status.CANCELADA, LocalDateTime.now()));
+        });
+
+        sincronizacaoMapaAssentos.sincronizar();
+        assertThat(mapa.getLivres()).isEqualTo(40);
+        assertThat(mapa.poltronasLivres()).contains(5);
+
+        // A poltrona é vendida de novo; o mesmo evento relido não pode liberá-la
+        assertThat(mapa.ocupar(5)).isTrue();
+        sincronizacaoMapaAssentos.sincronizar();
+        assertThat(mapa.getLivres()).isEqualTo(39);
+    }
+
+    private Usuario usuario(long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setPerfilAtivo(TipoPerfil.PASSAGEIRO);
+        return usuario;
+    }
+
+    private String status(long passagemId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM passagens WHERE id = ?", String.class, passagemId);
+    }
+
+    private String codigo(long passagemId) {
+        return jdbcTemplate.queryForObject("SELECT codigo FROM passagens WHERE id = ?", String.class, passagemId);
+    }
+
+    private int vagasDisponiveis(long viagemId) {
+        return jdbcTemplate.queryForObject("SELECT vagas_disponiveis FROM viagens WHERE id = ?", Integer.class, viagemId);
+    }
+
+    /**
+     * Eventos da passagem no outbox, de um tipo ou (nulo) de qualquer tipo.
+     */
+    private int eventos(long passagemId, String tipo) {
+        return jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM passagem_outbox WHERE passagem_id = ? AND (CAST(? AS varchar) IS NULL OR tipo = ?)",
+            Integer.class, passagemId, tipo, tipo);
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.vendas.passagem.omnibus.domain.Viagen;
+import br.com.vendas.passagem.omnibus.exception.ResourceNotFoundException;
+import br.com.vendas.passagem.omnibus.repository.PassagemRepository;
+import br.com.vendas.passagem.omnibus.repository.ViagemRepository;
+
+/**
+ * Carga do mapa de assentos: uma única consulta por viagem, mesmo com pedidos simultâneos,
+ * e nova tentativa depois de uma carga que falhou.
+ */
+class MapaAssentosRegistryTest {
+
+    private ViagemRepository viagemRepository;
+    private PassagemRepository passagemRepository;
+    private MapaAssentosRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        viagemRepository = mock(ViagemRepository.class);
+        passagemRepository = mock(PassagemRepository.class);
+        registry = new MapaAssentosRegistry(viagemRepository, passagemRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("Deve montar o mapa a partir das poltronas ocupadas, inclusive passagens sem poltrona")
+    void montaMapa() {
+        when(viagemRepository.findById(1L)).thenReturn(Optional.of(viagem(1L, 10)));
+        when(passagemRepository.findPoltronasOcupadas(1L)).thenReturn(Arrays.asList(3, 5, null));
+
+        MapaAssentos mapa = registry.obter(1L);
+
+        assertThat(mapa.getLivres()).isEqualTo(7);
+        assertThat(mapa.poltronasLivres()).containsExactly(2, 4, 6, 7, 8, 9, 10);
+        assertThat(registry.vagasLivres(1L)).isEqualTo(7);
+        assertThat(registry.vagasLivres(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Pedidos simultâneos da mesma viagem devem consultar o banco uma única vez")
+    void cargaUnica() throws Exception {
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        when(viagemRepository.findById(1L)).thenAnswer(invocation -> {
+            consultaIniciada.countDown();
+            liberarConsulta.await(5, TimeUnit.SECONDS);
+            return Optional.of(viagem(1L, 40));
+        });
+        when(passagemRepository.findPoltronasOcupadas(1L)).thenReturn(List.of());
+        when(viagemRepository.findById(2L)).thenReturn(Optional.of(viagem(2L, 20)));
+        when(passagemRepository.findPoltronasOcupadas(2L)).thenReturn(List.of());
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<MapaAssentos>> resultados = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                resultados.add(executor.submit(() -> registry.obter(1L)));
+            }
+            assertThat(consultaIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+            // Outra viagem não espera a carga em andamento
+            assertThat(executor.submit(() -> registry.obter(2L)).get(2, TimeUnit.SECONDS).getCapacidade()).isEqualTo(20);
+            liberarConsulta.countDown();
+
+            MapaAssentos primeiro = resultados.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<MapaAssentos> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS)).isSameAs(primeiro);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(viagemRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Carga que falhou não deve ficar registrada; a próxima chamada tenta de novo")
+    void falhaNaCargaPermiteNovaTentativa() {
+        when(viagemRepository.findById(1L))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(viagem(1L, 10)));
+        when(passagemRepository.findPoltronasOcupadas(1L)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> registry.obter(1L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(registry.vagasLivres(1L)).isNull();
+
+        assertThat(registry.obter(1L).getLivres()).isEqualTo(10);
+        verify(viagemRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Poltrona liberada deve voltar ao mapa carregado e ser ignorada se o mapa não existe")
+    void poltronaLiberada() {
+        when(viagemRepository.findById(1L)).thenReturn(Optional.of(viagem(1L, 10)));
+        when(passagemRepository.findPoltronasOcupadas(1L)).thenReturn(List.of(4));
+        MapaAssentos mapa = registry.obter(1L);
+
+        registry.onPoltronaLiberada(new PoltronaLiberadaEvent(1L, 100L, 4));
+        registry.onPoltronaLiberada(new PoltronaLiberadaEvent(2L, 101L, 4));
+
+        assertThat(mapa.getLivres()).isEqualTo(10);
+        assertThat(registry.vagasLivres(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Liberação vinda do outbox deve ser aplicada uma única vez e ignorada se anterior ao mapa")
+    void liberacaoRemota() {
+        Viagen semAssento = viagem(1L, 10);
+        semAssento.setPossuiAssentoMarcado(false);
+        when(viagemRepository.findById(1L)).thenReturn(Optional.of(semAssento));
+        when(passagemRepository.findPoltronasOcupadas(1L)).thenReturn(Arrays.asList(null, null, null));
+        MapaAssentos mapa = registry.obter(1L);
+        LocalDateTime depoisDoMapa = mapa.getCriadoEm().plusSeconds(1);
+
+        // Cancelamento local e a mesma passagem relida do outbox (várias vezes, dentro da janela)
+        registry.onPoltronaLiberada(new PoltronaLiberadaEvent(1L, 100L, null));
+        registry.onLiberacaoRemota(1L, 100L, null, depoisDoMapa);
+        registry.onLiberacaoRemota(1L, 100L, null, depoisDoMapa);
+        assertThat(mapa.getLivres()).isEqualTo(8);
+
+        // Outra instância cancelou depois da montagem
+        registry.onLiberacaoRemota(1L, 101L, null, depoisDoMapa);
+        assertThat(mapa.getLivres()).isEqualTo(9);
+
+        // Já refletida no banco quando o mapa foi montado
+        registry.onLiberacaoRemota(1L, 102L, null, mapa.getCriadoEm().minusSeconds(1));
+        assertThat(mapa.getLivres()).isEqualTo(9);
+    }
+
+    private static Viagen viagem(Long id, int vagas) {
+        Viagen viagem = new Viagen();
+        viagem.setId(id);
+        viagem.setVagasTotais(vagas);
+        viagem.setVagasDisponiveis(vagas);
+        viagem.setPreco(new BigDecimal("120.00"));
+        viagem.setDataPartida(LocalDateTime.now().plusDays(2));
+        viagem.setPossuiAssentoMarcado(true);
+        viagem.setOrigem("Recife");
+        viagem.setDestino("Natal");
+        return viagem;
+    }
+}
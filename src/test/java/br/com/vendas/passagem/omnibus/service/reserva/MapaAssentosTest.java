@@ -0,0 +1,153 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MapaAssentosTest {
+
+    private static MapaAssentos mapa(int capacidade) {
+        return new MapaAssentos(1L, capacidade, true, new BigDecimal("100.00"), LocalDateTime.now().plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Deve ocupar e liberar poltronas, ignorando números fora da viagem")
+    void ocuparELiberar() {
+        MapaAssentos mapa = mapa(10);
+
+        assertThat(mapa.ocupar(3)).isTrue();
+        assertThat(mapa.ocupar(3)).isFalse();
+        assertThat(mapa.ocupar(0)).isFalse();
+        assertThat(mapa.ocupar(11)).isFalse();
+        assertThat(mapa.getLivres()).isEqualTo(9);
+
+        mapa.liberar(3);
+        mapa.liberar(3);
+        mapa.liberar(42);
+        assertThat(mapa.getLivres()).isEqualTo(10);
+        assertThat(mapa.ocupar(3)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve ocupar as primeiras livres até lotar, inclusive além da primeira palavra de 64 bits")
+    void ocuparQualquerAteLotar() {
+        MapaAssentos mapa = mapa(70);
+        mapa.ocupar(1);
+
+        List<Integer> ocupadas = new ArrayList<>();
+        int posicao;
+        while ((posicao = mapa.ocuparQualquer()) > 0) {
+            ocupadas.add(posicao);
+        }
+
+        assertThat(ocupadas).hasSize(69).startsWith(2, 3).endsWith(70);
+        assertThat(mapa.ocuparQualquer()).isEqualTo(-1);
+        assertThat(mapa.getLivres()).isZero();
+        assertThat(mapa.poltronasLivres()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve liberar a primeira posição ocupada em viagens sem assento marcado")
+    void liberarQualquer() {
+        MapaAssentos mapa = mapa(5);
+        mapa.ocupar(2);
+        mapa.ocupar(4);
+
+        mapa.liberarQualquer();
+
+        assertThat(mapa.poltronasLivres()).containsExactly(1, 2, 3, 5);
+    }
+
+    @Test
+    @DisplayName("Vendas concorrentes sem poltrona devem ocupar cada posição uma única vez")
+    void ocuparQualquerConcorrente() throws Exception {
+        int capacidade = 130;
+        MapaAssentos mapa = mapa(capacidade);
+        Set<Integer> vendidas = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicadas = new AtomicInteger();
+
+        executarEmParalelo(16, () -> {
+            int posicao;
+            while ((posicao = mapa.ocuparQualquer()) > 0) {
+                if (!vendidas.add(posicao)) {
+                    duplicadas.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertThat(duplicadas).hasValue(0);
+        assertThat(vendidas).hasSize(capacidade);
+        assertThat(mapa.getLivres()).isZero();
+    }
+
+    @Test
+    @DisplayName("Disputa pela mesma poltrona deve ter exatamente um vencedor")
+    void mesmaPoltronaConcorrente() throws Exception {
+        MapaAssentos mapa = mapa(40);
+        AtomicInteger vencedores = new AtomicInteger();
+
+        executarEmParalelo(32, () -> {
+            if (mapa.ocupar(17)) {
+                vencedores.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertThat(vencedores).hasValue(1);
+        assertThat(mapa.getLivres()).isEqualTo(39);
+    }
+
+    @Test
+    @DisplayName("Ocupações e liberações concorrentes devem manter o contador de livres coerente com os bits")
+    void ocuparELiberarConcorrente() throws Exception {
+        MapaAssentos mapa = mapa(64);
+
+        executarEmParalelo(8, () -> {
+            for (int i = 0; i < 10_000; i++) {
+                int posicao = mapa.ocuparQualquer();
+                if (posicao > 0) {
+                    mapa.liberar(posicao);
+                }
+            }
+            return null;
+        });
+
+        assertThat(mapa.getLivres()).isEqualTo(64);
+        assertThat(mapa.poltronasLivres()).hasSize(64);
+    }
+
+    private static void executarEmParalelo(int threads, Callable<Void> tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futuros = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    return tarefa.call();
+                }));
+            }
+            largada.countDown();
+            for (Future<Void> futuro : futuros) {
+                futuro.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.vendas.passagem.omnibus.service.reserva;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.vendas.passagem.omnibus.domain.Passagen;
+import br.com.vendas.passagem.omnibus.domain.Usuario;
+import br.com.vendas.passagem.omnibus.domain.Viagen;
+import br.com.vendas.passagem.omnibus.repository.PassagemRepository;
+import br.com.vendas.passagem.omnibus.repository.UsuarioRepository;
+import br.com.vendas.passagem.omnibus.repository.ViagemRepository;
+
+/**
+ * Gravação assíncrona das reservas: a que falha é recusada e devolvida ao mapa sem derrubar o
+ * lote, e reservas enfileiradas por várias threads são gravadas uma única vez.
+ */
+class PassagemPersisterTest {
+
+    private static final Long VIAGEM_ID = 1L;
+
+    private PassagemRepository passagemRepository;
+    private ViagemRepository viagemRepository;
+    private ReservasRecusadas reservasRecusadas;
+    private MapaAssentos mapa;
+    private PassagemPersister persister;
+
+    @BeforeEach
+    void setUp() {
+        passagemRepository = mock(PassagemRepository.class);
+        viagemRepository = mock(ViagemRepository.class);
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        MapaAssentosRegistry mapaAssentosRegistry = mock(MapaAssentosRegistry.class);
+        reservasRecusadas = mock(ReservasRecusadas.class);
+
+        Viagen viagem = new Viagen();
+        viagem.setId(VIAGEM_ID);
+        viagem.setVagasTotais(2000);
+        viagem.setVagasDisponiveis(2000);
+        viagem.setOrigem("Recife");
+        viagem.setDestino("Natal");
+        viagem.setDataPartida(LocalDateTime.now().plusDays(1));
+        mapa = new MapaAssentos(VIAGEM_ID, 2000, true, new BigDecimal("100.00"), viagem.getDataPartida());
+
+        when(viagemRepository.getReferenceById(VIAGEM_ID)).thenReturn(viagem);
+        when(viagemRepository.findById(VIAGEM_ID)).thenReturn(Optional.of(viagem));
+        when(usuarioRepository.getReferenceById(anyLong())).thenReturn(new Usuario());
+        when(mapaAssentosRegistry.obter(VIAGEM_ID)).thenReturn(mapa);
+
+        persister = new PassagemPersister(passagemRepository, viagemRepository, usuarioRepository,
+            mapaAssentosRegistry, mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class),
+            mock(PassagemOutbox.class), reservasRecusadas);
+        ReflectionTestUtils.setField(persister, "queueCapacity", 10_000);
+        ReflectionTestUtils.setField(persister, "batchSize", 50);
+        ReflectionTestUtils.setField(persister, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(persister, "enqueueTimeoutMs", 500L);
+        ReflectionTestUtils.setField(persister, "prazoPagamentoMinutos", 15L);
+    }
+
+    @Test
+    @DisplayName("Reserva que não pode ser gravada deve ser recusada e devolver a poltrona, sem afetar as demais")
+    void falhaIndividualRecusaReserva() {
+        when(passagemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Passagen> passagens = invocation.getArgument(0);
+            if (passagens.stream().anyMatch(p -> p.getCodigo().equals("ruim"))) {
+                throw new DataIntegrityViolationException("violação");
+            }
+            return passagens;
+        });
+        ReservaPendente boa = reserva("boa", 1);
+        ReservaPendente ruim = reserva("ruim", 2);
+        mapa.ocupar(1);
+        mapa.ocupar(2);
+
+        persister.gravar(new ArrayList<>(List.of(boa, ruim)));
+
+        verify(reservasRecusadas).registrar(ruim, PassagemPersister.MOTIVO_RECUSA);
+        verify(reservasRecusadas, never()).registrar(eq(boa), any());
+        assertThat(mapa.poltronasLivres()).contains(2).doesNotContain(1);
+        assertThat(persister.emGravacao("boa")).isFalse();
+        assertThat(persister.emGravacao("ruim")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Reserva enfileirada fica em gravação até o gravador terminar o lote")
+    void emGravacaoAteGravar() throws Exception {
+        CountDownLatch liberarGravacao = new CountDownLatch(1);
+        when(passagemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            liberarGravacao.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        persister.start();
+        try {
+            assertThat(persister.enfileirar(reserva("abc", 1))).isTrue();
+            assertThat(persister.emGravacao("abc")).isTrue();
+
+            liberarGravacao.countDown();
+            aguardar(() -> !persister.emGravacao("abc"));
+        } finally {
+            persister.stop();
+        }
+        verify(passagemRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Reservas enfileiradas por várias threads devem ser gravadas todas, uma única vez")
+    void enfileiramentoConcorrente() throws Exception {
+        Set<String> gravadas = ConcurrentHashMap.newKeySet();
+        List<String> duplicadas = new ArrayList<>();
+        when(passagemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Passagen> passagens = invocation.getArgument(0);
+            for (Passagen passagem : passagens) {
+                if (!gravadas.add(passagem.getCodigo())) {
+                    synchronized (duplicadas) {
+                        duplicadas.add(passagem.getCodigo());
+                    }
+                }
+            }
+            return passagens;
+        });
+
+        int threads = 8;
+        int porThread = 200;
+        persister.start();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futuros.add(executor.submit(() -> {
+                    for (int i = 0; i < porThread; i++) {
+                        int posicao = mapa.ocuparQualquer();
+                        assertThat(persister.enfileirar(reserva(UUID.randomUUID().toString(), posicao))).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> futuro : futuros) {
+                futuro.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            persister.stop();
+        }
+
+        assertThat(duplicadas).isEmpty();
+        assertThat(gravadas).hasSize(threads * porThread);
+        assertThat(persister.getQueueSize()).isZero();
+        verify(reservasRecusadas, never()).registrar(any(), any());
+    }
+
+    private static ReservaPendente reserva(String codigo, int posicao) {
+        return new ReservaPendente(codigo, VIAGEM_ID, 10L, posicao, posicao, new BigDecimal("100.00"),
+            LocalDateTime.now());
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tempo esgotado").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.vendas.passagem.omnibus.service.viagem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.vendas.passagem.omnibus.exception.InvalidDtoException;
+import br.com.vendas.passagem.omnibus.service.viagem.LeitorImportacaoViagens.Formato;
+import br.com.vendas.passagem.omnibus.service.viagem.LeitorImportacaoViagens.LinhaInvalidaException;
+
+class LeitorImportacaoViagensTest {
+
+    private static final String CABECALHO = "origem,destino,dataPartida,preco,vagasTotais,possuiAssentoMarcado";
+    private static final String PARTIDA = LocalDateTime.now().plusDays(30).withNano(0).toString();
+
+    @Test
+    @DisplayName("dividirCsv deve respeitar aspas, aspas escapadas e campos vazios")
+    void dividirCsv() {
+        assertThat(LeitorImportacaoViagens.dividirCsv("a,b,c")).containsExactly("a", "b", "c");
+        assertThat(LeitorImportacaoViagens.dividirCsv("\"São Paulo, SP\",Recife")).containsExactly("São Paulo, SP", "Recife");
+        assertThat(LeitorImportacaoViagens.dividirCsv("\"Terminal \"\"Novo\"\"\",x")).containsExactly("Terminal \"Novo\"", "x");
+        assertThat(LeitorImportacaoViagens.dividirCsv(",,")).containsExactly("", "", "");
+        assertThat(LeitorImportacaoViagens.dividirCsv("")).containsExactly("");
+        assertThatThrownBy(() -> LeitorImportacaoViagens.dividirCsv("\"aberta,x"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("aspas não fechadas");
+    }
+
+    @Test
+    @DisplayName("CSV válido deve gerar a viagem com preço em duas casas e assento marcado padrão")
+    void csvValido() throws IOException {
+        LeitorImportacaoViagens leitor = csv(
+            "\uFEFFOrigem,Destino,DataPartida,Preco,VagasTotais",
+            "",
+            "Recife,Natal," + PARTIDA.replace('T', ' ') + ",89.9,42");
+
+        LinhaViagem linha = leitor.proxima();
+
+        assertThat(linha.linha()).isEqualTo(3);
+        assertThat(linha.origem()).isEqualTo("Recife");
+        assertThat(linha.destino()).isEqualTo("Natal");
+        assertThat(linha.dataPartida()).isEqualTo(LocalDateTime.parse(PARTIDA));
+        assertThat(linha.preco()).isEqualTo(new BigDecimal("89.90"));
+        assertThat(linha.vagasTotais()).isEqualTo(42);
+        assertThat(linha.possuiAssentoMarcado()).isTrue();
+        assertThat(leitor.proxima()).isNull();
+    }
+
+    @Test
+    @DisplayName("Cabeçalho sem colunas obrigatórias deve ser recusado")
+    void cabecalhoIncompleto() {
+        LeitorImportacaoViagens leitor = csv("origem,destino,preco", "Recife,Natal,10");
+
+        assertThatThrownBy(leitor::proxima)
+            .isInstanceOf(InvalidDtoException.class)
+            .hasMessageContaining("dataPartida, vagasTotais");
+    }
+
+    @Test
+    @DisplayName("Cada campo inválido deve ser relatado na mesma mensagem, com o número da linha")
+    void validacaoPorCampo() throws IOException {
+        LeitorImportacaoViagens leitor = csv(CABECALHO,
+            ",Natal," + PARTIDA + ",10,10,",
+            "Recife,recife," + PARTIDA + ",10,10,",
+            "Recife,Natal,2020-01-01T08:00,10,10,",
+            "Recife,Natal,amanhã,10,10,",
+            "Recife,Natal," + PARTIDA + ",0,10,",
+            "Recife,Natal," + PARTIDA + ",10.999,10,",
+            "Recife,Natal," + PARTIDA + ",100000000,10,",
+            "Recife,Natal," + PARTIDA + ",dez,10,",
+            "Recife,Natal," + PARTIDA + ",10,0,",
+            "Recife,Natal," + PARTIDA + ",10,101,",
+            "Recife,Natal," + PARTIDA + ",10,muitas,",
+            "Recife,Natal," + PARTIDA + ",10,10,sim",
+            "x".repeat(101) + ",Natal," + PARTIDA + ",10,10,",
+            ",,,,,",
+            "\"Recife,Natal");
+
+        List<String> erros = new ArrayList<>();
+        List<Long> linhas = new ArrayList<>();
+        while (true) {
+            try {
+                if (leitor.proxima() == null) {
+                    break;
+                }
+            } catch (LinhaInvalidaException e) {
+                erros.add(e.getMessage());
+                linhas.add(e.getLinha());
+            }
+        }
+
+        assertThat(linhas).containsExactly(2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L);
+        assertThat(erros).containsExactly(
+            "origem é obrigatório",
+            "origem e destino devem ser diferentes",
+            "dataPartida deve estar no futuro",
+            "dataPartida deve estar no formato yyyy-MM-ddTHH:mm[:ss]",
+            "preco deve ser positivo, com até duas casas decimais e no máximo 99999999.99",
+            "preco deve ser positivo, com até duas casas decimais e no máximo 99999999.99",
+            "preco deve ser positivo, com até duas casas decimais e no máximo 99999999.99",
+            "preco inválido: dez",
+            "vagasTotais deve estar entre 1 e 100",
+            "vagasTotais deve estar entre 1 e 100",
+            "vagasTotais inválido: muitas",
+            "possuiAssentoMarcado deve ser true ou false",
+            "origem deve ter no máximo 100 caracteres",
+            "origem é obrigatório; destino é obrigatório; dataPartida é obrigatória; preco é obrigatório; "
+                + "vagasTotais é obrigatório",
+            "aspas não fechadas");
+    }
+
+    @Test
+    @DisplayName("NDJSON deve aceitar números e booleanos JSON e recusar linhas que não são objetos")
+    void ndjson() throws IOException {
+        LeitorImportacaoViagens leitor = ndjson(
+            "{\"origem\":\"Recife\",\"destino\":\"Natal\",\"dataPartida\":\"" + PARTIDA
+                + "\",\"preco\":120.5,\"vagasTotais\":40,\"possuiAssentoMarcado\":false}",
+            "[1,2]",
+            "{quebrado",
+            "{\"origem\":\"Recife\",\"destino\":\"Natal\",\"dataPartida\":\"" + PARTIDA + "\",\"preco\":null,\"vagasTotais\":40}");
+
+        LinhaViagem linha = leitor.proxima();
+        assertThat(linha.preco()).isEqualTo(new BigDecimal("120.50"));
+        assertThat(linha.possuiAssentoMarcado()).isFalse();
+
+        assertThatThrownBy(leitor::proxima).isInstanceOf(LinhaInvalidaException.class)
+            .hasMessage("cada linha deve conter um objeto JSON");
+        assertThatThrownBy(leitor::proxima).isInstanceOf(LinhaInvalidaException.class)
+            .hasMessageStartingWith("JSON inválido");
+        assertThatThrownBy(leitor::proxima).isInstanceOf(LinhaInvalidaException.class)
+            .hasMessage("preco é obrigatório");
+        assertThat(leitor.proxima()).isNull();
+    }
+
+    @Test
+    @DisplayName("Content-Type deve escolher o formato e recusar tipos não suportados")
+    void formato() {
+        assertThat(Formato.de("text/csv; charset=UTF-8")).isEqualTo(Formato.CSV);
+        assertThat(Formato.de("application/x-ndjson")).isEqualTo(Formato.NDJSON);
+        assertThatThrownBy(() -> Formato.de("application/json")).isInstanceOf(InvalidDtoException.class);
+        assertThatThrownBy(() -> Formato.de(null)).isInstanceOf(InvalidDtoException.class);
+    }
+
+    private static LeitorImportacaoViagens csv(String... linhas) {
+        return leitor(Formato.CSV, linhas);
+    }
+
+    private static LeitorImportacaoViagens ndjson(String... linhas) {
+        return leitor(Formato.NDJSON, linhas);
+    }
+
+    private static LeitorImportacaoViagens leitor(Formato formato, String... linhas) {
+        BufferedReader reader = new BufferedReader(new StringReader(String.join("\n", linhas)));
+        return new LeitorImportacaoViagens(reader, formato, new ObjectMapper(), 100);
+    }
+}
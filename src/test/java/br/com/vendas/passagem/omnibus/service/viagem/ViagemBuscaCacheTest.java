@@ -0,0 +1,179 @@
+package br.com.vendas.passagem.omnibus.service.viagem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.vendas.passagem.omnibus.dto.response.ViagemBuscaResponseDTO;
+import br.com.vendas.passagem.omnibus.service.viagem.ViagemBuscaCache.ChaveBusca;
+import br.com.vendas.passagem.omnibus.service.viagem.ViagemBuscaCache.RotaData;
+
+/**
+ * Carga única por chave fora do lock do cache, invalidação por rota/data, inclusive durante
+ * uma consulta em andamento, e nova tentativa depois de uma consulta que falhou.
+ */
+class ViagemBuscaCacheTest {
+
+    private static final LocalDate DATA = LocalDate.of(2026, 12, 20);
+    private static final ChaveBusca RECIFE_NATAL = new ChaveBusca("Recife", "Natal", DATA, null, 20);
+    private static final ChaveBusca RECIFE_NATAL_PAGINA_2 = new ChaveBusca("Recife", "Natal", DATA, "abc", 20);
+    private static final ChaveBusca RECIFE_MACEIO = new ChaveBusca("Recife", "Maceió", DATA, null, 20);
+
+    private final AtomicInteger consultas = new AtomicInteger();
+    private ViagemBuscaCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ViagemBuscaCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        cache.init();
+    }
+
+    @Test
+    @DisplayName("Segunda busca da mesma chave deve vir do cache")
+    void paginaEmCache() {
+        ViagemBuscaResponseDTO primeira = cache.obter(RECIFE_NATAL, this::consultar);
+
+        assertThat(cache.obter(RECIFE_NATAL, this::consultar)).isSameAs(primeira);
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Buscas simultâneas da mesma chave devem consultar uma vez, sem bloquear outras chaves")
+    void consultaUnica() throws Exception {
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        Function<ChaveBusca, ViagemBuscaResponseDTO> lenta = chave -> {
+            consultaIniciada.countDown();
+            aguardar(liberarConsulta);
+            return consultar(chave);
+        };
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<ViagemBuscaResponseDTO>> resultados = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                resultados.add(executor.submit(() -> cache.obter(RECIFE_NATAL, lenta)));
+            }
+            assertThat(consultaIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(executor.submit(() -> cache.obter(RECIFE_MACEIO, this::consultar)).get(2, TimeUnit.SECONDS))
+                .isNotNull();
+            liberarConsulta.countDown();
+
+            ViagemBuscaResponseDTO primeira = resultados.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ViagemBuscaResponseDTO> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS)).isSameAs(primeira);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Invalidação durante a consulta não deve deixar o resultado antigo em cache")
+    void invalidacaoDuranteConsulta() throws Exception {
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ViagemBuscaResponseDTO> emAndamento = executor.submit(() -> cache.obter(RECIFE_NATAL, chave -> {
+                consultaIniciada.countDown();
+                aguardar(liberarConsulta);
+                return consultar(chave);
+            }));
+            assertThat(consultaIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+            cache.onVagasAlteradas(new VagasAlteradasEvent(1L, "Recife", "Natal", DATA));
+            liberarConsulta.countDown();
+            emAndamento.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        cache.obter(RECIFE_NATAL, this::consultar);
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Vagas alteradas devem invalidar todas as páginas da rota/data e só elas")
+    void invalidacaoPorRotaData() {
+        cache.obter(RECIFE_NATAL, this::consultar);
+        cache.obter(RECIFE_NATAL_PAGINA_2, this::consultar);
+        cache.obter(RECIFE_MACEIO, this::consultar);
+
+        cache.onVagasAlteradas(new VagasAlteradasEvent(1L, "Recife", "Natal", DATA));
+        cache.obter(RECIFE_NATAL, this::consultar);
+        cache.obter(RECIFE_NATAL_PAGINA_2, this::consultar);
+        cache.obter(RECIFE_MACEIO, this::consultar);
+
+        assertThat(consultas).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("Invalidação em lote deve remover apenas as rotas/datas informadas")
+    void invalidacaoEmLote() {
+        cache.obter(RECIFE_NATAL, this::consultar);
+        cache.obter(RECIFE_MACEIO, this::consultar);
+
+        cache.invalidar(Set.of(new RotaData("Recife", "Maceió", DATA), new RotaData("Recife", "Natal", DATA.plusDays(1))));
+        cache.obter(RECIFE_NATAL, this::consultar);
+        cache.obter(RECIFE_MACEIO, this::consultar);
+
+        assertThat(consultas).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Consulta que falhou não deve ficar em cache; a próxima busca tenta de novo")
+    void falhaPermiteNovaTentativa() {
+        assertThatThrownBy(() -> cache.obter(RECIFE_NATAL, chave -> {
+            throw new IllegalStateException("banco fora do ar");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.obter(RECIFE_NATAL, this::consultar)).isNotNull();
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Com o cache desligado, toda busca deve consultar o banco")
+    void desligado() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        cache.obter(RECIFE_NATAL, this::consultar);
+        cache.obter(RECIFE_NATAL, this::consultar);
+
+        assertThat(consultas).hasValue(2);
+    }
+
+    private ViagemBuscaResponseDTO consultar(ChaveBusca chave) {
+        consultas.incrementAndGet();
+        return new ViagemBuscaResponseDTO(List.of(), null);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.vendas.passagem.omnibus.support;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Linhas mínimas para os testes com banco, gravadas direto por SQL (fora de transação, no primário).
+ * E-mails, CPFs, CNPJs e códigos são aleatórios para os testes não colidirem no mesmo container.
+ */
+public final class DadosTeste {
+
+    private DadosTeste() {
+    }
+
+    public static long usuario(JdbcTemplate jdbcTemplate, String perfil) {
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+        Long id = jdbcTemplate.queryForObject("""
+            INSERT INTO usuarios (nome, email, senha, cpf, perfil_ativo)
+            VALUES (?, ?, 'hash', ?, ?) RETURNING id
+            """, Long.class, "Usuário " + sufixo, sufixo + "@example.com", numeroAleatorio(11), perfil);
+        jdbcTemplate.update("INSERT INTO perfis_usuario (usuario_id, perfil) VALUES (?, ?)", id, perfil);
+        return id;
+    }
+
+    public static long empresa(JdbcTemplate jdbcTemplate, long usuarioDonoId) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO empresas (usuario_dono_id, cnpj, nome_fantasia) VALUES (?, ?, 'Viação Teste') RETURNING id
+            """, Long.class, usuarioDonoId, numeroAleatorio(14));
+    }
+
+    public static long viagem(JdbcTemplate jdbcTemplate, long empresaId, String origem, String destino,
+                              LocalDateTime dataPartida, int vagasTotais, int vagasDisponiveis) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO viagens (empresa_id, origem, destino, data_partida, preco, vagas_totais, vagas_disponiveis,
+                                 possui_assento_marcado, versao)
+            VALUES (?, ?, ?, ?, ?, ?, ?, true, 0) RETURNING id
+            """, Long.class, empresaId, origem, destino, Timestamp.valueOf(dataPartida), new BigDecimal("100.00"),
+            vagasTotais, vagasDisponiveis);
+    }
+
+    public static long passagem(JdbcTemplate jdbcTemplate, long viagemId, long passageiroId, String status,
+                                Integer poltrona, LocalDateTime expiraEm) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO passagens (viagem_id, passageiro_id, status, poltrona, valor_pago, codigo, expira_em)
+            VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING id
+            """, Long.class, viagemId, passageiroId, status, poltrona, new BigDecimal("100.00"),
+            UUID.randomUUID().toString(), expiraEm == null ? null : Timestamp.valueOf(expiraEm));
+    }
+
+    private static String numeroAleatorio(int digitos) {
+        StringBuilder numero = new StringBuilder(digitos);
+        for (int i = 0; i < digitos; i++) {
+            numero.append(ThreadLocalRandom.current().nextInt(10));
+        }
+        return numero.toString();
+    }
+}
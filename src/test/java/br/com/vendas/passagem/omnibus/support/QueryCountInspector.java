@@ -0,0 +1,37 @@
+package br.com.vendas.passagem.omnibus.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL gerados pelo Hibernate na thread atual, entre {@link #iniciar()} e {@link #parar()}.
+ *
+ * Registrado via {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ * Só a thread que chamou {@link #iniciar()} é contada, então threads de fundo
+ * (escritor de auditoria, gravação de passagens) não interferem na medição.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+    public static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    public static int total() {
+        int[] contador = CONTADOR.get();
+        return contador == null ? 0 : contador[0];
+    }
+
+    public static void parar() {
+        CONTADOR.remove();
+    }
+}